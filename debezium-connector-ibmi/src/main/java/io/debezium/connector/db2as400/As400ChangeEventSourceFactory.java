@@ -5,6 +5,7 @@
  */
 package io.debezium.connector.db2as400;
 
+import io.debezium.connector.db2as400.metrics.As400StreamingChangeEventSourceMetrics;
 import io.debezium.jdbc.MainConnectionProvidingConnectionFactory;
 import io.debezium.pipeline.ErrorHandler;
 import io.debezium.pipeline.EventDispatcher;
@@ -25,12 +26,13 @@ public class As400ChangeEventSourceFactory implements ChangeEventSourceFactory<A
 	private final EventDispatcher<As400Partition, TableId> dispatcher;
 	private final Clock clock;
 	private final As400DatabaseSchema schema;
+	private final As400StreamingChangeEventSourceMetrics streamingMetrics;
 
 	public As400ChangeEventSourceFactory(As400ConnectorConfig configuration, As400ConnectorConfig snapshotConfig,
 			As400RpcConnection rpcConnection,
 			MainConnectionProvidingConnectionFactory<As400JdbcConnection> jdbcConnectionFactory,
 			ErrorHandler errorHandler, EventDispatcher<As400Partition, TableId> dispatcher, Clock clock,
-			As400DatabaseSchema schema) {
+			As400DatabaseSchema schema, As400StreamingChangeEventSourceMetrics streamingMetrics) {
 		this.configuration = configuration;
 		this.rpcConnection = rpcConnection;
 		this.jdbcConnectionFactory = jdbcConnectionFactory;
@@ -39,6 +41,7 @@ public class As400ChangeEventSourceFactory implements ChangeEventSourceFactory<A
 		this.clock = clock;
 		this.schema = schema;
 		this.snapshotConfig = snapshotConfig;
+		this.streamingMetrics = streamingMetrics;
 	}
 
 	@Override
@@ -51,6 +54,6 @@ public class As400ChangeEventSourceFactory implements ChangeEventSourceFactory<A
 	@Override
 	public StreamingChangeEventSource<As400Partition, As400OffsetContext> getStreamingChangeEventSource() {
 		return new As400StreamingChangeEventSource(configuration, rpcConnection, jdbcConnectionFactory.mainConnection(),
-				dispatcher, errorHandler, clock, schema);
+				dispatcher, errorHandler, clock, schema, streamingMetrics);
 	}
 }
@@ -5,18 +5,24 @@
  */
 package io.debezium.connector.db2as400;
 
+import com.fnz.db2.journal.retrieve.RowView;
+
 import io.debezium.data.Envelope.Operation;
 import io.debezium.pipeline.spi.OffsetContext;
 import io.debezium.relational.RelationalChangeRecordEmitter;
 import io.debezium.util.Clock;
 
+/**
+ * Rows are held as {@link RowView}s and only decoded when the dispatcher asks for the column values, so events
+ * for tables that are filtered out are never decoded.
+ */
 public class As400ChangeRecordEmitter extends RelationalChangeRecordEmitter<As400Partition> {
 
     private final Operation operation;
-    private final Object[] data;
-    private final Object[] dataNext;
+    private final RowView data;
+    private final RowView dataNext;
 
-    public As400ChangeRecordEmitter(As400Partition partition, OffsetContext offset, Operation operation, Object[] data, Object[] dataNext, Clock clock) {
+    public As400ChangeRecordEmitter(As400Partition partition, OffsetContext offset, Operation operation, RowView data, RowView dataNext, Clock clock) {
         super(partition, offset, clock);
 
         this.operation = operation;
@@ -31,12 +37,19 @@ public class As400ChangeRecordEmitter extends RelationalChangeRecordEmitter<As40
 
     @Override
     protected Object[] getOldColumnValues() {
-        return data;
+        return (data == null) ? null : data.toArray();
     }
 
     @Override
     protected Object[] getNewColumnValues() {
-        return dataNext;
+        return (dataNext == null) ? null : dataNext.toArray();
     }
 
+    RowView getOldRow() {
+        return data;
+    }
+
+    RowView getNewRow() {
+        return dataNext;
+    }
 }
@@ -5,6 +5,9 @@
  */
 package io.debezium.connector.db2as400;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
 import org.apache.kafka.common.config.ConfigDef;
 import org.apache.kafka.common.config.ConfigDef.Importance;
 import org.apache.kafka.common.config.ConfigDef.Type;
@@ -61,7 +64,9 @@ public class As400ConnectorConfig extends RelationalDatabaseConnectorConfig {
      * A field for the size of buffer for fetching journal entries default 65535 (should not be smaller)
      */
     public static final Field BUFFER_SIZE = Field.create("buffer_size", "journal buffer size",
-            "size of buffer for fetching journal entries default 131072 (should not be smaller)", "131072");
+            "maximum size of buffer for fetching journal entries, the buffer adapts to the journal traffic between "
+                    + "32768 and this size, default 131072 (should not be smaller)",
+            "131072");
 
     /**
      * keep alive flag, should the driver send keep alive packets default true
@@ -101,6 +106,21 @@ public class As400ConnectorConfig extends RelationalDatabaseConnectorConfig {
      */
     public static final Field MAX_RETRIEVAL_TIMEOUT = Field.create("max_journal_timeout", "max time to fetch the journal entries", "Maximum time to fetch the journal entries in ms", DEFAULT_MAX_JOURNAL_TIMEOUT);
 
+    public static final int DEFAULT_LOB_MAX_SIZE = 1024 * 1024;
+    /**
+     * LOB and XML values are not in the journal entry, they are read from the table
+     */
+    public static final Field LOB_MAX_SIZE = Field.create("lob.max.size", "lob max size",
+            "Characters of a CLOB or XML value, or bytes of a BLOB value, above which lob.policy applies", DEFAULT_LOB_MAX_SIZE);
+
+    public static final Field LOB_POLICY = Field.create("lob.policy").withDisplayName("LOB policy")
+            .withEnum(LobPolicy.class, LobPolicy.TRUNCATE).withWidth(Width.SHORT).withImportance(Importance.LOW)
+            .withDescription("What to do with CLOB, BLOB and XML values larger than lob.max.size. Options include: "
+                    + "'inline' to emit the whole value; "
+                    + "'truncate' (the default) to emit the first lob.max.size characters or bytes; "
+                    + "'skip' to emit null. "
+                    + "Values are read from the table in one query per table per journal block, so they reflect the row when the block is processed.");
+
     public static final Field TOPIC_NAMING_STRATEGY = Field.create("topic.naming.strategy")
             .withDisplayName("Topic naming strategy class")
             .withType(Type.CLASS)
@@ -172,6 +192,35 @@ public class As400ConnectorConfig extends RelationalDatabaseConnectorConfig {
         return config.getInteger(FORCE_CCSID);
     }
 
+    public int getLobMaxSize() {
+        return config.getInteger(LOB_MAX_SIZE);
+    }
+
+    public LobPolicy getLobPolicy() {
+        return LobPolicy.parse(config.getString(LOB_POLICY), LOB_POLICY.defaultValueAsString());
+    }
+
+    public boolean isTransactionBuffered() {
+        return config.getBoolean(TRANSACTION_BUFFER);
+    }
+
+    public long getTransactionBufferMemory() {
+        return config.getLong(TRANSACTION_BUFFER_MEMORY);
+    }
+
+    public Path getTransactionBufferSpillDir() {
+        String dir = config.getString(TRANSACTION_BUFFER_SPILL_DIR);
+        return Paths.get((dir == null || dir.isBlank()) ? System.getProperty("java.io.tmpdir") : dir);
+    }
+
+    public long getTransactionMaxAgeMs() {
+        return config.getLong(TRANSACTION_MAX_AGE_MS);
+    }
+
+    public TransactionEviction getTransactionEviction() {
+        return TransactionEviction.parse(config.getString(TRANSACTION_EVICTION), TRANSACTION_EVICTION.defaultValueAsString());
+    }
+
     public JournalPosition getOffset() {
         String receiver = config.getString(As400OffsetContext.RECEIVER);
         String lib = config.getString(As400OffsetContext.RECEIVER_LIBRARY);
@@ -203,17 +252,50 @@ public class As400ConnectorConfig extends RelationalDatabaseConnectorConfig {
         return new As400SourceInfoStructMaker(Module.name(), Module.version(), this);
     }
 
+    public static final long DEFAULT_TRANSACTION_BUFFER_MEMORY = 64L * 1024 * 1024;
+    public static final long DEFAULT_TRANSACTION_MAX_AGE_MS = 24L * 60 * 60 * 1000;
+    /**
+     * Row changes made under commitment control are held until the commit cycle ends
+     */
+    public static final Field TRANSACTION_BUFFER = Field.create("transaction.buffer", "transaction buffer",
+            "Hold the row changes of each commit cycle until it ends, dispatching them on commit and dropping them on rollback. "
+                    + "While a transaction is open the stored offset stays at its start, so a restart replays it",
+            false);
+
+    public static final Field TRANSACTION_BUFFER_MEMORY = Field.create("transaction.buffer.memory", "transaction buffer memory",
+            "Bytes of row images held in memory by transaction.buffer before the largest open transaction is spilled to disk",
+            DEFAULT_TRANSACTION_BUFFER_MEMORY);
+
+    public static final Field TRANSACTION_BUFFER_SPILL_DIR = Field.create("transaction.buffer.spill.dir", "transaction buffer spill directory",
+            "Directory for transactions spilled by transaction.buffer, defaults to java.io.tmpdir", "");
+
+    public static final Field TRANSACTION_MAX_AGE_MS = Field.create("transaction.max.age.ms", "transaction max age",
+            "Journal time after which a commit cycle whose end has not been seen is given up on, "
+                    + "transaction.eviction decides what happens to the changes transaction.buffer holds for it",
+            DEFAULT_TRANSACTION_MAX_AGE_MS);
+
+    public static final Field TRANSACTION_EVICTION = Field.create("transaction.eviction").withDisplayName("transaction eviction")
+            .withEnum(TransactionEviction.class, TransactionEviction.EMIT).withWidth(Width.SHORT).withImportance(Importance.LOW)
+            .withDescription("What to do with the changes transaction.buffer holds for a commit cycle given up on, because it is "
+                    + "older than transaction.max.age.ms or too many cycles are open. Options include: "
+                    + "'emit' (the default) to emit them without a commit; "
+                    + "'drop' to discard them.");
+
     public static Field.Set ALL_FIELDS = Field.setOf(JdbcConfiguration.HOSTNAME, USER, PASSWORD, SCHEMA, BUFFER_SIZE,
             RelationalDatabaseConnectorConfig.SNAPSHOT_SELECT_STATEMENT_OVERRIDES_BY_TABLE, KEEP_ALIVE, THREAD_USED, SOCKET_TIMEOUT,
-            MAX_SERVER_SIDE_ENTRIES, TOPIC_NAMING_STRATEGY, FORCE_CCSID, DB_ERRORS, DATE_FORMAT);
+            MAX_SERVER_SIDE_ENTRIES, TOPIC_NAMING_STRATEGY, FORCE_CCSID, DB_ERRORS, DATE_FORMAT, LOB_MAX_SIZE, LOB_POLICY,
+            TRANSACTION_BUFFER, TRANSACTION_BUFFER_MEMORY, TRANSACTION_BUFFER_SPILL_DIR, TRANSACTION_MAX_AGE_MS,
+            TRANSACTION_EVICTION, RelationalDatabaseConnectorConfig.UNAVAILABLE_VALUE_PLACEHOLDER);
 
     public static ConfigDef configDef() {
         ConfigDef c = RelationalDatabaseConnectorConfig.CONFIG_DEFINITION.edit()
                 .name("ibmi")
                 .type(
                         JdbcConfiguration.HOSTNAME, USER, PASSWORD, SCHEMA, BUFFER_SIZE,
-                        KEEP_ALIVE, THREAD_USED, SOCKET_TIMEOUT, FORCE_CCSID, DB_ERRORS, DATE_FORMAT)
-                .connector()
+                        KEEP_ALIVE, THREAD_USED, SOCKET_TIMEOUT, FORCE_CCSID, DB_ERRORS, DATE_FORMAT, LOB_MAX_SIZE, LOB_POLICY,
+                        TRANSACTION_BUFFER, TRANSACTION_BUFFER_MEMORY, TRANSACTION_BUFFER_SPILL_DIR, TRANSACTION_MAX_AGE_MS,
+                        TRANSACTION_EVICTION)
+                .connector(RelationalDatabaseConnectorConfig.UNAVAILABLE_VALUE_PLACEHOLDER)
                 .events(
                         As400OffsetContext.EVENT_SEQUENCE_FIELD,
                         As400OffsetContext.RECEIVER_FIELD,
@@ -316,6 +398,63 @@ public class As400ConnectorConfig extends RelationalDatabaseConnectorConfig {
         }
     }
 
+    /**
+     * Handling of LOB and XML values larger than the configured maximum size.
+     */
+    public static enum LobPolicy implements EnumeratedValue {
+        INLINE("inline"),
+        TRUNCATE("truncate"),
+        SKIP("skip");
+
+        private final String value;
+
+        private LobPolicy(String value) {
+            this.value = value;
+        }
+
+        @Override
+        public String getValue() {
+            return value;
+        }
+
+        public static LobPolicy parse(String value, String defaultValue) {
+            for (LobPolicy option : LobPolicy.values()) {
+                if (value != null && option.getValue().equalsIgnoreCase(value.trim())) {
+                    return option;
+                }
+            }
+            return (defaultValue == null) ? null : parse(defaultValue, null);
+        }
+    }
+
+    /**
+     * Handling of the buffered changes of a commit cycle whose end is not waited for any longer.
+     */
+    public static enum TransactionEviction implements EnumeratedValue {
+        EMIT("emit"),
+        DROP("drop");
+
+        private final String value;
+
+        private TransactionEviction(String value) {
+            this.value = value;
+        }
+
+        @Override
+        public String getValue() {
+            return value;
+        }
+
+        public static TransactionEviction parse(String value, String defaultValue) {
+            for (TransactionEviction option : TransactionEviction.values()) {
+                if (value != null && option.getValue().equalsIgnoreCase(value.trim())) {
+                    return option;
+                }
+            }
+            return (defaultValue == null) ? null : parse(defaultValue, null);
+        }
+    }
+
     @Override
     // used by the snapshot to limit the additional tables for a change in configuration
     public RelationalTableFilters getTableFilters() {
@@ -49,6 +49,13 @@ public class As400ConnectorTask extends BaseSourceTask<As400Partition, As400Offs
 		return Module.version();
 	}
 
+	private void prepopulateRoutes(TopicNamingStrategy<TableId> topicNamingStrategy,
+			As400JdbcConnection jdbcConnection, As400ConnectorConfig config) {
+		if (topicNamingStrategy instanceof PrepopulatingNamingStrategy naming) {
+			naming.prepopulate(jdbcConnection.includedTableIds(config.getSchema(), config.tableIncludeList()));
+		}
+	}
+
 	@Override
 	protected ChangeEventSourceCoordinator<As400Partition, As400OffsetContext> start(Configuration config) {
 		log.warn("starting connector task {}", version());
@@ -62,10 +69,11 @@ public class As400ConnectorTask extends BaseSourceTask<As400Partition, As400Offs
 		final SchemaNameAdjuster schemaNameAdjuster = SchemaNameAdjuster.AVRO;
 
 		final MainConnectionProvidingConnectionFactory<As400JdbcConnection> jdbcConnectionFactory = new DefaultMainConnectionProvidingConnectionFactory<>(
-				() -> new As400JdbcConnection(connectorConfig.getJdbcConfiguration()));
+				() -> createJdbcConnection(connectorConfig));
 		final As400JdbcConnection jdbcConnection = jdbcConnectionFactory.mainConnection();
 
-		this.schema = new As400DatabaseSchema(connectorConfig, jdbcConnection, topicNamingStrategy, schemaNameAdjuster);
+		this.schema = new As400DatabaseSchema(connectorConfig, jdbcConnection, jdbcConnectionFactory,
+				topicNamingStrategy, schemaNameAdjuster);
 
 		final CdcSourceTaskContext ctx = new CdcSourceTaskContext(connectorConfig.getContextName(),
 				connectorConfig.getLogicalName(), schema::tableIds);
@@ -96,8 +104,9 @@ public class As400ConnectorTask extends BaseSourceTask<As400Partition, As400Offs
 		final List<FileFilter> shortIncludes = jdbcConnection.shortIncludes(schema.getSchemaName(),
 				newConfig.tableIncludeList());
 
-		final As400RpcConnection rpcConnection = new As400RpcConnection(connectorConfig, streamingMetrics,
-				shortIncludes);
+		final As400RpcConnection rpcConnection = createRpcConnection(connectorConfig, streamingMetrics, shortIncludes);
+
+		prepopulateRoutes(topicNamingStrategy, jdbcConnection, newConfig);
 
 		As400ConnectorConfig snapshotConnectorConfig = connectorConfig;
 		final Set<String> additionalTables = additionalTablesInConfigTables(connectorConfig, previousOffset, newConfig);
@@ -124,7 +133,7 @@ public class As400ConnectorTask extends BaseSourceTask<As400Partition, As400Offs
 		final ChangeEventSourceCoordinator<As400Partition, As400OffsetContext> coordinator = new ChangeEventSourceCoordinator<>(
 				previousOffsetPartition, errorHandler, As400JdbcConnector.class, newConfig,
 				new As400ChangeEventSourceFactory(newConfig, snapshotConnectorConfig, rpcConnection,
-						jdbcConnectionFactory, errorHandler, dispatcher, clock, schema),
+						jdbcConnectionFactory, errorHandler, dispatcher, clock, schema, streamingMetrics),
 				new As400ChangeEventSourceMetricsFactory(streamingMetrics), dispatcher, schema);
 
 		coordinator.start(taskContext, this.queue, metadataProvider);
@@ -132,6 +141,17 @@ public class As400ConnectorTask extends BaseSourceTask<As400Partition, As400Offs
 		return coordinator;
 	}
 
+	// visible for testing
+	protected As400JdbcConnection createJdbcConnection(As400ConnectorConfig connectorConfig) {
+		return new As400JdbcConnection(connectorConfig.getJdbcConfiguration());
+	}
+
+	// visible for testing
+	protected As400RpcConnection createRpcConnection(As400ConnectorConfig connectorConfig,
+			As400StreamingChangeEventSourceMetrics streamingMetrics, List<FileFilter> includes) {
+		return new As400RpcConnection(connectorConfig, streamingMetrics, includes);
+	}
+
 	private Configuration addDefaultHeartbeatToConfig(Configuration config) {
 		final int heartbeat = config.getInteger("heartbeat.interval.ms", 0);
 		if (heartbeat == 0) {
@@ -8,19 +8,28 @@ package io.debezium.connector.db2as400;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.fnz.db2.journal.retrieve.ColumnFilter;
 import com.fnz.db2.journal.retrieve.JdbcFileDecoder;
 import com.fnz.db2.journal.retrieve.SchemaCacheIF;
+import com.fnz.db2.journal.retrieve.TableDescription;
 
 import io.debezium.connector.db2as400.conversion.As400DefaultValueConverter;
 import io.debezium.connector.db2as400.conversion.SchemaInfoConversion;
+import io.debezium.jdbc.ConnectionFactory;
 import io.debezium.relational.RelationalDatabaseSchema;
 import io.debezium.relational.Table;
 import io.debezium.relational.TableId;
 import io.debezium.relational.TableSchemaBuilder;
+import io.debezium.relational.Tables.ColumnNameFilter;
 import io.debezium.schema.SchemaNameAdjuster;
 import io.debezium.spi.topic.TopicNamingStrategy;
 
@@ -32,9 +41,20 @@ public class As400DatabaseSchema extends RelationalDatabaseSchema implements Sch
 	private final As400JdbcConnection jdbcConnection;
 	private final SchemaInfoConversion schemaInfoConversion;
 	private final JdbcFileDecoder fileDecoder;
+	// structure changes are read from the catalog off the streaming thread
+	private final ExecutorService structureLoader = Executors.newSingleThreadExecutor(r -> {
+		final Thread t = new Thread(r, "ibmi-structure-loader");
+		t.setDaemon(true);
+		return t;
+	});
+	private final Map<TableId, Future<Optional<TableDescription>>> pendingStructures = new HashMap<>();
+	// the loader has its own connection, the streaming thread keeps using jdbcConnection meanwhile
+	private final ConnectionFactory<As400JdbcConnection> loaderConnectionFactory;
+	private As400JdbcConnection loaderConnection;
 
 	public As400DatabaseSchema(As400ConnectorConfig config, As400JdbcConnection jdbcConnection,
-			TopicNamingStrategy<TableId> topicSelector, SchemaNameAdjuster schemaNameAdjuster) {
+			ConnectionFactory<As400JdbcConnection> loaderConnectionFactory, TopicNamingStrategy<TableId> topicSelector,
+			SchemaNameAdjuster schemaNameAdjuster) {
 		super(config, topicSelector, config.getTableFilters().dataCollectionFilter(), config.getColumnFilter(),
 				new TableSchemaBuilder(new As400ValueConverters(), new As400DefaultValueConverter(), schemaNameAdjuster,
 						config.customConverterRegistry(), config.getSourceInfoStructMaker().schema(),
@@ -43,8 +63,11 @@ public class As400DatabaseSchema extends RelationalDatabaseSchema implements Sch
 
 		this.config = config;
 		this.jdbcConnection = jdbcConnection;
+		this.loaderConnectionFactory = loaderConnectionFactory;
+		final ColumnNameFilter columnFilter = config.getColumnFilter();
+		// excluded columns are skipped by the decoder rather than decoded and then dropped
 		fileDecoder = new JdbcFileDecoder(jdbcConnection, jdbcConnection.getRealDatabaseName(), this,
-				config.getForcedCcsid());
+				config.getForcedCcsid(), (columnFilter == null) ? ColumnFilter.ALL : columnFilter::matches);
 
 		schemaInfoConversion = new SchemaInfoConversion(fileDecoder);
 	}
@@ -65,6 +88,67 @@ public class As400DatabaseSchema extends RelationalDatabaseSchema implements Sch
 		return oti;
 	}
 
+	/**
+	 * called for a FILE_CHANGE or FILE_CREATED entry, the new structure is read in the background while entries for
+	 * other tables are processed
+	 */
+	public void structureChanged(TableId tableId) {
+		final Future<Optional<TableDescription>> previous = pendingStructures.put(tableId,
+				structureLoader.submit(() -> fileDecoder.describe(loaderConnection(), tableId.table(), tableId.schema())));
+		if (previous != null) {
+			previous.cancel(false);
+		}
+	}
+
+	/**
+	 * must be called before decoding an entry for the table, waits for any structure read since the last change
+	 * entry and swaps it in so the entry is decoded with the format in force at its position
+	 *
+	 * @return true when the record format changed and the schema was rebuilt
+	 */
+	public boolean applyStructureChange(TableId tableId) {
+		if (pendingStructures.isEmpty()) {
+			return false;
+		}
+		final Future<Optional<TableDescription>> pending = pendingStructures.remove(tableId);
+		if (pending == null) {
+			return false;
+		}
+		try {
+			return fileDecoder.refresh(tableId.table(), tableId.schema(), pending.get());
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			log.warn("interrupted reading structure of {}, reloading on next use", tableId);
+		} catch (final ExecutionException e) {
+			log.warn("failed reading structure of {}, reloading on next use", tableId, e.getCause());
+		}
+		clearCache(tableId.table(), tableId.schema());
+		return true;
+	}
+
+	// only called on the loader thread
+	private As400JdbcConnection loaderConnection() {
+		if (loaderConnection == null) {
+			loaderConnection = loaderConnectionFactory.newConnection();
+		}
+		return loaderConnection;
+	}
+
+	@Override
+	public void close() {
+		structureLoader.shutdownNow();
+		try {
+			if (structureLoader.awaitTermination(10, TimeUnit.SECONDS) && loaderConnection != null) {
+				loaderConnection.close();
+			}
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (final Exception e) {
+			log.warn("failed closing structure loader connection", e);
+		}
+		super.close();
+	}
+
 	// assume always long name - only called from snapshotting
 	public void addSchema(Table table) {
 		final TableId id = table.id();
@@ -64,6 +64,9 @@ public class As400JdbcConnection extends JdbcConnection implements Connect<Conne
     private final Map<String, Optional<String>> longToSystemTableName = new HashMap<>();
     private final Map<String, String> systemToLongColumnName = new HashMap<>();
     private final Map<String, String> longToSystemColumnName = new HashMap<>();
+    // one instance per table so caches keyed on the table mostly compare by identity
+    private final Map<TableId, TableId> tableIds = new HashMap<>();
+    private final Map<String, Map<String, TableId>> systemToTableId = new HashMap<>();
 
     private final String realDatabaseName;
     
@@ -83,7 +86,11 @@ public class As400JdbcConnection extends JdbcConnection implements Connect<Conne
             AS400JDBCDriverForcedCcsid.class.getName(), As400JdbcConnection.class.getClassLoader(), JdbcFields);
 
     public As400JdbcConnection(JdbcConfiguration config) {
-        super(withDefaults(config), FACTORY, "'", "'");
+        this(config, FACTORY);
+    }
+
+    public As400JdbcConnection(JdbcConfiguration config, ConnectionFactory factory) {
+        super(withDefaults(config), factory, "'", "'");
         this.forcedCcsid = config.getInteger(As400ConnectorConfig.FORCE_CCSID);
         this.config = config;
         realDatabaseName = retrieveRealDatabaseName();
@@ -105,6 +112,28 @@ public class As400JdbcConnection extends JdbcConnection implements Connect<Conne
 
     }
     
+    public List<TableId> includedTableIds(String schema, String includes) {
+        if (includes == null || includes.isBlank()) {
+            return Collections.<TableId>emptyList();
+        }
+        final String database = getRealDatabaseName();
+        List<TableId> r = new ArrayList<>();
+        for (String tableName: includes.split(",")) {
+            String schemaName = schema;
+            int o = tableName.lastIndexOf('.');
+            if (o > 0) {
+                schemaName = tableName.substring(0, o);
+                tableName = tableName.substring(o + 1);
+                o = schemaName.lastIndexOf('.');
+                if (o > 0) {
+                    schemaName = schemaName.substring(o + 1);
+                }
+            }
+            r.add(canonical(new TableId(database, schemaName.trim(), tableName.trim())));
+        }
+        return r;
+    }
+
     public List<FileFilter> shortIncludes(String schema, String includes) {
         if (includes == null || includes.isBlank()) {
             return Collections.<FileFilter>emptyList();
@@ -263,6 +292,24 @@ public class As400JdbcConnection extends JdbcConnection implements Connect<Conne
         }
     }
 
+    /**
+     * the table of a journalled system file, looked up without allocating once the file has been seen
+     */
+    public TableId getTableId(String schemaName, String systemName) {
+        final Map<String, TableId> files = systemToTableId.computeIfAbsent(schemaName, s -> new HashMap<>());
+        TableId tableId = files.get(systemName);
+        if (tableId == null) {
+            tableId = canonical(new TableId(getRealDatabaseName(), schemaName, getLongName(schemaName, systemName)));
+            files.put(systemName, tableId);
+        }
+        return tableId;
+    }
+
+    private TableId canonical(TableId tableId) {
+        final TableId existing = tableIds.putIfAbsent(tableId, tableId);
+        return existing == null ? tableId : existing;
+    }
+
     public String getLongName(String schemaName, String systemName) {
         String systemKey = String.format("%s.%s", schemaName, systemName);
         if (schemaName.isEmpty() || systemName.isEmpty()) {
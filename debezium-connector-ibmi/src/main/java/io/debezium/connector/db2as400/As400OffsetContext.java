@@ -47,6 +47,7 @@ public class As400OffsetContext implements OffsetContext {
 	private final As400ConnectorConfig connectorConfig;
 	private final SourceInfo sourceInfo;
 	private final JournalPosition position;
+	private JournalPosition resumePosition = null;
 	private final String inclueTables;
 	private boolean hasNewTables = false;
 	private volatile boolean snapshotComplete = false;
@@ -84,6 +85,14 @@ public class As400OffsetContext implements OffsetContext {
 		this.position.setPosition(newPosition);
 	}
 
+	/**
+	 * @param resumePosition where to restart from while changes before the current position are still held back,
+	 *                       null when there are none
+	 */
+	public void setResumePosition(JournalPosition resumePosition) {
+		this.resumePosition = resumePosition;
+	}
+
 	public boolean isSnapshotCompplete() {
 		return this.snapshotComplete;
 	}
@@ -102,6 +111,7 @@ public class As400OffsetContext implements OffsetContext {
 
 	@Override
 	public Map<String, ?> getOffset() {
+		final JournalPosition position = (resumePosition == null) ? this.position : resumePosition;
 		if (sourceInfo.isSnapshot()) {
 			log.debug("new snapshot offset {}", position);
 		} else {
@@ -24,12 +24,14 @@ import com.fnz.db2.journal.retrieve.RetrieveConfig;
 import com.fnz.db2.journal.retrieve.RetrieveConfigBuilder;
 import com.fnz.db2.journal.retrieve.RetrieveJournal;
 import com.fnz.db2.journal.retrieve.rjne0200.EntryHeader;
+import com.fnz.db2.journal.retrieve.rjne0200.FirstHeader;
 import com.fnz.db2.journal.retrieve.rnrn0200.DetailedJournalReceiver;
 import com.fnz.logging.structured.StructuredMessage;
 import com.ibm.as400.access.AS400;
 import com.ibm.as400.access.SocketProperties;
 
 import io.debezium.connector.db2as400.metrics.As400StreamingChangeEventSourceMetrics;
+import io.debezium.connector.db2as400.metrics.ThreadCost;
 import io.debezium.pipeline.source.spi.ChangeEventSource.ChangeEventSourceContext;
 
 
@@ -67,6 +69,19 @@ public class As400RpcConnection implements AutoCloseable, Connect<AS400, IOExcep
         }
     }
 
+    /**
+     * reads the journal through the given retrieval rather than connecting to look the journal up, for stand-ins
+     */
+    // visible for testing
+    protected As400RpcConnection(As400ConnectorConfig config, As400StreamingChangeEventSourceMetrics streamingMetrics,
+            JournalInfo journalInfo, RetrieveJournal retrieveJournal, JournalInfoRetrieval journalInfoRetrieval) {
+        this.config = config;
+        this.streamingMetrics = streamingMetrics;
+        this.journalInfo = journalInfo;
+        this.retrieveJournal = retrieveJournal;
+        this.journalInfoRetrieval = journalInfoRetrieval;
+    }
+
     @Override
     public void close() {
         try {
@@ -121,7 +136,9 @@ public class As400RpcConnection implements AutoCloseable, Connect<AS400, IOExcep
             throws Exception {
         boolean success = false;
         JournalPosition position = offsetCtx.getPosition();
+        ThreadCost fetchStart = ThreadCost.current();
         success = retrieveJournal.retrieveJournal(position);
+        ThreadCost fetch = ThreadCost.current().since(fetchStart);
 
         logOffsets(position, success);
         logAllReceivers();
@@ -129,10 +146,16 @@ public class As400RpcConnection implements AutoCloseable, Connect<AS400, IOExcep
         watchDog.alive();
 
         if (success) {
+            FirstHeader header = retrieveJournal.getFirstHeader();
+            if (retrieveJournal.getLastRpcNanos() > 0 && header != null) {
+                streamingMetrics.journalFetched(retrieveJournal.getLastRpcNanos(), header.totalBytes(), header.size(),
+                        retrieveJournal.getReceiverLength());
+            }
             if (!retrieveJournal.hasData()) {
                 noDataDiagnostics(position);
             }
-            while (retrieveJournal.nextEntry() && context.isRunning()) {
+            ThreadCost processStart = ThreadCost.current();
+            while (nextEntry() && context.isRunning()) {
                 watchDog.alive();
                 EntryHeader eheader = retrieveJournal.getEntryHeader();
                 BigInteger currentOffset = eheader.getSequenceNumber();
@@ -141,10 +164,15 @@ public class As400RpcConnection implements AutoCloseable, Connect<AS400, IOExcep
                 // while processing journal entries getPosistion is the current position
                 position.setPosition(retrieveJournal.getPosition());
             }
+            if (header != null) {
+                streamingMetrics.blockCost(fetch, ThreadCost.current().since(processStart), header.size(),
+                        header.totalBytes());
+            }
 
             // note that getPosition returns the current position or the next continuation offset after the current block
             offsetCtx.setPosition(retrieveJournal.getPosition());
-
+            updateLag(offsetCtx.getPosition());
+            streamingMetrics.setCaughtUp(!retrieveJournal.futureDataAvailable());
         }
         else {
             // this is bad, we've probably lost data
@@ -158,6 +186,21 @@ public class As400RpcConnection implements AutoCloseable, Connect<AS400, IOExcep
         return success && retrieveJournal.futureDataAvailable();
     }
     
+    private void updateLag(JournalPosition position) {
+        retrieveJournal.getCachedJournalEnd().ifPresent(end -> {
+            if (position.isOffsetSet()) {
+                streamingMetrics.updateJournalLag(end, position.getOffset());
+            }
+        });
+    }
+
+    private boolean nextEntry() {
+        long start = System.nanoTime();
+        boolean hasNext = retrieveJournal.nextEntry();
+        streamingMetrics.headerDecoded(System.nanoTime() - start);
+        return hasNext;
+    }
+
     private void logAllReceivers() throws IOException, Exception {
         if (infrequent.shouldLogRateLimted("all-receivers")) {
             List<DetailedJournalReceiver> receivers = journalInfoRetrieval.getReceivers(connection(), journalInfo);
@@ -170,13 +213,15 @@ public class As400RpcConnection implements AutoCloseable, Connect<AS400, IOExcep
         if (periodic.shouldLogRateLimted("offsets")) {
             JournalPosition currentPosition = getCurrentPosition();
             BigInteger behind = currentPosition.getOffset().subtract(position.getOffset());
-            streamingMetrics.setJournalOffset(currentPosition.getOffset());
-            streamingMetrics.setJournalBehind(behind);
+            streamingMetrics.updateJournalLag(currentPosition.getOffset(), position.getOffset());
             log.info(new StructuredMessage("current position diagnostics", 
                     Map.of("header", retrieveJournal.headerAsString(),
                             "behind", behind,
                             "currentPosition", currentPosition,
-                            "success", success)));
+                            "success", success,
+                            "allocatedBytesPerEntry", streamingMetrics.getLastBlockAllocatedBytesPerEntry(),
+                            "cpuNanosPerEntry", streamingMetrics.getLastBlockCpuNanosPerEntry(),
+                            "allocatedBytesPerJournalByte", streamingMetrics.getLastBlockAllocatedBytesPerJournalByte())));
 
         }
     }
@@ -6,13 +6,14 @@
 package io.debezium.connector.db2as400;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.sql.SQLNonTransientConnectionException;
 import java.sql.Timestamp;
+import java.sql.Types;
 import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -22,16 +23,26 @@ import org.slf4j.LoggerFactory;
 
 import com.fnz.db2.journal.retrieve.JournalEntryType;
 import com.fnz.db2.journal.retrieve.JournalPosition;
+import com.fnz.db2.journal.retrieve.RetrieveJournal;
+import com.fnz.db2.journal.retrieve.RowView;
+import com.fnz.db2.journal.retrieve.events.EntryDecode;
 import com.fnz.db2.journal.retrieve.exception.FatalException;
 import com.fnz.db2.journal.retrieve.exception.InvalidPositionException;
+import com.fnz.db2.journal.retrieve.rjne0200.EntryHeader;
 
 import io.debezium.DebeziumException;
+import io.debezium.connector.db2as400.As400ConnectorConfig.TransactionEviction;
 import io.debezium.connector.db2as400.As400RpcConnection.BlockingRecieverConsumer;
+import io.debezium.connector.db2as400.TransactionBuffer.Change;
+import io.debezium.connector.db2as400.events.Reconnect;
+import io.debezium.connector.db2as400.metrics.As400StreamingChangeEventSourceMetrics;
 import io.debezium.data.Envelope.Operation;
 import io.debezium.pipeline.ErrorHandler;
 import io.debezium.pipeline.EventDispatcher;
 import io.debezium.pipeline.source.spi.StreamingChangeEventSource;
 import io.debezium.pipeline.txmetadata.TransactionContext;
+import io.debezium.relational.Column;
+import io.debezium.relational.Table;
 import io.debezium.relational.TableId;
 import io.debezium.util.Clock;
 import io.debezium.util.Metronome;
@@ -49,7 +60,11 @@ public class As400StreamingChangeEventSource implements StreamingChangeEventSour
 
 	private static final Logger log = LoggerFactory.getLogger(As400StreamingChangeEventSource.class);
 
-	private final HashMap<String, Object[]> beforeMap = new HashMap<>();
+	private static final int MAX_PENDING_BEFORE_IMAGES = 1024;
+	private final BeforeImageCache<RowView> beforeImages = new BeforeImageCache<>(MAX_PENDING_BEFORE_IMAGES);
+	private static final int MAX_OPEN_TRANSACTIONS = 16384;
+	// journal time between looking for commit cycles whose end was never seen
+	private static final long STALE_TRANSACTION_CHECK_MS = 10000;
 	private static Set<Character> alwaysProcess = Stream.of('J', 'C').collect(Collectors.toCollection(HashSet::new));
 
 	/**
@@ -68,12 +83,23 @@ public class As400StreamingChangeEventSource implements StreamingChangeEventSour
 	private final As400DatabaseSchema schema;
 	private final Duration pollInterval;
 	private final As400ConnectorConfig connectorConfig;
-	private final Map<String, TransactionContext> txMap = new HashMap<>();
+	private final CommitCycles<TransactionContext> txMap = new CommitCycles<>(MAX_OPEN_TRANSACTIONS);
+	private final long maxTransactionAgeMs;
+	private long nextStaleTransactionCheck = Long.MIN_VALUE;
 	private final String database;
+	private final As400StreamingChangeEventSourceMetrics streamingMetrics;
+	private final LobResolver lobs;
+	private final UnchangedColumnResolver unchangedColumns;
+	private final TransactionBuffer transactions;
+	private final TransactionEviction transactionEviction;
+	// stands in for text and binary columns left out of both images of a minimised update
+	private final byte[] unavailableBytes;
+	private final String unavailableText;
 
 	public As400StreamingChangeEventSource(As400ConnectorConfig connectorConfig, As400RpcConnection dataConnection,
 			As400JdbcConnection jdbcConnection, EventDispatcher<As400Partition, TableId> dispatcher,
-			ErrorHandler errorHandler, Clock clock, As400DatabaseSchema schema) {
+			ErrorHandler errorHandler, Clock clock, As400DatabaseSchema schema,
+			As400StreamingChangeEventSourceMetrics streamingMetrics) {
 		this.connectorConfig = connectorConfig;
 		this.dataConnection = dataConnection;
 		this.jdbcConnection = jdbcConnection;
@@ -83,20 +109,35 @@ public class As400StreamingChangeEventSource implements StreamingChangeEventSour
 		this.schema = schema;
 		this.pollInterval = connectorConfig.getPollInterval();
 		this.database = jdbcConnection.getRealDatabaseName();
+		this.streamingMetrics = streamingMetrics;
+		this.lobs = new LobResolver(connectorConfig, jdbcConnection, schema.getFileDecoder(), streamingMetrics);
+		this.unchangedColumns = new UnchangedColumnResolver(jdbcConnection, schema.getFileDecoder(), streamingMetrics);
+		this.transactions = connectorConfig.isTransactionBuffered()
+				? new TransactionBuffer(connectorConfig.getTransactionBufferMemory(),
+						connectorConfig.getTransactionBufferSpillDir(), MAX_OPEN_TRANSACTIONS)
+				: null;
+		this.transactionEviction = connectorConfig.getTransactionEviction();
+		this.maxTransactionAgeMs = connectorConfig.getTransactionMaxAgeMs();
+		this.unavailableBytes = connectorConfig.getUnavailableValuePlaceholder();
+		this.unavailableText = new String(unavailableBytes, StandardCharsets.UTF_8);
 	}
 
-	private void cacheBefore(TableId tableId, Timestamp date, Object[] dataBefore) {
-		final String key = String.format("%s-%s", tableId.schema(), tableId.table());
-		beforeMap.put(key, dataBefore);
+	private void cacheBefore(TableId tableId, EntryHeader eheader, RowView dataBefore) {
+		final long evicted = beforeImages.evicted();
+		// the journal buffer is refilled before the after image may arrive
+		beforeImages.put(tableId, eheader.getJobNumber(), eheader.getThreadId(), dataBefore.detach());
+		if (beforeImages.evicted() != evicted) {
+			log.warn("dropped unmatched before image, {} pending before images", beforeImages.size());
+		}
 	}
 
-	private Object[] getBefore(TableId tableId, Timestamp date) {
-		final String key = String.format("%s-%s", tableId.schema(), tableId.table());
-		final Object[] dataBefore = beforeMap.remove(key);
+	private RowView getBefore(TableId tableId, EntryHeader eheader) {
+		final RowView dataBefore = beforeImages.remove(tableId, eheader.getJobNumber(), eheader.getThreadId());
 		if (dataBefore == null) {
-			log.debug("before image not found for {}", key);
+			log.debug("before image not found for {} job {} thread {}", tableId, eheader.getJobNumber(),
+					eheader.getThreadId());
 		} else {
-			log.debug("found before image for {}", key);
+			log.debug("found before image for {}", tableId);
 		}
 		return dataBefore;
 	}
@@ -125,6 +166,10 @@ public class As400StreamingChangeEventSource implements StreamingChangeEventSour
 					} catch (final FatalException e) {
 						log.error("Unable to process offset {}", offsetContext.getPosition(), e);
 						throw new DebeziumException("Unable to process offset " + offsetContext.getPosition(), e);
+					} catch (final UnavailableKeyException e) {
+						// skipping the entry would lose the change
+						log.error("Unable to process offset {}", offsetContext.getPosition(), e);
+						throw e;
 					} catch (final InvalidPositionException e) {
 						log.error("Invalid position resetting offsets to beginning", e);
 						offsetContext.setPosition(new JournalPosition());
@@ -153,6 +198,9 @@ public class As400StreamingChangeEventSource implements StreamingChangeEventSour
 			}
 		} finally {
 			watchDog.stop();
+			if (transactions != null) {
+				transactions.close();
+			}
 		}
 	}
 
@@ -165,18 +213,25 @@ public class As400StreamingChangeEventSource implements StreamingChangeEventSour
 	}
 
 	public void closeAndReconnect() {
+		final Reconnect event = new Reconnect();
+		event.begin();
+		boolean success = true;
 		try {
 			dataConnection.close();
 			dataConnection.connection();
 		} catch (final Exception e) {
+			success = false;
 			log.error("Failure reconnecting command", e);
 		}
 		try {
 			jdbcConnection.close();
 			jdbcConnection.connect();
 		} catch (final Exception e) {
+			success = false;
 			log.error("Failure reconnecting sql", e);
 		}
+		event.success = success;
+		event.commit();
 		connectionTime = System.currentTimeMillis();
 	}
 
@@ -184,20 +239,22 @@ public class As400StreamingChangeEventSource implements StreamingChangeEventSour
 			throws IOException, SQLNonTransientConnectionException {
 		return (nextOffset, r, eheader) -> {
 			try {
+				evictStaleTransactions(partition, offsetContext, r, eheader.getTimestamp().getTime());
 				final JournalEntryType journalEntryType = eheader.getJournalEntryType();
 
 				if (journalEntryType == null || ignore(journalEntryType)) {
 					log.debug("excluding table {} entry type {}", eheader.getFile(), eheader.getEntryType());
+					streamingMetrics.entryFiltered();
 					return;
 				}
 
-				String longName = eheader.getFile();
+				TableId tableId;
 				try {
-					longName = jdbcConnection.getLongName(eheader.getLibrary(), eheader.getFile());
+					tableId = jdbcConnection.getTableId(eheader.getLibrary(), eheader.getFile());
 				} catch (final IllegalStateException e) {
 					log.error("failed to look up long name", e);
+					tableId = new TableId(database, eheader.getLibrary(), eheader.getFile());
 				}
-				final TableId tableId = new TableId(database, eheader.getLibrary(), longName);
 
 				final boolean includeTable = connectorConfig.getTableFilters().dataCollectionFilter()
 						.isIncluded(tableId);
@@ -206,6 +263,7 @@ public class As400StreamingChangeEventSource implements StreamingChangeEventSour
 																							// and transaction C
 																							// messages
 					log.debug("excluding table {} journal code {}", tableId, eheader.getJournalCode());
+					streamingMetrics.entryFiltered();
 					return;
 				}
 
@@ -214,22 +272,44 @@ public class As400StreamingChangeEventSource implements StreamingChangeEventSour
 				switch (journalEntryType) {
 				case START_COMMIT: {
 					// start commit
-					final String txId = eheader.getCommitCycle().toString();
-					log.debug("begin transaction: {}", txId);
+					final long txId = eheader.getCommitCycleId();
+					if (txId == 0) {
+						break;
+					}
+					final String txName = Long.toUnsignedString(txId);
+					log.debug("begin transaction: {}", txName);
 					final TransactionContext txc = new TransactionContext();
-					txc.beginTransaction(txId);
-					txMap.put(txId, txc);
-					log.debug("start transaction id {} tx {} table {}", nextOffset, txId, tableId);
-					dispatcher.dispatchTransactionStartedEvent(partition, txId, offsetContext,
-							eheader.getTimestamp().toInstant());
+					txc.beginTransaction(txName);
+					makeRoom(partition, offsetContext, r, txId);
+					txMap.put(txId, txc, eheader.getTimestamp().getTime());
+					log.debug("start transaction id {} tx {} table {}", nextOffset, txName, tableId);
+					if (transactions != null) {
+						// started event waits for the commit, a rolled back transaction leaves no trace
+						transactions.begin(txId, offsetContext.getPosition(), eheader.getTimestamp().toInstant());
+						transactionBufferChanged(offsetContext);
+					} else {
+						dispatcher.dispatchTransactionStartedEvent(partition, txName, offsetContext,
+								eheader.getTimestamp().toInstant());
+					}
 				}
 					break;
 				case END_COMMIT: {
 					// end commit
 					// TOOD transaction must be provided by the OffsetContext
-					final String txId = eheader.getCommitCycle().toString();
+					final long txId = eheader.getCommitCycleId();
 					final TransactionContext txc = txMap.remove(txId);
-					log.debug("commit transaction id {} tx {} table {}", nextOffset, txId, tableId);
+					log.debug("commit transaction id {} tx {} table {}", nextOffset, Long.toUnsignedString(txId), tableId);
+					if (transactions != null) {
+						if (txc != null) {
+							dispatcher.dispatchTransactionStartedEvent(partition, txc.getTransactionId(), offsetContext, transactions
+									.startedAt(txId).orElse(eheader.getTimestamp().toInstant()));
+						}
+						final int changes = transactions.commit(txId,
+								change -> emit(partition, offsetContext, r, txc, change));
+						log.debug("committed transaction {} dispatched {} changes", Long.toUnsignedString(txId), changes);
+						streamingMetrics.transactionCommitted();
+						transactionBufferChanged(offsetContext);
+					}
 					if (txc != null) {
 						txc.endTransaction();
 						dispatcher.dispatchTransactionCommittedEvent(partition, offsetContext,
@@ -237,82 +317,69 @@ public class As400StreamingChangeEventSource implements StreamingChangeEventSour
 					}
 				}
 					break;
+				case ROLLBACK: {
+					final long txId = eheader.getCommitCycleId();
+					txMap.remove(txId);
+					if (transactions != null) {
+						final int changes = transactions.rollback(txId);
+						log.debug("rolled back transaction {} dropped {} changes", Long.toUnsignedString(txId), changes);
+						streamingMetrics.transactionRolledBack(changes);
+						transactionBufferChanged(offsetContext);
+					}
+				}
+					break;
 				case FILE_CHANGE:
 				case FILE_CREATED: {
-					// table has changed - reload schema
-					schema.clearCache(tableId.table(), tableId.schema());
-					schema.getRecordFormat(tableId.table(), tableId.schema());
+					// table may have changed - the schema is only rebuilt if the record format differs
+					schema.structureChanged(tableId);
+					streamingMetrics.structureChanged();
 				}
 					break;
 				case BEFORE_IMAGE: {
 					// before image
 					tableId.schema();
-					final Object[] dataBefore = r.decode(schema.getFileDecoder());
+					final RowView dataBefore = decode(tableId, r, eheader);
 
-					cacheBefore(tableId, eheader.getTimestamp(), dataBefore);
+					cacheBefore(tableId, eheader, dataBefore);
 				}
 					break;
 				case AFTER_IMAGE: {
 					// after image
 					// before image is meant to have been immediately before
-					final Object[] dataBefore = getBefore(tableId, eheader.getTimestamp());
-					final Object[] dataNext = r.decode(schema.getFileDecoder());
-
-					offsetContext.setSourceTime(eheader.getTimestamp());
-
-					final String txId = eheader.getCommitCycle().toString();
-					final TransactionContext txc = txMap.get(txId);
-					offsetContext.setTransaction(txc);
+					final RowView dataBefore = getBefore(tableId, eheader);
+					// a minimised after image only holds the changed columns
+					final RowView dataNext = merge(tableId, r, eheader, decode(tableId, r, eheader), dataBefore);
+					lobs.resolve(tableId, r, eheader, dataNext);
 
-					log.debug("update event id {} tx {} table {}", nextOffset, txId, tableId);
-
-					dispatcher.dispatchDataChangeEvent(partition, tableId, new As400ChangeRecordEmitter(partition,
-							offsetContext, Operation.UPDATE, dataBefore, dataNext, clock));
+					log.debug("update event id {} tx {} table {}", nextOffset, eheader.getCommitCycleId(), tableId);
+					change(partition, offsetContext, r, eheader, tableId, Operation.UPDATE, dataBefore, dataNext);
 				}
 					break;
 				case ADD_ROW1:
 				case ADD_ROW2: {
 					// record added
-					final Object[] dataNext = r.decode(schema.getFileDecoder());
-					offsetContext.setSourceTime(eheader.getTimestamp());
-
-					final String txId = eheader.getCommitCycle().toString();
-					final TransactionContext txc = txMap.get(txId);
-					offsetContext.setTransaction(txc);
-					if (txc != null) {
-						txc.event(tableId);
-					}
+					final RowView dataNext = decode(tableId, r, eheader);
+					lobs.resolve(tableId, r, eheader, dataNext);
 
-					log.debug("insert event id {} tx {} table {}", offsetContext.getPosition().toString(), txId,
-							tableId);
-					dispatcher.dispatchDataChangeEvent(partition, tableId, new As400ChangeRecordEmitter(partition,
-							offsetContext, Operation.CREATE, null, dataNext, clock));
+					log.debug("insert event id {} tx {} table {}", offsetContext.getPosition().toString(),
+							eheader.getCommitCycleId(), tableId);
+					change(partition, offsetContext, r, eheader, tableId, Operation.CREATE, null, dataNext);
 				}
 					break;
 				case DELETE_ROW1:
 				case DELETE_ROW2: {
 					// record deleted
-					final Object[] dataBefore = r.decode(schema.getFileDecoder());
-
-					offsetContext.setSourceTime(eheader.getTimestamp());
-
-					final String txId = eheader.getCommitCycle().toString();
-					final TransactionContext txc = txMap.get(txId);
-					offsetContext.setTransaction(txc);
-					if (txc != null) {
-						txc.event(tableId);
-					}
+					final RowView dataBefore = decode(tableId, r, eheader);
 
-					log.debug("delete event id {} tx {} table {}", offsetContext.getPosition().toString(), txId,
-							tableId);
-					dispatcher.dispatchDataChangeEvent(partition, tableId, new As400ChangeRecordEmitter(partition,
-							offsetContext, Operation.DELETE, dataBefore, null, clock));
+					log.debug("delete event id {} tx {} table {}", offsetContext.getPosition().toString(),
+							eheader.getCommitCycleId(), tableId);
+					change(partition, offsetContext, r, eheader, tableId, Operation.DELETE, dataBefore, null);
 				}
 					break;
 				default:
 					break;
 				}
-			} catch (IOException | SQLNonTransientConnectionException e) {
+			} catch (IOException | SQLNonTransientConnectionException | UnavailableKeyException e) {
 				throw e;
 			} catch (final Exception e) {
 				log.error("Failed to process record", e);
@@ -320,6 +387,255 @@ public class As400StreamingChangeEventSource implements StreamingChangeEventSour
 		};
 	}
 
+	/**
+	 * dispatches the change, or buffers it until its commit cycle ends when transactions are buffered
+	 */
+	private void change(As400Partition partition, As400OffsetContext offsetContext, RetrieveJournal r,
+			EntryHeader eheader, TableId tableId, Operation operation, RowView before, RowView after)
+			throws InterruptedException, IOException {
+		final Change change = new Change(tableId, operation, eheader.getTimestamp(), before, after);
+		final long txId = eheader.getCommitCycleId();
+		if (transactions != null && txId != 0) {
+			makeRoom(partition, offsetContext, r, txId);
+			transactions.add(txId, offsetContext.getPosition(), change);
+			transactionBufferChanged(offsetContext);
+			return;
+		}
+		emit(partition, offsetContext, r, txMap.get(txId), change);
+	}
+
+	private void emit(As400Partition partition, As400OffsetContext offsetContext, RetrieveJournal r,
+			TransactionContext txc, Change change) throws InterruptedException {
+		offsetContext.setSourceTime(change.entryTime());
+		offsetContext.setTransaction(txc);
+		if (txc != null && change.operation() != Operation.UPDATE) {
+			txc.event(change.tableId());
+		}
+		dispatch(partition, change.tableId(), r, change.entryTime(), new As400ChangeRecordEmitter(partition,
+				offsetContext, change.operation(), change.before(), change.after(), clock));
+	}
+
+	/**
+	 * gives up on commit cycles open for longer than transaction.max.age.ms of journal time, their end was lost or
+	 * precedes the position streaming started from
+	 */
+	private void evictStaleTransactions(As400Partition partition, As400OffsetContext offsetContext, RetrieveJournal r,
+			long entryMillis) throws IOException, InterruptedException {
+		if (entryMillis < nextStaleTransactionCheck) {
+			return;
+		}
+		nextStaleTransactionCheck = entryMillis + STALE_TRANSACTION_CHECK_MS;
+		final long cutoff = entryMillis - maxTransactionAgeMs;
+		final String reason = "it started more than " + maxTransactionAgeMs + " ms ago and its end was not seen";
+		for (long txId : txMap.startedBefore(cutoff)) {
+			evictTransaction(partition, offsetContext, r, txId, reason);
+		}
+		if (transactions != null) {
+			for (long txId : transactions.startedBefore(Instant.ofEpochMilli(cutoff))) {
+				if (transactions.isOpen(txId)) {
+					evictTransaction(partition, offsetContext, r, txId, reason);
+				}
+			}
+		}
+		final long oldest = txMap.oldestStart();
+		streamingMetrics.openTransactions(txMap.size(), (oldest == Long.MAX_VALUE) ? 0 : entryMillis - oldest);
+	}
+
+	/**
+	 * gives up on the commit cycles seen first until there is room to track the cycle
+	 */
+	private void makeRoom(As400Partition partition, As400OffsetContext offsetContext, RetrieveJournal r, long txId)
+			throws IOException, InterruptedException {
+		if (txMap.get(txId) == null) {
+			while (txMap.isFull()) {
+				evictTransaction(partition, offsetContext, r, txMap.oldestId(), "too many transactions are open");
+			}
+		}
+		if (transactions != null && !transactions.isOpen(txId)) {
+			while (transactions.isFull()) {
+				evictTransaction(partition, offsetContext, r, transactions.oldestId(), "too many transactions are open");
+			}
+		}
+	}
+
+	/**
+	 * stops tracking the commit cycle, what is buffered for it is emitted without a commit or dropped as
+	 * transaction.eviction says
+	 */
+	private void evictTransaction(As400Partition partition, As400OffsetContext offsetContext, RetrieveJournal r,
+			long txId, String reason) throws IOException, InterruptedException {
+		final String txName = Long.toUnsignedString(txId);
+		txMap.remove(txId);
+		int changes = 0;
+		if (transactions != null) {
+			if (transactionEviction == TransactionEviction.EMIT) {
+				changes = transactions.commit(txId, change -> emit(partition, offsetContext, r, null, change));
+				log.warn("emitted {} changes of transaction {} without a commit, {}", changes, txName, reason);
+			} else {
+				changes = transactions.rollback(txId);
+				log.warn("dropped {} changes of transaction {}, {}", changes, txName, reason);
+			}
+			transactionBufferChanged(offsetContext);
+		} else {
+			log.warn("no longer tracking transaction {}, {}", txName, reason);
+		}
+		streamingMetrics.transactionsEvicted(1, changes);
+	}
+
+	/**
+	 * keeps the stored offset at the start of the oldest open transaction so a restart replays what is buffered
+	 */
+	private void transactionBufferChanged(As400OffsetContext offsetContext) {
+		offsetContext.setResumePosition(transactions.oldestStart().orElse(null));
+		streamingMetrics.transactionBuffer(transactions.openTransactions(), transactions.bufferedChanges(),
+				transactions.spilledChanges());
+	}
+
+	private RowView decode(TableId tableId, RetrieveJournal r, EntryHeader eheader) throws Exception {
+		if (schema.applyStructureChange(tableId)) {
+			streamingMetrics.schemaRebuilt();
+		}
+		try {
+			return r.decode(schema.getFileDecoder()::view);
+		} catch (final Exception e) {
+			streamingMetrics.tables().decodeFailed(tableId);
+			throw e;
+		}
+	}
+
+	/**
+	 * a minimised after image takes its unchanged columns from the before image, under MINENTDTA that is minimised
+	 * too so a column unchanged by the update is in neither and is read from the table
+	 */
+	private RowView merge(TableId tableId, RetrieveJournal r, EntryHeader eheader, RowView row, RowView base)
+			throws SQLNonTransientConnectionException {
+		if (row.isMinimised()) {
+			row.merge(base);
+			if (row.countUnavailable() > 0 || (base != null && base.countUnavailable() > 0)) {
+				unchangedColumns.resolve(tableId, r, eheader, row, base);
+			}
+			final int unavailable = row.countUnavailable();
+			streamingMetrics.minimisedEntry(unavailable);
+			if (unavailable > 0) {
+				log.debug("minimised entry of {} has {} columns in neither image", tableId, unavailable);
+				markUnavailable(tableId, row);
+			}
+		}
+		if (base != null && base.countUnavailable() > 0) {
+			markUnavailable(tableId, base);
+		}
+		return row;
+	}
+
+	/**
+	 * text and binary columns get the unavailable.value.placeholder, others stay null
+	 *
+	 * @throws UnavailableKeyException when a key column is unavailable, the change can't be emitted without its key
+	 */
+	private void markUnavailable(TableId tableId, RowView row) {
+		final Table table = schema.tableFor(tableId);
+		if (table == null) {
+			return;
+		}
+		final int columns = Math.min(row.size(), table.columns().size());
+		for (int i = 0; i < columns; i++) {
+			if (row.isAvailable(i)) {
+				continue;
+			}
+			final Column column = table.columns().get(i);
+			if (table.isPrimaryKeyColumn(column.name())) {
+				streamingMetrics.tables().decodeFailed(tableId);
+				throw new UnavailableKeyException(String.format(
+						"key column %s of %s is unchanged by a minimised update and its row is no longer in the table, journal the table with MINENTDTA(*NONE) to capture it",
+						column.name(), tableId));
+			}
+			row.resolve(i, unavailableValue(column));
+		}
+	}
+
+	private Object unavailableValue(Column column) {
+		switch (column.jdbcType()) {
+		case Types.CHAR:
+		case Types.VARCHAR:
+		case Types.LONGVARCHAR:
+		case Types.NCHAR:
+		case Types.NVARCHAR:
+		case Types.LONGNVARCHAR:
+		case Types.CLOB:
+		case Types.NCLOB:
+		case Types.SQLXML:
+			return unavailableText;
+		case Types.BINARY:
+		case Types.VARBINARY:
+		case Types.LONGVARBINARY:
+		case Types.BLOB:
+			return unavailableBytes;
+		default:
+			return null;
+		}
+	}
+
+	private void dispatch(As400Partition partition, TableId tableId, RetrieveJournal r, Timestamp entryTime,
+			As400ChangeRecordEmitter emitter) throws InterruptedException {
+		final long start = System.nanoTime();
+		try {
+			dispatcher.dispatchDataChangeEvent(partition, tableId, emitter);
+		} finally {
+			// columns are decoded lazily while dispatching, if at all
+			final boolean update = emitter.getOperation() == Operation.UPDATE;
+			final long decodeNanos = decoded(tableId, r, emitter.getOldRow(), update ? "UB" : "DL")
+					+ decoded(tableId, r, emitter.getNewRow(), update ? "UP" : "PT");
+			streamingMetrics.dispatched(System.nanoTime() - start - decodeNanos);
+		}
+		streamingMetrics.setLastEntryTimestamp(entryTime);
+		switch (emitter.getOperation()) {
+		case CREATE:
+			streamingMetrics.tables().inserted(tableId);
+			break;
+		case UPDATE:
+			streamingMetrics.tables().updated(tableId);
+			break;
+		case DELETE:
+			streamingMetrics.tables().deleted(tableId);
+			break;
+		default:
+			break;
+		}
+	}
+
+	/**
+	 * @param entryType of the entry the row came from as far as the operation tells, a buffered row is dispatched
+	 *                  long after its entry was read
+	 */
+	private long decoded(TableId tableId, RetrieveJournal r, RowView row, String entryType) {
+		if (row == null) {
+			return 0;
+		}
+		final EntryDecode event = new EntryDecode();
+		if (event.shouldCommit()) {
+			event.library = tableId.schema();
+			event.table = tableId.table();
+			event.entryType = entryType;
+			event.bytes = row.getEntryLength();
+			event.decodeNanos = row.getDecodeNanos();
+			event.commit();
+		}
+		if (row.isFailed()) {
+			streamingMetrics.tables().decodeFailed(tableId);
+			if (!row.isDetached()) {
+				r.dumpEntryToFile();
+			}
+			return row.getDecodeNanos();
+		}
+		final long nanos = row.getDecodeNanos();
+		// every emitted row counts towards the bytes, only rows that took measurable time towards the histogram
+		streamingMetrics.tables().decoded(tableId, row.getEntryLength(), nanos);
+		if (nanos > 0) {
+			streamingMetrics.rowDecoded(nanos);
+		}
+		return nanos;
+	}
+
 	private boolean ignore(JournalEntryType journalCode) {
 		return journalCode == JournalEntryType.OPEN || journalCode == JournalEntryType.CLOSE;
 	}
@@ -31,43 +31,77 @@ public class As400ValueConverters extends JdbcValueConverters {
         }
         if (!(data instanceof SQLXML)) {
             String str = data.toString();
-            Pair fixed = removeBadCharacters(str);
-            if (fixed.modified) {
+            String fixed = sanitize(str);
+            if (fixed != str) {
                 String cname = (column == null) ? "" : String.format(" column name %s", column.name());
                 String fname = (fieldDefn == null) ? "" : String.format(" fieldDefn name %s", fieldDefn.name());
             	log.warn("removed binary data from{}{}", cname, fname);
             }
-            return super.convertString(column, fieldDefn, fixed.value.trim());
+            return super.convertString(column, fieldDefn, fixed.trim());
         }
         return super.convertString(column, fieldDefn, data);
     }
 
     public static Pair removeBadCharacters(String rawString) {
+        String fixed = sanitize(rawString);
+        return new Pair(fixed != rawString, fixed);
+    }
+
+    /**
+     * Replaces invisible control characters and unused code points with '?'.
+     * <p>
+     * A clean string is checked in a single pass and returned as the same instance without allocating,
+     * so callers can test for modification with an identity comparison.
+     */
+    public static String sanitize(String rawString) {
         if (rawString == null) {
-            return new Pair(false, rawString);
+            return null;
         }
-        StringBuilder newString = new StringBuilder(rawString.length());
-        boolean modified = false;
-        for (int offset = 0; offset < rawString.length();) {
+        int length = rawString.length();
+        for (int offset = 0; offset < length;) {
+            char c = rawString.charAt(offset);
+            if (c >= ' ' && c <= '~') {
+                offset++;
+                continue;
+            }
             int codePoint = rawString.codePointAt(offset);
+            if (isBadCodePoint(codePoint)) {
+                return replaceFrom(rawString, offset);
+            }
             offset += Character.charCount(codePoint);
+        }
+        return rawString;
+    }
 
-            // Replace invisible control characters and unused code points
-            switch (Character.getType(codePoint)) {
-                case Character.CONTROL: // \p{Cc}
-                case Character.FORMAT: // \p{Cf}
-                case Character.PRIVATE_USE: // \p{Co}
-                case Character.SURROGATE: // \p{Cs}
-                case Character.UNASSIGNED: // \p{Cn}
-                    newString.append('?');
-                    modified = true;
-                    break;
-                default:
-                    newString.append(Character.toChars(codePoint));
-                    break;
+    private static String replaceFrom(String rawString, int firstBad) {
+        int length = rawString.length();
+        StringBuilder newString = new StringBuilder(length);
+        newString.append(rawString, 0, firstBad);
+        for (int offset = firstBad; offset < length;) {
+            int codePoint = rawString.codePointAt(offset);
+            int count = Character.charCount(codePoint);
+            if (isBadCodePoint(codePoint)) {
+                newString.append('?');
+            }
+            else {
+                newString.append(rawString, offset, offset + count);
             }
+            offset += count;
+        }
+        return newString.toString();
+    }
+
+    private static boolean isBadCodePoint(int codePoint) {
+        switch (Character.getType(codePoint)) {
+            case Character.CONTROL: // \p{Cc}
+            case Character.FORMAT: // \p{Cf}
+            case Character.PRIVATE_USE: // \p{Co}
+            case Character.SURROGATE: // \p{Cs}
+            case Character.UNASSIGNED: // \p{Cn}
+                return true;
+            default:
+                return false;
         }
-        return new Pair(modified, newString.toString());
     }
 
     public static class Pair {
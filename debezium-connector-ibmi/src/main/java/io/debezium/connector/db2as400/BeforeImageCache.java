@@ -0,0 +1,191 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.connector.db2as400;
+
+import io.debezium.relational.TableId;
+
+/**
+ * Holds before images until the matching after image arrives.
+ * <p>
+ * An update is journalled as a UB entry immediately followed by a UP entry from the same job thread, but
+ * entries from other jobs can be interleaved between the two, so images are paired on table, job number
+ * and thread id. Lookups don't allocate: the map is open addressed over parallel arrays. The number of
+ * pending images is bounded, when full the oldest image is dropped, it can only belong to an update whose
+ * after image was never journalled or was filtered out. Slots are linked in insertion order so finding the
+ * oldest doesn't scan the table.
+ */
+class BeforeImageCache<V> {
+    private final int maxEntries;
+    private final int mask;
+    private final TableId[] tables;
+    private final String[] jobs;
+    private final long[] threads;
+    private final Object[] images;
+    // insertion order, -1 terminated
+    private final int[] older;
+    private final int[] newer;
+    private int oldest = -1;
+    private int newest = -1;
+    private int size = 0;
+    private long evicted = 0;
+
+    BeforeImageCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+        final int capacity = Integer.highestOneBit(Math.max(2, maxEntries) * 2 - 1) << 1;
+        this.mask = capacity - 1;
+        this.tables = new TableId[capacity];
+        this.jobs = new String[capacity];
+        this.threads = new long[capacity];
+        this.images = new Object[capacity];
+        this.older = new int[capacity];
+        this.newer = new int[capacity];
+    }
+
+    void put(TableId table, String job, long thread, V image) {
+        int i = find(table, job, thread);
+        if (i < 0) {
+            if (size >= maxEntries) {
+                evictOldest();
+            }
+            i = ~find(table, job, thread);
+            tables[i] = table;
+            jobs[i] = job;
+            threads[i] = thread;
+            size++;
+        }
+        else {
+            unlink(i);
+        }
+        images[i] = image;
+        linkNewest(i);
+    }
+
+    /**
+     * @return the before image or null if none is pending for this writer
+     */
+    @SuppressWarnings("unchecked")
+    V remove(TableId table, String job, long thread) {
+        final int i = find(table, job, thread);
+        if (i < 0) {
+            return null;
+        }
+        final V image = (V) images[i];
+        delete(i);
+        return image;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long evicted() {
+        return evicted;
+    }
+
+    /**
+     * @return the slot holding the key or the complement of the free slot it would be stored in
+     */
+    private int find(TableId table, String job, long thread) {
+        int i = hash(table, job, thread) & mask;
+        while (tables[i] != null) {
+            if (threads[i] == thread && equal(tables[i], table) && equal(jobs[i], job)) {
+                return i;
+            }
+            i = (i + 1) & mask;
+        }
+        return ~i;
+    }
+
+    private void evictOldest() {
+        if (oldest >= 0) {
+            delete(oldest);
+            evicted++;
+        }
+    }
+
+    private void linkNewest(int slot) {
+        older[slot] = newest;
+        newer[slot] = -1;
+        if (newest >= 0) {
+            newer[newest] = slot;
+        }
+        else {
+            oldest = slot;
+        }
+        newest = slot;
+    }
+
+    private void unlink(int slot) {
+        final int o = older[slot];
+        final int n = newer[slot];
+        if (o >= 0) {
+            newer[o] = n;
+        }
+        else {
+            oldest = n;
+        }
+        if (n >= 0) {
+            older[n] = o;
+        }
+        else {
+            newest = o;
+        }
+    }
+
+    // an entry shifted into another slot keeps its place in the insertion order
+    private void relink(int from, int to) {
+        final int o = older[from];
+        final int n = newer[from];
+        older[to] = o;
+        newer[to] = n;
+        if (o >= 0) {
+            newer[o] = to;
+        }
+        else {
+            oldest = to;
+        }
+        if (n >= 0) {
+            older[n] = to;
+        }
+        else {
+            newest = to;
+        }
+    }
+
+    // backward shift deletion keeps probe sequences intact without tombstones
+    private void delete(int slot) {
+        unlink(slot);
+        int hole = slot;
+        int i = (slot + 1) & mask;
+        while (tables[i] != null) {
+            final int home = hash(tables[i], jobs[i], threads[i]) & mask;
+            if (((i - home) & mask) >= ((i - hole) & mask)) {
+                tables[hole] = tables[i];
+                jobs[hole] = jobs[i];
+                threads[hole] = threads[i];
+                images[hole] = images[i];
+                relink(i, hole);
+                hole = i;
+            }
+            i = (i + 1) & mask;
+        }
+        tables[hole] = null;
+        jobs[hole] = null;
+        images[hole] = null;
+        size--;
+    }
+
+    private static boolean equal(Object a, Object b) {
+        return a == b || (a != null && a.equals(b));
+    }
+
+    private static int hash(TableId table, String job, long thread) {
+        int h = table.hashCode();
+        h = h * 31 + (job == null ? 0 : job.hashCode());
+        h = h * 31 + Long.hashCode(thread);
+        return h ^ (h >>> 16);
+    }
+}
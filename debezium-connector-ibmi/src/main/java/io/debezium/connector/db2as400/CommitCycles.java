@@ -0,0 +1,172 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.connector.db2as400;
+
+import java.util.Arrays;
+
+/**
+ * Open commit cycles by id.
+ * <p>
+ * Ids are the journal's unsigned 8 byte commit cycle identifier held in a long; 0 marks changes made outside
+ * commitment control and is never stored. Lookups neither allocate nor convert the id: the map is open addressed
+ * over parallel arrays. It is bounded and never drops a cycle itself: the owner decides what to do with what the
+ * cycle holds, making room before adding to a full map and finding cycles whose end is never seen, because the
+ * commit entry was lost or the connector started part way through, by their start time.
+ */
+class CommitCycles<V> {
+    private final int maxEntries;
+    private final int mask;
+    private final long[] ids;
+    private final Object[] values;
+    private final long[] started;
+    private int size = 0;
+
+    CommitCycles(int maxEntries) {
+        this.maxEntries = maxEntries;
+        final int capacity = Integer.highestOneBit(Math.max(2, maxEntries) * 2 - 1) << 1;
+        this.mask = capacity - 1;
+        this.ids = new long[capacity];
+        this.values = new Object[capacity];
+        this.started = new long[capacity];
+    }
+
+    /**
+     * @param startedMillis journal time the cycle started
+     * @throws IllegalStateException if the cycle is new and the map is full
+     */
+    void put(long id, V value, long startedMillis) {
+        if (id == 0) {
+            throw new IllegalArgumentException("commit cycle 0 is outside commitment control");
+        }
+        int i = find(id);
+        if (i < 0) {
+            if (isFull()) {
+                throw new IllegalStateException("too many open commit cycles " + size);
+            }
+            i = ~i;
+            ids[i] = id;
+            size++;
+        }
+        values[i] = value;
+        started[i] = startedMillis;
+    }
+
+    /**
+     * @return the value or null if the cycle isn't open
+     */
+    @SuppressWarnings("unchecked")
+    V get(long id) {
+        if (id == 0) {
+            return null;
+        }
+        final int i = find(id);
+        return (i < 0) ? null : (V) values[i];
+    }
+
+    /**
+     * @return the value or null if the cycle isn't open
+     */
+    @SuppressWarnings("unchecked")
+    V remove(long id) {
+        if (id == 0) {
+            return null;
+        }
+        final int i = find(id);
+        if (i < 0) {
+            return null;
+        }
+        final V value = (V) values[i];
+        delete(i);
+        return value;
+    }
+
+    /**
+     * @return ids of the cycles started before the cutoff
+     */
+    long[] startedBefore(long cutoffMillis) {
+        final long[] stale = new long[size];
+        int count = 0;
+        for (int i = 0; i < ids.length; i++) {
+            if (ids[i] != 0 && started[i] < cutoffMillis) {
+                stale[count++] = ids[i];
+            }
+        }
+        return Arrays.copyOf(stale, count);
+    }
+
+    /**
+     * @return journal time the oldest open cycle started, Long.MAX_VALUE when none are open
+     */
+    long oldestStart() {
+        final int i = oldest();
+        return (i < 0) ? Long.MAX_VALUE : started[i];
+    }
+
+    /**
+     * @return id of the cycle that started first, 0 when none are open
+     */
+    long oldestId() {
+        final int i = oldest();
+        return (i < 0) ? 0 : ids[i];
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isFull() {
+        return size >= maxEntries;
+    }
+
+    private int oldest() {
+        int oldest = -1;
+        for (int i = 0; i < ids.length; i++) {
+            if (ids[i] != 0 && (oldest < 0 || started[i] < started[oldest])) {
+                oldest = i;
+            }
+        }
+        return oldest;
+    }
+
+    /**
+     * @return the slot holding the id or the complement of the free slot it would be stored in
+     */
+    private int find(long id) {
+        int i = hash(id) & mask;
+        while (ids[i] != 0) {
+            if (ids[i] == id) {
+                return i;
+            }
+            i = (i + 1) & mask;
+        }
+        return ~i;
+    }
+
+    // backward shift deletion keeps probe sequences intact without tombstones
+    private void delete(int slot) {
+        int hole = slot;
+        int i = (slot + 1) & mask;
+        while (ids[i] != 0) {
+            final int home = hash(ids[i]) & mask;
+            if (((i - home) & mask) >= ((i - hole) & mask)) {
+                ids[hole] = ids[i];
+                values[hole] = values[i];
+                started[hole] = started[i];
+                hole = i;
+            }
+            i = (i + 1) & mask;
+        }
+        ids[hole] = 0;
+        values[hole] = null;
+        size--;
+    }
+
+    private static int hash(long id) {
+        // cycle ids are sequential, spread them over the table
+        final long h = id * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -1,5 +1,6 @@
 package io.debezium.connector.db2as400;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Properties;
 
@@ -16,9 +17,14 @@ import io.debezium.spi.schema.DataCollectionId;
 import io.debezium.util.BoundedConcurrentHashMap;
 import io.debezium.util.Collect;
 
-public class HostnamePrefixNamingScheme extends AbstractTopicNamingStrategy<DataCollectionId> {
+/**
+ * Topics are the prefix and the table name. Debezium derives the key, value and envelope schema names from
+ * {@link #dataChangeTopic(DataCollectionId)} so they share the cached topic too.
+ */
+public class HostnamePrefixNamingScheme extends AbstractTopicNamingStrategy<DataCollectionId> implements PrepopulatingNamingStrategy {
 
     private final boolean multiPartitionMode;
+    private BoundedConcurrentHashMap<DataCollectionId, String> topics;
 
     public HostnamePrefixNamingScheme(Properties props) {
         super(props);
@@ -56,7 +62,7 @@ public class HostnamePrefixNamingScheme extends AbstractTopicNamingStrategy<Data
             throw new ConnectException("Unable to validate config.");
         }
 
-        topicNames = new BoundedConcurrentHashMap<>(
+        topics = new BoundedConcurrentHashMap<>(
                 config.getInteger(TOPIC_CACHE_SIZE),
                 10,
                 BoundedConcurrentHashMap.Eviction.LRU);
@@ -67,17 +73,31 @@ public class HostnamePrefixNamingScheme extends AbstractTopicNamingStrategy<Data
         assert prefix != null;
     }
     
+    /**
+     * the cached path is a single map lookup, names are only built the first time a table is seen
+     */
     @Override
     public String dataChangeTopic(DataCollectionId id) {
-        String topicName;
-        if (multiPartitionMode) {
-        	List<String> parts = id.parts();
-            topicName = mkString(Collect.arrayListOf(prefix, parts.subList(1, parts.size())), delimiter);
+        final String topic = topics.get(id);
+        if (topic != null) {
+            return topic;
         }
-        else {
-        	List<String> parts = id.schemaParts();
-            topicName = mkString(Collect.arrayListOf(prefix, parts.subList(1, parts.size())), delimiter);
+        return topics.computeIfAbsent(id, this::createTopic);
+    }
+
+    /**
+     * build the topics for the captured tables up front so the first events don't pay for it
+     */
+    @Override
+    public void prepopulate(Collection<? extends DataCollectionId> ids) {
+        for (DataCollectionId id : ids) {
+            dataChangeTopic(id);
         }
-        return topicNames.computeIfAbsent(id, t -> sanitizedTopicName(topicName));
     }
-}
\ No newline at end of file
+
+    private String createTopic(DataCollectionId id) {
+        final List<String> parts = multiPartitionMode ? id.parts() : id.schemaParts();
+        return sanitizedTopicName(
+                mkString(Collect.arrayListOf(prefix, parts.subList(1, parts.size())), delimiter));
+    }
+}
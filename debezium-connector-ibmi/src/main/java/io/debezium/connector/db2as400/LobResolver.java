@@ -0,0 +1,303 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.connector.db2as400;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fnz.db2.journal.data.types.AS400Lob;
+import com.fnz.db2.journal.retrieve.JdbcFileDecoder;
+import com.fnz.db2.journal.retrieve.JournalEntryType;
+import com.fnz.db2.journal.retrieve.RetrieveJournal;
+import com.fnz.db2.journal.retrieve.RowView;
+import com.fnz.db2.journal.retrieve.SchemaCacheIF.TableInfo;
+import com.fnz.db2.journal.retrieve.rjne0200.EntryHeader;
+
+import io.debezium.connector.db2as400.As400ConnectorConfig.LobPolicy;
+import io.debezium.connector.db2as400.metrics.As400StreamingChangeEventSourceMetrics;
+import io.debezium.relational.TableId;
+import io.debezium.relational.Tables.TableFilter;
+
+/**
+ * Fills in LOB and XML columns, whose values are not in the journal entry, from the table.
+ * <p>
+ * The first insert or update of a table in a journal block reads the LOB columns of every insert and update of that
+ * table in the rest of the block by relative record number, so a block costs one query per table rather than one
+ * per row. The values are those of the row when the block is processed, not when the entry was journalled; before
+ * images and deletes are left with null LOB columns.
+ * <p>
+ * A relative record number is reused once its row is deleted, so the key columns are read as well and the LOBs only
+ * attached when they still belong to the row of the entry. A table without a primary key can't be checked.
+ */
+class LobResolver {
+    private static final Logger log = LoggerFactory.getLogger(LobResolver.class);
+    static final int MAX_ROWS_PER_QUERY = 500;
+
+    private final As400JdbcConnection jdbcConnection;
+    private final JdbcFileDecoder fileDecoder;
+    private final LobPolicy policy;
+    private final int maxSize;
+    private final As400StreamingChangeEventSourceMetrics metrics;
+    private final TableFilter tableFilter;
+    private final Map<String, Map<Long, Fetched>> fetched = new HashMap<>();
+    private Object block;
+
+    /**
+     * key and LOB column values of the row at a relative record number
+     */
+    record Fetched(Object[] keys, Object[] lobs) {
+    }
+
+    LobResolver(As400ConnectorConfig config, As400JdbcConnection jdbcConnection, JdbcFileDecoder fileDecoder,
+                As400StreamingChangeEventSourceMetrics metrics) {
+        this.jdbcConnection = jdbcConnection;
+        this.fileDecoder = fileDecoder;
+        this.policy = config.getLobPolicy();
+        this.maxSize = config.getLobMaxSize();
+        this.metrics = metrics;
+        this.tableFilter = config.getTableFilters().dataCollectionFilter();
+    }
+
+    /**
+     * @param row the inserted row or the after image of an update
+     */
+    void resolve(TableId tableId, RetrieveJournal r, EntryHeader eheader, RowView row)
+            throws SQLNonTransientConnectionException {
+        if (!fileDecoder.hasLobTables() || row.size() == 0 || !tableFilter.isIncluded(tableId)) {
+            return;
+        }
+        final Optional<TableInfo> tableInfo = fileDecoder.getRecordFormat(eheader.getFile(), eheader.getLibrary());
+        if (tableInfo.isEmpty() || tableInfo.get().getLobFields().length == 0) {
+            return;
+        }
+        if (r.getFirstHeader() != block) {
+            block = r.getFirstHeader();
+            fetched.clear();
+        }
+        final String key = eheader.getLibrary() + "." + eheader.getFile();
+        final long rrn = eheader.getRelativeRecordNumber();
+        Map<Long, Fetched> values = fetched.get(key);
+        if (values == null || !values.containsKey(rrn)) {
+            values = fetch(eheader, tableInfo.get(), rowsInBlock(r, eheader));
+            fetched.put(key, values);
+        }
+        Fetched lobs = values.get(rrn);
+        if (lobs != null && !sameRow(lobs, row, keyFields(tableInfo.get()))) {
+            log.info("row {} of {} now holds a different key, emitting its LOB columns as null", rrn, tableId);
+            lobs = null;
+        }
+        final int[] fields = tableInfo.get().getLobFields();
+        for (int i = 0; i < fields.length; i++) {
+            row.resolve(fields[i], (lobs == null) ? null : lobs.lobs()[i]);
+        }
+    }
+
+    /**
+     * @return field index of each primary key column, empty when a key column isn't found
+     */
+    static int[] keyFields(TableInfo tableInfo) {
+        final List<String> keys = tableInfo.getPrimaryKeys();
+        final int[] fields = new int[keys.size()];
+        for (int k = 0; k < fields.length; k++) {
+            fields[k] = -1;
+            for (int i = 0; i < tableInfo.getStructure().size(); i++) {
+                if (tableInfo.getStructure().get(i).getName().equals(keys.get(k))) {
+                    fields[k] = i;
+                    break;
+                }
+            }
+            if (fields[k] < 0) {
+                return new int[0];
+            }
+        }
+        return fields;
+    }
+
+    /**
+     * @return true when the key read from the table is the key of the journalled row
+     */
+    static boolean sameRow(Fetched fetched, RowView row, int[] keyFields) {
+        if (fetched.keys().length != keyFields.length) {
+            return false;
+        }
+        for (int k = 0; k < keyFields.length; k++) {
+            if (!sameValue(row.get(keyFields[k]), fetched.keys()[k])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // JDBC and the journal decoder don't agree on padding and numeric types
+    private static boolean sameValue(Object journal, Object table) {
+        if (journal == null || table == null) {
+            return journal == table;
+        }
+        if (journal instanceof Number a && table instanceof Number b) {
+            return toBigDecimal(a).compareTo(toBigDecimal(b)) == 0;
+        }
+        if (journal instanceof String a && table instanceof String b) {
+            return a.stripTrailing().equals(b.stripTrailing());
+        }
+        if (journal instanceof byte[] a && table instanceof byte[] b) {
+            return Arrays.equals(a, b);
+        }
+        return journal.equals(table) || journal.toString().equals(table.toString());
+    }
+
+    private static BigDecimal toBigDecimal(Number n) {
+        return (n instanceof BigDecimal) ? (BigDecimal) n : new BigDecimal(n.toString());
+    }
+
+    private static Set<Long> rowsInBlock(RetrieveJournal r, EntryHeader eheader) {
+        final Set<Long> rrns = new LinkedHashSet<>();
+        rrns.add(eheader.getRelativeRecordNumber());
+        for (final EntryHeader h : r.remainingEntryHeaders()) {
+            if (isInsertOrUpdate(h.getJournalEntryType()) && h.getFile().equals(eheader.getFile())
+                    && h.getLibrary().equals(eheader.getLibrary())) {
+                rrns.add(h.getRelativeRecordNumber());
+            }
+        }
+        return rrns;
+    }
+
+    private static boolean isInsertOrUpdate(JournalEntryType type) {
+        return type == JournalEntryType.ADD_ROW1 || type == JournalEntryType.ADD_ROW2
+                || type == JournalEntryType.AFTER_IMAGE;
+    }
+
+    private Map<Long, Fetched> fetch(EntryHeader eheader, TableInfo tableInfo, Set<Long> rrns)
+            throws SQLNonTransientConnectionException {
+        final Map<Long, Fetched> values = new HashMap<>();
+        // rows that have gone since are remembered as missing so they aren't asked for again
+        rrns.forEach(rrn -> values.put(rrn, null));
+
+        final String table = jdbcConnection.getLongName(eheader.getLibrary(), eheader.getFile());
+        final int[] fields = tableInfo.getLobFields();
+        final AS400Lob[] lobs = new AS400Lob[fields.length];
+        final List<String> columns = new ArrayList<>(fields.length);
+        for (int i = 0; i < fields.length; i++) {
+            lobs[i] = (AS400Lob) tableInfo.getMembers()[fields[i]];
+            columns.add(lobs[i].getColumnName());
+        }
+        final List<String> keys = (keyFields(tableInfo).length == 0) ? List.of() : tableInfo.getPrimaryKeys();
+
+        final long start = System.nanoTime();
+        int queries = 0;
+        int rows = 0;
+        try {
+            final Connection con = jdbcConnection.connection();
+            final List<Long> all = new ArrayList<>(rrns);
+            for (int from = 0; from < all.size(); from += MAX_ROWS_PER_QUERY) {
+                final List<Long> chunk = all.subList(from, Math.min(all.size(), from + MAX_ROWS_PER_QUERY));
+                queries++;
+                try (PreparedStatement ps = con.prepareStatement(
+                        select(eheader.getLibrary(), table, keys, columns, lobs, policy, maxSize, chunk.size()))) {
+                    for (int i = 0; i < chunk.size(); i++) {
+                        ps.setLong(i + 1, chunk.get(i));
+                    }
+                    try (ResultSet rs = ps.executeQuery()) {
+                        rows += read(rs, keys.size(), lobs, values);
+                    }
+                }
+            }
+        }
+        catch (SQLNonTransientConnectionException e) {
+            throw e;
+        }
+        catch (SQLException e) {
+            log.warn("failed to fetch LOB columns of {}.{}, emitting them as null", eheader.getLibrary(), table, e);
+        }
+        metrics.lobsFetched(queries, rows, System.nanoTime() - start);
+        return values;
+    }
+
+    /**
+     * reads rows of {@link #select} into {@code values} by relative record number
+     *
+     * @return the number of rows read
+     */
+    static int read(ResultSet rs, int keyCount, AS400Lob[] lobs, Map<Long, Fetched> values) throws SQLException {
+        int rows = 0;
+        while (rs.next()) {
+            final Object[] keys = new Object[keyCount];
+            for (int i = 0; i < keyCount; i++) {
+                keys[i] = rs.getObject(i + 2);
+            }
+            final Object[] row = new Object[lobs.length];
+            for (int i = 0; i < lobs.length; i++) {
+                final int column = keyCount + i + 2;
+                row[i] = lobs[i].isBinary() ? rs.getBytes(column) : rs.getString(column);
+            }
+            values.put(rs.getLong(1), new Fetched(keys, row));
+            rows++;
+        }
+        return rows;
+    }
+
+    /**
+     * @return query for the key and LOB columns of {@code rows} rows by relative record number, values above
+     *         {@code maxSize} are cut down or dropped on the server according to the policy
+     */
+    static String select(String schema, String table, List<String> keys, List<String> columns, AS400Lob[] lobs,
+                         LobPolicy policy, int maxSize, int rows) {
+        final StringBuilder sb = new StringBuilder("SELECT RRN(T)");
+        for (final String key : keys) {
+            sb.append(", ").append(quote(key));
+        }
+        for (int i = 0; i < columns.size(); i++) {
+            String value = quote(columns.get(i));
+            if ("XML".equals(lobs[i].getSqlType())) {
+                value = "XMLSERIALIZE(" + value + " AS CLOB(2G))";
+            }
+            sb.append(", ");
+            switch (policy) {
+                case TRUNCATE:
+                    // never past the length attribute of the column
+                    sb.append("SUBSTR(").append(value).append(", 1, MIN(LENGTH(").append(value).append("), ")
+                            .append(maxSize).append("))");
+                    break;
+                case SKIP:
+                    sb.append("CASE WHEN LENGTH(").append(value).append(") <= ").append(maxSize).append(" THEN ")
+                            .append(value).append(" END");
+                    break;
+                default:
+                    sb.append(value);
+                    break;
+            }
+        }
+        return fromRows(sb, schema, table, rows);
+    }
+
+    /**
+     * completes a query of table {@code T} for {@code rows} rows by relative record number
+     */
+    static String fromRows(StringBuilder sb, String schema, String table, int rows) {
+        sb.append(" FROM ").append(quote(schema)).append('.').append(quote(table)).append(" T WHERE RRN(T) IN (");
+        sb.append(String.join(", ", Collections.nCopies(rows, "?")));
+        return sb.append(')').toString();
+    }
+
+    static String quote(String name) {
+        return '"' + name.replace("\"", "\"\"") + '"';
+    }
+}
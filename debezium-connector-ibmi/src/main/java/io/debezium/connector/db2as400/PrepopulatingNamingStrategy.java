@@ -0,0 +1,18 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.connector.db2as400;
+
+import java.util.Collection;
+
+import io.debezium.spi.schema.DataCollectionId;
+
+/**
+ * A topic naming strategy that caches names and can resolve those of the captured tables at startup
+ */
+public interface PrepopulatingNamingStrategy {
+
+    void prepopulate(Collection<? extends DataCollectionId> ids);
+}
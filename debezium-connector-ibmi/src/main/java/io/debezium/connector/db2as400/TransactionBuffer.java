@@ -0,0 +1,377 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.connector.db2as400;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fnz.db2.journal.retrieve.JournalPosition;
+import com.fnz.db2.journal.retrieve.RowView;
+
+import io.debezium.data.Envelope.Operation;
+import io.debezium.relational.TableId;
+
+/**
+ * Row changes of open commit cycles, held until the cycle ends so a committed transaction is dispatched in one go
+ * and a rolled back one not at all.
+ * <p>
+ * Rows are detached from the journal buffer as they are added. When the row images held in memory pass the limit
+ * the largest open transaction is written to a spill file, its later changes are held in memory again until the
+ * limit is next passed, and on commit the spill file is replayed before the changes still in memory. Spilled rows
+ * are decoded in full on the way out. The number of open transactions is bounded, the owner makes room before
+ * starting another and decides whether what is buffered for a transaction it gives up on is emitted or dropped.
+ * Not thread safe.
+ */
+class TransactionBuffer implements Closeable {
+    private static final Logger log = LoggerFactory.getLogger(TransactionBuffer.class);
+    // rough size of a change and its row views beyond the row images
+    private static final int CHANGE_OVERHEAD = 256;
+    private static final ObjectInputFilter SPILLED_TYPES = info -> {
+        final Class<?> type = info.serialClass();
+        if (type == null || type.isArray() || type.isPrimitive() || type.getName().startsWith("java.")
+                || type == Operation.class) {
+            return ObjectInputFilter.Status.UNDECIDED;
+        }
+        return ObjectInputFilter.Status.REJECTED;
+    };
+
+    record Change(TableId tableId, Operation operation, Timestamp entryTime, RowView before, RowView after) {
+        long size() {
+            return CHANGE_OVERHEAD + length(before) + length(after);
+        }
+
+        private static int length(RowView row) {
+            return (row == null) ? 0 : row.getEntryLength();
+        }
+    }
+
+    interface ChangeConsumer {
+        void accept(Change change) throws InterruptedException;
+    }
+
+    private static class Transaction {
+        private final long id;
+        private final JournalPosition start;
+        private Instant started;
+        private final List<Change> changes = new ArrayList<>();
+        private long memory = 0;
+        private int count = 0;
+        private Path spillFile;
+        private ObjectOutputStream spill;
+        private int spilled = 0;
+        // neighbours in the order the transactions were first seen, which is journal order
+        private Transaction older;
+        private Transaction newer;
+
+        Transaction(long id, JournalPosition start) {
+            this.id = id;
+            this.start = start;
+        }
+    }
+
+    private final long maxMemory;
+    private final Path spillDir;
+    private final CommitCycles<Transaction> open;
+    private Transaction oldest;
+    private Transaction newest;
+    private long memory = 0;
+    private long changes = 0;
+    private long spilledChanges = 0;
+
+    TransactionBuffer(long maxMemory, Path spillDir, int maxTransactions) {
+        this.maxMemory = maxMemory;
+        this.spillDir = spillDir;
+        this.open = new CommitCycles<>(maxTransactions);
+    }
+
+    /**
+     * @param start position of the entry starting the transaction, a restart from here replays it
+     * @throws IllegalStateException if the transaction is new and the buffer is full
+     */
+    void begin(long txId, JournalPosition start, Instant started) {
+        final Transaction tx = open.get(txId);
+        if (tx == null) {
+            open(txId, start, started);
+        }
+        else {
+            tx.started = started;
+        }
+    }
+
+    /**
+     * @return when the transaction started, empty if it wasn't seen starting
+     */
+    Optional<Instant> startedAt(long txId) {
+        final Transaction tx = open.get(txId);
+        return (tx == null) ? Optional.empty() : Optional.ofNullable(tx.started);
+    }
+
+    /**
+     * @param position position of the change, the start of the transaction if it wasn't seen starting
+     * @throws IllegalStateException if the transaction is new and the buffer is full
+     */
+    void add(long txId, JournalPosition position, Change change) throws IOException {
+        Transaction tx = open.get(txId);
+        if (tx == null) {
+            tx = open(txId, position, change.entryTime().toInstant());
+        }
+        if (change.before() != null) {
+            change.before().detach();
+        }
+        if (change.after() != null) {
+            change.after().detach();
+        }
+        final long size = change.size();
+        tx.changes.add(change);
+        tx.memory += size;
+        tx.count++;
+        memory += size;
+        changes++;
+        while (memory > maxMemory && memory > 0) {
+            spill(largest());
+        }
+    }
+
+    /**
+     * hands the changes of the transaction to the consumer in journal order and forgets it
+     *
+     * @return the number of changes, 0 if none were buffered for the transaction
+     */
+    int commit(long txId, ChangeConsumer consumer) throws IOException, InterruptedException {
+        final Transaction tx = remove(txId);
+        if (tx == null) {
+            return 0;
+        }
+        try {
+            if (tx.spill != null) {
+                tx.spill.close();
+                tx.spill = null;
+                try (ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(Files.newInputStream(tx.spillFile)))) {
+                    in.setObjectInputFilter(SPILLED_TYPES);
+                    for (int i = 0; i < tx.spilled; i++) {
+                        consumer.accept(read(in));
+                    }
+                }
+            }
+            for (Change change : tx.changes) {
+                consumer.accept(change);
+            }
+        }
+        finally {
+            forget(tx);
+        }
+        return tx.count;
+    }
+
+    /**
+     * drops the changes of the transaction
+     *
+     * @return the number of changes dropped
+     */
+    int rollback(long txId) {
+        final Transaction tx = remove(txId);
+        if (tx == null) {
+            return 0;
+        }
+        forget(tx);
+        return tx.count;
+    }
+
+    /**
+     * @return ids of the transactions started before the cutoff, in journal order, they are left open
+     */
+    long[] startedBefore(Instant cutoff) {
+        final long[] stale = new long[open.size()];
+        int count = 0;
+        for (Transaction tx = oldest; tx != null; tx = tx.newer) {
+            if (tx.started != null && tx.started.isBefore(cutoff)) {
+                stale[count++] = tx.id;
+            }
+        }
+        return Arrays.copyOf(stale, count);
+    }
+
+    /**
+     * @return where to restart so no buffered change is lost, empty when no transaction is open
+     */
+    Optional<JournalPosition> oldestStart() {
+        return (oldest == null) ? Optional.empty() : Optional.of(oldest.start);
+    }
+
+    /**
+     * @return id of the transaction seen first, 0 when none are open
+     */
+    long oldestId() {
+        return (oldest == null) ? 0 : oldest.id;
+    }
+
+    boolean isOpen(long txId) {
+        return open.get(txId) != null;
+    }
+
+    /**
+     * @return true when a new transaction can't be started until one is committed, rolled back or given up on
+     */
+    boolean isFull() {
+        return open.isFull();
+    }
+
+    int openTransactions() {
+        return open.size();
+    }
+
+    /**
+     * @return changes held in memory or on disk
+     */
+    long bufferedChanges() {
+        return changes;
+    }
+
+    long memory() {
+        return memory;
+    }
+
+    long spilledChanges() {
+        return spilledChanges;
+    }
+
+    @Override
+    public void close() {
+        while (oldest != null) {
+            forget(remove(oldest.id));
+        }
+    }
+
+    private Transaction open(long txId, JournalPosition start, Instant started) {
+        final Transaction tx = new Transaction(txId, unprocessed(start));
+        tx.started = started;
+        open.put(txId, tx, (started == null) ? Long.MIN_VALUE : started.toEpochMilli());
+        tx.older = newest;
+        if (newest == null) {
+            oldest = tx;
+        }
+        else {
+            newest.newer = tx;
+        }
+        newest = tx;
+        return tx;
+    }
+
+    private Transaction remove(long txId) {
+        final Transaction tx = open.remove(txId);
+        if (tx == null) {
+            return null;
+        }
+        if (tx.older == null) {
+            oldest = tx.newer;
+        }
+        else {
+            tx.older.newer = tx.newer;
+        }
+        if (tx.newer == null) {
+            newest = tx.older;
+        }
+        else {
+            tx.newer.older = tx.older;
+        }
+        tx.older = null;
+        tx.newer = null;
+        return tx;
+    }
+
+    private Transaction largest() {
+        Transaction largest = null;
+        for (Transaction tx = oldest; tx != null; tx = tx.newer) {
+            if (largest == null || tx.memory > largest.memory) {
+                largest = tx;
+            }
+        }
+        return largest;
+    }
+
+    private void spill(Transaction tx) throws IOException {
+        if (tx.spill == null) {
+            tx.spillFile = Files.createTempFile(spillDir, "ibmi-tx-" + Long.toUnsignedString(tx.id) + "-", ".spill");
+            tx.spill = new ObjectOutputStream(new BufferedOutputStream(Files.newOutputStream(tx.spillFile)));
+            log.info("spilling transaction {} to {}", Long.toUnsignedString(tx.id), tx.spillFile);
+        }
+        for (Change change : tx.changes) {
+            write(tx.spill, change);
+        }
+        // nothing written is referenced again, keep the stream from remembering it
+        tx.spill.reset();
+        tx.spilled += tx.changes.size();
+        spilledChanges += tx.changes.size();
+        tx.changes.clear();
+        memory -= tx.memory;
+        tx.memory = 0;
+    }
+
+    private void forget(Transaction tx) {
+        memory -= tx.memory;
+        changes -= tx.count;
+        tx.changes.clear();
+        tx.memory = 0;
+        if (tx.spillFile != null) {
+            try {
+                if (tx.spill != null) {
+                    tx.spill.close();
+                }
+                Files.deleteIfExists(tx.spillFile);
+            }
+            catch (IOException e) {
+                log.warn("failed to remove spill file {}", tx.spillFile, e);
+            }
+            tx.spill = null;
+            tx.spillFile = null;
+        }
+    }
+
+    private static void write(ObjectOutputStream out, Change change) throws IOException {
+        out.writeObject(change.tableId().catalog());
+        out.writeObject(change.tableId().schema());
+        out.writeObject(change.tableId().table());
+        out.writeObject(change.operation());
+        out.writeObject(change.entryTime());
+        out.writeObject((change.before() == null) ? null : change.before().toArray());
+        out.writeObject((change.after() == null) ? null : change.after().toArray());
+    }
+
+    private static Change read(ObjectInputStream in) throws IOException {
+        try {
+            final TableId tableId = new TableId((String) in.readObject(), (String) in.readObject(), (String) in.readObject());
+            final Operation operation = (Operation) in.readObject();
+            final Timestamp entryTime = (Timestamp) in.readObject();
+            final Object[] before = (Object[]) in.readObject();
+            final Object[] after = (Object[]) in.readObject();
+            return new Change(tableId, operation, entryTime, (before == null) ? null : RowView.of(before),
+                    (after == null) ? null : RowView.of(after));
+        }
+        catch (ClassNotFoundException e) {
+            throw new IOException("unreadable spill file", e);
+        }
+    }
+
+    private static JournalPosition unprocessed(JournalPosition position) {
+        return new JournalPosition(position.getOffset(), position.getReciever(), position.getReceiverLibrary(), false);
+    }
+}
@@ -0,0 +1,19 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.connector.db2as400;
+
+import io.debezium.DebeziumException;
+
+/**
+ * A change whose key can't be found, emitting it without would lose it so streaming stops at the entry instead
+ */
+class UnavailableKeyException extends DebeziumException {
+    private static final long serialVersionUID = 1L;
+
+    UnavailableKeyException(String message) {
+        super(message);
+    }
+}
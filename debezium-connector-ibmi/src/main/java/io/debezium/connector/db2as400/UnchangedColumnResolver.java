@@ -0,0 +1,211 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.connector.db2as400;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fnz.db2.journal.data.types.AS400Excluded;
+import com.fnz.db2.journal.data.types.AS400Lob;
+import com.fnz.db2.journal.retrieve.JdbcFileDecoder;
+import com.fnz.db2.journal.retrieve.JournalEntryType;
+import com.fnz.db2.journal.retrieve.RetrieveJournal;
+import com.fnz.db2.journal.retrieve.RowView;
+import com.fnz.db2.journal.retrieve.SchemaCacheIF.TableInfo;
+import com.fnz.db2.journal.retrieve.rjne0200.EntryHeader;
+
+import io.debezium.connector.db2as400.metrics.As400StreamingChangeEventSourceMetrics;
+import io.debezium.relational.TableId;
+
+/**
+ * Fills in the columns of a minimised update that are in neither its before nor its after image. Under
+ * MINENTDTA(*FLDBDY) those are the columns the update left alone, normally including the key, so they are read from
+ * the table by relative record number.
+ * <p>
+ * As with {@link LobResolver} the first such update of a table in a journal block reads the rows of every update of
+ * that table in the rest of the block, so a block costs one query per table. The values are those of the row when
+ * the block is processed, the same as at the update unless a later one changed them. A row deleted later in the
+ * block, or gone by the time it is read, is left unavailable as its relative record number may hold another row.
+ */
+class UnchangedColumnResolver {
+    private static final Logger log = LoggerFactory.getLogger(UnchangedColumnResolver.class);
+
+    private final As400JdbcConnection jdbcConnection;
+    private final JdbcFileDecoder fileDecoder;
+    private final As400StreamingChangeEventSourceMetrics metrics;
+    private final Map<String, Map<Long, Object[]>> fetched = new HashMap<>();
+    private Object block;
+
+    UnchangedColumnResolver(As400JdbcConnection jdbcConnection, JdbcFileDecoder fileDecoder,
+                            As400StreamingChangeEventSourceMetrics metrics) {
+        this.jdbcConnection = jdbcConnection;
+        this.fileDecoder = fileDecoder;
+        this.metrics = metrics;
+    }
+
+    /**
+     * @param after  minimised after image merged with the before image
+     * @param before minimised before image, or null when it wasn't seen
+     */
+    void resolve(TableId tableId, RetrieveJournal r, EntryHeader eheader, RowView after, RowView before)
+            throws SQLNonTransientConnectionException {
+        final Optional<TableInfo> tableInfo = fileDecoder.getRecordFormat(eheader.getFile(), eheader.getLibrary());
+        if (tableInfo.isEmpty()) {
+            return;
+        }
+        if (r.getFirstHeader() != block) {
+            block = r.getFirstHeader();
+            fetched.clear();
+        }
+        final String key = eheader.getLibrary() + "." + eheader.getFile();
+        final long rrn = eheader.getRelativeRecordNumber();
+        Map<Long, Object[]> rows = fetched.get(key);
+        if (rows == null || !rows.containsKey(rrn)) {
+            rows = fetch(tableId, eheader, tableInfo.get(), rowsInBlock(r, eheader));
+            fetched.put(key, rows);
+        }
+        final Object[] values = rows.get(rrn);
+        if (values == null) {
+            return;
+        }
+        final int[] fields = fields(tableInfo.get());
+        for (int i = 0; i < fields.length; i++) {
+            if (!after.isAvailable(fields[i])) {
+                after.resolve(fields[i], values[i]);
+            }
+            if (before != null && !before.isAvailable(fields[i])) {
+                before.resolve(fields[i], values[i]);
+            }
+        }
+    }
+
+    /**
+     * @return field index of each column read from the table, LOBs are left to {@link LobResolver} and columns
+     *         excluded by the column filter are not emitted
+     */
+    static int[] fields(TableInfo tableInfo) {
+        final int[] fields = new int[tableInfo.getMembers().length];
+        int count = 0;
+        for (int i = 0; i < fields.length; i++) {
+            if (!(tableInfo.getMembers()[i] instanceof AS400Lob) && !(tableInfo.getMembers()[i] instanceof AS400Excluded)) {
+                fields[count++] = i;
+            }
+        }
+        return Arrays.copyOf(fields, count);
+    }
+
+    /**
+     * @return relative record numbers of the updates of the table from this entry on, without those deleted later
+     *         in the block
+     */
+    private static Set<Long> rowsInBlock(RetrieveJournal r, EntryHeader eheader) {
+        final Set<Long> rrns = new LinkedHashSet<>();
+        final Set<Long> deleted = new HashSet<>();
+        rrns.add(eheader.getRelativeRecordNumber());
+        for (final EntryHeader h : r.remainingEntryHeaders()) {
+            if (!h.getFile().equals(eheader.getFile()) || !h.getLibrary().equals(eheader.getLibrary())) {
+                continue;
+            }
+            final JournalEntryType type = h.getJournalEntryType();
+            if (type == JournalEntryType.AFTER_IMAGE) {
+                rrns.add(h.getRelativeRecordNumber());
+            }
+            else if (type == JournalEntryType.DELETE_ROW1 || type == JournalEntryType.DELETE_ROW2) {
+                deleted.add(h.getRelativeRecordNumber());
+            }
+        }
+        rrns.removeAll(deleted);
+        return rrns;
+    }
+
+    private Map<Long, Object[]> fetch(TableId tableId, EntryHeader eheader, TableInfo tableInfo, Set<Long> rrns)
+            throws SQLNonTransientConnectionException {
+        final Map<Long, Object[]> values = new HashMap<>();
+        // the entry's own row is remembered as missing when it can't be read so it isn't asked for again
+        values.put(eheader.getRelativeRecordNumber(), null);
+        rrns.forEach(rrn -> values.put(rrn, null));
+        if (rrns.isEmpty()) {
+            return values;
+        }
+
+        final String table = jdbcConnection.getLongName(eheader.getLibrary(), eheader.getFile());
+        final int[] fields = fields(tableInfo);
+        final List<String> columns = new ArrayList<>(fields.length);
+        for (final int field : fields) {
+            columns.add(tableInfo.getStructure().get(field).getName());
+        }
+        int queries = 0;
+        int rows = 0;
+        try {
+            final Connection con = jdbcConnection.connection();
+            final List<Long> all = new ArrayList<>(rrns);
+            for (int from = 0; from < all.size(); from += LobResolver.MAX_ROWS_PER_QUERY) {
+                final List<Long> chunk = all.subList(from, Math.min(all.size(), from + LobResolver.MAX_ROWS_PER_QUERY));
+                queries++;
+                try (PreparedStatement ps = con.prepareStatement(select(eheader.getLibrary(), table, columns, chunk.size()))) {
+                    for (int i = 0; i < chunk.size(); i++) {
+                        ps.setLong(i + 1, chunk.get(i));
+                    }
+                    try (ResultSet rs = ps.executeQuery()) {
+                        rows += read(rs, columns.size(), values);
+                    }
+                }
+            }
+        }
+        catch (SQLNonTransientConnectionException e) {
+            throw e;
+        }
+        catch (SQLException e) {
+            log.warn("failed to read the unchanged columns of minimised updates of {}", tableId, e);
+        }
+        metrics.unchangedRowsFetched(queries, rows);
+        return values;
+    }
+
+    /**
+     * reads rows of {@link #select} into {@code values} by relative record number
+     *
+     * @return the number of rows read
+     */
+    static int read(ResultSet rs, int columns, Map<Long, Object[]> values) throws SQLException {
+        int rows = 0;
+        while (rs.next()) {
+            final Object[] row = new Object[columns];
+            for (int i = 0; i < columns; i++) {
+                row[i] = rs.getObject(i + 2);
+            }
+            values.put(rs.getLong(1), row);
+            rows++;
+        }
+        return rows;
+    }
+
+    /**
+     * @return query for the columns of {@code rows} rows by relative record number
+     */
+    static String select(String schema, String table, List<String> columns, int rows) {
+        final StringBuilder sb = new StringBuilder("SELECT RRN(T)");
+        for (final String column : columns) {
+            sb.append(", ").append(LobResolver.quote(column));
+        }
+        return LobResolver.fromRows(sb, schema, table, rows);
+    }
+}
@@ -55,14 +55,16 @@ public class SchemaInfoConversion {
     public AS400Structure table2As400Structure(Table table) {
     	TableId id = table.id();
         List<AS400DataType> as400structure = new ArrayList<>();
+        List<String> names = new ArrayList<>();
         if (table != null && table.columns() != null) {
             for (Column c : table.columns()) {
                 AS400DataType as400dt = fileDecoder.toDataType(id.schema(), id.table(), c.name(), c.typeName(), c.length(), c.scale().orElse(0));
                 as400structure.add(as400dt);
+                names.add(c.name());
             }
         }
 
-        AS400Structure as400Structure = new AS400Structure(as400structure.toArray(new AS400DataType[as400structure.size()]));
+        AS400Structure as400Structure = new AS400Structure(fileDecoder.project(id.schema(), id.table(), names, as400structure, table.primaryKeyColumnNames()));
         return as400Structure;
     }
 
@@ -0,0 +1,24 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.connector.db2as400.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Connection to the server dropped and re-established, the event duration is the time to reconnect
+ */
+@Name("io.debezium.connector.db2as400.Reconnect")
+@Label("Reconnect")
+@Category({ "IBM i", "Connector" })
+@Description("Journal connection closed and reopened")
+public class Reconnect extends Event {
+    @Label("Success")
+    public boolean success;
+}
@@ -5,9 +5,96 @@
  */
 package io.debezium.connector.db2as400.metrics;
 
+import java.util.List;
+
 import io.debezium.pipeline.metrics.StreamingChangeEventSourceMetricsMXBean;
 
 public interface As400ChangeEventSourceMetricsMXBean extends StreamingChangeEventSourceMetricsMXBean {
     long getJournalBehind();
     long getJournalOffset();
+
+    // entry count lag from the cached receiver end, refreshed at least every 30s, time lag from the last dispatched entry, 0 when caught up
+    long getJournalTimeBehindMillis();
+    long getLastEntryTimestamp();
+
+    // counts and totals are cumulative, diff them between polls; P99 and Max only cover what was recorded since
+    // the previous read of the same attribute
+    // QjoRetrieveJournalEntries calls
+    long getJournalFetchCount();
+    long getJournalFetchTotalMicros();
+    long getJournalFetchP99Micros();
+    long getJournalFetchMaxMicros();
+
+    // journal blocks
+    long getJournalBytesFetched();
+    long getJournalEntriesFetched();
+    long getLastBlockBytes();
+    long getLastBlockEntries();
+    long getJournalReceiverLength();
+
+    // streaming thread allocation and CPU time sampled per block, processing is decoding and dispatching the entries
+    long getFetchAllocatedBytes();
+    long getFetchCpuMicros();
+    long getProcessAllocatedBytes();
+    long getProcessCpuMicros();
+    long getAllocatedBytesPerEntry();
+    long getLastBlockAllocatedBytesPerEntry();
+    long getLastBlockCpuNanosPerEntry();
+    double getLastBlockAllocatedBytesPerJournalByte();
+
+    // entry header decoding
+    long getHeaderDecodeTotalMicros();
+    long getHeaderDecodeP99Micros();
+    long getHeaderDecodeMaxMicros();
+
+    // row image decoding
+    long getRowDecodeCount();
+    long getRowDecodeTotalMicros();
+    long getRowDecodeP99Micros();
+    long getRowDecodeMaxMicros();
+
+    // dispatch to the change event queue, includes time blocked on a full queue
+    long getDispatchCount();
+    long getDispatchTotalMicros();
+    long getDispatchP99Micros();
+    long getDispatchMaxMicros();
+
+    long getEntriesFiltered();
+    long getEntriesEmitted();
+
+    // FILE_CHANGE and FILE_CREATED entries, only those that changed the record format rebuild the schema
+    long getStructureChanges();
+    long getSchemaRebuilds();
+
+    // MINENTDTA(*FLDBDY) after images, unchanged columns are taken from the before image or else read from the table
+    long getMinimisedEntries();
+    long getUnavailableColumns();
+    long getUnchangedRowQueries();
+    long getUnchangedRowsFetched();
+
+    // LOB and XML columns read from the tables, one query per table per journal block
+    long getLobQueries();
+    long getLobRowsFetched();
+    long getLobFetchTotalMicros();
+
+    // commit cycles held back by transaction.buffer, spilled changes are those written to disk since the start
+    long getBufferedTransactions();
+    long getBufferedChanges();
+    long getSpilledChanges();
+    long getCommittedTransactions();
+    long getRolledBackTransactions();
+    long getRolledBackChanges();
+
+    // open commit cycles as of the last check, evicted are those whose end was not seen in time or that didn't fit,
+    // their buffered changes are emitted without a commit or dropped as transaction.eviction says
+    long getOpenTransactions();
+    long getOldestOpenTransactionAgeMillis();
+    long getEvictedTransactions();
+    long getEvictedChanges();
+
+    // per table, bounded with the remainder reported as <other>
+    int getTrackedTables();
+    List<TableStatistics> getTopTablesByEvents();
+    List<TableStatistics> getTopTablesByDecodedBytes();
+    List<TableStatistics> getTopTablesByDecodeTime();
 }
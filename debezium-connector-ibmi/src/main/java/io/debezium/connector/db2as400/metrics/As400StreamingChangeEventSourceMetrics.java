@@ -6,17 +6,68 @@
 package io.debezium.connector.db2as400.metrics;
 
 import java.math.BigInteger;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 import io.debezium.connector.base.ChangeEventQueueMetrics;
 import io.debezium.connector.common.CdcSourceTaskContext;
 import io.debezium.connector.db2as400.As400Partition;
 import io.debezium.pipeline.metrics.DefaultStreamingChangeEventSourceMetrics;
 import io.debezium.pipeline.source.spi.EventMetadataProvider;
+import io.debezium.relational.TableId;
 
 public class As400StreamingChangeEventSourceMetrics extends DefaultStreamingChangeEventSourceMetrics<As400Partition> implements As400ChangeEventSourceMetricsMXBean {
+    private static final double P99 = 99.0;
+    private static final int MAX_TRACKED_TABLES = 1000;
+    private static final int TOP_TABLES = 20;
+
     private final AtomicLong journalBehind = new AtomicLong();
     private final AtomicLong journalOffset = new AtomicLong();
+    private final AtomicLong lastEntryTimestamp = new AtomicLong();
+    private volatile boolean caughtUp;
+
+    private final LatencyHistogram journalFetch = new LatencyHistogram();
+    private final LatencyHistogram headerDecode = new LatencyHistogram();
+    private final LatencyHistogram rowDecode = new LatencyHistogram();
+    private final LatencyHistogram dispatch = new LatencyHistogram();
+    private final LongAdder journalBytes = new LongAdder();
+    private final LongAdder journalEntries = new LongAdder();
+    private final AtomicLong lastBlockBytes = new AtomicLong();
+    private final AtomicLong lastBlockEntries = new AtomicLong();
+    private final AtomicLong receiverLength = new AtomicLong();
+    private final LongAdder fetchAllocatedBytes = new LongAdder();
+    private final LongAdder fetchCpuNanos = new LongAdder();
+    private final LongAdder processAllocatedBytes = new LongAdder();
+    private final LongAdder processCpuNanos = new LongAdder();
+    private final LongAdder costedEntries = new LongAdder();
+    private final AtomicLong lastBlockAllocatedPerEntry = new AtomicLong();
+    private final AtomicLong lastBlockCpuNanosPerEntry = new AtomicLong();
+    private volatile double lastBlockAllocatedPerJournalByte;
+    private final LongAdder entriesFiltered = new LongAdder();
+    private final LongAdder entriesEmitted = new LongAdder();
+    private final LongAdder structureChanges = new LongAdder();
+    private final LongAdder schemaRebuilds = new LongAdder();
+    private final LongAdder minimisedEntries = new LongAdder();
+    private final LongAdder unavailableColumns = new LongAdder();
+    private final LongAdder unchangedRowQueries = new LongAdder();
+    private final LongAdder unchangedRows = new LongAdder();
+    private final LongAdder lobQueries = new LongAdder();
+    private final LongAdder lobRows = new LongAdder();
+    private final LongAdder lobFetchNanos = new LongAdder();
+    private final AtomicLong bufferedTransactions = new AtomicLong();
+    private final AtomicLong bufferedChanges = new AtomicLong();
+    private final AtomicLong spilledChanges = new AtomicLong();
+    private final LongAdder committedTransactions = new LongAdder();
+    private final LongAdder rolledBackTransactions = new LongAdder();
+    private final LongAdder rolledBackChanges = new LongAdder();
+    private final AtomicLong openTransactions = new AtomicLong();
+    private final AtomicLong oldestOpenTransactionAge = new AtomicLong();
+    private final LongAdder evictedTransactions = new LongAdder();
+    private final LongAdder evictedChanges = new LongAdder();
+    private final TableMetrics tableMetrics = new TableMetrics(MAX_TRACKED_TABLES);
 
     public <T extends CdcSourceTaskContext> As400StreamingChangeEventSourceMetrics(T taskContext, ChangeEventQueueMetrics changeEventQueueMetrics,
             EventMetadataProvider metadataProvider) {
@@ -40,4 +91,429 @@ public class As400StreamingChangeEventSourceMetrics extends DefaultStreamingChan
     public void setJournalOffset(BigInteger offset) {
         this.journalOffset.lazySet(offset.longValue());
     }
+
+    /**
+     * called after every block, cheap as no RPC is involved
+     */
+    public void updateJournalLag(BigInteger journalEnd, BigInteger position) {
+        BigInteger behind = journalEnd.subtract(position);
+        if (behind.signum() < 0) {
+            behind = BigInteger.ZERO;
+        }
+        setJournalOffset(journalEnd);
+        setJournalBehind(behind);
+    }
+
+    public void setLastEntryTimestamp(Timestamp timestamp) {
+        if (timestamp != null) {
+            lastEntryTimestamp.lazySet(timestamp.getTime());
+        }
+    }
+
+    @Override
+    public long getLastEntryTimestamp() {
+        return lastEntryTimestamp.get();
+    }
+
+    /**
+     * called after every fetch, the journal reported no data beyond the block just read
+     */
+    public void setCaughtUp(boolean caughtUp) {
+        this.caughtUp = caughtUp;
+    }
+
+    /**
+     * wall clock time since the last dispatched entry was written to the journal, independent of
+     * {@link #getJournalBehind()} which is only as fresh as the cached journal end; 0 once the last fetch found no
+     * further data so an idle journal does not appear to fall behind
+     */
+    @Override
+    public long getJournalTimeBehindMillis() {
+        long last = lastEntryTimestamp.get();
+        if (last == 0 || caughtUp) {
+            return 0;
+        }
+        return Math.max(0, System.currentTimeMillis() - last);
+    }
+
+    public void journalFetched(long rpcNanos, int bytes, int entries, int nextReceiverLength) {
+        journalFetch.record(rpcNanos);
+        journalBytes.add(bytes);
+        journalEntries.add(entries);
+        lastBlockBytes.lazySet(bytes);
+        lastBlockEntries.lazySet(entries);
+        receiverLength.lazySet(nextReceiverLength);
+    }
+
+    /**
+     * @param fetch   the streaming thread's cost of retrieving the block
+     * @param process its cost of decoding and dispatching the entries, the two interleave per entry
+     * @param entries entries in the block
+     * @param bytes   journal bytes in the block
+     */
+    public void blockCost(ThreadCost fetch, ThreadCost process, int entries, int bytes) {
+        fetchAllocatedBytes.add(fetch.allocatedBytes());
+        fetchCpuNanos.add(fetch.cpuNanos());
+        processAllocatedBytes.add(process.allocatedBytes());
+        processCpuNanos.add(process.cpuNanos());
+        if (entries > 0) {
+            final long allocated = fetch.allocatedBytes() + process.allocatedBytes();
+            costedEntries.add(entries);
+            lastBlockAllocatedPerEntry.lazySet(allocated / entries);
+            lastBlockCpuNanosPerEntry.lazySet((fetch.cpuNanos() + process.cpuNanos()) / entries);
+            lastBlockAllocatedPerJournalByte = (bytes > 0) ? (double) allocated / bytes : 0;
+        }
+    }
+
+    public void headerDecoded(long nanos) {
+        headerDecode.record(nanos);
+    }
+
+    public void rowDecoded(long nanos) {
+        rowDecode.record(nanos);
+    }
+
+    public void dispatched(long nanos) {
+        dispatch.record(nanos);
+        entriesEmitted.increment();
+    }
+
+    public void entryFiltered() {
+        entriesFiltered.increment();
+    }
+
+    public void structureChanged() {
+        structureChanges.increment();
+    }
+
+    public void schemaRebuilt() {
+        schemaRebuilds.increment();
+    }
+
+    /**
+     * @param unavailable columns left out of the entry that could not be filled in from a before image or the table
+     */
+    public void minimisedEntry(int unavailable) {
+        minimisedEntries.increment();
+        unavailableColumns.add(unavailable);
+    }
+
+    public void unchangedRowsFetched(int queries, int rows) {
+        unchangedRowQueries.add(queries);
+        unchangedRows.add(rows);
+    }
+
+    public void lobsFetched(int queries, int rows, long nanos) {
+        lobQueries.add(queries);
+        lobRows.add(rows);
+        lobFetchNanos.add(nanos);
+    }
+
+    public void transactionBuffer(int open, long buffered, long spilled) {
+        bufferedTransactions.lazySet(open);
+        bufferedChanges.lazySet(buffered);
+        spilledChanges.lazySet(spilled);
+    }
+
+    public void transactionCommitted() {
+        committedTransactions.increment();
+    }
+
+    public void transactionRolledBack(int changes) {
+        rolledBackTransactions.increment();
+        rolledBackChanges.add(changes);
+    }
+
+    /**
+     * @param oldestAgeMillis journal time since the oldest open commit cycle started
+     */
+    public void openTransactions(int open, long oldestAgeMillis) {
+        openTransactions.lazySet(open);
+        oldestOpenTransactionAge.lazySet(oldestAgeMillis);
+    }
+
+    public void transactionsEvicted(int transactions, int changes) {
+        evictedTransactions.add(transactions);
+        evictedChanges.add(changes);
+    }
+
+    public TableMetrics tables() {
+        return tableMetrics;
+    }
+
+    @Override
+    public long getJournalFetchCount() {
+        return journalFetch.getCount();
+    }
+
+    @Override
+    public long getJournalFetchTotalMicros() {
+        return micros(journalFetch.getTotalNanos());
+    }
+
+    @Override
+    public long getJournalFetchP99Micros() {
+        return micros(journalFetch.getIntervalPercentileNanos(P99));
+    }
+
+    @Override
+    public long getJournalFetchMaxMicros() {
+        return micros(journalFetch.getIntervalMaxNanos());
+    }
+
+    @Override
+    public long getJournalBytesFetched() {
+        return journalBytes.sum();
+    }
+
+    @Override
+    public long getJournalEntriesFetched() {
+        return journalEntries.sum();
+    }
+
+    @Override
+    public long getLastBlockBytes() {
+        return lastBlockBytes.get();
+    }
+
+    @Override
+    public long getLastBlockEntries() {
+        return lastBlockEntries.get();
+    }
+
+    @Override
+    public long getJournalReceiverLength() {
+        return receiverLength.get();
+    }
+
+    @Override
+    public long getFetchAllocatedBytes() {
+        return fetchAllocatedBytes.sum();
+    }
+
+    @Override
+    public long getFetchCpuMicros() {
+        return micros(fetchCpuNanos.sum());
+    }
+
+    @Override
+    public long getProcessAllocatedBytes() {
+        return processAllocatedBytes.sum();
+    }
+
+    @Override
+    public long getProcessCpuMicros() {
+        return micros(processCpuNanos.sum());
+    }
+
+    /**
+     * average since the start, the last block figures show a change sooner
+     */
+    @Override
+    public long getAllocatedBytesPerEntry() {
+        final long entries = costedEntries.sum();
+        if (entries == 0) {
+            return 0;
+        }
+        return (fetchAllocatedBytes.sum() + processAllocatedBytes.sum()) / entries;
+    }
+
+    @Override
+    public long getLastBlockAllocatedBytesPerEntry() {
+        return lastBlockAllocatedPerEntry.get();
+    }
+
+    @Override
+    public long getLastBlockCpuNanosPerEntry() {
+        return lastBlockCpuNanosPerEntry.get();
+    }
+
+    @Override
+    public double getLastBlockAllocatedBytesPerJournalByte() {
+        return lastBlockAllocatedPerJournalByte;
+    }
+
+    @Override
+    public long getHeaderDecodeTotalMicros() {
+        return micros(headerDecode.getTotalNanos());
+    }
+
+    @Override
+    public long getHeaderDecodeP99Micros() {
+        return micros(headerDecode.getIntervalPercentileNanos(P99));
+    }
+
+    @Override
+    public long getHeaderDecodeMaxMicros() {
+        return micros(headerDecode.getIntervalMaxNanos());
+    }
+
+    @Override
+    public long getRowDecodeCount() {
+        return rowDecode.getCount();
+    }
+
+    @Override
+    public long getRowDecodeTotalMicros() {
+        return micros(rowDecode.getTotalNanos());
+    }
+
+    @Override
+    public long getRowDecodeP99Micros() {
+        return micros(rowDecode.getIntervalPercentileNanos(P99));
+    }
+
+    @Override
+    public long getRowDecodeMaxMicros() {
+        return micros(rowDecode.getIntervalMaxNanos());
+    }
+
+    @Override
+    public long getDispatchCount() {
+        return dispatch.getCount();
+    }
+
+    @Override
+    public long getDispatchTotalMicros() {
+        return micros(dispatch.getTotalNanos());
+    }
+
+    @Override
+    public long getDispatchP99Micros() {
+        return micros(dispatch.getIntervalPercentileNanos(P99));
+    }
+
+    @Override
+    public long getDispatchMaxMicros() {
+        return micros(dispatch.getIntervalMaxNanos());
+    }
+
+    @Override
+    public long getEntriesFiltered() {
+        return entriesFiltered.sum();
+    }
+
+    @Override
+    public long getEntriesEmitted() {
+        return entriesEmitted.sum();
+    }
+
+    @Override
+    public long getStructureChanges() {
+        return structureChanges.sum();
+    }
+
+    @Override
+    public long getSchemaRebuilds() {
+        return schemaRebuilds.sum();
+    }
+
+    @Override
+    public long getMinimisedEntries() {
+        return minimisedEntries.sum();
+    }
+
+    @Override
+    public long getUnavailableColumns() {
+        return unavailableColumns.sum();
+    }
+
+    @Override
+    public long getUnchangedRowQueries() {
+        return unchangedRowQueries.sum();
+    }
+
+    @Override
+    public long getUnchangedRowsFetched() {
+        return unchangedRows.sum();
+    }
+
+    @Override
+    public long getLobQueries() {
+        return lobQueries.sum();
+    }
+
+    @Override
+    public long getLobRowsFetched() {
+        return lobRows.sum();
+    }
+
+    @Override
+    public long getLobFetchTotalMicros() {
+        return micros(lobFetchNanos.sum());
+    }
+
+    @Override
+    public long getBufferedTransactions() {
+        return bufferedTransactions.get();
+    }
+
+    @Override
+    public long getBufferedChanges() {
+        return bufferedChanges.get();
+    }
+
+    @Override
+    public long getSpilledChanges() {
+        return spilledChanges.get();
+    }
+
+    @Override
+    public long getCommittedTransactions() {
+        return committedTransactions.sum();
+    }
+
+    @Override
+    public long getRolledBackTransactions() {
+        return rolledBackTransactions.sum();
+    }
+
+    @Override
+    public long getRolledBackChanges() {
+        return rolledBackChanges.sum();
+    }
+
+    @Override
+    public long getOpenTransactions() {
+        return openTransactions.get();
+    }
+
+    @Override
+    public long getOldestOpenTransactionAgeMillis() {
+        return oldestOpenTransactionAge.get();
+    }
+
+    @Override
+    public long getEvictedTransactions() {
+        return evictedTransactions.sum();
+    }
+
+    @Override
+    public long getEvictedChanges() {
+        return evictedChanges.sum();
+    }
+
+    @Override
+    public int getTrackedTables() {
+        return tableMetrics.getTrackedTables();
+    }
+
+    @Override
+    public List<TableStatistics> getTopTablesByEvents() {
+        return tableMetrics.topByEvents(TOP_TABLES);
+    }
+
+    @Override
+    public List<TableStatistics> getTopTablesByDecodedBytes() {
+        return tableMetrics.topByDecodedBytes(TOP_TABLES);
+    }
+
+    @Override
+    public List<TableStatistics> getTopTablesByDecodeTime() {
+        return tableMetrics.topByDecodeTime(TOP_TABLES);
+    }
+
+    private static long micros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
 }
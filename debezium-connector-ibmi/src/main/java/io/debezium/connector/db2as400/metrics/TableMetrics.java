@@ -0,0 +1,113 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.connector.db2as400.metrics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.debezium.relational.TableId;
+
+/**
+ * Per table counters, bounded so a journal touching thousands of tables can't blow up the heap or the JMX
+ * payload. Tables seen after the limit is reached are accumulated under a single overflow entry.
+ */
+public class TableMetrics {
+    static final String OVERFLOW_TABLE = "<other>";
+
+    private final int maxTables;
+    private final ConcurrentMap<TableId, Counters> tables = new ConcurrentHashMap<>();
+    private final Counters overflow = new Counters(OVERFLOW_TABLE);
+
+    public TableMetrics(int maxTables) {
+        this.maxTables = maxTables;
+    }
+
+    public void inserted(TableId table) {
+        counters(table).inserts.increment();
+    }
+
+    public void updated(TableId table) {
+        counters(table).updates.increment();
+    }
+
+    public void deleted(TableId table) {
+        counters(table).deletes.increment();
+    }
+
+    public void decoded(TableId table, int bytes, long nanos) {
+        final Counters c = counters(table);
+        c.decodedBytes.add(bytes);
+        c.decodeNanos.add(nanos);
+    }
+
+    public void decodeFailed(TableId table) {
+        counters(table).decodeFailures.increment();
+    }
+
+    public int getTrackedTables() {
+        return tables.size();
+    }
+
+    public List<TableStatistics> topByEvents(int n) {
+        return top(n, Comparator.comparingLong(TableStatistics::getEvents));
+    }
+
+    public List<TableStatistics> topByDecodedBytes(int n) {
+        return top(n, Comparator.comparingLong(TableStatistics::getDecodedBytes));
+    }
+
+    public List<TableStatistics> topByDecodeTime(int n) {
+        return top(n, Comparator.comparingLong(TableStatistics::getDecodeMicros));
+    }
+
+    private List<TableStatistics> top(int n, Comparator<TableStatistics> order) {
+        final List<TableStatistics> all = new ArrayList<>(tables.size() + 1);
+        for (Counters c : tables.values()) {
+            all.add(c.snapshot());
+        }
+        final TableStatistics other = overflow.snapshot();
+        if (other.getEvents() > 0 || other.getDecodeFailures() > 0) {
+            all.add(other);
+        }
+        all.sort(order.reversed());
+        return all.size() > n ? new ArrayList<>(all.subList(0, n)) : all;
+    }
+
+    private Counters counters(TableId table) {
+        final Counters c = tables.get(table);
+        if (c != null) {
+            return c;
+        }
+        if (tables.size() >= maxTables) {
+            return overflow;
+        }
+        return tables.computeIfAbsent(table, t -> new Counters(t.toString()));
+    }
+
+    private static final class Counters {
+        private final String table;
+        private final LongAdder inserts = new LongAdder();
+        private final LongAdder updates = new LongAdder();
+        private final LongAdder deletes = new LongAdder();
+        private final LongAdder decodedBytes = new LongAdder();
+        private final LongAdder decodeNanos = new LongAdder();
+        private final LongAdder decodeFailures = new LongAdder();
+
+        Counters(String table) {
+            this.table = table;
+        }
+
+        TableStatistics snapshot() {
+            return new TableStatistics(table, inserts.sum(), updates.sum(), deletes.sum(), decodedBytes.sum(),
+                    TimeUnit.NANOSECONDS.toMicros(decodeNanos.sum()), decodeFailures.sum());
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.connector.db2as400.metrics;
+
+/**
+ * Point in time copy of the counters for one table, mapped to CompositeData by the MXBean
+ */
+public class TableStatistics {
+    private final String table;
+    private final long inserts;
+    private final long updates;
+    private final long deletes;
+    private final long decodedBytes;
+    private final long decodeMicros;
+    private final long decodeFailures;
+
+    public TableStatistics(String table, long inserts, long updates, long deletes, long decodedBytes,
+                           long decodeMicros, long decodeFailures) {
+        this.table = table;
+        this.inserts = inserts;
+        this.updates = updates;
+        this.deletes = deletes;
+        this.decodedBytes = decodedBytes;
+        this.decodeMicros = decodeMicros;
+        this.decodeFailures = decodeFailures;
+    }
+
+    public String getTable() {
+        return table;
+    }
+
+    public long getInserts() {
+        return inserts;
+    }
+
+    public long getUpdates() {
+        return updates;
+    }
+
+    public long getDeletes() {
+        return deletes;
+    }
+
+    public long getEvents() {
+        return inserts + updates + deletes;
+    }
+
+    public long getDecodedBytes() {
+        return decodedBytes;
+    }
+
+    public long getDecodeMicros() {
+        return decodeMicros;
+    }
+
+    public long getDecodeFailures() {
+        return decodeFailures;
+    }
+
+    @Override
+    public String toString() {
+        return "TableStatistics [table=" + table + ", inserts=" + inserts + ", updates=" + updates + ", deletes="
+                + deletes + ", decodedBytes=" + decodedBytes + ", decodeMicros=" + decodeMicros + ", decodeFailures="
+                + decodeFailures + "]";
+    }
+}
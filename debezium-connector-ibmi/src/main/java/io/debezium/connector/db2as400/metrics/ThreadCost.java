@@ -0,0 +1,47 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.connector.db2as400.metrics;
+
+import java.lang.management.ManagementFactory;
+
+import com.sun.management.ThreadMXBean;
+
+/**
+ * Bytes allocated and CPU time used by the current thread, taken before and after a piece of work to account for it.
+ * <p>
+ * Reading the counters of the current thread is cheap but not free, so the streaming thread samples them once per
+ * journal block rather than per entry. A JVM that can't measure either reports it as 0.
+ */
+public record ThreadCost(long allocatedBytes, long cpuNanos) {
+    private static final ThreadCost NONE = new ThreadCost(0, 0);
+    private static final ThreadMXBean threads = threads();
+    private static final boolean allocationSupported = threads != null && threads.isThreadAllocatedMemorySupported();
+    private static final boolean cpuSupported = threads != null && threads.isCurrentThreadCpuTimeSupported();
+
+    public static ThreadCost current() {
+        if (!allocationSupported && !cpuSupported) {
+            return NONE;
+        }
+        // both return -1 when measuring has been disabled at runtime
+        final long allocated = allocationSupported ? threads.getCurrentThreadAllocatedBytes() : 0;
+        final long cpu = cpuSupported ? threads.getCurrentThreadCpuTime() : 0;
+        return new ThreadCost(Math.max(0, allocated), Math.max(0, cpu));
+    }
+
+    /**
+     * @param start taken on the same thread before the work
+     * @return the cost of the work in between
+     */
+    public ThreadCost since(ThreadCost start) {
+        return new ThreadCost(Math.max(0, allocatedBytes - start.allocatedBytes),
+                Math.max(0, cpuNanos - start.cpuNanos));
+    }
+
+    private static ThreadMXBean threads() {
+        final java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        return (bean instanceof ThreadMXBean) ? (ThreadMXBean) bean : null;
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.connector.db2as400;
+
+import java.util.List;
+
+import org.fest.assertions.Assertions;
+import org.junit.Test;
+
+import io.debezium.connector.db2as400.benchmark.InMemoryCatalog;
+import io.debezium.jdbc.JdbcConfiguration;
+import io.debezium.relational.TableId;
+
+public class As400JdbcConnectionTest {
+
+    private As400JdbcConnection createTestSubject() {
+        return new InMemoryCatalog(JdbcConfiguration.create().build(), "DB", List.of());
+    }
+
+    @Test
+    public void testDatabaseNameLookedUpThroughFactory() {
+        Assertions.assertThat(createTestSubject().getRealDatabaseName()).isEqualTo("DB");
+    }
+
+    @Test
+    public void testTableIdReusedForSystemFile() {
+        As400JdbcConnection connection = createTestSubject();
+        TableId tableId = connection.getTableId("LIB", "TAB");
+
+        Assertions.assertThat(tableId).isEqualTo(new TableId("DB", "LIB", "TAB"));
+        Assertions.assertThat(connection.getTableId("LIB", "TAB")).isSameAs(tableId);
+        Assertions.assertThat(connection.getTableId("OTHER", "TAB")).isNotSameAs(tableId);
+    }
+
+    @Test
+    public void testIncludedTablesShareInstances() {
+        As400JdbcConnection connection = createTestSubject();
+        TableId included = connection.includedTableIds("LIB", "LIB.TAB").get(0);
+
+        Assertions.assertThat(connection.getTableId("LIB", "TAB")).isSameAs(included);
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.connector.db2as400;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.fest.assertions.Assertions;
+import org.junit.Test;
+
+import com.fnz.db2.journal.generator.JournalGenerator;
+import com.fnz.db2.journal.retrieve.JournalInfo;
+
+import io.debezium.config.Configuration;
+import io.debezium.connector.db2as400.benchmark.InMemoryCatalog;
+import io.debezium.connector.db2as400.benchmark.StandInJournal;
+import io.debezium.connector.db2as400.benchmark.StandInRpcConnection;
+import io.debezium.connector.db2as400.events.Reconnect;
+import io.debezium.relational.TableId;
+import io.debezium.schema.SchemaNameAdjuster;
+import io.debezium.spi.topic.TopicNamingStrategy;
+import io.debezium.util.Clock;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+public class As400StreamingChangeEventSourceTest {
+
+    private As400StreamingChangeEventSource createTestSubject() {
+        As400ConnectorConfig config = new As400ConnectorConfig(Configuration.create()
+                .with("hostname", "standin")
+                .with("topic.prefix", "standin")
+                .with("user", "test")
+                .with("password", "test")
+                .with("schema", "SHOP")
+                .build());
+        InMemoryCatalog catalog = new InMemoryCatalog(config.getJdbcConfiguration(), "DB", List.of());
+        @SuppressWarnings("unchecked")
+        TopicNamingStrategy<TableId> naming = config.getTopicNamingStrategy(As400ConnectorConfig.TOPIC_NAMING_STRATEGY,
+                true);
+        As400DatabaseSchema schema = new As400DatabaseSchema(config, catalog, null, naming, SchemaNameAdjuster.AVRO);
+        StandInJournal journal = new StandInJournal(new JournalGenerator(), List.of(), new JournalInfo("JRN", "SHOP"),
+                65536, 0);
+        return new As400StreamingChangeEventSource(config, new StandInRpcConnection(config, null, journal), catalog,
+                null, null, Clock.system(), schema, null);
+    }
+
+    @Test
+    public void testReconnectRecordsEvent() throws Exception {
+        As400StreamingChangeEventSource source = createTestSubject();
+        Path file = Files.createTempFile("reconnect", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(Reconnect.class).withoutThreshold();
+            recording.start();
+            source.closeAndReconnect();
+            recording.stop();
+            recording.dump(file);
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+            Assertions.assertThat(events).hasSize(1);
+            Assertions.assertThat(events.get(0).getBoolean("success")).isTrue();
+        }
+        finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.connector.db2as400;
+
+import org.fest.assertions.Assertions;
+import org.junit.Test;
+
+public class As400ValueConvertersTest {
+
+    @Test
+    public void testCleanStringIsReturnedUnchanged() {
+        String clean = "Z\u00FCrich branch 42 \uD83D\uDE00 \u00A3";
+        Assertions.assertThat(As400ValueConverters.sanitize(clean)).isSameAs(clean);
+        Assertions.assertThat(As400ValueConverters.sanitize("")).isSameAs("");
+        Assertions.assertThat(As400ValueConverters.sanitize(null)).isNull();
+    }
+
+    @Test
+    public void testBadCharactersAreReplaced() {
+        // control characters
+        Assertions.assertThat(As400ValueConverters.sanitize("ab\u0000c\u0007")).isEqualTo("ab?c?");
+        // zero width space, a format character
+        Assertions.assertThat(As400ValueConverters.sanitize("\u200Bx")).isEqualTo("?x");
+        // private use
+        Assertions.assertThat(As400ValueConverters.sanitize("a\uE000b")).isEqualTo("a?b");
+        // lone surrogate
+        Assertions.assertThat(As400ValueConverters.sanitize("a\uD800b")).isEqualTo("a?b");
+        // a supplementary private use code point, U+F0000, is replaced by a single character
+        Assertions.assertThat(As400ValueConverters.sanitize("a\uDB80\uDC00b")).isEqualTo("a?b");
+        // a surrogate pair that is a valid emoji is kept
+        Assertions.assertThat(As400ValueConverters.sanitize("\uD83D\uDE00\u0001")).isEqualTo("\uD83D\uDE00?");
+    }
+
+    @Test
+    public void testRemoveBadCharactersReportsModification() {
+        Assertions.assertThat(As400ValueConverters.removeBadCharacters("fine").modified).isFalse();
+        Assertions.assertThat(As400ValueConverters.removeBadCharacters("not\u0000fine").modified).isTrue();
+        Assertions.assertThat(As400ValueConverters.removeBadCharacters("not\u0000fine").value).isEqualTo("not?fine");
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.connector.db2as400;
+
+import org.fest.assertions.Assertions;
+import org.junit.Test;
+
+import io.debezium.relational.TableId;
+
+public class BeforeImageCacheTest {
+    private static final TableId A = new TableId("db", "lib", "A");
+    private static final TableId B = new TableId("db", "lib", "B");
+
+    @Test
+    public void testInterleavedJobsPairCorrectly() {
+        BeforeImageCache<Object[]> cache = new BeforeImageCache<>(16);
+        Object[] job1 = new Object[]{ "job1" };
+        Object[] job2 = new Object[]{ "job2" };
+        cache.put(A, "000001", 1, job1);
+        cache.put(A, "000002", 1, job2);
+
+        Assertions.assertThat(cache.remove(A, "000002", 1)).isSameAs(job2);
+        Assertions.assertThat(cache.remove(A, "000001", 1)).isSameAs(job1);
+        Assertions.assertThat(cache.remove(A, "000001", 1)).isNull();
+        Assertions.assertThat(cache.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void testKeyedOnTableAndThread() {
+        BeforeImageCache<Object[]> cache = new BeforeImageCache<>(16);
+        Object[] image = new Object[0];
+        cache.put(A, "000001", 1, image);
+
+        Assertions.assertThat(cache.remove(B, "000001", 1)).isNull();
+        Assertions.assertThat(cache.remove(A, "000001", 2)).isNull();
+        Assertions.assertThat(cache.remove(new TableId("db", "lib", "A"), "000001", 1)).isSameAs(image);
+    }
+
+    @Test
+    public void testBoundedEvictsOldest() {
+        BeforeImageCache<Object[]> cache = new BeforeImageCache<>(4);
+        for (int i = 0; i < 10; i++) {
+            cache.put(A, "000001", i, new Object[]{ i });
+        }
+        Assertions.assertThat(cache.size()).isEqualTo(4);
+        Assertions.assertThat(cache.evicted()).isEqualTo(6);
+        Assertions.assertThat(cache.remove(A, "000001", 5)).isNull();
+        for (int i = 6; i < 10; i++) {
+            Assertions.assertThat(cache.remove(A, "000001", i)[0]).isEqualTo(i);
+        }
+        Assertions.assertThat(cache.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void testEvictionOrderSurvivesRemovesAndReplacement() {
+        BeforeImageCache<Object[]> cache = new BeforeImageCache<>(8);
+        for (int i = 0; i < 8; i++) {
+            cache.put(B, Integer.toString(i), i, new Object[]{ i });
+        }
+        // shifts colliding entries into other slots
+        cache.remove(B, "2", 2);
+        cache.remove(B, "5", 5);
+        // replacing an image makes it the newest
+        cache.put(B, "0", 0, new Object[]{ 0 });
+        for (int i = 8; i < 12; i++) {
+            cache.put(B, Integer.toString(i), i, new Object[]{ i });
+        }
+
+        Assertions.assertThat(cache.size()).isEqualTo(8);
+        Assertions.assertThat(cache.evicted()).isEqualTo(2);
+        Assertions.assertThat(cache.remove(B, "1", 1)).isNull();
+        Assertions.assertThat(cache.remove(B, "3", 3)).isNull();
+        for (int i : new int[]{ 0, 4, 6, 7, 8, 9, 10, 11 }) {
+            Assertions.assertThat(cache.remove(B, Integer.toString(i), i)[0]).isEqualTo(i);
+        }
+        Assertions.assertThat(cache.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void testRemoveKeepsCollidingEntriesReachable() {
+        BeforeImageCache<Object[]> cache = new BeforeImageCache<>(64);
+        for (int i = 0; i < 64; i++) {
+            cache.put(B, Integer.toString(i), i, new Object[]{ i });
+        }
+        for (int i = 0; i < 64; i += 2) {
+            Assertions.assertThat(cache.remove(B, Integer.toString(i), i)[0]).isEqualTo(i);
+        }
+        for (int i = 1; i < 64; i += 2) {
+            Assertions.assertThat(cache.remove(B, Integer.toString(i), i)[0]).isEqualTo(i);
+        }
+        Assertions.assertThat(cache.size()).isEqualTo(0);
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.connector.db2as400;
+
+import java.util.Arrays;
+
+import org.fest.assertions.Assertions;
+import org.junit.Test;
+
+public class CommitCyclesTest {
+
+    @Test
+    public void testPutGetRemove() {
+        CommitCycles<String> cycles = new CommitCycles<>(16);
+        cycles.put(7, "seven", 100);
+        cycles.put(-1, "max unsigned", 200);
+
+        Assertions.assertThat(cycles.get(7)).isEqualTo("seven");
+        Assertions.assertThat(cycles.get(-1)).isEqualTo("max unsigned");
+        Assertions.assertThat(cycles.get(8)).isNull();
+        Assertions.assertThat(cycles.get(0)).isNull();
+        Assertions.assertThat(cycles.oldestStart()).isEqualTo(100);
+
+        Assertions.assertThat(cycles.remove(7)).isEqualTo("seven");
+        Assertions.assertThat(cycles.remove(7)).isNull();
+        Assertions.assertThat(cycles.size()).isEqualTo(1);
+        Assertions.assertThat(cycles.oldestStart()).isEqualTo(200);
+        cycles.remove(-1);
+        Assertions.assertThat(cycles.oldestStart()).isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOutsideCommitmentControlIsNotStored() {
+        new CommitCycles<String>(16).put(0, "none", 0);
+    }
+
+    @Test
+    public void testBoundedLeavesEvictionToOwner() {
+        CommitCycles<Long> cycles = new CommitCycles<>(4);
+        for (long i = 1; i <= 4; i++) {
+            cycles.put(i, i, 1000 - i);
+        }
+        Assertions.assertThat(cycles.isFull()).isTrue();
+        // started times run backwards so the latest id started first
+        Assertions.assertThat(cycles.oldestId()).isEqualTo(4);
+        cycles.put(4, 40L, 1000);
+        Assertions.assertThat(cycles.get(4)).isEqualTo(40L);
+        Assertions.assertThat(cycles.remove(cycles.oldestId())).isEqualTo(3L);
+        cycles.put(5, 5L, 0);
+        Assertions.assertThat(cycles.oldestId()).isEqualTo(5);
+        Assertions.assertThat(cycles.size()).isEqualTo(4);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testFullRejectsNewCycle() {
+        CommitCycles<Long> cycles = new CommitCycles<>(2);
+        cycles.put(1, 1L, 0);
+        cycles.put(2, 2L, 0);
+        cycles.put(3, 3L, 0);
+    }
+
+    @Test
+    public void testStartedBefore() {
+        CommitCycles<Long> cycles = new CommitCycles<>(64);
+        Assertions.assertThat(cycles.oldestId()).isEqualTo(0);
+        for (long i = 1; i <= 20; i++) {
+            cycles.put(i, i, i * 10);
+        }
+        long[] stale = cycles.startedBefore(105);
+        Arrays.sort(stale);
+        Assertions.assertThat(stale).isEqualTo(new long[]{ 1, 2, 3, 4, 5, 6, 7, 8, 9, 10 });
+        // finding them leaves them open
+        Assertions.assertThat(cycles.size()).isEqualTo(20);
+        for (long id : stale) {
+            cycles.remove(id);
+        }
+        Assertions.assertThat(cycles.oldestStart()).isEqualTo(110);
+        for (long i = 1; i <= 20; i++) {
+            Assertions.assertThat(cycles.get(i)).isEqualTo((i > 10) ? i : null);
+        }
+    }
+
+    @Test
+    public void testRemoveKeepsCollidingEntriesReachable() {
+        CommitCycles<Long> cycles = new CommitCycles<>(1024);
+        for (long i = 1; i <= 1024; i++) {
+            cycles.put(i << 20, i, i);
+        }
+        for (long i = 1; i <= 1024; i += 2) {
+            Assertions.assertThat(cycles.remove(i << 20)).isEqualTo(i);
+        }
+        for (long i = 2; i <= 1024; i += 2) {
+            Assertions.assertThat(cycles.get(i << 20)).isEqualTo(i);
+        }
+        Assertions.assertThat(cycles.size()).isEqualTo(512);
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.connector.db2as400;
+
+import java.util.List;
+import java.util.Properties;
+
+import org.fest.assertions.Assertions;
+import org.junit.Test;
+
+import io.debezium.config.CommonConnectorConfig;
+import io.debezium.relational.TableId;
+
+public class HostnamePrefixNamingSchemeTest {
+
+    private HostnamePrefixNamingScheme createTestSubject() {
+        Properties props = new Properties();
+        props.put(CommonConnectorConfig.TOPIC_PREFIX.name(), "host");
+        return new HostnamePrefixNamingScheme(props);
+    }
+
+    @Test
+    public void testTopicIsPrefixAndTable() {
+        HostnamePrefixNamingScheme naming = createTestSubject();
+        Assertions.assertThat(naming.dataChangeTopic(new TableId("db", "LIB", "TAB"))).isEqualTo("host.TAB");
+    }
+
+    @Test
+    public void testTopicCachedAcrossLookups() {
+        HostnamePrefixNamingScheme naming = createTestSubject();
+        naming.prepopulate(List.of(new TableId("db", "LIB", "TAB")));
+        String topic = naming.dataChangeTopic(new TableId("db", "LIB", "TAB"));
+
+        Assertions.assertThat(topic).isEqualTo("host.TAB");
+        Assertions.assertThat(naming.dataChangeTopic(new TableId("db", "LIB", "TAB"))).isSameAs(topic);
+        Assertions.assertThat(naming).isInstanceOf(PrepopulatingNamingStrategy.class);
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.connector.db2as400;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.Types;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.fest.assertions.Assertions;
+import org.junit.Test;
+
+import com.fnz.db2.journal.data.types.AS400Lob;
+import com.fnz.db2.journal.retrieve.RowView;
+import com.fnz.db2.journal.retrieve.SchemaCacheIF.Structure;
+import com.fnz.db2.journal.retrieve.SchemaCacheIF.TableInfo;
+import com.ibm.as400.access.AS400Bin4;
+import com.ibm.as400.access.AS400DataType;
+import com.ibm.as400.access.AS400Structure;
+import com.ibm.as400.access.AS400Text;
+
+import io.debezium.connector.db2as400.As400ConnectorConfig.LobPolicy;
+
+public class LobResolverTest {
+    private static final AS400Lob[] LOBS = new AS400Lob[]{ new AS400Lob("CLOB", "NOTES"), new AS400Lob("XML", "DOC") };
+    private static final List<String> COLUMNS = List.of("NOTES", "DOC");
+
+    @Test
+    public void testOneQueryForManyRows() {
+        Assertions.assertThat(LobResolver.select("LIB", "ORDERS", List.of(), COLUMNS, LOBS, LobPolicy.INLINE, 100, 3))
+                .isEqualTo("SELECT RRN(T), \"NOTES\", XMLSERIALIZE(\"DOC\" AS CLOB(2G)) FROM \"LIB\".\"ORDERS\" T WHERE RRN(T) IN (?, ?, ?)");
+    }
+
+    @Test
+    public void testPolicyIsAppliedOnTheServer() {
+        Assertions.assertThat(LobResolver.select("LIB", "ORDERS", List.of(), List.of("NOTES"), LOBS, LobPolicy.TRUNCATE, 100, 1))
+                .isEqualTo("SELECT RRN(T), SUBSTR(\"NOTES\", 1, MIN(LENGTH(\"NOTES\"), 100)) FROM \"LIB\".\"ORDERS\" T WHERE RRN(T) IN (?)");
+        Assertions.assertThat(LobResolver.select("LIB", "ORDERS", List.of(), List.of("NOTES"), LOBS, LobPolicy.SKIP, 100, 1))
+                .isEqualTo("SELECT RRN(T), CASE WHEN LENGTH(\"NOTES\") <= 100 THEN \"NOTES\" END FROM \"LIB\".\"ORDERS\" T WHERE RRN(T) IN (?)");
+    }
+
+    @Test
+    public void testKeyColumnsAreSelected() {
+        Assertions.assertThat(LobResolver.select("LIB", "ORDERS", List.of("ID", "BRANCH"), List.of("NOTES"), LOBS, LobPolicy.INLINE, 100, 1))
+                .isEqualTo("SELECT RRN(T), \"ID\", \"BRANCH\", \"NOTES\" FROM \"LIB\".\"ORDERS\" T WHERE RRN(T) IN (?)");
+    }
+
+    @Test
+    public void testLobsOnlyAttachedToTheSameRow() throws Exception {
+        TableInfo orders = new TableInfo(
+                List.of(new Structure("NOTES", "CLOB", Types.CLOB, 100, 0, true, 1, false),
+                        new Structure("ID", "INTEGER", Types.INTEGER, 10, 0, false, 2, false),
+                        new Structure("BRANCH", "CHAR", Types.CHAR, 4, 0, false, 3, false)),
+                List.of("ID", "BRANCH"),
+                new AS400Structure(new AS400DataType[]{ new AS400Lob("CLOB", "NOTES"), new AS400Bin4(), new AS400Text(4) }));
+        int[] keyFields = LobResolver.keyFields(orders);
+        Assertions.assertThat(keyFields).isEqualTo(new int[]{ 1, 2 });
+
+        // row 2 was deleted and its relative record number reused by another row before the block was processed
+        Map<Long, LobResolver.Fetched> values = new HashMap<>();
+        int rows = LobResolver.read(resultSet(
+                new Object[]{ 1L, new BigDecimal("7"), "LDN ", "first" },
+                new Object[]{ 2L, new BigDecimal("99"), "NYC ", "someone else's" }), 2, new AS400Lob[]{ new AS400Lob("CLOB", "NOTES") }, values);
+        Assertions.assertThat(rows).isEqualTo(2);
+        Assertions.assertThat(values.get(1L).lobs()).isEqualTo(new Object[]{ "first" });
+
+        Assertions.assertThat(LobResolver.sameRow(values.get(1L), RowView.of(new Object[]{ null, 7, "LDN" }), keyFields)).isTrue();
+        Assertions.assertThat(LobResolver.sameRow(values.get(2L), RowView.of(new Object[]{ null, 8, "NYC" }), keyFields)).isFalse();
+        Assertions.assertThat(LobResolver.sameRow(values.get(2L), RowView.of(new Object[]{ null, 99, "LDN" }), keyFields)).isFalse();
+    }
+
+    @Test
+    public void testPolicyParsing() {
+        Assertions.assertThat(LobPolicy.parse("Skip", "truncate")).isEqualTo(LobPolicy.SKIP);
+        Assertions.assertThat(LobPolicy.parse(null, "truncate")).isEqualTo(LobPolicy.TRUNCATE);
+        Assertions.assertThat(LobPolicy.parse("bogus", null)).isNull();
+    }
+
+    // rows of RRN, key columns and LOB columns as returned by the select
+    private static ResultSet resultSet(Object[]... rows) {
+        Iterator<Object[]> next = List.of(rows).iterator();
+        Object[][] current = new Object[1][];
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ ResultSet.class },
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "next":
+                            current[0] = next.hasNext() ? next.next() : null;
+                            return current[0] != null;
+                        case "getLong":
+                        case "getObject":
+                        case "getString":
+                        case "getBytes":
+                            return current[0][(Integer) args[0] - 1];
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+}
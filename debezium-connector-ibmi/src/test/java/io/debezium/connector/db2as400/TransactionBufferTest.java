@@ -0,0 +1,165 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.connector.db2as400;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.fest.assertions.Assertions;
+import org.junit.Test;
+
+import com.fnz.db2.journal.retrieve.JournalPosition;
+import com.fnz.db2.journal.retrieve.RowView;
+
+import io.debezium.connector.db2as400.TransactionBuffer.Change;
+import io.debezium.data.Envelope.Operation;
+import io.debezium.relational.TableId;
+
+public class TransactionBufferTest {
+    private static final TableId TABLE = new TableId("DB", "LIB", "ORDERS");
+
+    @Test
+    public void testCommitDispatchesInJournalOrder() throws Exception {
+        TransactionBuffer buffer = new TransactionBuffer(Long.MAX_VALUE, tempDir(), 1024);
+        buffer.add(1, position(10), insert(1));
+        buffer.add(2, position(11), insert(2));
+        buffer.add(1, position(12), insert(3));
+
+        List<Object> ids = new ArrayList<>();
+        Assertions.assertThat(buffer.commit(1, c -> ids.add(c.after().get(0)))).isEqualTo(2);
+        Assertions.assertThat(ids).containsExactly(1L, 3L);
+        Assertions.assertThat(buffer.bufferedChanges()).isEqualTo(1);
+        Assertions.assertThat(buffer.commit(1, c -> ids.add(c))).isEqualTo(0);
+    }
+
+    @Test
+    public void testRollbackDropsChanges() throws Exception {
+        TransactionBuffer buffer = new TransactionBuffer(Long.MAX_VALUE, tempDir(), 1024);
+        buffer.add(1, position(10), insert(1));
+        buffer.add(1, position(11), insert(2));
+
+        Assertions.assertThat(buffer.rollback(1)).isEqualTo(2);
+        Assertions.assertThat(buffer.openTransactions()).isEqualTo(0);
+        Assertions.assertThat(buffer.bufferedChanges()).isEqualTo(0);
+        Assertions.assertThat(buffer.memory()).isEqualTo(0);
+    }
+
+    @Test
+    public void testResumesFromOldestOpenTransaction() throws Exception {
+        TransactionBuffer buffer = new TransactionBuffer(Long.MAX_VALUE, tempDir(), 1024);
+        Assertions.assertThat(buffer.oldestStart().isPresent()).isFalse();
+        buffer.begin(1, position(10), null);
+        buffer.add(2, position(11), insert(1));
+        buffer.add(1, position(12), insert(2));
+
+        JournalPosition start = buffer.oldestStart().get();
+        Assertions.assertThat(start.getOffset()).isEqualTo(BigInteger.valueOf(10));
+        Assertions.assertThat(start.processed()).isFalse();
+
+        buffer.commit(1, c -> {
+        });
+        Assertions.assertThat(buffer.oldestStart().get().getOffset()).isEqualTo(BigInteger.valueOf(11));
+        buffer.rollback(2);
+        Assertions.assertThat(buffer.oldestStart().isPresent()).isFalse();
+    }
+
+    @Test
+    public void testSpillsLargestTransactionToDisk() throws Exception {
+        Path dir = tempDir();
+        TransactionBuffer buffer = new TransactionBuffer(1000, dir, 1024);
+        buffer.add(3, position(1), insert(-1));
+        for (long i = 0; i < 10; i++) {
+            buffer.add(4, position(2 + i), insert(i));
+        }
+        Assertions.assertThat(buffer.spilledChanges()).isGreaterThan(0);
+        Assertions.assertThat(buffer.memory()).isLessThanOrEqualTo(1000);
+        Assertions.assertThat(files(dir)).isEqualTo(1);
+
+        List<Change> changes = new ArrayList<>();
+        Assertions.assertThat(buffer.commit(4, changes::add)).isEqualTo(10);
+        for (int i = 0; i < 10; i++) {
+            Change change = changes.get(i);
+            Assertions.assertThat(change.after().toArray()).isEqualTo(new Object[]{ (long) i, "name " + i, BigDecimal.valueOf(i, 2) });
+            Assertions.assertThat(change.tableId()).isEqualTo(TABLE);
+            Assertions.assertThat(change.operation()).isEqualTo(Operation.CREATE);
+            Assertions.assertThat(change.entryTime()).isEqualTo(new Timestamp(i));
+        }
+        Assertions.assertThat(files(dir)).isEqualTo(0);
+
+        buffer.close();
+        Assertions.assertThat(buffer.bufferedChanges()).isEqualTo(0);
+    }
+
+    @Test
+    public void testFindsTransactionsStartedBeforeCutoff() throws Exception {
+        TransactionBuffer buffer = new TransactionBuffer(Long.MAX_VALUE, tempDir(), 1024);
+        buffer.begin(1, position(10), Instant.ofEpochMilli(1000));
+        buffer.add(1, position(11), insert(1));
+        buffer.add(2, position(12), insert(5000));
+
+        Assertions.assertThat(buffer.startedBefore(Instant.ofEpochMilli(2000))).isEqualTo(new long[]{ 1 });
+        Assertions.assertThat(buffer.isOpen(1)).isTrue();
+        List<Change> changes = new ArrayList<>();
+        Assertions.assertThat(buffer.commit(1, changes::add)).isEqualTo(1);
+        Assertions.assertThat(buffer.isOpen(2)).isTrue();
+        Assertions.assertThat(buffer.oldestStart().get().getOffset()).isEqualTo(BigInteger.valueOf(12));
+    }
+
+    @Test
+    public void testBoundedByOpenTransactions() throws Exception {
+        TransactionBuffer buffer = new TransactionBuffer(Long.MAX_VALUE, tempDir(), 2);
+        buffer.add(-1, position(10), insert(1));
+        buffer.begin(5, position(11), Instant.ofEpochMilli(0));
+        buffer.add(-1, position(12), insert(2));
+        Assertions.assertThat(buffer.isFull()).isTrue();
+        // first seen, not first started
+        Assertions.assertThat(buffer.oldestId()).isEqualTo(-1);
+        Assertions.assertThat(buffer.rollback(buffer.oldestId())).isEqualTo(2);
+        buffer.add(6, position(13), insert(3));
+        Assertions.assertThat(buffer.oldestId()).isEqualTo(5);
+        Assertions.assertThat(buffer.oldestStart().get().getOffset()).isEqualTo(BigInteger.valueOf(11));
+
+        buffer.close();
+        Assertions.assertThat(buffer.openTransactions()).isEqualTo(0);
+        Assertions.assertThat(buffer.oldestId()).isEqualTo(0);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testFullRejectsNewTransaction() throws Exception {
+        TransactionBuffer buffer = new TransactionBuffer(Long.MAX_VALUE, tempDir(), 1);
+        buffer.add(1, position(10), insert(1));
+        buffer.begin(2, position(11), Instant.ofEpochMilli(0));
+    }
+
+    private static Change insert(long id) {
+        return new Change(TABLE, Operation.CREATE, new Timestamp(id), null,
+                RowView.of(new Object[]{ id, "name " + id, BigDecimal.valueOf(id, 2) }));
+    }
+
+    private static JournalPosition position(long offset) {
+        return new JournalPosition(BigInteger.valueOf(offset), "RCV0001", "JRNLIB", true);
+    }
+
+    private static Path tempDir() throws IOException {
+        Path dir = Files.createTempDirectory("tx-buffer");
+        dir.toFile().deleteOnExit();
+        return dir;
+    }
+
+    private static long files(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.count();
+        }
+    }
+}
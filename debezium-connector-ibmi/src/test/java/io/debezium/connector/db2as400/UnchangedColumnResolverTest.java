@@ -0,0 +1,85 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.connector.db2as400;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.Types;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.fest.assertions.Assertions;
+import org.junit.Test;
+
+import com.fnz.db2.journal.data.types.AS400Excluded;
+import com.fnz.db2.journal.data.types.AS400Lob;
+import com.fnz.db2.journal.retrieve.SchemaCacheIF.Structure;
+import com.fnz.db2.journal.retrieve.SchemaCacheIF.TableInfo;
+import com.ibm.as400.access.AS400Bin4;
+import com.ibm.as400.access.AS400DataType;
+import com.ibm.as400.access.AS400Structure;
+import com.ibm.as400.access.AS400Text;
+
+public class UnchangedColumnResolverTest {
+
+    @Test
+    public void testOneQueryForManyRows() {
+        Assertions.assertThat(UnchangedColumnResolver.select("LIB", "ORDERS", List.of("ID", "NAME"), 2))
+                .isEqualTo("SELECT RRN(T), \"ID\", \"NAME\" FROM \"LIB\".\"ORDERS\" T WHERE RRN(T) IN (?, ?)");
+    }
+
+    @Test
+    public void testLobsAndExcludedColumnsAreNotRead() {
+        TableInfo orders = new TableInfo(
+                List.of(new Structure("ID", "INTEGER", Types.INTEGER, 10, 0, false, 1, false),
+                        new Structure("NOTES", "CLOB", Types.CLOB, 100, 0, true, 2, false),
+                        new Structure("SECRET", "CHAR", Types.CHAR, 4, 0, true, 3, false),
+                        new Structure("NAME", "CHAR", Types.CHAR, 4, 0, false, 4, false)),
+                List.of("ID"),
+                new AS400Structure(new AS400DataType[]{ new AS400Bin4(), new AS400Lob("CLOB", "NOTES"),
+                        new AS400Excluded(new AS400Text(4)), new AS400Text(4) }));
+
+        Assertions.assertThat(UnchangedColumnResolver.fields(orders)).isEqualTo(new int[]{ 0, 3 });
+    }
+
+    @Test
+    public void testRowsAreReadByRelativeRecordNumber() throws Exception {
+        Map<Long, Object[]> values = new HashMap<>();
+        values.put(3L, null);
+        int rows = UnchangedColumnResolver.read(resultSet(
+                new Object[]{ 1L, new BigDecimal("7"), "LDN " },
+                new Object[]{ 2L, new BigDecimal("8"), "NYC " }), 2, values);
+
+        Assertions.assertThat(rows).isEqualTo(2);
+        Assertions.assertThat(values.get(1L)).isEqualTo(new Object[]{ new BigDecimal("7"), "LDN " });
+        Assertions.assertThat(values.get(2L)).isEqualTo(new Object[]{ new BigDecimal("8"), "NYC " });
+        // gone since, left unavailable
+        Assertions.assertThat(values.containsKey(3L)).isTrue();
+        Assertions.assertThat(values.get(3L)).isNull();
+    }
+
+    // rows of RRN and columns as returned by the select
+    private static ResultSet resultSet(Object[]... rows) {
+        Iterator<Object[]> next = List.of(rows).iterator();
+        Object[][] current = new Object[1][];
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ ResultSet.class },
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "next":
+                            current[0] = next.hasNext() ? next.next() : null;
+                            return current[0] != null;
+                        case "getLong":
+                        case "getObject":
+                            return current[0][(Integer) args[0] - 1];
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+}
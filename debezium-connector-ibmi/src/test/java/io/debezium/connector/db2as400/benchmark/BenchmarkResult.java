@@ -0,0 +1,76 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.connector.db2as400.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Outcome of a run, written as JSON so a build can be compared with the baseline of an earlier one
+ *
+ * @param workload the options the run was made with, runs are only comparable when they match
+ */
+public record BenchmarkResult(String timestamp, String javaVersion, Map<String, String> workload, long events,
+                              double seconds, double eventsPerSecond, double latencyP50Micros,
+                              double latencyP99Micros, double latencyMaxMicros, long allocatedBytesPerEvent,
+                              double allocatedMBPerSecond, long gcCount, long gcMillis) {
+
+    private static final ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    public static BenchmarkResult read(Path path) throws IOException {
+        return mapper.readValue(path.toFile(), BenchmarkResult.class);
+    }
+
+    public void write(Path path) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        mapper.writeValue(path.toFile(), this);
+    }
+
+    /**
+     * @param tolerancePercent change in the worse direction allowed before it counts as a regression
+     * @return one line per regression of throughput, p99 latency or allocation per event, empty when there are none
+     * @throws IllegalArgumentException if the baseline was run with a different workload
+     */
+    public List<String> regressionsAgainst(BenchmarkResult baseline, double tolerancePercent) {
+        if (!sameWorkload(baseline)) {
+            throw new IllegalArgumentException(
+                    String.format("baseline was run with %s, this run with %s", baseline.workload, workload));
+        }
+        final List<String> regressions = new ArrayList<>();
+        // fewer events per second is worse
+        worse("events/s", -change(baseline.eventsPerSecond, eventsPerSecond), tolerancePercent, regressions);
+        worse("p99 latency", change(baseline.latencyP99Micros, latencyP99Micros), tolerancePercent, regressions);
+        worse("bytes allocated per event", change(baseline.allocatedBytesPerEvent, allocatedBytesPerEvent),
+                tolerancePercent, regressions);
+        return regressions;
+    }
+
+    public boolean sameWorkload(BenchmarkResult other) {
+        return workload.equals(other.workload);
+    }
+
+    private static double change(double baseline, double current) {
+        if (baseline == 0) {
+            return 0;
+        }
+        return (current - baseline) * 100 / baseline;
+    }
+
+    private static void worse(String metric, double percent, double tolerancePercent, List<String> regressions) {
+        if (percent > tolerancePercent) {
+            regressions.add(String.format("%s %.1f%% worse than the baseline", metric, percent));
+        }
+    }
+}
@@ -0,0 +1,292 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.connector.db2as400.benchmark;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.apache.kafka.connect.storage.MemoryOffsetBackingStore;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fnz.db2.journal.generator.JournalGenerator;
+import com.fnz.db2.journal.generator.TableShape;
+import com.fnz.db2.journal.retrieve.JournalInfo;
+
+import io.debezium.connector.db2as400.metrics.LatencyHistogram;
+import io.debezium.engine.ChangeEvent;
+import io.debezium.engine.DebeziumEngine;
+import io.debezium.engine.format.Json;
+
+/**
+ * Runs the connector in the embedded engine against a generated journal and an in-memory catalog, so the queue,
+ * dispatcher and JSON converter are measured along with decoding, and a no-op sink takes the events.
+ * <p>
+ * Reports events per second, the latency from a block being handed to the connector to its events reaching the
+ * sink, and the allocation rate, after a warm up. The result is written as JSON and, given a baseline from an earlier
+ * build run with the same workload, compared with it; the exit code is 1 when the run regressed by more than the
+ * tolerance. A baseline of another workload is not compared with.
+ * <p>
+ * arguments are name=value: events (200000 measured change events), warmup (50000), tables (10), columns (20), ccsid
+ * (37), block (131072 bytes), tx (1-10 row changes), concurrent (4 transactions), cc (100 percent under commitment
+ * control), mix (inserts:updates:deletes, 6:3:1), nulls (10 percent), seed (1), rate (0 entries per second, 0 for as
+ * fast as the connector takes them), timeout (600 seconds), out (target/benchmark/connector-throughput.json),
+ * baseline (result to compare with) and tolerance (10 percent). Names with a dot are passed to the connector, e.g.
+ * max.batch.size=4096; with transaction.buffer=true rolled back changes never reach the sink so keep the default of
+ * no rollbacks.
+ */
+public class ConnectorThroughputBenchmark {
+    private static final Logger log = LoggerFactory.getLogger(ConnectorThroughputBenchmark.class);
+    static final String DATABASE = "STANDIN";
+    private static final String LIBRARY = "LOADTEST";
+    private static final String HEARTBEAT_TOPIC = "__debezium-heartbeat";
+
+    private final Map<String, String> options;
+
+    public ConnectorThroughputBenchmark(Map<String, String> options) {
+        this.options = new TreeMap<>(options);
+    }
+
+    public static void main(String[] args) throws Exception {
+        final Map<String, String> options = new TreeMap<>();
+        for (final String arg : args) {
+            final String[] kv = arg.split("=", 2);
+            options.put(kv[0], (kv.length > 1) ? kv[1] : "");
+        }
+        // per entry debug logging would be measured too
+        Configurator.setLevel("io.debezium", Level.WARN);
+        Configurator.setLevel("com.fnz", Level.WARN);
+        Configurator.setLevel(ConnectorThroughputBenchmark.class.getName(), Level.INFO);
+
+        final String baselinePath = options.remove("baseline");
+        final double tolerance = Double.parseDouble(options.getOrDefault("tolerance", "10"));
+        options.remove("tolerance");
+        final Path out = Paths.get(options.getOrDefault("out", "target/benchmark/connector-throughput.json"));
+        options.remove("out");
+
+        final BenchmarkResult result = new ConnectorThroughputBenchmark(options).run();
+        log.info("{} events in {} s: {} events/s, latency p50 {} us p99 {} us max {} us, {} bytes/event {} MB/s allocated, {} gcs {} ms",
+                result.events(), String.format("%.1f", result.seconds()), Math.round(result.eventsPerSecond()),
+                Math.round(result.latencyP50Micros()), Math.round(result.latencyP99Micros()),
+                Math.round(result.latencyMaxMicros()), result.allocatedBytesPerEvent(),
+                Math.round(result.allocatedMBPerSecond()), result.gcCount(), result.gcMillis());
+        result.write(out);
+        log.info("result written to {}", out.toAbsolutePath());
+
+        if (baselinePath != null) {
+            final BenchmarkResult baseline = BenchmarkResult.read(Paths.get(baselinePath));
+            if (!result.sameWorkload(baseline)) {
+                log.warn("not comparing with {}, it was run with {} and this run with {}", baselinePath,
+                        baseline.workload(), result.workload());
+                System.exit(0);
+            }
+            final List<String> regressions = result.regressionsAgainst(baseline, tolerance);
+            if (!regressions.isEmpty()) {
+                regressions.forEach(r -> log.error("regression: {}", r));
+                System.exit(1);
+            }
+            log.info("no regression against {} beyond {}%", baselinePath, tolerance);
+        }
+        System.exit(0);
+    }
+
+    public BenchmarkResult run() throws Exception {
+        final long events = Long.parseLong(options.getOrDefault("events", "200000"));
+        final long warmup = Long.parseLong(options.getOrDefault("warmup", "50000"));
+        final int tableCount = Integer.parseInt(options.getOrDefault("tables", "10"));
+        final int columns = Integer.parseInt(options.getOrDefault("columns", "20"));
+        final int ccsid = Integer.parseInt(options.getOrDefault("ccsid", "37"));
+        final int blockSize = Integer.parseInt(options.getOrDefault("block", "131072"));
+        final long rate = Long.parseLong(options.getOrDefault("rate", "0"));
+        final long timeout = Long.parseLong(options.getOrDefault("timeout", "600"));
+        final String[] tx = options.getOrDefault("tx", "1-10").split("-");
+        final String[] mix = options.getOrDefault("mix", "6:3:1").split(":");
+
+        final List<TableShape> tables = new ArrayList<>();
+        final JournalGenerator generator = new JournalGenerator()
+                .withMix(Integer.parseInt(mix[0]), Integer.parseInt(mix[1]), Integer.parseInt(mix[2]))
+                .withTransactionSize(Integer.parseInt(tx[0]), Integer.parseInt(tx[tx.length - 1]))
+                .withConcurrentTransactions(Integer.parseInt(options.getOrDefault("concurrent", "4")))
+                .withRollbackPercent(Integer.parseInt(options.getOrDefault("rollback", "0")))
+                .withCommitmentControl(Integer.parseInt(options.getOrDefault("cc", "100")))
+                .withNullPercent(Integer.parseInt(options.getOrDefault("nulls", "10")))
+                .withSeed(Long.parseLong(options.getOrDefault("seed", "1")))
+                .withEntriesPerSecond((rate > 0) ? rate : 50000)
+                .withStart(1, Instant.now());
+        for (int i = 0; i < tableCount; i++) {
+            final TableShape table = TableShape.mixed(LIBRARY, String.format("TABLE%04d", i), columns, ccsid);
+            tables.add(table);
+            // a few hot tables take most of the changes
+            generator.withTable(table, (i < 3) ? 10 : 1);
+        }
+        final StandInJournal journal = new StandInJournal(generator, tables, new JournalInfo("JOURNAL", LIBRARY),
+                blockSize, rate);
+        StandInConnector.use(journal);
+
+        final Sink sink = new Sink(journal, warmup, events);
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try (DebeziumEngine<ChangeEvent<String, String>> engine = DebeziumEngine.create(Json.class)
+                .using(properties(ccsid)).notifying(sink).using((success, message, error) -> {
+                    if (!success) {
+                        sink.failed(message, error);
+                    }
+                }).build()) {
+            executor.execute(engine);
+            if (!sink.await(timeout)) {
+                throw new IllegalStateException(
+                        String.format("only %d of %d events after %d s", sink.received, warmup + events, timeout));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        if (sink.failure != null) {
+            throw new IllegalStateException("engine stopped: " + sink.failureMessage, sink.failure);
+        }
+        return sink.result(options);
+    }
+
+    private Properties properties(int ccsid) {
+        final Properties props = new Properties();
+        props.setProperty("name", "ibmi-benchmark");
+        props.setProperty("connector.class", StandInConnector.class.getName());
+        props.setProperty("offset.storage", MemoryOffsetBackingStore.class.getName());
+        props.setProperty("offset.flush.interval.ms", "60000");
+        props.setProperty("hostname", "standin");
+        props.setProperty("topic.prefix", "standin");
+        props.setProperty("user", "benchmark");
+        props.setProperty("password", "benchmark");
+        props.setProperty("schema", LIBRARY);
+        props.setProperty("forced_ccsid", Integer.toString(ccsid));
+        props.setProperty("snapshot.mode", "never");
+        options.forEach((k, v) -> {
+            if (k.contains(".")) {
+                props.setProperty(k, v);
+            }
+        });
+        return props;
+    }
+
+    /**
+     * by the live threads, the engine, streaming and queue threads live for the whole run
+     */
+    private static long allocatedBytes() {
+        final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory
+                .getThreadMXBean();
+        long allocated = 0;
+        for (final long bytes : threads.getThreadAllocatedBytes(threads.getAllThreadIds())) {
+            allocated += Math.max(0, bytes);
+        }
+        return allocated;
+    }
+
+    /**
+     * no-op sink, only times the change events as they arrive
+     */
+    private static class Sink implements Consumer<ChangeEvent<String, String>> {
+        private final StandInJournal journal;
+        private final long warmup;
+        private final long events;
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final CountDownLatch done = new CountDownLatch(1);
+        private volatile long received = 0;
+        private long startNanos;
+        private long endNanos;
+        private long startAllocated;
+        private long endAllocated;
+        private long startGcCount;
+        private long startGcMillis;
+        private long endGcCount;
+        private long endGcMillis;
+        private volatile String failureMessage;
+        private volatile Throwable failure;
+
+        Sink(StandInJournal journal, long warmup, long events) {
+            this.journal = journal;
+            this.warmup = warmup;
+            this.events = events;
+        }
+
+        @Override
+        public void accept(ChangeEvent<String, String> event) {
+            if (event.destination().startsWith(HEARTBEAT_TOPIC)) {
+                return;
+            }
+            final long now = System.nanoTime();
+            final long index = received;
+            received = index + 1;
+            if (index >= warmup + events) {
+                return;
+            }
+            final long handedOver = journal.handedOver(index);
+            if (index == warmup) {
+                startNanos = now;
+                startAllocated = allocatedBytes();
+                startGcCount = gcCount();
+                startGcMillis = gcMillis();
+            }
+            if (index >= warmup) {
+                latency.record(now - handedOver);
+            }
+            if (index == warmup + events - 1) {
+                endNanos = System.nanoTime();
+                endAllocated = allocatedBytes();
+                endGcCount = gcCount();
+                endGcMillis = gcMillis();
+                done.countDown();
+            }
+        }
+
+        void failed(String message, Throwable error) {
+            failureMessage = message;
+            failure = (error == null) ? new IllegalStateException(message) : error;
+            done.countDown();
+        }
+
+        boolean await(long seconds) throws InterruptedException {
+            return done.await(seconds, TimeUnit.SECONDS);
+        }
+
+        BenchmarkResult result(Map<String, String> workload) {
+            final double seconds = Math.max(1, endNanos - startNanos) / 1e9;
+            final long allocated = endAllocated - startAllocated;
+            return new BenchmarkResult(Instant.now().toString(), System.getProperty("java.version"), workload, events,
+                    seconds, events / seconds, latency.getPercentileNanos(50) / 1e3,
+                    latency.getPercentileNanos(99) / 1e3, latency.getMaxNanos() / 1e3, allocated / events,
+                    allocated / seconds / (1 << 20), endGcCount - startGcCount, endGcMillis - startGcMillis);
+        }
+
+        private static long gcCount() {
+            long count = 0;
+            for (final GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+                count += Math.max(0, gc.getCollectionCount());
+            }
+            return count;
+        }
+
+        private static long gcMillis() {
+            long millis = 0;
+            for (final GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+                millis += Math.max(0, gc.getCollectionTime());
+            }
+            return millis;
+        }
+    }
+}
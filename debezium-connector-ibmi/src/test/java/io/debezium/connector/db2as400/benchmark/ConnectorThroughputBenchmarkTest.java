@@ -0,0 +1,52 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.connector.db2as400.benchmark;
+
+import java.util.Map;
+
+import org.fest.assertions.Assertions;
+import org.junit.Test;
+
+public class ConnectorThroughputBenchmarkTest {
+
+    @Test
+    public void testSmallWorkloadReachesTheSink() throws Exception {
+        BenchmarkResult result = new ConnectorThroughputBenchmark(
+                Map.of("events", "2000", "warmup", "500", "tables", "3", "columns", "12", "block", "32768",
+                        "timeout", "120"))
+                .run();
+
+        Assertions.assertThat(result.events()).isEqualTo(2000);
+        Assertions.assertThat(result.eventsPerSecond()).isGreaterThan(0);
+        Assertions.assertThat(result.latencyP99Micros()).isGreaterThan(0);
+        Assertions.assertThat(result.latencyP99Micros()).isGreaterThanOrEqualTo(result.latencyP50Micros());
+        Assertions.assertThat(result.workload().get("events")).isEqualTo("2000");
+    }
+
+    @Test
+    public void testRegressionsBeyondTolerance() {
+        BenchmarkResult baseline = result(10000, 500, 2000);
+
+        Assertions.assertThat(result(9500, 540, 2100).regressionsAgainst(baseline, 10)).isEmpty();
+        Assertions.assertThat(result(20000, 100, 1000).regressionsAgainst(baseline, 10)).isEmpty();
+        Assertions.assertThat(result(8000, 500, 2000).regressionsAgainst(baseline, 10)).hasSize(1);
+        Assertions.assertThat(result(8000, 600, 2500).regressionsAgainst(baseline, 10)).hasSize(3);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOtherWorkloadIsNotCompared() {
+        BenchmarkResult baseline = result(10000, 500, 2000);
+        BenchmarkResult other = new BenchmarkResult("2024-01-01T00:00:00Z", "17", Map.of("events", "2000"), 2000, 1,
+                10000, 250, 500, 1000, 2000, 100, 0, 0);
+
+        other.regressionsAgainst(baseline, 10);
+    }
+
+    private static BenchmarkResult result(double eventsPerSecond, double p99, long bytesPerEvent) {
+        return new BenchmarkResult("2024-01-01T00:00:00Z", "17", Map.of("events", "1000"), 1000, 1, eventsPerSecond,
+                p99 / 2, p99, p99 * 2, bytesPerEvent, 100, 0, 0);
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.connector.db2as400.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import com.fnz.db2.journal.generator.TableShape;
+
+import io.debezium.connector.db2as400.As400JdbcConnection;
+import io.debezium.connector.db2as400.conversion.SchemaInfoConversion;
+import io.debezium.jdbc.JdbcConfiguration;
+import io.debezium.relational.TableId;
+import io.debezium.relational.Tables;
+import io.debezium.relational.Tables.ColumnNameFilter;
+import io.debezium.relational.Tables.TableFilter;
+
+/**
+ * Answers the catalog lookups the connector makes from the generated table shapes, there is no database behind it so
+ * anything else fails with an {@link SQLException}. Table names are system names, their long names are the same; the
+ * connection handed to the connector only answers the database name query and the long name query of
+ * {@link com.fnz.db2.journal.retrieve.JdbcFileDecoder}.
+ */
+public class InMemoryCatalog extends As400JdbcConnection {
+    private interface Answer {
+        Object answer(String method, Object[] args) throws SQLException;
+    }
+
+    private final String database;
+    private final List<TableShape> tables;
+
+    public InMemoryCatalog(JdbcConfiguration config, String database, List<TableShape> tables) {
+        super(config, c -> catalogConnection(database, tables));
+        this.database = database;
+        this.tables = tables;
+    }
+
+    @Override
+    public Set<TableId> readTableNames(String databaseCatalog, String schemaNamePattern, String tableNamePattern,
+                                      String[] tableTypes) {
+        final Set<TableId> ids = new HashSet<>();
+        for (TableShape table : tables) {
+            if (schemaNamePattern == null || schemaNamePattern.equals(table.library())) {
+                ids.add(new TableId(database, table.library(), table.file()));
+            }
+        }
+        return ids;
+    }
+
+    @Override
+    public void readSchema(Tables tables, String databaseCatalog, String schemaNamePattern, TableFilter tableFilter,
+                           ColumnNameFilter columnFilter, boolean removeTablesNotFoundInJdbc) {
+        for (TableShape table : this.tables) {
+            final TableId id = new TableId(database, table.library(), table.file());
+            if ((schemaNamePattern == null || schemaNamePattern.equals(table.library()))
+                    && (tableFilter == null || tableFilter.isIncluded(id))) {
+                tables.overwriteTable(
+                        SchemaInfoConversion.tableInfo2Table(database, table.library(), table.file(), table.tableInfo()));
+            }
+        }
+    }
+
+    @Override
+    public void getAllSystemNames(String schemaName) {
+    }
+
+    @Override
+    public Optional<String> getSystemName(String schemaName, String longTableName) {
+        return Optional.of(longTableName);
+    }
+
+    @Override
+    public String getLongName(String schemaName, String systemName) {
+        return systemName;
+    }
+
+    private static Connection catalogConnection(String database, List<TableShape> tables) {
+        return stub(Connection.class, (method, args) -> {
+            if ("isClosed".equals(method)) {
+                return false;
+            }
+            if ("isValid".equals(method)) {
+                return true;
+            }
+            if ("createStatement".equals(method)) {
+                return databaseName(database);
+            }
+            if ("prepareStatement".equals(method) && ((String) args[0]).toLowerCase().contains("from qsys2.systables")) {
+                return longNames(tables);
+            }
+            throw new SQLException("no database behind the in-memory catalog");
+        });
+    }
+
+    private static Statement databaseName(String database) {
+        return stub(Statement.class, (method, args) -> {
+            if (!"executeQuery".equals(method) || !((String) args[0]).toLowerCase().contains("current_server")) {
+                throw new SQLException("unsupported " + method);
+            }
+            return rows(List.of(database).iterator());
+        });
+    }
+
+    private static PreparedStatement longNames(List<TableShape> tables) {
+        final String[] parameters = new String[2];
+        return stub(PreparedStatement.class, (method, args) -> {
+            switch (method) {
+                case "setString":
+                    parameters[(Integer) args[0] - 1] = (String) args[1];
+                    return null;
+                case "executeQuery":
+                    return rows(tables.stream()
+                            .filter(t -> t.library().equals(parameters[0]) && t.file().equals(parameters[1]))
+                            .map(TableShape::file).iterator());
+                default:
+                    throw new SQLException("unsupported " + method);
+            }
+        });
+    }
+
+    private static ResultSet rows(Iterator<String> values) {
+        final String[] current = new String[1];
+        return stub(ResultSet.class, (method, args) -> {
+            switch (method) {
+                case "next":
+                    current[0] = values.hasNext() ? values.next() : null;
+                    return current[0] != null;
+                case "getString":
+                    return current[0];
+                default:
+                    throw new SQLException("unsupported " + method);
+            }
+        });
+    }
+
+    private static <T> T stub(Class<T> type, Answer answer) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{ type }, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "close":
+                    return null;
+                case "toString":
+                    return type.getSimpleName() + " of the in-memory catalog";
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                default:
+                    return answer.answer(method.getName(), args);
+            }
+        }));
+    }
+}
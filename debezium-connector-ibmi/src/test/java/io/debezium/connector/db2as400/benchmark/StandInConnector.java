@@ -0,0 +1,84 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.connector.db2as400.benchmark;
+
+import java.util.List;
+
+import org.apache.kafka.connect.connector.Task;
+
+import com.fnz.db2.journal.retrieve.FileFilter;
+import com.fnz.db2.journal.retrieve.JournalPosition;
+
+import io.debezium.config.Configuration;
+import io.debezium.connector.db2as400.As400ConnectorConfig;
+import io.debezium.connector.db2as400.As400ConnectorTask;
+import io.debezium.connector.db2as400.As400JdbcConnection;
+import io.debezium.connector.db2as400.As400OffsetContext;
+import io.debezium.connector.db2as400.As400Partition;
+import io.debezium.connector.db2as400.As400RpcConnection;
+import io.debezium.connector.db2as400.As400RpcConnector;
+import io.debezium.connector.db2as400.metrics.As400StreamingChangeEventSourceMetrics;
+import io.debezium.pipeline.ChangeEventSourceCoordinator;
+import io.debezium.pipeline.spi.OffsetContext;
+import io.debezium.pipeline.spi.Offsets;
+import io.debezium.pipeline.spi.Partition;
+
+/**
+ * The connector with its journal and catalog replaced by stand-ins, the engine creates the connector and task by
+ * class name so the journal to read is handed over through {@link #use(StandInJournal)}
+ */
+public class StandInConnector extends As400RpcConnector {
+    private static volatile StandInJournal journal;
+
+    public static void use(StandInJournal journal) {
+        StandInConnector.journal = journal;
+    }
+
+    @Override
+    public Class<? extends Task> taskClass() {
+        return StandInTask.class;
+    }
+
+    public static class StandInTask extends As400ConnectorTask {
+        private As400ConnectorConfig connectorConfig;
+
+        @Override
+        protected ChangeEventSourceCoordinator<As400Partition, As400OffsetContext> start(Configuration config) {
+            connectorConfig = new As400ConnectorConfig(config);
+            return super.start(config);
+        }
+
+        /**
+         * a skipped snapshot hands streaming the stored offset, with none stored start as if restarted after a
+         * snapshot taken just before the generated entries
+         */
+        @Override
+        protected Offsets<As400Partition, As400OffsetContext> getPreviousOffsets(Partition.Provider<As400Partition> provider,
+                                                                                 OffsetContext.Loader<As400OffsetContext> loader) {
+            final Offsets<As400Partition, As400OffsetContext> stored = super.getPreviousOffsets(provider, loader);
+            if (stored.getTheOnlyOffset() != null) {
+                return stored;
+            }
+            final JournalPosition position = journal.currentPosition();
+            position.setProcessed(true);
+            return Offsets.of(stored.getTheOnlyPartition(), new As400OffsetContext(connectorConfig, position,
+                    connectorConfig.tableIncludeList(), true));
+        }
+
+        @Override
+        protected As400JdbcConnection createJdbcConnection(As400ConnectorConfig connectorConfig) {
+            return new InMemoryCatalog(connectorConfig.getJdbcConfiguration(), ConnectorThroughputBenchmark.DATABASE,
+                    journal.getTables());
+        }
+
+        @Override
+        protected As400RpcConnection createRpcConnection(As400ConnectorConfig connectorConfig,
+                                                         As400StreamingChangeEventSourceMetrics streamingMetrics,
+                                                         List<FileFilter> includes) {
+            return new StandInRpcConnection(connectorConfig, streamingMetrics, journal);
+        }
+    }
+}
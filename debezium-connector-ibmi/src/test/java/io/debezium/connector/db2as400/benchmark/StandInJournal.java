@@ -0,0 +1,111 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.connector.db2as400.benchmark;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+
+import com.fnz.db2.journal.generator.JournalGenerator;
+import com.fnz.db2.journal.generator.JournalGenerator.Block;
+import com.fnz.db2.journal.generator.TableShape;
+import com.fnz.db2.journal.retrieve.FileFilter;
+import com.fnz.db2.journal.retrieve.JournalInfo;
+import com.fnz.db2.journal.retrieve.JournalInfoRetrieval;
+import com.fnz.db2.journal.retrieve.JournalPosition;
+import com.fnz.db2.journal.retrieve.RetrievalCriteria.JournalCode;
+import com.fnz.db2.journal.retrieve.RetrieveConfig;
+import com.fnz.db2.journal.retrieve.RetrieveJournal;
+
+/**
+ * Serves generated blocks in place of calling QjoRetrieveJournalEntries, every retrieve returns the next block of the
+ * generator and remembers when it was handed over so the latency to the sink can be measured
+ */
+public class StandInJournal extends RetrieveJournal {
+    private static final String RECEIVER = "RCV0001";
+    private final JournalGenerator generator;
+    private final List<TableShape> tables;
+    private final JournalInfo journalInfo;
+    private final int blockSize;
+    private final long entriesPerSecond;
+    // change events in the blocks before, to when the block was handed over
+    private final ConcurrentSkipListMap<Long, Long> handedOver = new ConcurrentSkipListMap<>();
+    private long changes = 0;
+    private long entries = 0;
+    private long started = 0;
+
+    /**
+     * @param entriesPerSecond paces the blocks so entries are handed over at this rate, 0 for as fast as they are
+     *                         taken
+     */
+    public StandInJournal(JournalGenerator generator, List<TableShape> tables, JournalInfo journalInfo, int blockSize,
+                          long entriesPerSecond) {
+        super(new RetrieveConfig(null, journalInfo, blockSize, false, new JournalCode[0], new ArrayList<FileFilter>(),
+                RetrieveConfig.DEFAULT_MAX_SERVER_SIDE_ENTRIES, null), new JournalInfoRetrieval());
+        this.generator = generator.withReceiver(RECEIVER, journalInfo.receiverLibrary);
+        this.tables = tables;
+        this.journalInfo = journalInfo;
+        this.blockSize = blockSize;
+        this.entriesPerSecond = entriesPerSecond;
+    }
+
+    @Override
+    public boolean retrieveJournal(JournalPosition retrievePosition) throws Exception {
+        final Block block = generator.nextBlock(blockSize);
+        pace();
+        handedOver.put(changes, System.nanoTime());
+        changes += block.changes();
+        entries += block.entries();
+        setOutputData(block.data(), block.header(), retrievePosition);
+        return true;
+    }
+
+    private void pace() throws InterruptedException {
+        if (entriesPerSecond <= 0) {
+            return;
+        }
+        if (started == 0) {
+            started = System.nanoTime();
+        }
+        final long due = started + entries * TimeUnit.SECONDS.toNanos(1) / entriesPerSecond;
+        final long wait = due - System.nanoTime();
+        if (wait > 0) {
+            TimeUnit.NANOSECONDS.sleep(wait);
+        }
+    }
+
+    /**
+     * @param event index of the change event in the order they were journaled
+     * @return when the block holding the event was handed over, blocks before it are forgotten
+     */
+    public long handedOver(long event) {
+        final Map.Entry<Long, Long> block = handedOver.floorEntry(event);
+        if (block == null) {
+            return System.nanoTime();
+        }
+        handedOver.headMap(block.getKey()).clear();
+        return block.getValue();
+    }
+
+    /**
+     * @return the last entry journaled, as QjoRetrieveJournalInformation would report it
+     */
+    public JournalPosition currentPosition() {
+        return new JournalPosition(BigInteger.valueOf(generator.nextSequence() - 1), RECEIVER,
+                journalInfo.receiverLibrary, false);
+    }
+
+    public JournalInfo getJournalInfo() {
+        return journalInfo;
+    }
+
+    public List<TableShape> getTables() {
+        return tables;
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.connector.db2as400.benchmark;
+
+import java.util.Collections;
+import java.util.List;
+
+import com.fnz.db2.journal.retrieve.JournalInfo;
+import com.fnz.db2.journal.retrieve.JournalInfoRetrieval;
+import com.fnz.db2.journal.retrieve.JournalPosition;
+import com.fnz.db2.journal.retrieve.rnrn0200.DetailedJournalReceiver;
+import com.ibm.as400.access.AS400;
+
+import io.debezium.connector.db2as400.As400ConnectorConfig;
+import io.debezium.connector.db2as400.As400RpcConnection;
+import io.debezium.connector.db2as400.metrics.As400StreamingChangeEventSourceMetrics;
+
+/**
+ * Reads the journal from a {@link StandInJournal}, there is no IBM i to connect to
+ */
+public class StandInRpcConnection extends As400RpcConnection {
+
+    public StandInRpcConnection(As400ConnectorConfig config, As400StreamingChangeEventSourceMetrics streamingMetrics,
+                                StandInJournal journal) {
+        super(config, streamingMetrics, journal.getJournalInfo(), journal, new JournalInfoRetrieval() {
+            @Override
+            public JournalPosition getCurrentPosition(AS400 as400, JournalInfo journalLib) {
+                return journal.currentPosition();
+            }
+
+            @Override
+            public List<DetailedJournalReceiver> getReceivers(AS400 as400, JournalInfo journalLib) {
+                return Collections.emptyList();
+            }
+        });
+    }
+
+    @Override
+    public AS400 connection() {
+        return null;
+    }
+
+    @Override
+    public boolean isValid() {
+        return true;
+    }
+}
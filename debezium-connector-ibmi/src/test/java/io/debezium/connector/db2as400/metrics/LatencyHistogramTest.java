@@ -0,0 +1,67 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.connector.db2as400.metrics;
+
+import org.fest.assertions.Assertions;
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void testEmpty() {
+        LatencyHistogram h = new LatencyHistogram();
+        Assertions.assertThat(h.getCount()).isEqualTo(0);
+        Assertions.assertThat(h.getPercentileNanos(99)).isEqualTo(0);
+    }
+
+    @Test
+    public void testBucketBoundsContainValue() {
+        for (long v : new long[]{ 0, 1, 7, 8, 9, 15, 16, 17, 1000, 123456789, Long.MAX_VALUE / 3 }) {
+            int i = LatencyHistogram.index(v);
+            Assertions.assertThat(LatencyHistogram.upperBound(i)).isGreaterThanOrEqualTo(v);
+            if (i > 0) {
+                Assertions.assertThat(LatencyHistogram.upperBound(i - 1)).isLessThan(v);
+            }
+        }
+    }
+
+    @Test
+    public void testPercentiles() {
+        LatencyHistogram h = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            h.record(i * 1000L);
+        }
+        Assertions.assertThat(h.getCount()).isEqualTo(1000);
+        Assertions.assertThat(h.getMaxNanos()).isEqualTo(1000000L);
+        long p99 = h.getPercentileNanos(99);
+        Assertions.assertThat(p99).isGreaterThanOrEqualTo(990000L);
+        Assertions.assertThat(p99).isLessThanOrEqualTo((long) (990000L * 1.125));
+        long p50 = h.getPercentileNanos(50);
+        Assertions.assertThat(p50).isGreaterThanOrEqualTo(500000L);
+        Assertions.assertThat(p50).isLessThanOrEqualTo((long) (500000L * 1.125));
+    }
+
+    @Test
+    public void testIntervalCoversValuesSinceLastRead() {
+        LatencyHistogram h = new LatencyHistogram();
+        for (int i = 0; i < 1000; i++) {
+            h.record(1000000L);
+        }
+        Assertions.assertThat(h.getIntervalPercentileNanos(99)).isGreaterThanOrEqualTo(1000000L);
+        Assertions.assertThat(h.getIntervalMaxNanos()).isEqualTo(1000000L);
+
+        for (int i = 0; i < 10; i++) {
+            h.record(1000L);
+        }
+        Assertions.assertThat(h.getIntervalPercentileNanos(99)).isLessThanOrEqualTo((long) (1000L * 1.125));
+        Assertions.assertThat(h.getIntervalMaxNanos()).isEqualTo(1000L);
+        Assertions.assertThat(h.getPercentileNanos(99)).isGreaterThanOrEqualTo(1000000L);
+        Assertions.assertThat(h.getMaxNanos()).isEqualTo(1000000L);
+
+        Assertions.assertThat(h.getIntervalPercentileNanos(99)).isEqualTo(0);
+        Assertions.assertThat(h.getIntervalMaxNanos()).isEqualTo(0);
+    }
+}
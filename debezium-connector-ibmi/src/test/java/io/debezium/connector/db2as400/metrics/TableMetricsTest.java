@@ -0,0 +1,82 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.connector.db2as400.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+import javax.management.openmbean.CompositeData;
+
+import org.fest.assertions.Assertions;
+import org.junit.Test;
+
+import io.debezium.relational.TableId;
+
+public class TableMetricsTest {
+    private static final TableId A = new TableId("db", "lib", "A");
+    private static final TableId B = new TableId("db", "lib", "B");
+    private static final TableId C = new TableId("db", "lib", "C");
+
+    @Test
+    public void testTopN() {
+        TableMetrics m = new TableMetrics(10);
+        m.inserted(A);
+        m.updated(B);
+        m.deleted(B);
+        m.decoded(A, 100, 5000);
+        m.decodeFailed(C);
+
+        List<TableStatistics> top = m.topByEvents(1);
+        Assertions.assertThat(top).hasSize(1);
+        Assertions.assertThat(top.get(0).getTable()).isEqualTo(B.toString());
+        Assertions.assertThat(top.get(0).getEvents()).isEqualTo(2);
+
+        TableStatistics a = m.topByDecodedBytes(3).get(0);
+        Assertions.assertThat(a.getTable()).isEqualTo(A.toString());
+        Assertions.assertThat(a.getDecodedBytes()).isEqualTo(100);
+        Assertions.assertThat(a.getDecodeMicros()).isEqualTo(5);
+        Assertions.assertThat(m.getTrackedTables()).isEqualTo(3);
+    }
+
+    @Test
+    public void testBoundedCardinality() {
+        TableMetrics m = new TableMetrics(2);
+        m.inserted(A);
+        m.inserted(B);
+        m.inserted(C);
+        m.inserted(new TableId("db", "lib", "D"));
+
+        Assertions.assertThat(m.getTrackedTables()).isEqualTo(2);
+        TableStatistics top = m.topByEvents(1).get(0);
+        Assertions.assertThat(top.getTable()).isEqualTo(TableMetrics.OVERFLOW_TABLE);
+        Assertions.assertThat(top.getEvents()).isEqualTo(2);
+    }
+
+    @Test
+    public void testExposedAsOpenData() throws Exception {
+        TableMetrics m = new TableMetrics(10);
+        m.inserted(A);
+        TopTablesMXBean bean = () -> m.topByEvents(5);
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName("test:type=TableMetricsTest");
+        server.registerMBean(new StandardMBean(bean, TopTablesMXBean.class, true), name);
+        try {
+            CompositeData[] data = (CompositeData[]) server.getAttribute(name, "TopTables");
+            Assertions.assertThat(data).hasSize(1);
+            Assertions.assertThat(data[0].get("table")).isEqualTo(A.toString());
+            Assertions.assertThat(data[0].get("inserts")).isEqualTo(1L);
+        } finally {
+            server.unregisterMBean(name);
+        }
+    }
+
+    public interface TopTablesMXBean {
+        List<TableStatistics> getTopTables();
+    }
+}
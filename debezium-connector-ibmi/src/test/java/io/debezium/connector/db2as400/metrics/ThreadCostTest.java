@@ -0,0 +1,32 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.connector.db2as400.metrics;
+
+import org.fest.assertions.Assertions;
+import org.junit.Test;
+
+public class ThreadCostTest {
+    private static volatile Object sink;
+
+    @Test
+    public void testAllocationIsAccounted() {
+        ThreadCost start = ThreadCost.current();
+        sink = new byte[1024 * 1024];
+        ThreadCost cost = ThreadCost.current().since(start);
+
+        Assertions.assertThat(cost.allocatedBytes()).isGreaterThanOrEqualTo(1024 * 1024);
+        Assertions.assertThat(cost.cpuNanos()).isGreaterThanOrEqualTo(0);
+    }
+
+    @Test
+    public void testSinceNeverNegative() {
+        ThreadCost later = new ThreadCost(100, 100);
+        ThreadCost disabled = new ThreadCost(0, 0);
+
+        Assertions.assertThat(disabled.since(later)).isEqualTo(new ThreadCost(0, 0));
+        Assertions.assertThat(later.since(disabled)).isEqualTo(new ThreadCost(100, 100));
+    }
+}
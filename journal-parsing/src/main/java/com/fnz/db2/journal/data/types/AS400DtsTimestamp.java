@@ -0,0 +1,64 @@
+package com.fnz.db2.journal.data.types;
+
+import java.sql.Timestamp;
+
+import com.ibm.as400.access.AS400Timestamp;
+
+/**
+ * *DTS system timestamp, 8 bytes, converted arithmetically rather than through a GMT Calendar, read only
+ * <p>
+ * bit 51 counts microseconds and 0x8000000000000000 is 2000-01-01T00:00:00Z
+ */
+public class AS400DtsTimestamp extends AS400Timestamp {
+	private static final long serialVersionUID = 1L;
+	private static final int LENGTH = 8;
+	private static final long EPOCH_2000_MICROS = 946_684_800_000_000L;
+	private static final long MICROS_2000 = 1L << 51;
+
+	@Override
+	public int getByteLength() {
+		return LENGTH;
+	}
+
+	@Override
+	public Object toObject(byte[] data, int offset) {
+		return toTimestamp(data, offset);
+	}
+
+	@Override
+	public Timestamp toTimestamp(byte[] data, int offset) {
+		return fromEpochMicros(toEpochMicros(data, offset));
+	}
+
+	/**
+	 * @param dts the 8 bytes of the timestamp read as a big endian long
+	 */
+	public static Timestamp fromDts(long dts) {
+		return fromEpochMicros(toEpochMicros(dts));
+	}
+
+	private static Timestamp fromEpochMicros(long micros) {
+		final Timestamp ts = new Timestamp(Math.floorDiv(micros, 1000L));
+		ts.setNanos((int) Math.floorMod(micros, 1_000_000L) * 1000);
+		return ts;
+	}
+
+	public static long toEpochMicros(byte[] data, int offset) {
+		long dts = 0;
+		for (int i = offset; i < offset + LENGTH; i++) {
+			dts = (dts << 8) | (data[i] & 0xFF);
+		}
+		return toEpochMicros(dts);
+	}
+
+	public static long toEpochMicros(long dts) {
+		return EPOCH_2000_MICROS + (dts >>> 12) - MICROS_2000;
+	}
+
+	/**
+	 * @return the 8 bytes of the timestamp as a big endian long, the inverse of {@link #toEpochMicros(long)}
+	 */
+	public static long toDts(long epochMicros) {
+		return (epochMicros - EPOCH_2000_MICROS + MICROS_2000) << 12;
+	}
+}
@@ -0,0 +1,75 @@
+package com.fnz.db2.journal.data.types;
+
+import com.ibm.as400.access.AS400DataType;
+import com.ibm.as400.access.InternalErrorException;
+import com.ibm.as400.access.Trace;
+
+/**
+ * Column that is not wanted downstream, occupies the byte length of the column it replaces but is never decoded
+ */
+public class AS400Excluded implements AS400DataType {
+	private final AS400DataType excluded;
+
+	public AS400Excluded(AS400DataType excluded) {
+		this.excluded = excluded;
+	}
+
+	public AS400DataType getExcluded() {
+		return excluded;
+	}
+
+	@Override
+	public int getByteLength() {
+		return excluded.getByteLength();
+	}
+
+	@Override
+	public Object getDefaultValue() {
+		return null;
+	}
+
+	@Override
+	public int getInstanceType() {
+		return excluded.getInstanceType();
+	}
+
+	@Override
+	public Class<?> getJavaType() {
+		return excluded.getJavaType();
+	}
+
+	@Override
+	public byte[] toBytes(Object javaValue) {
+		return excluded.toBytes(javaValue);
+	}
+
+	@Override
+	public int toBytes(Object javaValue, byte[] as400Value) {
+		return excluded.toBytes(javaValue, as400Value);
+	}
+
+	@Override
+	public int toBytes(Object javaValue, byte[] as400Value, int offset) {
+		return excluded.toBytes(javaValue, as400Value, offset);
+	}
+
+	@Override
+	public Object toObject(byte[] data) {
+		return null;
+	}
+
+	@Override
+	public Object toObject(byte[] data, int offset) {
+		return null;
+	}
+
+	@Override
+	public Object clone() {
+		try {
+			return super.clone();
+		} catch (CloneNotSupportedException e) {
+			Trace.log(Trace.ERROR, "Unexpected CloneNotSupportedException:", e);
+			throw new InternalErrorException(InternalErrorException.UNEXPECTED_EXCEPTION);
+		}
+	}
+}
@@ -0,0 +1,94 @@
+package com.fnz.db2.journal.data.types;
+
+import java.time.LocalDate;
+
+import com.ibm.as400.access.AS400DataType;
+import com.ibm.as400.access.AS400Date;
+import com.ibm.as400.access.InternalErrorException;
+import com.ibm.as400.access.Trace;
+
+/**
+ * *ISO date yyyy-mm-dd decoded straight from the EBCDIC digits to a {@link LocalDate}, read only
+ * <p>
+ * anything that is not a valid date is left to JT400 which returns a java.sql.Date in GMT
+ */
+public class AS400IsoDate implements AS400DataType {
+	private static final int LENGTH = 10;
+	private static final long MILLIS_PER_DAY = 86_400_000L;
+	private final static LocalDate defaultValue = LocalDate.ofEpochDay(0);
+	private final AS400Date jt400 = new AS400Date();
+
+	@Override
+	public int getByteLength() {
+		return LENGTH;
+	}
+
+	@Override
+	public Object getDefaultValue() {
+		return defaultValue;
+	}
+
+	@Override
+	public int getInstanceType() {
+		return AS400DataType.TYPE_DATE;
+	}
+
+	@Override
+	public Class<?> getJavaType() {
+		return LocalDate.class;
+	}
+
+	@Override
+	public Object toObject(byte[] data) {
+		return toObject(data, 0);
+	}
+
+	@Override
+	public Object toObject(byte[] data, int offset) {
+		final int year = EbcdicDigits.parse(data, offset, 4);
+		final int month = EbcdicDigits.parse(data, offset + 5, 2);
+		final int day = EbcdicDigits.parse(data, offset + 8, 2);
+		if (EbcdicDigits.isDate(year, month, day)) {
+			return LocalDate.of(year, month, day);
+		}
+		return jt400.toObject(data, offset);
+	}
+
+	/**
+	 * @return days since 1970-01-01
+	 */
+	public long toEpochDay(byte[] data, int offset) {
+		final int year = EbcdicDigits.parse(data, offset, 4);
+		final int month = EbcdicDigits.parse(data, offset + 5, 2);
+		final int day = EbcdicDigits.parse(data, offset + 8, 2);
+		if (EbcdicDigits.isDate(year, month, day)) {
+			return EbcdicDigits.epochDay(year, month, day);
+		}
+		return Math.floorDiv(((java.util.Date) jt400.toObject(data, offset)).getTime(), MILLIS_PER_DAY);
+	}
+
+	@Override
+	public byte[] toBytes(Object javaValue) {
+		return jt400.toBytes(javaValue);
+	}
+
+	@Override
+	public int toBytes(Object javaValue, byte[] as400Value) {
+		return jt400.toBytes(javaValue, as400Value);
+	}
+
+	@Override
+	public int toBytes(Object javaValue, byte[] as400Value, int offset) {
+		return jt400.toBytes(javaValue, as400Value, offset);
+	}
+
+	@Override
+	public Object clone() {
+		try {
+			return super.clone();
+		} catch (CloneNotSupportedException e) {
+			Trace.log(Trace.ERROR, "Unexpected CloneNotSupportedException:", e);
+			throw new InternalErrorException(InternalErrorException.UNEXPECTED_EXCEPTION);
+		}
+	}
+}
@@ -0,0 +1,103 @@
+package com.fnz.db2.journal.data.types;
+
+import java.time.LocalTime;
+
+import com.ibm.as400.access.AS400DataType;
+import com.ibm.as400.access.AS400Time;
+import com.ibm.as400.access.InternalErrorException;
+import com.ibm.as400.access.Trace;
+
+/**
+ * *ISO time hh.mm.ss decoded straight from the EBCDIC digits to a {@link LocalTime}, read only
+ * <p>
+ * 24.00.00 is midnight, anything else that is not a valid time is left to JT400 which returns a java.sql.Time in GMT
+ */
+public class AS400IsoTime implements AS400DataType {
+	private static final int LENGTH = 8;
+	private static final long NANOS_PER_MILLI = 1_000_000L;
+	private static final long NANOS_PER_SECOND = 1_000_000_000L;
+	private static final long MILLIS_PER_DAY = 86_400_000L;
+	private final static LocalTime defaultValue = LocalTime.MIDNIGHT;
+	private final AS400Time jt400 = new AS400Time();
+
+	@Override
+	public int getByteLength() {
+		return LENGTH;
+	}
+
+	@Override
+	public Object getDefaultValue() {
+		return defaultValue;
+	}
+
+	@Override
+	public int getInstanceType() {
+		return AS400DataType.TYPE_TIME;
+	}
+
+	@Override
+	public Class<?> getJavaType() {
+		return LocalTime.class;
+	}
+
+	@Override
+	public Object toObject(byte[] data) {
+		return toObject(data, 0);
+	}
+
+	@Override
+	public Object toObject(byte[] data, int offset) {
+		final int hour = EbcdicDigits.parse(data, offset, 2);
+		final int minute = EbcdicDigits.parse(data, offset + 3, 2);
+		final int second = EbcdicDigits.parse(data, offset + 6, 2);
+		if (EbcdicDigits.isTime(hour, minute, second)) {
+			return LocalTime.of(hour, minute, second);
+		}
+		if (hour == 24 && minute == 0 && second == 0) {
+			return LocalTime.MIDNIGHT;
+		}
+		return jt400.toObject(data, offset);
+	}
+
+	/**
+	 * @return nanoseconds past midnight
+	 */
+	public long toNanoOfDay(byte[] data, int offset) {
+		final int hour = EbcdicDigits.parse(data, offset, 2);
+		final int minute = EbcdicDigits.parse(data, offset + 3, 2);
+		final int second = EbcdicDigits.parse(data, offset + 6, 2);
+		if (EbcdicDigits.isTime(hour, minute, second)) {
+			return ((hour * 60L + minute) * 60L + second) * NANOS_PER_SECOND;
+		}
+		if (hour == 24 && minute == 0 && second == 0) {
+			return 0;
+		}
+		final long millis = ((java.util.Date) jt400.toObject(data, offset)).getTime();
+		return Math.floorMod(millis, MILLIS_PER_DAY) * NANOS_PER_MILLI;
+	}
+
+	@Override
+	public byte[] toBytes(Object javaValue) {
+		return jt400.toBytes(javaValue);
+	}
+
+	@Override
+	public int toBytes(Object javaValue, byte[] as400Value) {
+		return jt400.toBytes(javaValue, as400Value);
+	}
+
+	@Override
+	public int toBytes(Object javaValue, byte[] as400Value, int offset) {
+		return jt400.toBytes(javaValue, as400Value, offset);
+	}
+
+	@Override
+	public Object clone() {
+		try {
+			return super.clone();
+		} catch (CloneNotSupportedException e) {
+			Trace.log(Trace.ERROR, "Unexpected CloneNotSupportedException:", e);
+			throw new InternalErrorException(InternalErrorException.UNEXPECTED_EXCEPTION);
+		}
+	}
+}
@@ -0,0 +1,123 @@
+package com.fnz.db2.journal.data.types;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import com.ibm.as400.access.AS400DataType;
+import com.ibm.as400.access.AS400Timestamp;
+import com.ibm.as400.access.InternalErrorException;
+import com.ibm.as400.access.Trace;
+
+/**
+ * *ISO timestamp yyyy-mm-dd-hh.mm.ss.ffffff decoded straight from the EBCDIC digits to a {@link LocalDateTime}, read
+ * only
+ * <p>
+ * hour 24 rolls over to midnight of the next day, anything else that is not a valid timestamp is left to JT400 which
+ * returns a java.sql.Timestamp in GMT
+ */
+public class AS400IsoTimestamp implements AS400DataType {
+	private static final int LENGTH = 26;
+	private static final long SECONDS_PER_DAY = 86_400L;
+	private static final long MICROS_PER_SECOND = 1_000_000L;
+	private static final long NANOS_PER_MICRO = 1_000L;
+	private final static LocalDateTime defaultValue = LocalDateTime.of(1970, 1, 1, 0, 0);
+	private final AS400Timestamp jt400 = new AS400Timestamp();
+
+	@Override
+	public int getByteLength() {
+		return LENGTH;
+	}
+
+	@Override
+	public Object getDefaultValue() {
+		return defaultValue;
+	}
+
+	@Override
+	public int getInstanceType() {
+		return AS400DataType.TYPE_TIMESTAMP;
+	}
+
+	@Override
+	public Class<?> getJavaType() {
+		return LocalDateTime.class;
+	}
+
+	@Override
+	public Object toObject(byte[] data) {
+		return toObject(data, 0);
+	}
+
+	@Override
+	public Object toObject(byte[] data, int offset) {
+		final int year = EbcdicDigits.parse(data, offset, 4);
+		final int month = EbcdicDigits.parse(data, offset + 5, 2);
+		final int day = EbcdicDigits.parse(data, offset + 8, 2);
+		final int hour = EbcdicDigits.parse(data, offset + 11, 2);
+		final int minute = EbcdicDigits.parse(data, offset + 14, 2);
+		final int second = EbcdicDigits.parse(data, offset + 17, 2);
+		final int micros = EbcdicDigits.parse(data, offset + 20, 6);
+		if (EbcdicDigits.isDate(year, month, day) && micros >= 0) {
+			if (EbcdicDigits.isTime(hour, minute, second)) {
+				return LocalDateTime.of(year, month, day, hour, minute, second, (int) (micros * NANOS_PER_MICRO));
+			}
+			if (hour == 24 && minute == 0 && second == 0 && micros == 0) {
+				return LocalDateTime.of(year, month, day, 0, 0).plusDays(1);
+			}
+		}
+		return jt400.toObject(data, offset);
+	}
+
+	/**
+	 * @return microseconds since 1970-01-01T00:00, the value taken as UTC
+	 */
+	public long toEpochMicros(byte[] data, int offset) {
+		final int year = EbcdicDigits.parse(data, offset, 4);
+		final int month = EbcdicDigits.parse(data, offset + 5, 2);
+		final int day = EbcdicDigits.parse(data, offset + 8, 2);
+		final int hour = EbcdicDigits.parse(data, offset + 11, 2);
+		final int minute = EbcdicDigits.parse(data, offset + 14, 2);
+		final int second = EbcdicDigits.parse(data, offset + 17, 2);
+		final int micros = EbcdicDigits.parse(data, offset + 20, 6);
+		if (EbcdicDigits.isDate(year, month, day) && micros >= 0
+				&& (EbcdicDigits.isTime(hour, minute, second) || (hour == 24 && minute == 0 && second == 0 && micros == 0))) {
+			final long seconds = EbcdicDigits.epochDay(year, month, day) * SECONDS_PER_DAY
+					+ (hour * 60L + minute) * 60L + second;
+			return seconds * MICROS_PER_SECOND + micros;
+		}
+		final Timestamp ts = (Timestamp) jt400.toObject(data, offset);
+		return Math.floorDiv(ts.getTime(), 1000L) * MICROS_PER_SECOND + ts.getNanos() / NANOS_PER_MICRO;
+	}
+
+	/**
+	 * @return nanoseconds since 1970-01-01T00:00, the value taken as UTC
+	 */
+	public long toEpochNanos(byte[] data, int offset) {
+		return toEpochMicros(data, offset) * NANOS_PER_MICRO;
+	}
+
+	@Override
+	public byte[] toBytes(Object javaValue) {
+		return jt400.toBytes(javaValue);
+	}
+
+	@Override
+	public int toBytes(Object javaValue, byte[] as400Value) {
+		return jt400.toBytes(javaValue, as400Value);
+	}
+
+	@Override
+	public int toBytes(Object javaValue, byte[] as400Value, int offset) {
+		return jt400.toBytes(javaValue, as400Value, offset);
+	}
+
+	@Override
+	public Object clone() {
+		try {
+			return super.clone();
+		} catch (CloneNotSupportedException e) {
+			Trace.log(Trace.ERROR, "Unexpected CloneNotSupportedException:", e);
+			throw new InternalErrorException(InternalErrorException.UNEXPECTED_EXCEPTION);
+		}
+	}
+}
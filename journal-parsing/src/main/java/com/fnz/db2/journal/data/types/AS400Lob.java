@@ -0,0 +1,92 @@
+package com.fnz.db2.journal.data.types;
+
+import com.ibm.as400.access.AS400DataType;
+import com.ibm.as400.access.InternalErrorException;
+import com.ibm.as400.access.Trace;
+
+/**
+ * CLOB, DBCLOB, BLOB or XML column, the row image only holds a pointer to the data which can't be followed from a
+ * remote client so it decodes as null and the value is fetched separately
+ */
+public class AS400Lob implements AS400DataType {
+	// 1 byte of system info, padding to align the pointer on 16 bytes, length and a 16 byte pointer
+	private static final int BYTE_LENGTH = 44;
+
+	private final String sqlType;
+	private final String columnName;
+
+	public AS400Lob(String sqlType, String columnName) {
+		this.sqlType = sqlType;
+		this.columnName = columnName;
+	}
+
+	/**
+	 * @return CLOB, DBCLOB, BLOB or XML
+	 */
+	public String getSqlType() {
+		return sqlType;
+	}
+
+	public String getColumnName() {
+		return columnName;
+	}
+
+	public boolean isBinary() {
+		return "BLOB".equals(sqlType);
+	}
+
+	@Override
+	public int getByteLength() {
+		return BYTE_LENGTH;
+	}
+
+	@Override
+	public Object getDefaultValue() {
+		return null;
+	}
+
+	@Override
+	public int getInstanceType() {
+		return isBinary() ? AS400DataType.TYPE_BYTE_ARRAY : AS400DataType.TYPE_TEXT;
+	}
+
+	@Override
+	public Class<?> getJavaType() {
+		return isBinary() ? byte[].class : String.class;
+	}
+
+	@Override
+	public byte[] toBytes(Object javaValue) {
+		return new byte[BYTE_LENGTH];
+	}
+
+	@Override
+	public int toBytes(Object javaValue, byte[] as400Value) {
+		return BYTE_LENGTH;
+	}
+
+	@Override
+	public int toBytes(Object javaValue, byte[] as400Value, int offset) {
+		return BYTE_LENGTH;
+	}
+
+	@Override
+	public Object toObject(byte[] data) {
+		return null;
+	}
+
+	@Override
+	public Object toObject(byte[] data, int offset) {
+		return null;
+	}
+
+	@Override
+	public Object clone() {
+		try {
+			return super.clone(); // Object.clone does not throw exception.
+		} catch (final CloneNotSupportedException e) {
+			Trace.log(Trace.ERROR, "Unexpected CloneNotSupportedException:", e);
+			throw new InternalErrorException(InternalErrorException.UNEXPECTED_EXCEPTION);
+		}
+	}
+}
@@ -0,0 +1,97 @@
+package com.fnz.db2.journal.data.types;
+
+import com.ibm.as400.access.AS400DataType;
+import com.ibm.as400.access.AS400PackedDecimal;
+
+/**
+ * Packed decimal of up to 18 digits decoded nibble by nibble into a long, read only
+ */
+public class AS400PackedLong extends AS400UnscaledDecimal {
+	private static final long[] LONG_POWERS_OF_TEN = new long[MAX_DIGITS + 1];
+	private final int byteLength;
+
+	static {
+		long p = 1;
+		for (int i = 0; i < LONG_POWERS_OF_TEN.length; i++) {
+			LONG_POWERS_OF_TEN[i] = p;
+			p *= 10;
+		}
+	}
+
+	public AS400PackedLong(int numDigits, int numDecimalPositions) {
+		super(numDigits, numDecimalPositions);
+		this.byteLength = numDigits / 2 + 1;
+	}
+
+	@Override
+	public long toUnscaledLong(byte[] data, int offset) {
+		final int last = offset + byteLength - 1;
+		long value = 0;
+		int pad = 0;
+		// an even number of digits leaves the first high nibble as padding, JT400 still reads it as a digit
+		if ((numDigits & 1) == 0) {
+			pad = highDigit(data, offset);
+			value = lowDigit(data, offset);
+			offset++;
+		}
+		for (int i = offset; i < last; i++) {
+			value = value * 100 + highDigit(data, i) * 10 + lowDigit(data, i);
+		}
+		value = value * 10 + highDigit(data, last);
+		if (pad != 0) {
+			value = Math.addExact(value, pad * LONG_POWERS_OF_TEN[numDigits]);
+		}
+		final int sign = data[last] & 0x0F;
+		if (sign < 0x0A) {
+			throw invalidNibble("Low-order", data, last);
+		}
+		return (sign == 0x0B || sign == 0x0D) ? -value : value;
+	}
+
+	// a non zero padding nibble on 18 digits can exceed a long
+	@Override
+	protected AS400DataType wide() {
+		return new AS400PackedDecimal(numDigits, numDecimalPositions);
+	}
+
+	private static int highDigit(byte[] data, int index) {
+		final int digit = (data[index] >> 4) & 0x0F;
+		if (digit > 9) {
+			throw invalidNibble("High-order", data, index);
+		}
+		return digit;
+	}
+
+	private static int lowDigit(byte[] data, int index) {
+		final int digit = data[index] & 0x0F;
+		if (digit > 9) {
+			throw invalidNibble("Low-order", data, index);
+		}
+		return digit;
+	}
+
+	@Override
+	public int getByteLength() {
+		return byteLength;
+	}
+
+	@Override
+	public int getInstanceType() {
+		return AS400DataType.TYPE_PACKED;
+	}
+
+	@Override
+	public byte[] toBytes(Object javaValue) {
+		return new AS400PackedDecimal(numDigits, numDecimalPositions).toBytes(javaValue);
+	}
+
+	@Override
+	public int toBytes(Object javaValue, byte[] as400Value) {
+		return new AS400PackedDecimal(numDigits, numDecimalPositions).toBytes(javaValue, as400Value);
+	}
+
+	@Override
+	public int toBytes(Object javaValue, byte[] as400Value, int offset) {
+		return new AS400PackedDecimal(numDigits, numDecimalPositions).toBytes(javaValue, as400Value, offset);
+	}
+}
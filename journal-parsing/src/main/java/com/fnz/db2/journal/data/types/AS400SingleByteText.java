@@ -0,0 +1,77 @@
+package com.fnz.db2.journal.data.types;
+
+import com.ibm.as400.access.AS400DataType;
+import com.ibm.as400.access.AS400Text;
+import com.ibm.as400.access.InternalErrorException;
+import com.ibm.as400.access.Trace;
+
+/**
+ * Fixed length CHAR decoded through a {@link SingleByteCcsid} table, read only
+ */
+public class AS400SingleByteText implements AS400DataType {
+	private final int length;
+	private final SingleByteCcsid table;
+	private final String column;
+	private final static String defaultValue = "";
+
+	public AS400SingleByteText(int length, SingleByteCcsid table, String column) {
+		this.length = length;
+		this.table = table;
+		this.column = column;
+	}
+
+	@Override
+	public int getByteLength() {
+		return length;
+	}
+
+	@Override
+	public Object getDefaultValue() {
+		return defaultValue;
+	}
+
+	@Override
+	public int getInstanceType() {
+		return AS400DataType.TYPE_TEXT;
+	}
+
+	@Override
+	public Class<?> getJavaType() {
+		return String.class;
+	}
+
+	@Override
+	public byte[] toBytes(Object javaValue) {
+		return new AS400Text(length, table.getCcsid()).toBytes(javaValue);
+	}
+
+	@Override
+	public int toBytes(Object javaValue, byte[] as400Value) {
+		return new AS400Text(length, table.getCcsid()).toBytes(javaValue, as400Value);
+	}
+
+	@Override
+	public int toBytes(Object javaValue, byte[] as400Value, int offset) {
+		return new AS400Text(length, table.getCcsid()).toBytes(javaValue, as400Value, offset);
+	}
+
+	@Override
+	public Object toObject(byte[] data) {
+		return toObject(data, 0);
+	}
+
+	@Override
+	public Object toObject(byte[] data, int offset) {
+		return table.decode(data, offset, length, column);
+	}
+
+	@Override
+	public Object clone() {
+		try {
+			return super.clone();
+		} catch (CloneNotSupportedException e) {
+			Trace.log(Trace.ERROR, "Unexpected CloneNotSupportedException:", e);
+			throw new InternalErrorException(InternalErrorException.UNEXPECTED_EXCEPTION);
+		}
+	}
+}
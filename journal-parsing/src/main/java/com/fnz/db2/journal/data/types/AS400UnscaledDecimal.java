@@ -0,0 +1,123 @@
+package com.fnz.db2.journal.data.types;
+
+import java.math.BigDecimal;
+
+import com.ibm.as400.access.AS400DataType;
+import com.ibm.as400.access.InternalErrorException;
+import com.ibm.as400.access.Trace;
+
+/**
+ * Decimal with at most {@link #MAX_DIGITS} digits decoded straight into an unscaled long, read only
+ * <p>
+ * JT400 builds every value through a string, these build {@link BigDecimal#valueOf(long, int)} directly and can also
+ * hand out the unscaled long or a double without creating a BigDecimal at all
+ */
+public abstract class AS400UnscaledDecimal implements AS400DataType {
+	public static final int MAX_DIGITS = 18;
+	private static final double[] POWERS_OF_TEN = new double[23];
+	private static final long MAX_EXACT_DOUBLE = 1L << 53;
+	private final static BigDecimal defaultValue = new BigDecimal(0);
+
+	static {
+		double p = 1;
+		for (int i = 0; i < POWERS_OF_TEN.length; i++) {
+			POWERS_OF_TEN[i] = p;
+			p *= 10;
+		}
+	}
+
+	protected final int numDigits;
+	protected final int numDecimalPositions;
+
+	protected AS400UnscaledDecimal(int numDigits, int numDecimalPositions) {
+		if (numDigits < 1 || numDigits > MAX_DIGITS) {
+			throw new IllegalArgumentException("unsupported number of digits " + numDigits);
+		}
+		if (numDecimalPositions < 0 || numDecimalPositions > numDigits) {
+			throw new IllegalArgumentException("unsupported number of decimal positions " + numDecimalPositions);
+		}
+		this.numDigits = numDigits;
+		this.numDecimalPositions = numDecimalPositions;
+	}
+
+	public static boolean fitsInLong(int numDigits) {
+		return numDigits <= MAX_DIGITS;
+	}
+
+	/**
+	 * @return the value with the decimal point removed, so the number is this divided by 10^{@link #getScale()}
+	 * @throws NumberFormatException when a digit or sign nibble is not valid, as JT400 does
+	 * @throws ArithmeticException when the value doesn't fit in a long, {@link #toObject(byte[], int)} and
+	 *         {@link #toDouble(byte[], int)} then decode it with JT400
+	 */
+	public abstract long toUnscaledLong(byte[] data, int offset);
+
+	/**
+	 * @return the JT400 type for values that don't fit in a long
+	 */
+	protected abstract AS400DataType wide();
+
+	public int getScale() {
+		return numDecimalPositions;
+	}
+
+	public int getNumberOfDigits() {
+		return numDigits;
+	}
+
+	/**
+	 * same result as {@code toObject(data, offset).doubleValue()}
+	 */
+	public double toDouble(byte[] data, int offset) {
+		final long unscaled;
+		try {
+			unscaled = toUnscaledLong(data, offset);
+		} catch (ArithmeticException e) {
+			return ((BigDecimal) wide().toObject(data, offset)).doubleValue();
+		}
+		if (unscaled > -MAX_EXACT_DOUBLE && unscaled < MAX_EXACT_DOUBLE) {
+			// both operands are exact so the division is correctly rounded
+			return unscaled / POWERS_OF_TEN[numDecimalPositions];
+		}
+		return BigDecimal.valueOf(unscaled, numDecimalPositions).doubleValue();
+	}
+
+	@Override
+	public Object getDefaultValue() {
+		return defaultValue;
+	}
+
+	@Override
+	public Class<?> getJavaType() {
+		return BigDecimal.class;
+	}
+
+	@Override
+	public Object toObject(byte[] data) {
+		return toObject(data, 0);
+	}
+
+	@Override
+	public Object toObject(byte[] data, int offset) {
+		try {
+			return BigDecimal.valueOf(toUnscaledLong(data, offset), numDecimalPositions);
+		} catch (ArithmeticException e) {
+			return wide().toObject(data, offset);
+		}
+	}
+
+	protected static NumberFormatException invalidNibble(String which, byte[] data, int index) {
+		return new NumberFormatException(String.format("%s nibble of the byte at array offset %d is not valid.  Byte value: %02X.",
+				which, index, data[index]));
+	}
+
+	@Override
+	public Object clone() {
+		try {
+			return super.clone();
+		} catch (CloneNotSupportedException e) {
+			Trace.log(Trace.ERROR, "Unexpected CloneNotSupportedException:", e);
+			throw new InternalErrorException(InternalErrorException.UNEXPECTED_EXCEPTION);
+		}
+	}
+}
@@ -12,15 +12,22 @@ public class AS400VarChar implements AS400DataType {
 	private final static String defaultValue = "";
 	private int actualLength;
 	private final int ccsid;
+	private final SingleByteCcsid table;
+	private final String column;
 
 	public AS400VarChar(int maxLenght) {
-		this.maxLenght = maxLenght;
-		ccsid = -1;
+		this(maxLenght, -1);
 	}
 
 	public AS400VarChar(int maxLenght, int ccsid) {
+		this(maxLenght, ccsid, null);
+	}
+
+	public AS400VarChar(int maxLenght, int ccsid, String column) {
 		this.maxLenght = maxLenght;
 		this.ccsid = ccsid;
+		this.table = SingleByteCcsid.forCcsid(ccsid);
+		this.column = column;
 	}
 	
 	@Override
@@ -66,6 +73,9 @@ public class AS400VarChar implements AS400DataType {
 	@Override
 	public Object toObject(byte[] data, int offset) {
 		actualLength = (Short)AS400_BIN2.toObject(data, offset);
+		if (table != null) {
+			return table.decode(data, offset + 2, actualLength, column);
+		}
 		AS400Text txt = (ccsid > 0) ? new AS400Text(actualLength, ccsid) : new AS400Text(actualLength);
 		String text = (String)txt.toObject(data, offset + 2);
 		return text;
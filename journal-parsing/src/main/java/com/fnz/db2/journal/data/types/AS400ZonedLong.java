@@ -0,0 +1,64 @@
+package com.fnz.db2.journal.data.types;
+
+import com.ibm.as400.access.AS400DataType;
+import com.ibm.as400.access.AS400ZonedDecimal;
+
+/**
+ * Zoned decimal of up to 18 digits decoded byte by byte into a long, read only
+ */
+public class AS400ZonedLong extends AS400UnscaledDecimal {
+
+	public AS400ZonedLong(int numDigits, int numDecimalPositions) {
+		super(numDigits, numDecimalPositions);
+	}
+
+	@Override
+	public long toUnscaledLong(byte[] data, int offset) {
+		final int last = offset + numDigits - 1;
+		long value = 0;
+		// only the zone of the last byte carries meaning, the sign
+		for (int i = offset; i <= last; i++) {
+			final int digit = data[i] & 0x0F;
+			if (digit > 9) {
+				throw invalidNibble("Low-order", data, i);
+			}
+			value = value * 10 + digit;
+		}
+		final int sign = (data[last] >> 4) & 0x0F;
+		if (sign < 0x0A) {
+			throw invalidNibble("High-order", data, last);
+		}
+		return (sign == 0x0B || sign == 0x0D) ? -value : value;
+	}
+
+	// 18 zoned digits always fit, kept for the contract
+	@Override
+	protected AS400DataType wide() {
+		return new AS400ZonedDecimal(numDigits, numDecimalPositions);
+	}
+
+	@Override
+	public int getByteLength() {
+		return numDigits;
+	}
+
+	@Override
+	public int getInstanceType() {
+		return AS400DataType.TYPE_ZONED;
+	}
+
+	@Override
+	public byte[] toBytes(Object javaValue) {
+		return new AS400ZonedDecimal(numDigits, numDecimalPositions).toBytes(javaValue);
+	}
+
+	@Override
+	public int toBytes(Object javaValue, byte[] as400Value) {
+		return new AS400ZonedDecimal(numDigits, numDecimalPositions).toBytes(javaValue, as400Value);
+	}
+
+	@Override
+	public int toBytes(Object javaValue, byte[] as400Value, int offset) {
+		return new AS400ZonedDecimal(numDigits, numDecimalPositions).toBytes(javaValue, as400Value, offset);
+	}
+}
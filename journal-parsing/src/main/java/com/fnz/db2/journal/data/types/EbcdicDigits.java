@@ -0,0 +1,53 @@
+package com.fnz.db2.journal.data.types;
+
+/**
+ * Helpers for parsing fixed position EBCDIC digits, as used in ISO date, time and timestamp fields
+ */
+final class EbcdicDigits {
+	private static final int[] DAYS_IN_MONTH = { 31, 28, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31 };
+	private static final long DAYS_0000_TO_1970 = 719468;
+
+	private EbcdicDigits() {
+	}
+
+	/**
+	 * @return the value of {@code length} EBCDIC digits 0xF0-0xF9, -1 when any byte is not a digit
+	 */
+	static int parse(byte[] data, int offset, int length) {
+		int value = 0;
+		for (int i = offset; i < offset + length; i++) {
+			final int digit = (data[i] & 0xFF) - 0xF0;
+			if (digit < 0 || digit > 9) {
+				return -1;
+			}
+			value = value * 10 + digit;
+		}
+		return value;
+	}
+
+	static boolean isDate(int year, int month, int day) {
+		if (year < 1 || month < 1 || month > 12 || day < 1) {
+			return false;
+		}
+		if (month == 2 && day == 29) {
+			return (year % 4 == 0) && (year % 100 != 0 || year % 400 == 0);
+		}
+		return day <= DAYS_IN_MONTH[month - 1];
+	}
+
+	static boolean isTime(int hour, int minute, int second) {
+		return hour >= 0 && hour < 24 && minute >= 0 && minute < 60 && second >= 0 && second < 60;
+	}
+
+	/**
+	 * days since 1970-01-01 of a valid proleptic Gregorian date, without going through LocalDate
+	 */
+	static long epochDay(int year, int month, int day) {
+		final int y = (month <= 2) ? year - 1 : year;
+		final int era = y / 400;
+		final int yearOfEra = y - era * 400;
+		final int dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+		final int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+		return era * 146097L + dayOfEra - DAYS_0000_TO_1970;
+	}
+}
@@ -0,0 +1,147 @@
+package com.fnz.db2.journal.data.types;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.ibm.as400.access.AS400Text;
+
+/**
+ * Byte to char table for a single byte EBCDIC CCSID, built once from the JT400
+ * converter so the results are identical but each byte is a single array
+ * lookup.
+ * 
+ * Characters that would be removed later as binary data (control, format,
+ * private use and unassigned) are replaced by '?' while decoding and trailing
+ * blanks are dropped before decoding.
+ * 
+ * DBCS, mixed, bidi and unicode CCSIDs don't map one byte to one character
+ * and are left to JT400, {@link #forCcsid(int)} returns null for them.
+ */
+public class SingleByteCcsid {
+	private static final Logger log = LoggerFactory.getLogger(SingleByteCcsid.class);
+	private static final int NO_CONVERSION_CCSID = 65535;
+	private static final ConcurrentMap<Integer, Optional<SingleByteCcsid>> TABLES = new ConcurrentHashMap<>();
+	private static final ThreadLocal<char[]> SCRATCH = ThreadLocal.withInitial(() -> new char[256]);
+
+	private final int ccsid;
+	private final char[] chars = new char[256];
+	private final boolean[] invalid = new boolean[256];
+	private final int blank;
+
+	private SingleByteCcsid(int ccsid, String decoded) {
+		this.ccsid = ccsid;
+		for (int i = 0; i < 256; i++) {
+			chars[i] = decoded.charAt(i);
+			invalid[i] = isInvalid(chars[i]);
+		}
+		// 0x40 in every EBCDIC code page
+		this.blank = decoded.indexOf(' ');
+	}
+
+	/**
+	 * @param ccsid -1 for the JT400 default
+	 * @return null if the CCSID isn't single byte
+	 */
+	public static SingleByteCcsid forCcsid(int ccsid) {
+		final int effective = ccsid <= 0 ? defaultCcsid() : ccsid;
+		return TABLES.computeIfAbsent(effective, SingleByteCcsid::build).orElse(null);
+	}
+
+	/**
+	 * @return the CCSID AS400Text uses without a system or CCSID, JT400 guesses it
+	 *         from the default locale each time, e.g. 37 for en, 273 for de_DE and
+	 *         1399 for ja_JP
+	 */
+	public static int defaultCcsid() {
+		return new AS400Text(1).getCcsid();
+	}
+
+	private static Optional<SingleByteCcsid> build(int ccsid) {
+		if (ccsid == NO_CONVERSION_CCSID) {
+			return Optional.empty();
+		}
+		try {
+			final byte[] all = new byte[256];
+			for (int i = 0; i < all.length; i++) {
+				all[i] = (byte) i;
+			}
+			final String decoded = (String) new AS400Text(all.length, ccsid).toObject(all, 0);
+			if (decoded.length() != all.length) {
+				return Optional.empty();
+			}
+			// stateful or context dependent converters give a different answer byte by byte
+			final AS400Text single = new AS400Text(1, ccsid);
+			for (int i = 0; i < all.length; i++) {
+				final String one = (String) single.toObject(all, i);
+				if (one.length() != 1 || one.charAt(0) != decoded.charAt(i)) {
+					return Optional.empty();
+				}
+			}
+			return Optional.of(new SingleByteCcsid(ccsid, decoded));
+		} catch (final Exception e) {
+			log.debug("CCSID {} not available for table decoding", ccsid, e);
+			return Optional.empty();
+		}
+	}
+
+	private static boolean isInvalid(char c) {
+		switch (Character.getType(c)) {
+		case Character.CONTROL:
+		case Character.FORMAT:
+		case Character.PRIVATE_USE:
+		case Character.SURROGATE:
+		case Character.UNASSIGNED:
+			return true;
+		default:
+			return false;
+		}
+	}
+
+	public int getCcsid() {
+		return ccsid;
+	}
+
+	/**
+	 * @return the character JT400 gives for the byte, without replacement
+	 */
+	public char toChar(byte b) {
+		return chars[b & 0xff];
+	}
+
+	/**
+	 * @param column used to report binary data found in the field
+	 */
+	public String decode(byte[] data, int offset, int length, String column) {
+		int end = offset + length;
+		while (end > offset && (data[end - 1] & 0xff) == blank) {
+			end--;
+		}
+		final int n = end - offset;
+		if (n == 0) {
+			return "";
+		}
+		char[] scratch = SCRATCH.get();
+		if (scratch.length < n) {
+			scratch = new char[Math.max(n, scratch.length * 2)];
+			SCRATCH.set(scratch);
+		}
+		boolean replaced = false;
+		for (int i = 0; i < n; i++) {
+			final int b = data[offset + i] & 0xff;
+			if (invalid[b]) {
+				scratch[i] = '?';
+				replaced = true;
+			} else {
+				scratch[i] = chars[b];
+			}
+		}
+		if (replaced) {
+			log.warn("removed binary data from column {}", column);
+		}
+		return new String(scratch, 0, n);
+	}
+}
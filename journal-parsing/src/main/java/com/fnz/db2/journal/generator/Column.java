@@ -0,0 +1,219 @@
+package com.fnz.db2.journal.generator;
+
+import java.math.BigDecimal;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Random;
+
+import com.fnz.db2.journal.data.types.AS400IsoDate;
+import com.fnz.db2.journal.data.types.AS400IsoTimestamp;
+import com.fnz.db2.journal.data.types.AS400PackedLong;
+import com.fnz.db2.journal.data.types.AS400SingleByteText;
+import com.fnz.db2.journal.data.types.AS400UnscaledDecimal;
+import com.fnz.db2.journal.data.types.AS400VarChar;
+import com.fnz.db2.journal.data.types.AS400ZonedLong;
+import com.fnz.db2.journal.data.types.SingleByteCcsid;
+import com.fnz.db2.journal.retrieve.SchemaCacheIF.Structure;
+import com.ibm.as400.access.AS400Bin2;
+import com.ibm.as400.access.AS400Bin4;
+import com.ibm.as400.access.AS400Bin8;
+import com.ibm.as400.access.AS400DataType;
+import com.ibm.as400.access.AS400PackedDecimal;
+import com.ibm.as400.access.AS400Text;
+import com.ibm.as400.access.AS400ZonedDecimal;
+
+/**
+ * A column of a generated table, encoded into the row image with the JT400 types and decoded with the types
+ * {@link com.fnz.db2.journal.retrieve.JdbcFileDecoder} picks for the same SQL type
+ */
+public class Column {
+	public enum Type {
+		SMALLINT(Types.SMALLINT), INTEGER(Types.INTEGER), BIGINT(Types.BIGINT), DECIMAL(Types.DECIMAL),
+		NUMERIC(Types.NUMERIC), CHAR(Types.CHAR), VARCHAR(Types.VARCHAR), DATE(Types.DATE), TIMESTAMP(Types.TIMESTAMP);
+
+		final int jdbcType;
+
+		Type(int jdbcType) {
+			this.jdbcType = jdbcType;
+		}
+	}
+
+	private static final DateTimeFormatter ISO_TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd-HH.mm.ss.SSSSSS");
+	private static final String ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789 ";
+	private static final long EPOCH_DAY_2000 = 10_957;
+	private static final AS400Bin2 BIN2 = new AS400Bin2();
+	private static final AS400Bin4 BIN4 = new AS400Bin4();
+	private static final AS400Bin8 BIN8 = new AS400Bin8();
+	private static final AS400Text DATE_TEXT = new AS400Text(10);
+	private static final AS400Text TIMESTAMP_TEXT = new AS400Text(26);
+
+	private final String name;
+	private final Type type;
+	private final int length;
+	private final int scale;
+	private final int ccsid;
+	private final boolean nullable;
+	private final AS400DataType encoder;
+
+	/**
+	 * @param length digits of a DECIMAL or NUMERIC, characters of a CHAR or VARCHAR
+	 * @param ccsid  of a CHAR or VARCHAR, -1 for the JT400 default
+	 */
+	public Column(String name, Type type, int length, int scale, int ccsid, boolean nullable) {
+		this.name = name;
+		this.type = type;
+		this.length = length;
+		this.scale = scale;
+		this.ccsid = ccsid;
+		this.nullable = nullable;
+		this.encoder = switch (type) {
+		case SMALLINT -> BIN2;
+		case INTEGER -> BIN4;
+		case BIGINT -> BIN8;
+		case DECIMAL -> new AS400PackedDecimal(length, scale);
+		case NUMERIC -> new AS400ZonedDecimal(length, scale);
+		case CHAR, VARCHAR -> (ccsid > 0) ? new AS400Text(length, ccsid) : new AS400Text(length);
+		case DATE -> DATE_TEXT;
+		case TIMESTAMP -> TIMESTAMP_TEXT;
+		};
+	}
+
+	public static Column of(String name, Type type) {
+		return new Column(name, type, 0, 0, -1, false);
+	}
+
+	public static Column decimal(String name, Type type, int digits, int scale) {
+		return new Column(name, type, digits, scale, -1, false);
+	}
+
+	public static Column text(String name, Type type, int length, int ccsid) {
+		return new Column(name, type, length, 0, ccsid, false);
+	}
+
+	public Column nullable() {
+		return new Column(name, type, length, scale, ccsid, true);
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public Type getType() {
+		return type;
+	}
+
+	public boolean isNullable() {
+		return nullable;
+	}
+
+	public int getByteLength() {
+		return switch (type) {
+		case SMALLINT -> 2;
+		case INTEGER -> 4;
+		case BIGINT -> 8;
+		case DECIMAL -> length / 2 + 1;
+		case NUMERIC, CHAR -> length;
+		case VARCHAR -> length + 2;
+		case DATE -> 10;
+		case TIMESTAMP -> 26;
+		};
+	}
+
+	/**
+	 * @param position 1 based ordinal position
+	 */
+	public Structure structure(int position) {
+		return new Structure(name, type.name(), type.jdbcType, length, scale, nullable, position, false, ccsid);
+	}
+
+	public AS400DataType decoder() {
+		return switch (type) {
+		case SMALLINT -> BIN2;
+		case INTEGER -> BIN4;
+		case BIGINT -> BIN8;
+		case DECIMAL -> AS400UnscaledDecimal.fitsInLong(length) ? new AS400PackedLong(length, scale)
+				: new AS400PackedDecimal(length, scale);
+		case NUMERIC -> AS400UnscaledDecimal.fitsInLong(length) ? new AS400ZonedLong(length, scale)
+				: new AS400ZonedDecimal(length, scale);
+		case CHAR -> charDecoder();
+		case VARCHAR -> new AS400VarChar(length, ccsid, name);
+		case DATE -> new AS400IsoDate();
+		case TIMESTAMP -> new AS400IsoTimestamp();
+		};
+	}
+
+	private AS400DataType charDecoder() {
+		final SingleByteCcsid table = SingleByteCcsid.forCcsid(ccsid);
+		if (table != null) {
+			return new AS400SingleByteText(length, table, name);
+		}
+		return (ccsid > 0) ? new AS400Text(length, ccsid) : new AS400Text(length);
+	}
+
+	/**
+	 * @param key the row's key, a key column holds it rather than a random value
+	 * @return a value as it decodes, text without trailing blanks
+	 */
+	public Object value(Random random, long key, boolean isKey) {
+		return switch (type) {
+		case SMALLINT -> (short) (isKey ? key : random.nextInt(Short.MAX_VALUE));
+		case INTEGER -> isKey ? (int) key : random.nextInt();
+		case BIGINT -> isKey ? key : random.nextLong();
+		case DECIMAL, NUMERIC -> BigDecimal.valueOf(isKey ? key : random.nextLong(maxUnscaled()), isKey ? 0 : scale)
+				.setScale(scale);
+		case CHAR, VARCHAR -> isKey ? Long.toString(key) : text(random, random.nextInt(length + 1));
+		case DATE -> LocalDate.ofEpochDay(EPOCH_DAY_2000 + random.nextInt(10_000));
+		case TIMESTAMP -> LocalDateTime.of(2000, 1, 1, 0, 0).plusNanos(random.nextLong(315_360_000_000_000L) * 1000);
+		};
+	}
+
+	private long maxUnscaled() {
+		long max = 1;
+		for (int i = 0; i < Math.min(length, AS400UnscaledDecimal.MAX_DIGITS); i++) {
+			max *= 10;
+		}
+		return max;
+	}
+
+	private static String text(Random random, int length) {
+		final char[] chars = new char[length];
+		for (int i = 0; i < length; i++) {
+			chars[i] = ALPHABET.charAt(random.nextInt(ALPHABET.length()));
+		}
+		// trailing blanks don't survive decoding
+		return new String(chars).stripTrailing();
+	}
+
+	/**
+	 * writes the value into the row image, a null value leaves zeros
+	 */
+	public void write(Object value, byte[] row, int offset) {
+		if (value == null) {
+			return;
+		}
+		switch (type) {
+		case VARCHAR: {
+			final String s = (String) value;
+			encoder.toBytes(s, row, offset + 2);
+			BIN2.toBytes((short) s.length(), row, offset);
+		}
+			break;
+		case DATE:
+			encoder.toBytes(value.toString(), row, offset);
+			break;
+		case TIMESTAMP:
+			encoder.toBytes(ISO_TIMESTAMP.format((LocalDateTime) value), row, offset);
+			break;
+		default:
+			encoder.toBytes(value, row, offset);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "Column [name=" + name + ", type=" + type + ", length=" + length + ", scale=" + scale + ", ccsid="
+				+ ccsid + ", nullable=" + nullable + "]";
+	}
+}
@@ -0,0 +1,335 @@
+package com.fnz.db2.journal.generator;
+
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import com.fnz.db2.journal.retrieve.JournalBlock;
+import com.fnz.db2.journal.retrieve.JournalPosition;
+import com.fnz.db2.journal.retrieve.rjne0200.BlockWriter;
+import com.fnz.db2.journal.retrieve.rjne0200.BlockWriter.Entry;
+import com.fnz.db2.journal.retrieve.rjne0200.FirstHeader;
+import com.fnz.db2.journal.retrieve.rjne0200.FirstHeaderDecoder;
+
+/**
+ * Generates RJNE0200 journal data, as QjoRetrieveJournalEntries would return it, for load and soak testing without
+ * an IBM i
+ * <p>
+ * Row changes are inserts (R PT), updates (R UB and R UP) and deletes (R DL) of tables picked by weight. Transactions
+ * run concurrently, each in its own job, and are interleaved in the journal; those under commitment control are
+ * bracketed by C SC and C CM or C RB. Entry timestamps advance at the configured rate of journal time, so a block
+ * can be generated far faster than the entries in it were "written". Deterministic for a seed. Not thread safe.
+ * <p>
+ * Blocks feed {@link com.fnz.db2.journal.retrieve.RetrieveJournal#setOutputData} as they are, the decoders for the
+ * tables come from {@link TableShape#tableInfo()}.
+ */
+public class JournalGenerator {
+	/**
+	 * @param changes row changes in the block, the entries that become change events, an update counted on its
+	 *                after image
+	 */
+	public record Block(byte[] data, FirstHeader header, int changes) {
+		public int entries() {
+			return header.size();
+		}
+	}
+
+	private static class Transaction {
+		final long cycle;
+		final String jobNumber;
+		final long threadId;
+		int remaining;
+		final boolean rollback;
+
+		Transaction(long cycle, String jobNumber, long threadId, int remaining, boolean rollback) {
+			this.cycle = cycle;
+			this.jobNumber = jobNumber;
+			this.threadId = threadId;
+			this.remaining = remaining;
+			this.rollback = rollback;
+		}
+	}
+
+	private static final FirstHeaderDecoder firstHeaderDecoder = new FirstHeaderDecoder();
+	private static final long MICROS_PER_SECOND = 1_000_000L;
+
+	private final List<TableShape> tables = new ArrayList<>();
+	private final List<Integer> tableWeights = new ArrayList<>();
+	private int totalTableWeight = 0;
+	private int inserts = 1;
+	private int updates = 1;
+	private int deletes = 0;
+	private int commitmentControlPercent = 100;
+	private int minTransactionSize = 1;
+	private int maxTransactionSize = 10;
+	private int rollbackPercent = 0;
+	private int nullPercent = 10;
+	private long entriesPerSecond = 1000;
+	private long limit = Long.MAX_VALUE;
+	private String receiver = "RCV0001";
+	private String receiverLibrary = "JRNLIB";
+	private long startSequence = 1;
+	private long startMicros = ChronoUnit.MICROS.between(Instant.EPOCH, Instant.parse("2024-01-01T00:00:00Z"));
+	private Random random = new Random(1);
+	private Transaction[] open = new Transaction[4];
+
+	private final Deque<Entry> pending = new ArrayDeque<>();
+	private long[] keys;
+	private long generated = 0;
+	private long rowChanges = 0;
+	private long nextCycle = 1000;
+	private BlockWriter writer;
+
+	/**
+	 * @param weight relative share of the row changes
+	 */
+	public JournalGenerator withTable(TableShape table, int weight) {
+		tables.add(table);
+		tableWeights.add(weight);
+		totalTableWeight += weight;
+		return this;
+	}
+
+	/**
+	 * relative shares of the operations, an update is two entries
+	 */
+	public JournalGenerator withMix(int inserts, int updates, int deletes) {
+		this.inserts = inserts;
+		this.updates = updates;
+		this.deletes = deletes;
+		return this;
+	}
+
+	/**
+	 * @param percent share of transactions under commitment control, the others are single changes with commit
+	 *                cycle 0
+	 */
+	public JournalGenerator withCommitmentControl(int percent) {
+		this.commitmentControlPercent = percent;
+		return this;
+	}
+
+	/**
+	 * @param min row changes per transaction under commitment control
+	 */
+	public JournalGenerator withTransactionSize(int min, int max) {
+		this.minTransactionSize = min;
+		this.maxTransactionSize = max;
+		return this;
+	}
+
+	public JournalGenerator withRollbackPercent(int percent) {
+		this.rollbackPercent = percent;
+		return this;
+	}
+
+	/**
+	 * @param transactions open at once, their entries interleaved
+	 */
+	public JournalGenerator withConcurrentTransactions(int transactions) {
+		this.open = new Transaction[transactions];
+		return this;
+	}
+
+	public JournalGenerator withNullPercent(int percent) {
+		this.nullPercent = percent;
+		return this;
+	}
+
+	/**
+	 * @param entriesPerSecond rate the journal is written at, in journal time
+	 */
+	public JournalGenerator withEntriesPerSecond(long entriesPerSecond) {
+		this.entriesPerSecond = entriesPerSecond;
+		return this;
+	}
+
+	/**
+	 * @param entries roughly how many entries to generate before reporting no more data, transactions still open
+	 *                then are ended early so every commit cycle is closed
+	 */
+	public JournalGenerator withLimit(long entries) {
+		this.limit = entries;
+		return this;
+	}
+
+	public JournalGenerator withReceiver(String receiver, String library) {
+		this.receiver = receiver;
+		this.receiverLibrary = library;
+		return this;
+	}
+
+	public JournalGenerator withStart(long sequence, Instant time) {
+		this.startSequence = sequence;
+		this.startMicros = ChronoUnit.MICROS.between(Instant.EPOCH, time);
+		return this;
+	}
+
+	public JournalGenerator withSeed(long seed) {
+		this.random = new Random(seed);
+		return this;
+	}
+
+	public boolean hasMore() {
+		return !pending.isEmpty() || generated < limit || isOpen();
+	}
+
+	/**
+	 * @param capacity length of the receiver variable
+	 * @return as many entries as fit, with a continuation position unless the limit was reached
+	 * @throws IllegalArgumentException if the next entry doesn't fit in an empty block
+	 */
+	public Block nextBlock(int capacity) {
+		if (tables.isEmpty()) {
+			throw new IllegalStateException("no tables to generate changes for");
+		}
+		if (keys == null) {
+			keys = new long[tables.size()];
+		}
+		if (writer == null || writer.capacity() != capacity) {
+			writer = new BlockWriter(capacity);
+		}
+		writer.reset();
+		writer.withReceiver(receiver, receiverLibrary);
+		int changes = 0;
+		while (hasMore()) {
+			if (pending.isEmpty()) {
+				if (generated < limit) {
+					step();
+				} else {
+					endAll();
+				}
+				continue;
+			}
+			final Entry entry = pending.peek();
+			if (!writer.add(entry)) {
+				if (writer.entries() == 0) {
+					throw new IllegalArgumentException(
+							String.format("entry of %d bytes doesn't fit in %d", entry.length(), capacity));
+				}
+				break;
+			}
+			pending.poll();
+			if (entry.journalCode() == 'R' && !"UB".equals(entry.entryType())) {
+				changes++;
+			}
+		}
+		final Optional<JournalPosition> continuation = hasMore()
+				? Optional.of(new JournalPosition(BigInteger.valueOf(nextSequence()), receiver, receiverLibrary, false))
+				: Optional.empty();
+		final byte[] data = writer.toBytes(continuation);
+		return new Block(data, firstHeaderDecoder.decode(JournalBlock.wrap(data)), changes);
+	}
+
+	/**
+	 * @return sequence number of the next entry to be written
+	 */
+	public long nextSequence() {
+		return pending.isEmpty() ? startSequence + generated : pending.peek().sequence();
+	}
+
+	public long getGenerated() {
+		return generated;
+	}
+
+	public long getRowChanges() {
+		return rowChanges;
+	}
+
+	private void step() {
+		final int slot = random.nextInt(open.length);
+		final Transaction tx = open[slot];
+		if (tx == null) {
+			open[slot] = begin(slot);
+			return;
+		}
+		if (tx.remaining > 0) {
+			tx.remaining--;
+			change(tx);
+			return;
+		}
+		if (tx.cycle != 0) {
+			add(tx, 'C', tx.rollback ? "RB" : "CM", null, 0, null);
+		}
+		open[slot] = null;
+	}
+
+	private void endAll() {
+		for (int slot = 0; slot < open.length; slot++) {
+			final Transaction tx = open[slot];
+			if (tx != null && tx.cycle != 0) {
+				add(tx, 'C', tx.rollback ? "RB" : "CM", null, 0, null);
+			}
+			open[slot] = null;
+		}
+	}
+
+	private boolean isOpen() {
+		for (final Transaction tx : open) {
+			if (tx != null) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private Transaction begin(int slot) {
+		final String jobNumber = String.format("%06d", 100000 + slot);
+		if (random.nextInt(100) >= commitmentControlPercent) {
+			return new Transaction(0, jobNumber, slot + 1, 1, false);
+		}
+		final int size = minTransactionSize + random.nextInt(maxTransactionSize - minTransactionSize + 1);
+		final Transaction tx = new Transaction(nextCycle++, jobNumber, slot + 1, size,
+				random.nextInt(100) < rollbackPercent);
+		add(tx, 'C', "SC", null, 0, null);
+		return tx;
+	}
+
+	private void change(Transaction tx) {
+		final int t = pickTable();
+		final TableShape table = tables.get(t);
+		final int op = random.nextInt(inserts + updates + deletes);
+		rowChanges++;
+		if (op < inserts || keys[t] == 0) {
+			final long key = ++keys[t];
+			add(tx, 'R', "PT", table, key, table.row(random, key, nullPercent));
+			return;
+		}
+		final long key = 1 + random.nextLong(keys[t]);
+		if (op < inserts + updates) {
+			add(tx, 'R', "UB", table, key, table.row(random, key, nullPercent));
+			add(tx, 'R', "UP", table, key, table.row(random, key, nullPercent));
+		} else {
+			add(tx, 'R', "DL", table, key, table.row(random, key, nullPercent));
+		}
+	}
+
+	private int pickTable() {
+		int pick = random.nextInt(totalTableWeight);
+		for (int i = 0; i < tables.size(); i++) {
+			pick -= tableWeights.get(i);
+			if (pick < 0) {
+				return i;
+			}
+		}
+		return tables.size() - 1;
+	}
+
+	private void add(Transaction tx, char journalCode, String entryType, TableShape table, long key, Object[] row) {
+		final long timestamp = startMicros + generated * MICROS_PER_SECOND / entriesPerSecond;
+		final Entry entry = (table == null)
+				? new Entry(startSequence + generated, timestamp, journalCode, entryType, null, null, null, tx.cycle,
+						tx.jobNumber, tx.threadId, 0, (byte) 0, null, null)
+				: new Entry(startSequence + generated, timestamp, journalCode, entryType, table.file(), table.library(),
+						table.file(), tx.cycle, tx.jobNumber, tx.threadId, key, (byte) 0, table.nullValues(row),
+						table.encode(row));
+		pending.add(entry);
+		generated++;
+	}
+}
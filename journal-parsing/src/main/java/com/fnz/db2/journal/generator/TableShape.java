@@ -0,0 +1,121 @@
+package com.fnz.db2.journal.generator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.fnz.db2.journal.generator.Column.Type;
+import com.fnz.db2.journal.retrieve.SchemaCacheIF.Structure;
+import com.fnz.db2.journal.retrieve.SchemaCacheIF.TableInfo;
+import com.fnz.db2.journal.retrieve.TableDescription;
+import com.ibm.as400.access.AS400DataType;
+import com.ibm.as400.access.AS400Structure;
+
+/**
+ * Columns of a generated table, the key columns hold the row's key and the others random values
+ *
+ * @param file system name, at most 10 characters
+ */
+public record TableShape(String library, String file, List<Column> columns, List<String> primaryKeys) {
+	private static final byte NOT_NULL = (byte) 0xf0;
+	private static final byte NULL = (byte) 0xf1;
+	private static final int MIXED_TYPES = 8;
+
+	/**
+	 * @return a BIGINT key followed by {@code columns - 1} columns cycling through the common types, text in the CCSID
+	 */
+	public static TableShape mixed(String library, String file, int columns, int ccsid) {
+		final List<Column> list = new ArrayList<>(columns);
+		list.add(Column.of("ID", Type.BIGINT));
+		for (int i = 1; i < columns; i++) {
+			list.add(mixed(i, ccsid));
+		}
+		return new TableShape(library, file, list, List.of("ID"));
+	}
+
+	private static Column mixed(int i, int ccsid) {
+		final String suffix = (i <= MIXED_TYPES) ? "" : Integer.toString(i);
+		return switch ((i - 1) % MIXED_TYPES) {
+		case 0 -> Column.of("QUANTITY" + suffix, Type.INTEGER);
+		case 1 -> Column.decimal("AMOUNT" + suffix, Type.DECIMAL, 11, 2);
+		case 2 -> Column.text("NAME" + suffix, Type.CHAR, 20, ccsid);
+		case 3 -> Column.text("DESCRIPTION" + suffix, Type.VARCHAR, 50, ccsid).nullable();
+		case 4 -> Column.of("UPDATED" + suffix, Type.TIMESTAMP);
+		case 5 -> Column.decimal("CODE" + suffix, Type.NUMERIC, 9, 0);
+		case 6 -> Column.of("EFFECTIVE" + suffix, Type.DATE).nullable();
+		default -> Column.of("STATUS" + suffix, Type.SMALLINT);
+		};
+	}
+
+	public List<Structure> structure() {
+		final List<Structure> structure = new ArrayList<>(columns.size());
+		for (int i = 0; i < columns.size(); i++) {
+			structure.add(columns.get(i).structure(i + 1));
+		}
+		return structure;
+	}
+
+	/**
+	 * @return what describing the table through JDBC would give
+	 */
+	public TableDescription description() {
+		return new TableDescription(structure(), primaryKeys);
+	}
+
+	/**
+	 * @return the decoders, to store in the schema cache in place of loading them through JDBC
+	 */
+	public TableInfo tableInfo() {
+		final AS400DataType[] members = new AS400DataType[columns.size()];
+		for (int i = 0; i < members.length; i++) {
+			members[i] = columns.get(i).decoder();
+		}
+		return new TableInfo(structure(), primaryKeys, new AS400Structure(members));
+	}
+
+	public int rowLength() {
+		int length = 0;
+		for (final Column c : columns) {
+			length += c.getByteLength();
+		}
+		return length;
+	}
+
+	/**
+	 * @param nullPercent chance of each nullable column being null
+	 */
+	public Object[] row(Random random, long key, int nullPercent) {
+		final Object[] values = new Object[columns.size()];
+		for (int i = 0; i < values.length; i++) {
+			final Column c = columns.get(i);
+			final boolean isKey = primaryKeys.contains(c.getName());
+			if (!isKey && c.isNullable() && random.nextInt(100) < nullPercent) {
+				continue;
+			}
+			values[i] = c.value(random, key, isKey);
+		}
+		return values;
+	}
+
+	public byte[] encode(Object[] values) {
+		final byte[] row = new byte[rowLength()];
+		int offset = 0;
+		for (int i = 0; i < values.length; i++) {
+			final Column c = columns.get(i);
+			c.write(values[i], row, offset);
+			offset += c.getByteLength();
+		}
+		return row;
+	}
+
+	/**
+	 * @return one null value indicator per column
+	 */
+	public byte[] nullValues(Object[] values) {
+		final byte[] indicators = new byte[values.length];
+		for (int i = 0; i < values.length; i++) {
+			indicators[i] = (values[i] == null) ? NULL : NOT_NULL;
+		}
+		return indicators;
+	}
+}
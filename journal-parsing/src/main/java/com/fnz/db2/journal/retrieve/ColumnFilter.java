@@ -0,0 +1,11 @@
+package com.fnz.db2.journal.retrieve;
+
+/**
+ * Decides which columns are decoded, excluded columns are skipped over in the row image and come out as null
+ */
+@FunctionalInterface
+public interface ColumnFilter {
+	ColumnFilter ALL = (database, schema, table, column) -> true;
+
+	boolean isIncluded(String database, String schema, String table, String column);
+}
@@ -7,42 +7,51 @@ import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import com.fnz.db2.journal.data.types.AS400Excluded;
+import com.fnz.db2.journal.data.types.AS400IsoDate;
+import com.fnz.db2.journal.data.types.AS400IsoTime;
+import com.fnz.db2.journal.data.types.AS400IsoTimestamp;
+import com.fnz.db2.journal.data.types.AS400Lob;
+import com.fnz.db2.journal.data.types.AS400PackedLong;
+import com.fnz.db2.journal.data.types.AS400SingleByteText;
+import com.fnz.db2.journal.data.types.AS400UnscaledDecimal;
 import com.fnz.db2.journal.data.types.AS400VarBin;
 import com.fnz.db2.journal.data.types.AS400VarChar;
-import com.fnz.db2.journal.data.types.AS400Xml;
+import com.fnz.db2.journal.data.types.AS400ZonedLong;
+import com.fnz.db2.journal.data.types.SingleByteCcsid;
 import com.fnz.db2.journal.retrieve.SchemaCacheIF.Structure;
 import com.fnz.db2.journal.retrieve.SchemaCacheIF.TableInfo;
+import com.fnz.db2.journal.retrieve.events.EntryDecode;
+import com.fnz.db2.journal.retrieve.events.SchemaLoad;
 import com.fnz.db2.journal.retrieve.rjne0200.EntryHeader;
 import com.ibm.as400.access.AS400Bin2;
 import com.ibm.as400.access.AS400Bin4;
 import com.ibm.as400.access.AS400Bin8;
 import com.ibm.as400.access.AS400ByteArray;
 import com.ibm.as400.access.AS400DataType;
-import com.ibm.as400.access.AS400Date;
 import com.ibm.as400.access.AS400Float4;
 import com.ibm.as400.access.AS400Float8;
 import com.ibm.as400.access.AS400PackedDecimal;
 import com.ibm.as400.access.AS400Structure;
 import com.ibm.as400.access.AS400Text;
-import com.ibm.as400.access.AS400Time;
-import com.ibm.as400.access.AS400Timestamp;
 import com.ibm.as400.access.AS400ZonedDecimal;
 
 public class JdbcFileDecoder extends JournalFileEntryDecoder {
 
 	private static final AS400Float8 AS400_FLOAT8 = new AS400Float8();
 	private static final AS400Float4 AS400_FLOAT4 = new AS400Float4();
-	private static final AS400Time AS400_TIME = new AS400Time();
-	private static final AS400Date AS400_DATE = new AS400Date();
-	private static final AS400Timestamp AS400_TIMESTAMP = new AS400Timestamp();
-	private static final AS400Xml AS400_XML = new AS400Xml();
+	private static final AS400IsoTime AS400_TIME = new AS400IsoTime();
+	private static final AS400IsoDate AS400_DATE = new AS400IsoDate();
+	private static final AS400IsoTimestamp AS400_TIMESTAMP = new AS400IsoTimestamp();
 	private static final AS400Bin8 AS400_BIN8 = new AS400Bin8();
 	private static final AS400Bin4 AS400_BIN4 = new AS400Bin4();
 	private static final AS400Bin2 AS400_BIN2 = new AS400Bin2();
@@ -57,14 +66,22 @@ public class JdbcFileDecoder extends JournalFileEntryDecoder {
 	private final String databaseName;
 	private final SchemaCacheIF schemaCache;
 	private final int forcedCcsid;
+	private final ColumnFilter columnFilter;
+	private volatile boolean lobTables = false;
 
 	public JdbcFileDecoder(Connect<Connection, SQLException> con, String database, SchemaCacheIF schemaCache,
 			Integer forcedCcsid) {
+		this(con, database, schemaCache, forcedCcsid, ColumnFilter.ALL);
+	}
+
+	public JdbcFileDecoder(Connect<Connection, SQLException> con, String database, SchemaCacheIF schemaCache,
+			Integer forcedCcsid, ColumnFilter columnFilter) {
 		super();
 		this.jdbcConnect = con;
 		this.schemaCache = schemaCache;
 		this.databaseName = database;
 		this.forcedCcsid = (forcedCcsid == null) ? -1 : forcedCcsid;
+		this.columnFilter = columnFilter;
 	}
 
 	/*
@@ -77,7 +94,27 @@ public class JdbcFileDecoder extends JournalFileEntryDecoder {
 	private static final Object[] EMPTY = new Object[] {};
 
 	@Override
-	public Object[] decodeFile(EntryHeader entryHeader, byte[] data, int offset) throws Exception {
+	public Object[] decode(EntryHeader entryHeader, byte[] data, int offset) throws Exception {
+		final EntryDecode event = new EntryDecode();
+		event.begin();
+		final long start = System.nanoTime();
+		final Object[] result = super.decode(entryHeader, data, offset);
+		event.decodeNanos = System.nanoTime() - start;
+		event.end();
+		if (event.shouldCommit()) {
+			event.library = entryHeader.getLibrary();
+			event.table = entryHeader.getFile();
+			event.entryType = entryHeader.getEntryType();
+			event.bytes = entryHeader.getLength();
+			event.commit();
+		}
+		return result;
+	}
+
+	@Override
+	public Object[] decodeFile(EntryHeader entryHeader, byte[] data, int offset, NullIndicators nulls)
+			throws Exception {
+		checkNotMinimisedOnByteBoundaries(entryHeader);
 		final Optional<TableInfo> tableInfoOpt = getRecordFormat(entryHeader.getFile(), entryHeader.getLibrary());
 
 		return tableInfoOpt.map(tableInfo -> {
@@ -85,8 +122,8 @@ public class JdbcFileDecoder extends JournalFileEntryDecoder {
 					offset + entryHeader.getEntrySpecificDataOffset());
 			final int length = Integer.parseInt(lengthStr);
 			if (length > 0) {
-				final Object[] os = decodeEntry(tableInfo.getAs400Structure(), data,
-						offset + entryHeader.getEntrySpecificDataOffset() + ENTRY_SPECIFIC_DATA_OFFSET);
+				final Object[] os = decodeEntry(tableInfo.getMembers(), data,
+						offset + entryHeader.getEntrySpecificDataOffset() + ENTRY_SPECIFIC_DATA_OFFSET, nulls);
 				return os;
 			} else {
 				log.error("Empty journal entry for {}.{} is (before image) journalling set corretly for this table?",
@@ -96,11 +133,65 @@ public class JdbcFileDecoder extends JournalFileEntryDecoder {
 		}).orElse(EMPTY);
 	}
 
+	/**
+	 * a {@link RowView} over the entry in place, columns are decoded only when they are read
+	 */
+	public RowView view(EntryHeader entryHeader, byte[] data, int offset) throws Exception {
+		checkNotMinimisedOnByteBoundaries(entryHeader);
+		final Optional<TableInfo> tableInfoOpt = getRecordFormat(entryHeader.getFile(), entryHeader.getLibrary());
+		if (tableInfoOpt.isEmpty()) {
+			return RowView.EMPTY;
+		}
+		final TableInfo tableInfo = tableInfoOpt.get();
+		final String lengthStr = (String) LENGTH_DECODER.toObject(data,
+				offset + entryHeader.getEntrySpecificDataOffset());
+		final int length = Integer.parseInt(lengthStr);
+		if (length <= 0) {
+			log.error("Empty journal entry for {}.{} is (before image) journalling set corretly for this table?",
+					entryHeader.getLibrary(), entryHeader.getFile());
+			return RowView.EMPTY;
+		}
+		final int nullEntryOffset = entryHeader.getNullValueOffest();
+		int nullStart = -1;
+		int nullLength = 0;
+		if (nullEntryOffset != 0) {
+			nullLength = NullIndicators.length(data, offset + nullEntryOffset);
+			nullStart = offset + nullEntryOffset + 4;
+		}
+		return new RowView(tableInfo.getMembers(), tableInfo.getOffsets(), data,
+				offset + entryHeader.getEntrySpecificDataOffset() + ENTRY_SPECIFIC_DATA_OFFSET, nullStart, nullLength,
+				entryHeader.getLength(), entryHeader.isMinimised());
+	}
+
+	// only entries minimised on field boundaries are formatted back into row images by the retrieve
+	private static void checkNotMinimisedOnByteBoundaries(EntryHeader entryHeader) {
+		if (entryHeader.isMinimised() && !entryHeader.isMinimisedOnFieldBoundaries()) {
+			throw new IllegalStateException(String.format(
+					"entry %s for %s.%s is minimised on byte boundaries and can't be decoded, journal with MINENTDTA(*FLDBDY)",
+					entryHeader.getSequenceNumber(), entryHeader.getLibrary(), entryHeader.getFile()));
+		}
+	}
+
 	public Object[] decodeEntry(AS400Structure entryDetailStructure, byte[] data, int offset) {
 		final Object[] result = (Object[]) entryDetailStructure.toObject(data, offset);
 		return result;
 	}
 
+	/**
+	 * field by field equivalent of {@link AS400Structure#toObject(byte[], int)} that leaves null fields and fields left
+	 * out of a minimised entry undecoded
+	 */
+	public Object[] decodeEntry(AS400DataType[] members, byte[] data, int offset, NullIndicators nulls) {
+		final Object[] result = new Object[members.length];
+		for (int i = 0; i < members.length; i++) {
+			if (!nulls.isNull(i) && !nulls.isUnchanged(i)) {
+				result[i] = members[i].toObject(data, offset);
+			}
+			offset += members[i].getByteLength();
+		}
+		return result;
+	}
+
 	public static String getDatabaseName(Connection con) throws SQLException {
 		try (PreparedStatement st = con.prepareStatement(GET_DATABASE_NAME)) {
 			try (ResultSet rs = st.executeQuery()) {
@@ -132,19 +223,69 @@ public class JdbcFileDecoder extends JournalFileEntryDecoder {
 		final String longTableName = getLongName(schema, systemTableName).orElse(systemTableName);
 
 		try {
-			TableInfo tableInfo = schemaCache.retrieve(databaseName, schema, longTableName);
+			final TableInfo tableInfo = schemaCache.retrieve(databaseName, schema, longTableName);
 			if (tableInfo != null) {
 				return Optional.of(tableInfo);
 			}
 
 			log.info("missed cache fetching structure for {} {}", schema, systemTableName);
+			final Optional<TableInfo> loaded = loadRecordFormat(systemTableName, schema, longTableName);
+			if (loaded.isPresent()) {
+				return loaded;
+			}
+		} catch (final Exception e) {
+			log.error("Failed to retrieve table info for {} {}", schema, longTableName, e);
+		}
+		log.warn("No table structure found for {}", systemTableName);
+
+		return Optional.empty();
+	}
+
+	private Optional<TableInfo> loadRecordFormat(String systemTableName, String schema, String longTableName) {
+		try {
+			final Optional<TableDescription> description = describe(jdbcConnect, systemTableName, schema,
+					longTableName);
+			if (description.isPresent()) {
+				final TableInfo tableInfo = toTableInfo(schema, longTableName, description.get());
+				schemaCache.store(databaseName, schema, longTableName, tableInfo);
+
+				return Optional.of(tableInfo);
+			}
+		} catch (final Exception e) {
+			log.error("Failed to retrieve table info for {} {}", schema, longTableName, e);
+		}
+		return Optional.empty();
+	}
 
+	/**
+	 * reads the columns, primary keys and column CCSIDs without touching the cache, safe to call from a thread other
+	 * than the one decoding as long as it has its own connection
+	 *
+	 * @param connect not the connection the decoding thread uses, JDBC connections aren't thread safe
+	 * @return empty when the table no longer exists
+	 */
+	public Optional<TableDescription> describe(Connect<Connection, SQLException> connect, String systemTableName,
+			String schema) throws SQLException {
+		final String longTableName = getLongName(connect, schema, systemTableName).orElse(systemTableName);
+		return describe(connect, systemTableName, schema, longTableName);
+	}
+
+	/**
+	 * both the cache miss and the structure change paths load through here so each load is one {@link SchemaLoad}
+	 */
+	private Optional<TableDescription> describe(Connect<Connection, SQLException> connect, String systemTableName,
+			String schema, String longTableName) throws SQLException {
+		final SchemaLoad event = new SchemaLoad();
+		event.begin();
+		int roundTrips = 0;
+		Optional<TableDescription> description = Optional.empty();
+		try {
 			final String databaseCatalog = null;
-			final List<AS400DataType> as400structure = new ArrayList<>();
 			final List<Structure> jdbcStructure = new ArrayList<>();
 
-			final Connection con = jdbcConnect.connection();
+			final Connection con = connect.connection();
 			final DatabaseMetaData metadata = con.getMetaData();
+			roundTrips++;
 			try (ResultSet columnMetadata = metadata.getColumns(databaseCatalog, schema, longTableName, null)) {
 				while (columnMetadata.next()) {
 					// @see
@@ -159,37 +300,111 @@ public class JdbcFileDecoder extends JournalFileEntryDecoder {
 					final int position = columnMetadata.getInt(17);
 					final boolean autoInc = "YES".equalsIgnoreCase(columnMetadata.getString(23));
 
-					jdbcStructure
-							.add(new Structure(name, type, jdcbType, length, precision, optional, position, autoInc));
-					final AS400DataType dataType = toDataType(schema, longTableName, name, type, length, precision);
-
-					as400structure.add(dataType);
+					jdbcStructure.add(new Structure(name, type, jdcbType, length, precision, optional, position, autoInc));
 				}
-				final AS400Structure entryDetailStructure = new AS400Structure(
-						as400structure.toArray(new AS400DataType[as400structure.size()]));
+			}
+			if (jdbcStructure.isEmpty()) {
+				return description;
+			}
 
-				List<String> primaryKeys = primaryKeysFromMeta(longTableName, schema, databaseCatalog, metadata);
+			roundTrips++;
+			List<String> primaryKeys = primaryKeysFromMeta(longTableName, schema, databaseCatalog, metadata);
 
-				if (primaryKeys.isEmpty()) {
-					primaryKeys = ddsPrimaryKeys(systemTableName, schema);
-				}
+			if (primaryKeys.isEmpty()) {
+				roundTrips++;
+				primaryKeys = ddsPrimaryKeys(con, systemTableName, schema);
+			}
+			if (forcedCcsid == -1) {
+				roundTrips++;
+			}
+			description = Optional.of(
+					new TableDescription(jdbcStructure, primaryKeys, columnCcsids(con, schema, longTableName)));
+			return description;
+		} finally {
+			event.end();
+			if (event.shouldCommit()) {
+				event.library = schema;
+				event.table = longTableName;
+				event.roundTrips = roundTrips;
+				event.found = description.isPresent();
+				event.commit();
+			}
+		}
+	}
 
-				tableInfo = new TableInfo(jdbcStructure, primaryKeys, entryDetailStructure);
-				schemaCache.store(databaseName, schema, longTableName, tableInfo);
 
-				return Optional.of(tableInfo);
+	private Map<String, Integer> columnCcsids(Connection con, String schema, String longTableName)
+			throws SQLException {
+		if (forcedCcsid != -1) {
+			return Map.of();
+		}
+		final Map<String, Integer> canonical = new HashMap<>();
+		fetchAllCcsidForTable(con, schema, longTableName, canonical);
+		final String prefix = String.format("%s.%s.", schema, longTableName);
+		final Map<String, Integer> ccsids = new HashMap<>();
+		canonical.forEach((name, ccsid) -> {
+			if (name.startsWith(prefix)) {
+				ccsids.put(name.substring(prefix.length()), ccsid);
 			}
-		} catch (final Exception e) {
-			log.error("Failed to retrieve table info for {} {}", schema, longTableName, e);
+		});
+		return ccsids;
+	}
+
+	private TableInfo toTableInfo(String schema, String longTableName, TableDescription description) {
+		final List<Structure> jdbcStructure = description.structure();
+		final List<AS400DataType> as400structure = new ArrayList<>(jdbcStructure.size());
+		for (final Structure s : jdbcStructure) {
+			as400structure.add(
+					toDataType(schema, longTableName, s.getName(), s.getType(), s.getLength(), s.getPrecision()));
 		}
-		log.warn("No table structure found for {}", systemTableName);
+		final AS400Structure entryDetailStructure = new AS400Structure(project(schema, longTableName,
+				jdbcStructure.stream().map(Structure::getName).toList(), as400structure, description.primaryKeys()));
 
-		return Optional.empty();
+		return new TableInfo(jdbcStructure, description.primaryKeys(), entryDetailStructure,
+				description.fingerprint());
+	}
+
+	/**
+	 * @return true once a table with LOB or XML columns has been loaded, their values have to be fetched separately
+	 */
+	public boolean hasLobTables() {
+		return lobTables;
+	}
+
+	/**
+	 * applies a {@link #describe(Connect, String, String)} taken after a structure change, the cached table is only rebuilt
+	 * when its fingerprint differs so changes that leave the record format alone (constraints, triggers,
+	 * authorities) cost no more than the describe
+	 *
+	 * @return true when the cached structure was replaced or removed
+	 */
+	public boolean refresh(String systemTableName, String schema, Optional<TableDescription> description) {
+		final String longTableName = getLongName(schema, systemTableName).orElse(systemTableName);
+		if (description.isEmpty()) {
+			log.info("table {}.{} no longer exists", schema, longTableName);
+			schemaCache.clearCache(databaseName, schema, longTableName);
+			return true;
+		}
+		final TableInfo cached = schemaCache.retrieve(databaseName, schema, longTableName);
+		if (cached != null && cached.getFingerprint() == description.get().fingerprint()) {
+			log.debug("structure of {}.{} unchanged", schema, longTableName);
+			return false;
+		}
+		log.info("structure of {}.{} changed, rebuilding", schema, longTableName);
+		evictCcsids(schema, longTableName);
+		evictCcsids(schema, systemTableName);
+		try {
+			schemaCache.store(databaseName, schema, longTableName,
+					toTableInfo(schema, longTableName, description.get()));
+		} catch (final Exception e) {
+			log.error("Failed to rebuild table info for {} {}", schema, longTableName, e);
+			schemaCache.clearCache(databaseName, schema, longTableName);
+		}
+		return true;
 	}
 
-	private List<String> ddsPrimaryKeys(String table, String schema) throws SQLException {
+	private List<String> ddsPrimaryKeys(Connection con, String table, String schema) throws SQLException {
 		final List<String> primaryKeys = new ArrayList<>();
-		final Connection con = jdbcConnect.connection();
 
 		try (PreparedStatement ps = con.prepareStatement(UNIQUE_KEYS)) {
 			ps.setString(1, schema);
@@ -223,15 +438,21 @@ public class JdbcFileDecoder extends JournalFileEntryDecoder {
 	}
 
 	private static final String GET_TABLE_NAME = "select table_name from qsys2.systables where table_schema=? AND system_table_name=?";
-	private final Map<String, Optional<String>> systemToLongName = new HashMap<>();
+	// also read by describe on the structure loading thread
+	private final Map<String, Optional<String>> systemToLongName = new ConcurrentHashMap<>();
 
 	public Optional<String> getLongName(String schemaName, String systemName) {
+		return getLongName(jdbcConnect, schemaName, systemName);
+	}
+
+	private Optional<String> getLongName(Connect<Connection, SQLException> connect, String schemaName,
+			String systemName) {
 		if (systemToLongName.containsKey(systemName)) {
 			return systemToLongName.get(systemName);
 		} else {
 			try {
-				final Connection con = jdbcConnect.connection();
-				try (PreparedStatement ps = con.prepareStatement(GET_TABLE_NAME)) {
+				final Connection con = connect.connection();
+						try (PreparedStatement ps = con.prepareStatement(GET_TABLE_NAME)) {
 					ps.setString(1, schemaName);
 					ps.setString(2, systemName);
 					try (ResultSet rs = ps.executeQuery()) {
@@ -255,7 +476,7 @@ public class JdbcFileDecoder extends JournalFileEntryDecoder {
 	static final Pattern VAR_BIT_DATA = Pattern.compile("VARCHAR \\(([(0-9]*)\\) FOR BIT DATA");
 
 	private static final String GET_CCSID = "select table_name, system_table_name, column_name, system_column_name, ccsid FROM qsys2.SYSCOLUMNS where table_schema=? and (system_table_name = ? or table_name = ?)";
-	private final Map<String, Integer> ccsidMap = new HashMap<>();
+	private final Map<String, Integer> ccsidMap = new ConcurrentHashMap<>();
 
 	public Integer getCcsid(String schema, String table, String columnName) {
 		if (forcedCcsid != -1) {
@@ -268,7 +489,7 @@ public class JdbcFileDecoder extends JournalFileEntryDecoder {
 		}
 
 		try {
-			fetchAllCcsidForTable(schema, table);
+			fetchAllCcsidForTable(jdbcConnect.connection(), schema, table, ccsidMap);
 
 			return ccsidMap.get(canonicalName);
 		} catch (final SQLException e) {
@@ -277,8 +498,13 @@ public class JdbcFileDecoder extends JournalFileEntryDecoder {
 		}
 	}
 
-	private void fetchAllCcsidForTable(String schema, String table) throws SQLException {
-		final Connection con = jdbcConnect.connection();
+	private void evictCcsids(String schema, String table) {
+		final String prefix = String.format("%s.%s.", schema, table);
+		ccsidMap.keySet().removeIf(k -> k.startsWith(prefix));
+	}
+
+	private void fetchAllCcsidForTable(Connection con, String schema, String table, Map<String, Integer> ccsids)
+			throws SQLException {
 		try (PreparedStatement ps = con.prepareStatement(GET_CCSID)) {
 			ps.setString(1, schema.toUpperCase());
 			ps.setString(2, table.toUpperCase());
@@ -294,50 +520,84 @@ public class JdbcFileDecoder extends JournalFileEntryDecoder {
 					final String canonicalShortName = String.format("%s.%s.%s", schema, shortTableName, shortcolumn);
 					final int ccsid = (ccsidObj == null) ? -1 : (Integer) ccsidObj;
 
-					ccsidMap.put(canonicalLongName, ccsid);
-					ccsidMap.put(canonicalShortName, ccsid);
+					ccsids.put(canonicalLongName, ccsid);
+					ccsids.put(canonicalShortName, ccsid);
 				}
 			}
 		}
 	}
 
-	AS400Text getText(int length, int ccsid) {
-		if (forcedCcsid != -1) {
-			return new AS400Text(length, forcedCcsid);
-		} else if (ccsid != -1) {
-			return new AS400Text(length, ccsid);
+	// single byte CCSIDs are decoded from a table, JT400 only handles DBCS and mixed
+	AS400DataType getText(int length, int ccsid, String columnName) {
+		final int effectiveCcsid = (forcedCcsid != -1) ? forcedCcsid : ccsid;
+		final SingleByteCcsid table = SingleByteCcsid.forCcsid(effectiveCcsid);
+		if (table != null) {
+			return new AS400SingleByteText(length, table, columnName);
+		}
+		if (effectiveCcsid != -1) {
+			return new AS400Text(length, effectiveCcsid);
 		}
 		return new AS400Text(length);
 	}
 
-	AS400VarChar getVarText(int length, Integer ccsid) {
-		if (forcedCcsid != -1) {
-			return new AS400VarChar(length, ccsid);
+	// the column CCSID as for fixed length text, getCcsid gives the forced one when set
+	AS400VarChar getVarText(int length, Integer ccsid, String columnName) {
+		final int effectiveCcsid = (forcedCcsid != -1) ? forcedCcsid : (ccsid == null) ? -1 : ccsid;
+		return new AS400VarChar(length, effectiveCcsid, columnName);
+	}
+
+	// up to 18 digits fit in a long, wider values go through JT400
+	static AS400DataType packedDecimal(int length, int precision) {
+		if (AS400UnscaledDecimal.fitsInLong(length)) {
+			return new AS400PackedLong(length, precision);
+		}
+		return new AS400PackedDecimal(length, precision);
+	}
+
+	static AS400DataType zonedDecimal(int length, int precision) {
+		if (AS400UnscaledDecimal.fitsInLong(length)) {
+			return new AS400ZonedLong(length, precision);
+		}
+		return new AS400ZonedDecimal(length, precision);
+	}
+
+	/**
+	 * replaces the types of columns excluded by the column filter with {@link AS400Excluded} so they are skipped
+	 * without being decoded, primary key columns are always decoded as they make up the record key
+	 */
+	public AS400DataType[] project(String schema, String table, List<String> columnNames, List<AS400DataType> types,
+			Collection<String> primaryKeys) {
+		final AS400DataType[] projected = types.toArray(new AS400DataType[types.size()]);
+		for (int i = 0; i < projected.length; i++) {
+			final String column = columnNames.get(i);
+			if (!primaryKeys.contains(column) && !columnFilter.isIncluded(databaseName, schema, table, column)) {
+				projected[i] = new AS400Excluded(projected[i]);
+			}
 		}
-		return new AS400VarChar(length);
+		return projected;
 	}
 
 	public AS400DataType toDataType(String schema, String table, String columnName, String type, int length,
 			Integer precision) {
 		switch (type) {
 		case "DECIMAL":
-			return new AS400PackedDecimal(length, precision);
+			return packedDecimal(length, precision);
 		case "CHAR () FOR BIT DATA": // password fields - treat as binary
 			return new AS400ByteArray(length);
 		case "VARCHAR () FOR BIT DATA": // password fields - treat as binary
 			return new AS400VarBin(length);
 		case "CHAR":
-			return getText(length, getCcsid(schema, table, columnName));
+			return getText(length, getCcsid(schema, table, columnName), columnName);
 		case "NCHAR":
-			return getText(length, getCcsid(schema, table, columnName));
+			return getText(length, getCcsid(schema, table, columnName), columnName);
 		case "NVARCHAR":
-			return getVarText(length, getCcsid(schema, table, columnName));
+			return getVarText(length, getCcsid(schema, table, columnName), columnName);
 		case "TIMESTAMP":
 			return AS400_TIMESTAMP;
 		case "VARCHAR":
-			return getVarText(length, getCcsid(schema, table, columnName));
+			return getVarText(length, getCcsid(schema, table, columnName), columnName);
 		case "NUMERIC":
-			return new AS400ZonedDecimal(length, precision);
+			return zonedDecimal(length, precision);
 		case "DATE":
 			return AS400_DATE;
 		case "TIME":
@@ -356,10 +616,12 @@ public class JdbcFileDecoder extends JournalFileEntryDecoder {
 			return new AS400ByteArray(length);
 		case "VARBINARY":
 			return new AS400VarBin(length);
+		case "CLOB":
+		case "DBCLOB":
+		case "BLOB":
 		case "XML":
-			return AS400_XML;
-//			case "CLOB":
-//				return new AS400Clob(as400);
+			lobTables = true;
+			return new AS400Lob(type, columnName);
 		default:
 			final Optional<Integer> varLength = bitDataLengthFromRegex(type, length, VAR_BIT_DATA);
 			if (varLength.isPresent()) {
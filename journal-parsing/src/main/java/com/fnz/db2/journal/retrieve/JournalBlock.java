@@ -0,0 +1,126 @@
+package com.fnz.db2.journal.retrieve;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Objects;
+
+import com.fnz.db2.journal.data.types.SingleByteCcsid;
+import com.ibm.as400.access.AS400Text;
+
+/**
+ * Read only view of journal data, such as the receiver variable of QjoRetrieveJournalEntries, with big endian
+ * accessors for the fixed RJNE0200 layouts.
+ * <p>
+ * The data may be on or off heap. Slices share the memory of the block they are taken from, offsets are relative
+ * to the slice and every access is bounds checked against it. Decoders built on JT400 data types need a byte
+ * array, {@link #array()} hands them the backing array of a heap block without copying.
+ */
+public final class JournalBlock {
+	private static final VarHandle SHORT = MethodHandles.byteBufferViewVarHandle(short[].class, ByteOrder.BIG_ENDIAN);
+	private static final VarHandle INT = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+	private static final VarHandle LONG = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+	private static final BigInteger TWO_TO_64 = BigInteger.ONE.shiftLeft(64);
+	/**
+	 * CCSID header text is decoded in, as AS400Text without a system does it, the CCSID JT400 takes from the locale
+	 */
+	public static final int TEXT_CCSID = SingleByteCcsid.defaultCcsid();
+	// null for a double byte default
+	private static final SingleByteCcsid TEXT = SingleByteCcsid.forCcsid(TEXT_CCSID);
+
+	private final ByteBuffer buffer;
+	private byte[] copy;
+
+	private JournalBlock(ByteBuffer buffer) {
+		this.buffer = buffer;
+	}
+
+	public static JournalBlock wrap(byte[] data) {
+		return new JournalBlock(ByteBuffer.wrap(data));
+	}
+
+	/**
+	 * @return block over the remaining bytes of the buffer, which may be direct
+	 */
+	public static JournalBlock wrap(ByteBuffer buffer) {
+		return new JournalBlock(buffer.slice());
+	}
+
+	public int length() {
+		return buffer.limit();
+	}
+
+	public boolean isDirect() {
+		return buffer.isDirect();
+	}
+
+	public byte getByte(int offset) {
+		return buffer.get(offset);
+	}
+
+	public int getUnsignedShort(int offset) {
+		return Short.toUnsignedInt((short) SHORT.get(buffer, offset));
+	}
+
+	public int getInt(int offset) {
+		return (int) INT.get(buffer, offset);
+	}
+
+	public long getUnsignedInt(int offset) {
+		return Integer.toUnsignedLong(getInt(offset));
+	}
+
+	public long getLong(int offset) {
+		return (long) LONG.get(buffer, offset);
+	}
+
+	public BigInteger getUnsignedLong(int offset) {
+		final long value = getLong(offset);
+		final BigInteger big = BigInteger.valueOf(value);
+		return (value < 0) ? big.add(TWO_TO_64) : big;
+	}
+
+	/**
+	 * @return the text untrimmed, as AS400Text would decode it
+	 */
+	public String getText(int offset, int length) {
+		Objects.checkFromIndexSize(offset, length, length());
+		if (TEXT == null) {
+			return (String) new AS400Text(length, TEXT_CCSID).toObject(array(), arrayOffset() + offset);
+		}
+		final char[] chars = new char[length];
+		for (int i = 0; i < length; i++) {
+			chars[i] = TEXT.toChar(buffer.get(offset + i));
+		}
+		return new String(chars);
+	}
+
+	/**
+	 * @return view of {@code length} bytes from {@code offset} sharing this block's memory
+	 */
+	public JournalBlock slice(int offset, int length) {
+		Objects.checkFromIndexSize(offset, length, length());
+		return new JournalBlock(buffer.slice(offset, length));
+	}
+
+	/**
+	 * @return the backing array of a heap block, for a direct block a copy made on first use; offset 0 of the
+	 *         block is at {@link #arrayOffset()}
+	 */
+	public byte[] array() {
+		if (buffer.hasArray()) {
+			return buffer.array();
+		}
+		if (copy == null) {
+			copy = new byte[length()];
+			buffer.get(0, copy);
+		}
+		return copy;
+	}
+
+	public int arrayOffset() {
+		return buffer.hasArray() ? buffer.arrayOffset() : 0;
+	}
+}
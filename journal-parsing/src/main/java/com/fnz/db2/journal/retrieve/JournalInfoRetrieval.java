@@ -18,7 +18,6 @@ import com.fnz.db2.journal.retrieve.rnrn0200.KeyHeader;
 import com.fnz.db2.journal.retrieve.rnrn0200.ReceiverDecoder;
 import com.ibm.as400.access.AS400;
 import com.ibm.as400.access.AS400Bin4;
-import com.ibm.as400.access.AS400Bin8;
 import com.ibm.as400.access.AS400DataType;
 import com.ibm.as400.access.AS400Message;
 import com.ibm.as400.access.AS400Structure;
@@ -38,7 +37,6 @@ public class JournalInfoRetrieval {
 	private static final byte[] EMPTY_AS400_TEXT = new AS400Text(0).toBytes("");
 	private static final AS400Text AS400_TEXT_8 = new AS400Text(8);
 	private static final AS400Text AS400_TEXT_20 = new AS400Text(20);
-	private static final AS400Bin8 AS400_BIN8 = new AS400Bin8();
 	private static final AS400Bin4 AS400_BIN4 = new AS400Bin4();
 	private static final int KEY_HEADER_LENGTH = 20;
 	static final Logger log = LoggerFactory.getLogger(JournalInfoRetrieval.class);
@@ -276,18 +274,15 @@ public class JournalInfoRetrieval {
 	}
 
 	public static Integer decodeInt(byte[] data, int offset) {
-		final byte[] b = Arrays.copyOfRange(data, offset, offset + 4);
-		return Integer.valueOf(AS400_BIN4.toInt(b));
+		return Integer.valueOf(JournalBlock.wrap(data).getInt(offset));
 	}
 
 	public static Long decodeLong(byte[] data, int offset) {
-		final byte[] b = Arrays.copyOfRange(data, offset, offset + 8);
-		return Long.valueOf(AS400_BIN8.toLong(b));
+		return Long.valueOf(JournalBlock.wrap(data).getLong(offset));
 	}
 
 	public static String decodeString(byte[] data, int offset, int length) {
-		final byte[] b = Arrays.copyOfRange(data, offset, offset + length);
-		return StringHelpers.safeTrim((String) new AS400Text(length).toObject(b));
+		return StringHelpers.safeTrim(JournalBlock.wrap(data).getText(offset, length));
 	}
 
 	public static String padRight(String s, int n) {
@@ -299,8 +294,6 @@ public class JournalInfoRetrieval {
 	}
 
 	public static BigInteger decodeBigIntFromString(byte[] data, int offset) {
-		final byte[] b = Arrays.copyOfRange(data, offset, offset + 20);
-		final String s = (String) AS400_TEXT_20.toObject(b);
-		return new BigInteger(s);
+		return new BigInteger(JournalBlock.wrap(data).getText(offset, 20));
 	}
 }
@@ -0,0 +1,113 @@
+package com.fnz.db2.journal.retrieve;
+
+import java.util.Arrays;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Null value indicators of one row image as a bitset, reused from entry to entry rather than allocated per row
+ * <p>
+ * The indicators follow a 4 byte length, one byte per field, BCD bottom 4 bits: 1 = is null, 0 = not null, 9 =
+ * default value returned, which for entries minimised on field boundaries marks a field that was left out because it
+ * did not change
+ */
+public class NullIndicators {
+	private static final Logger log = LoggerFactory.getLogger(NullIndicators.class);
+	private long[] bits = new long[4];
+	private long[] unchanged = new long[4];
+	private int length = 0;
+	private boolean anyNull = false;
+	private boolean anyUnchanged = false;
+
+	/**
+	 * @param nullEntryOffset displacement of the null value indicators from the start of the entry, 0 for none
+	 */
+	public NullIndicators read(byte[] data, int offset, int nullEntryOffset) {
+		return read(data, offset, nullEntryOffset, false);
+	}
+
+	/**
+	 * @param minimised entry was minimised, default value indicators mark the fields that were left out
+	 */
+	public NullIndicators read(byte[] data, int offset, int nullEntryOffset, boolean minimised) {
+		if (anyNull) {
+			Arrays.fill(bits, 0, wordsFor(length), 0L);
+		}
+		if (anyUnchanged) {
+			Arrays.fill(unchanged, 0, wordsFor(length), 0L);
+		}
+		length = 0;
+		anyNull = false;
+		anyUnchanged = false;
+		if (nullEntryOffset == 0) {
+			return this;
+		}
+		final int start = offset + nullEntryOffset;
+		length = length(data, start);
+		if (wordsFor(length) > bits.length) {
+			bits = new long[wordsFor(length)];
+			unchanged = new long[wordsFor(length)];
+		}
+		for (int i = 0; i < length; i++) {
+			final byte indicator = data[start + 4 + i];
+			if (isNull(indicator)) {
+				bits[i >>> 6] |= 1L << i;
+				anyNull = true;
+			} else if (minimised && isUnchanged(indicator)) {
+				unchanged[i >>> 6] |= 1L << i;
+				anyUnchanged = true;
+			}
+		}
+		return this;
+	}
+
+	public boolean isNull(int field) {
+		return anyNull && field < length && (bits[field >>> 6] & (1L << field)) != 0;
+	}
+
+	public boolean anyNull() {
+		return anyNull;
+	}
+
+	/**
+	 * @return true when the field was left out of a minimised entry and holds a default value
+	 */
+	public boolean isUnchanged(int field) {
+		return anyUnchanged && field < length && (unchanged[field >>> 6] & (1L << field)) != 0;
+	}
+
+	public boolean anyUnchanged() {
+		return anyUnchanged;
+	}
+
+	public int length() {
+		return length;
+	}
+
+	/**
+	 * @param start position of the null value indicators length
+	 * @return number of indicators, 0 when the length is unreasonable
+	 */
+	static int length(byte[] data, int start) {
+		final long l = ((data[start] & 0xFFL) << 24) | ((data[start + 1] & 0xFF) << 16)
+				| ((data[start + 2] & 0xFF) << 8) | (data[start + 3] & 0xFF);
+		if (l > Integer.MAX_VALUE) {
+			log.error("null indicator length unreasonably large {}", l);
+			return 0;
+		}
+		return (int) l;
+	}
+
+	static boolean isNull(byte indicator) {
+		return (indicator & 15) == 1;
+	}
+
+	static boolean isUnchanged(byte indicator) {
+		return (indicator & 15) == 9;
+	}
+
+	private static int wordsFor(int fields) {
+		return (fields + 63) >>> 6;
+	}
+}
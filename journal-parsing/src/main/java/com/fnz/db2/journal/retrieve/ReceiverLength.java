@@ -0,0 +1,69 @@
+package com.fnz.db2.journal.retrieve;
+
+import com.fnz.db2.journal.retrieve.rjne0200.FirstHeader;
+
+/**
+ * Length of the receiver variable passed to QjoRetrieveJournalEntries, sized to the journal traffic.
+ * <p>
+ * JT400 allocates the whole receiver on every call however little the server fills in, so a fixed large receiver
+ * turns every idle poll into a large, often humongous, allocation. The length starts small, doubles while blocks
+ * come back full and halves once blocks have stayed under a quarter full for a while, never leaving the range from
+ * {@link #MIN_LENGTH} to the configured journal buffer size.
+ */
+public class ReceiverLength {
+	public static final int MIN_LENGTH = 32 * 1024;
+	static final int SHRINK_AFTER = 8;
+
+	private final int min;
+	private final int max;
+	private int length;
+	private int smallBlocks = 0;
+
+	public ReceiverLength(int max) {
+		this.max = max;
+		this.min = Math.min(MIN_LENGTH, max);
+		this.length = min;
+	}
+
+	public int get() {
+		return length;
+	}
+
+	public int getMax() {
+		return max;
+	}
+
+	public boolean atMax() {
+		return length >= max;
+	}
+
+	/**
+	 * adjusts the length to the block just fetched with it
+	 */
+	public void fetched(FirstHeader header) {
+		if (header.hasFutureDataAvailable() && header.totalBytes() > length / 2) {
+			length = (int) Math.min(max, 2L * length);
+			smallBlocks = 0;
+		} else if (header.totalBytes() < length / 4) {
+			if (++smallBlocks >= SHRINK_AFTER) {
+				length = Math.max(min, length / 2);
+				smallBlocks = 0;
+			}
+		} else {
+			smallBlocks = 0;
+		}
+	}
+
+	/**
+	 * the next entry doesn't fit in the current length, go straight to the maximum
+	 */
+	public void entryTooLarge() {
+		length = max;
+		smallBlocks = 0;
+	}
+
+	@Override
+	public String toString() {
+		return "ReceiverLength [length=" + length + ", min=" + min + ", max=" + max + "]";
+	}
+}
@@ -188,6 +188,17 @@ public class RetrievalCriteria {
 		addStructureData(RetrieveKey.ENTTYP, temp2Structure, temp2);
 	}
 	
+	/**
+	 * Add retrieval criteria 22: format minimized data. With *YES entries minimised on field boundaries are returned
+	 * as full row images, the fields left out hold default values and have a null value indicator of 9. Entries
+	 * minimised on byte boundaries are returned as is.
+	 * 
+	 * @param format
+	 */
+	public void withFormatMinimizedData(boolean format) {
+		addStructureData(RetrieveKey.FMTMINDTA, AS400_TEXT_10, StringHelpers.padRight(format ? "*YES" : "*NO", 10));
+	}
+
     /**
      * Add retrieval criteria 16: FILE. Input parameter must be one of the
      *          BINARY(4)   Number in array
@@ -8,17 +8,20 @@ import java.io.PrintWriter;
 import java.math.BigInteger;
 import java.nio.file.Files;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.fnz.db2.journal.retrieve.RetrievalCriteria.JournalCode;
 import com.fnz.db2.journal.retrieve.RetrievalCriteria.JournalEntryType;
+import com.fnz.db2.journal.retrieve.events.JournalFetch;
 import com.fnz.db2.journal.retrieve.exception.InvalidJournalFilterException;
 import com.fnz.db2.journal.retrieve.exception.InvalidPositionException;
 import com.fnz.db2.journal.retrieve.rjne0200.EntryHeader;
@@ -55,17 +58,21 @@ public class RetrieveJournal {
 	private final ParameterListBuilder builder = new ParameterListBuilder();
 
 	RetrieveConfig config;
-	private byte[] outputData = null;
+	private JournalBlock block = null;
 	private FirstHeader header = null;
 	private EntryHeader entryHeader = null;
 	private int offset = -1;
 	private JournalPosition position;
 	private long totalTransferred = 0;
+	private long lastRpcNanos = 0;
+	private final ReceiverLength receiverLength;
 	private final JournalInfoRetrieval journalInfoRetrieval;
 
 	public RetrieveJournal(RetrieveConfig config, JournalInfoRetrieval journalRetrieval) {
 		this.config = config;
 		this.journalInfoRetrieval = journalRetrieval;
+		this.receiverLength = new ReceiverLength(
+				Math.max(config.journalBufferSize(), ParameterListBuilder.DEFAULT_JOURNAL_BUFFER_SIZE));
 		builder.withJournal(config.journalInfo().receiver, config.journalInfo().receiverLibrary);
 	}
 
@@ -86,13 +93,18 @@ public class RetrieveJournal {
 		this.offset = -1;
 		this.entryHeader = null;
 		this.header = null;
+		// don't keep the previous block alive while JT400 allocates the next one
+		this.block = null;
 		this.position = retrievePosition;
+		this.lastRpcNanos = 0;
 
 		log.debug("Fetch journal at postion {}", retrievePosition);
 		final ServiceProgramCall spc = new ServiceProgramCall(config.as400().connection());
 		spc.getServerJob().setLoggingLevel(0);
 		builder.init();
+		builder.withBufferLenth(receiverLength.get());
 		builder.withJournalEntryType(JournalEntryType.ALL);
+		builder.withFormatMinimizedData();
 		if (config.filtering() && !config.includeFiles().isEmpty()) {
 			builder.withFileFilters(config.includeFiles());
 		}
@@ -131,14 +143,21 @@ public class RetrieveJournal {
 		spc.setProcedureName("QjoRetrieveJournalEntries");
 		spc.setAlignOn16Bytes(true);
 		spc.setReturnValueFormat(ServiceProgramCall.RETURN_INTEGER);
+		final JournalFetch fetchEvent = new JournalFetch();
+		fetchEvent.begin();
+		final long rpcStart = System.nanoTime();
 		final boolean success = spc.run();
+		lastRpcNanos = System.nanoTime() - rpcStart;
+		fetchEvent.end();
 		if (success) {
-			outputData = parameters[0].getOutputData();
-			header = firstHeaderDecoder.decode(outputData);
-			totalTransferred += header.totalBytes();
-			log.debug("first header: {} ", header);
+			fetched(retrievePosition, parameters[0].getOutputData(), fetchEvent);
 			offset = -1;
 			if (header.status() == OffsetStatus.MORE_DATA_NEW_OFFSET && header.offset() == 0) {
+				if (!receiverLength.atMax()) {
+					log.debug("entry larger than {} retrying with {}", receiverLength.get(), receiverLength.getMax());
+					receiverLength.entryTooLarge();
+					return retrieveJournal(retrievePosition);
+				}
 				log.error("buffer too small skipping this entry {}", retrievePosition);
 				header.nextPosition().ifPresent(retrievePosition::setPosition);
 			}
@@ -155,6 +174,26 @@ public class RetrieveJournal {
 		return success;
 	}
 
+	/**
+	 * takes over the block returned by QjoRetrieveJournalEntries, the fetch event has already ended and is committed
+	 * with what the block holds
+	 */
+	void fetched(JournalPosition retrievePosition, byte[] data, JournalFetch fetchEvent) {
+		block = JournalBlock.wrap(data);
+		header = firstHeaderDecoder.decode(block);
+		totalTransferred += header.totalBytes();
+		receiverLength.fetched(header);
+		log.debug("first header: {} ", header);
+		if (fetchEvent.shouldCommit()) {
+			fetchEvent.receiver = retrievePosition.getReciever();
+			fetchEvent.position = retrievePosition.toString();
+			fetchEvent.bytes = header.totalBytes();
+			fetchEvent.entries = header.size();
+			fetchEvent.status = header.status().name();
+			fetchEvent.commit();
+		}
+	}
+
 	private boolean reThrowIfFatal(JournalPosition retrievePosition, final ServiceProgramCall spc,
 			Optional<JournalPosition> latestJournalPosition)
 			throws InvalidPositionException, InvalidJournalFilterException, RetrieveJournalException {
@@ -206,17 +245,23 @@ public class RetrieveJournal {
 	record PositionRange(JournalPosition start, JournalPosition end) {
 	}
 
+	// refreshed at least this often so the cached end stays usable for the lag while far behind
+	static final long CURRENT_POSITION_MAX_AGE_NANOS = TimeUnit.SECONDS.toNanos(30);
+
 	List<DetailedJournalReceiver> cachedReceivers = Collections.emptyList();
 	DetailedJournalReceiver cachedCurrentPosition = null;
+	long cachedCurrentPositionNanos = 0;
 
 	Optional<PositionRange> findRange(AS400 as400, JournalPosition start) throws Exception {
 		BigInteger maxPosition = start.getOffset().add(BigInteger.valueOf(config.maxServerSideEntries()));
 		final boolean startValid = start.isOffsetSet() && !start.getOffset().equals(BigInteger.ZERO);
 		if (startValid) {
 			DetailedJournalReceiver currentPosition = cachedCurrentPosition;
-			if (cachedCurrentPosition == null || maxPosition.compareTo(cachedCurrentPosition.end()) >= 0) {
+			if (cachedCurrentPosition == null || maxPosition.compareTo(cachedCurrentPosition.end()) >= 0
+					|| System.nanoTime() - cachedCurrentPositionNanos > CURRENT_POSITION_MAX_AGE_NANOS) {
 				currentPosition = journalInfoRetrieval.getCurrentDetailedJournalReceiver(as400, config.journalInfo());
 				cachedCurrentPosition = currentPosition;
+				cachedCurrentPositionNanos = System.nanoTime();
 				// can't go beyond current journal end
 				if (maxPosition.compareTo(currentPosition.end()) >= 0) {
 					maxPosition = currentPosition.end();
@@ -241,6 +286,19 @@ public class RetrieveJournal {
 		return findInReceivers(start, maxPosition, startValid, receivers);
 	}
 
+	/**
+	 * @return the end of the attached receiver as last seen by findRange, no RPC
+	 *         is made so this is up to CURRENT_POSITION_MAX_AGE_NANOS old, or
+	 *         older when no block has been fetched since
+	 */
+	public Optional<BigInteger> getCachedJournalEnd() {
+		final DetailedJournalReceiver current = cachedCurrentPosition;
+		if (current == null) {
+			return Optional.empty();
+		}
+		return Optional.ofNullable(current.end());
+	}
+
 	private Optional<PositionRange> findInReceivers(JournalPosition start, BigInteger maxPosition, boolean startValid,
 			List<DetailedJournalReceiver> receivers) {
 		if (receivers.isEmpty()) {
@@ -305,9 +363,15 @@ public class RetrieveJournal {
 	}
 
 	public void setOutputData(byte[] b, FirstHeader header, JournalPosition position) {
-		outputData = b;
+		setBlock(JournalBlock.wrap(b), header, position);
+	}
+
+	public void setBlock(JournalBlock block, FirstHeader header, JournalPosition position) {
+		this.block = block;
 		this.header = header;
 		this.position = position;
+		this.offset = -1;
+		this.entryHeader = null;
 	}
 
 	public boolean futureDataAvailable() {
@@ -342,7 +406,7 @@ public class RetrieveJournal {
 		if (offset < 0) {
 			if (header.size() > 0) {
 				offset = header.offset();
-				entryHeader = entryHeaderDecoder.decode(outputData, offset);
+				entryHeader = entryHeaderDecoder.decode(block, offset);
 				if (alreadyProcessed(position, entryHeader)) {
 					updatePosition(position, entryHeader);
 					return nextEntry();
@@ -356,12 +420,14 @@ public class RetrieveJournal {
 			final long nextOffset = entryHeader.getNextEntryOffset();
 			if (nextOffset > 0) {
 				offset += (int) nextOffset;
-				entryHeader = entryHeaderDecoder.decode(outputData, offset);
+				entryHeader = entryHeaderDecoder.decode(block, offset);
 				updatePosition(position, entryHeader);
 				return true;
 			}
 
 			updateOffsetFromContinuation();
+			// every entry has been decoded, let the block go before the next fetch
+			block = null;
 			return false;
 		}
 	}
@@ -394,6 +460,32 @@ public class RetrieveJournal {
 		return entryHeader;
 	}
 
+	/**
+	 * @return the current entry, sharing the memory of the block
+	 */
+	public JournalBlock getEntry() {
+		return block.slice(offset, entryHeader.getEndOffset());
+	}
+
+	/**
+	 * @return the current entry and those after it in the block, without moving on
+	 */
+	public List<EntryHeader> remainingEntryHeaders() {
+		final List<EntryHeader> headers = new ArrayList<>();
+		if (offset < 0 || entryHeader == null || block == null) {
+			return headers;
+		}
+		EntryHeader next = entryHeader;
+		int nextOffset = offset;
+		headers.add(next);
+		while (next.getNextEntryOffset() > 0) {
+			nextOffset += next.getNextEntryOffset();
+			next = entryHeaderDecoder.decode(block, nextOffset);
+			headers.add(next);
+		}
+		return headers;
+	}
+
 	public void dumpEntry() {
 		final int start = offset + entryHeader.getEntrySpecificDataOffset();
 		final long end = entryHeader.getNextEntryOffset();
@@ -409,17 +501,25 @@ public class RetrieveJournal {
 	public <T> T decode(JournalEntryDeocder<T> decoder) throws Exception {
 //		Diagnostics.dump(outputData, start);
 		try {
-			final T t = decoder.decode(entryHeader, outputData, offset);
+			// JT400 data types only take arrays, a heap block's is shared without copying
+			final T t = decoder.decode(entryHeader, block.array(), block.arrayOffset() + offset);
 			return t;
 		} catch (final Exception e) {
-			dumpEntryToFile(config.dumpFolder());
+			dumpEntryToFile();
 			throw e;
 		}
 	}
 
+	/**
+	 * dumps the current entry to the configured dump folder, if any
+	 */
+	public void dumpEntryToFile() {
+		dumpEntryToFile(config.dumpFolder());
+	}
+
 	public void dumpEntryToFile(File path) {
 		File dumpFile = null;
-		if (path != null) {
+		if (path != null && block != null) {
 			boolean created = false;
 			for (int i = 0; !created && i < 100; i++) {
 
@@ -436,10 +536,10 @@ public class RetrieveJournal {
 			}
 			if (dumpFile != null) {
 				try {
-					final int start = offset;
-					final int end = outputData.length;
+					final int start = block.arrayOffset() + offset;
+					final int end = block.arrayOffset() + block.length();
 
-					final byte[] bdata = Arrays.copyOfRange(outputData, start, end);
+					final byte[] bdata = Arrays.copyOfRange(block.array(), start, end);
 					Files.write(dumpFile.toPath(), bdata);
 
 					final File entryInfo = new File(dumpFile.getPath() + ".txt");
@@ -451,7 +551,7 @@ public class RetrieveJournal {
 						out.print("dumped: ");
 						out.println(end - start);
 						out.print("total length: ");
-						out.println(outputData.length);
+						out.println(block.length());
 					}
 				} catch (final IOException e) {
 					log.error("failed to dump problematic data", e);
@@ -554,6 +654,11 @@ public class RetrieveJournal {
 			return this;
 		}
 
+		public ParameterListBuilder withFormatMinimizedData() {
+			criteria.withFormatMinimizedData(true);
+			return this;
+		}
+
 		public ParameterListBuilder withFileFilters(List<FileFilter> tableFilters) {
 			criteria.withFILE(tableFilters);
 			return this;
@@ -583,6 +688,21 @@ public class RetrieveJournal {
 		return totalTransferred;
 	}
 
+	/**
+	 * @return receiver length the next retrieveJournal will ask for
+	 */
+	public int getReceiverLength() {
+		return receiverLength.get();
+	}
+
+	/**
+	 * @return time spent in the QjoRetrieveJournalEntries call of the last
+	 *         retrieveJournal, 0 if no call was made
+	 */
+	public long getLastRpcNanos() {
+		return lastRpcNanos;
+	}
+
 	public static class RetrieveJournalException extends Exception {
 		private static final long serialVersionUID = 1L;
 
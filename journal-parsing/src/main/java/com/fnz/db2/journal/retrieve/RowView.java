@@ -0,0 +1,236 @@
+package com.fnz.db2.journal.retrieve;
+
+import java.util.Arrays;
+
+import com.ibm.as400.access.AS400DataType;
+
+/**
+ * Row image of a journal entry whose columns are decoded on first access and then remembered
+ * <p>
+ * A view reads straight from the journal buffer so it is only valid until the buffer is refilled, unless it is
+ * {@link #detach() detached} which copies the row image and null indicators out of the buffer. Not thread safe.
+ * <p>
+ * A view of a minimised entry only holds the fields that changed, the others are read from the row it was
+ * {@link #merge(RowView) merged} with, normally the before image. A field the base doesn't hold either, because
+ * there is no base or it was minimised too, is {@link #isAvailable(int) unavailable} and comes out as null unless
+ * a value is {@link #resolve(int, Object) resolved} for it.
+ */
+public class RowView {
+	public static final RowView EMPTY = new RowView(new AS400DataType[0], new int[0], new byte[0], 0, -1, 0, 0);
+
+	private final AS400DataType[] members;
+	private final int[] offsets;
+	private final Object[] values;
+	private final long[] decoded;
+	// fields given a value from outside the row image, available even when left out of a minimised entry
+	private final long[] resolved;
+	private final int entryLength;
+	private byte[] data;
+	private int rowStart;
+	private int nullStart;
+	private final int nullLength;
+	private final boolean minimised;
+	private RowView base;
+	private boolean detached = false;
+	private boolean failed = false;
+	private long decodeNanos = 0;
+
+	/**
+	 * @param nullStart position of the first null value indicator, -1 when the entry has none
+	 */
+	RowView(AS400DataType[] members, int[] offsets, byte[] data, int rowStart, int nullStart, int nullLength,
+			int entryLength) {
+		this(members, offsets, data, rowStart, nullStart, nullLength, entryLength, false);
+	}
+
+	RowView(AS400DataType[] members, int[] offsets, byte[] data, int rowStart, int nullStart, int nullLength,
+			int entryLength, boolean minimised) {
+		this.members = members;
+		this.offsets = offsets;
+		this.values = new Object[members.length];
+		this.decoded = new long[(members.length + 63) >>> 6];
+		this.resolved = new long[decoded.length];
+		this.data = data;
+		this.rowStart = rowStart;
+		this.nullStart = nullStart;
+		this.nullLength = (nullStart < 0) ? 0 : nullLength;
+		this.entryLength = entryLength;
+		this.minimised = minimised;
+	}
+
+	/**
+	 * @return detached view of column values that have already been decoded, such as a row read back from disk
+	 */
+	public static RowView of(Object[] values) {
+		final RowView view = new RowView(new AS400DataType[values.length], new int[values.length], new byte[0], 0, -1,
+				0, 0);
+		for (int i = 0; i < values.length; i++) {
+			view.resolve(i, values[i]);
+		}
+		view.detached = true;
+		return view;
+	}
+
+	public int size() {
+		return members.length;
+	}
+
+	public boolean isNull(int field) {
+		return field < nullLength && NullIndicators.isNull(data[nullStart + field]);
+	}
+
+	/**
+	 * @return true when the field was left out of a minimised entry
+	 */
+	public boolean isUnchanged(int field) {
+		return minimised && field < nullLength && NullIndicators.isUnchanged(data[nullStart + field]);
+	}
+
+	/**
+	 * @return false when the field was left out of a minimised entry, the base doesn't hold it either and no value
+	 *         was resolved for it
+	 */
+	public boolean isAvailable(int field) {
+		return !isUnchanged(field) || (resolved[field >>> 6] & (1L << field)) != 0
+				|| (base != null && base.isAvailable(field));
+	}
+
+	/**
+	 * @return true when the entry was minimised, only the changed fields are held
+	 */
+	public boolean isMinimised() {
+		return minimised;
+	}
+
+	/**
+	 * fields left out of a minimised entry are taken from the base
+	 *
+	 * @param base row the changes were made to, ignored when it has different columns
+	 */
+	public RowView merge(RowView base) {
+		if (base != null && base != this && base.size() == size()) {
+			this.base = base;
+		}
+		return this;
+	}
+
+	/**
+	 * @return the number of fields left out of a minimised entry that the base doesn't hold either
+	 */
+	public int countUnavailable() {
+		if (!minimised) {
+			return 0;
+		}
+		int unavailable = 0;
+		for (int i = 0; i < members.length; i++) {
+			if (!isAvailable(i)) {
+				unavailable++;
+			}
+		}
+		return unavailable;
+	}
+
+	public Object get(int field) {
+		if ((decoded[field >>> 6] & (1L << field)) == 0) {
+			final long start = System.nanoTime();
+			decode(field);
+			decodeNanos += System.nanoTime() - start;
+		}
+		return values[field];
+	}
+
+	/**
+	 * decodes every column not yet decoded
+	 *
+	 * @return the column values, backed by this view
+	 */
+	public Object[] toArray() {
+		if (members.length == 0) {
+			return values;
+		}
+		final long start = System.nanoTime();
+		for (int i = 0; i < members.length; i++) {
+			if ((decoded[i >>> 6] & (1L << i)) == 0) {
+				decode(i);
+			}
+		}
+		decodeNanos += System.nanoTime() - start;
+		return values;
+	}
+
+	private void decode(int field) {
+		if (isUnchanged(field)) {
+			if (base != null && base.isAvailable(field)) {
+				// time decoding the base is accounted to the base
+				final long baseNanos = base.decodeNanos;
+				values[field] = base.get(field);
+				decodeNanos -= base.decodeNanos - baseNanos;
+			}
+		} else if (!isNull(field)) {
+			try {
+				values[field] = members[field].toObject(data, rowStart + offsets[field]);
+			} catch (RuntimeException e) {
+				failed = true;
+				throw e;
+			}
+		}
+		decoded[field >>> 6] |= 1L << field;
+	}
+
+	/**
+	 * supplies the value of a column that is not held in the row image, such as a LOB
+	 */
+	public void resolve(int field, Object value) {
+		values[field] = value;
+		decoded[field >>> 6] |= 1L << field;
+		resolved[field >>> 6] |= 1L << field;
+	}
+
+	/**
+	 * copies the row image and null indicators out of the journal buffer so the view can be kept past the current
+	 * entry
+	 */
+	public RowView detach() {
+		if (base != null) {
+			base.detach();
+		}
+		if (detached || members.length == 0) {
+			return this;
+		}
+		final int rowLength = offsets[members.length - 1] + members[members.length - 1].getByteLength();
+		final byte[] copy = Arrays.copyOfRange(data, rowStart, rowStart + rowLength + nullLength);
+		if (nullLength > 0) {
+			System.arraycopy(data, nullStart, copy, rowLength, nullLength);
+			nullStart = rowLength;
+		}
+		data = copy;
+		rowStart = 0;
+		detached = true;
+		return this;
+	}
+
+	public boolean isDetached() {
+		return detached;
+	}
+
+	/**
+	 * @return true if decoding a column threw
+	 */
+	public boolean isFailed() {
+		return failed;
+	}
+
+	/**
+	 * @return time spent decoding columns so far
+	 */
+	public long getDecodeNanos() {
+		return decodeNanos;
+	}
+
+	/**
+	 * @return length of the journal entry the row came from
+	 */
+	public int getEntryLength() {
+		return entryLength;
+	}
+}
@@ -2,7 +2,10 @@ package com.fnz.db2.journal.retrieve;
 
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
+import com.fnz.db2.journal.data.types.AS400Lob;
+import com.ibm.as400.access.AS400DataType;
 import com.ibm.as400.access.AS400Structure;
 
 public interface SchemaCacheIF {
@@ -13,15 +16,34 @@ public interface SchemaCacheIF {
 	public class TableInfo {
 		private final List<Structure> structure;
 		private final AS400Structure as400Structure;
+		private final AS400DataType[] members;
+		private final int[] offsets;
 //		private final AS400Structure as400Keys;
 		private final List<String> primaryKeys;
+		private final long fingerprint;
+		private final int[] lobFields;
 
+		/**
+		 * the fingerprint leaves out the column CCSIDs, so the first structure change after this may rebuild an unchanged table
+		 */
 		public TableInfo(List<Structure> structure, List<String> primaryKeys, AS400Structure as400Structure) {
+			this(structure, primaryKeys, as400Structure, TableDescription.fingerprint(structure, primaryKeys, null));
+		}
+
+		public TableInfo(List<Structure> structure, List<String> primaryKeys, AS400Structure as400Structure,
+				long fingerprint) {
 			super();
 			this.structure = structure;
 			this.as400Structure = as400Structure;
+			this.members = as400Structure.getMembers();
+			this.offsets = new int[members.length];
+			for (int i = 1; i < members.length; i++) {
+				offsets[i] = offsets[i - 1] + members[i - 1].getByteLength();
+			}
 //			this.as400Keys = as400Keys;
 			this.primaryKeys = primaryKeys;
+			this.fingerprint = fingerprint;
+			this.lobFields = IntStream.range(0, members.length).filter(i -> members[i] instanceof AS400Lob).toArray();
 		}
 		public List<Structure> getStructure() {
 			return structure;
@@ -29,9 +51,30 @@ public interface SchemaCacheIF {
 		public AS400Structure getAs400Structure() {
 			return as400Structure;
 		}
+		public AS400DataType[] getMembers() {
+			return members;
+		}
+		/**
+		 * @return offset of each member from the start of the row image
+		 */
+		public int[] getOffsets() {
+			return offsets;
+		}
 		public List<String> getPrimaryKeys() {
 			return primaryKeys;
 		}
+		/**
+		 * @return indexes of the LOB and XML members, their values are not in the row image
+		 */
+		public int[] getLobFields() {
+			return lobFields;
+		}
+		/**
+		 * @see TableDescription#fingerprint()
+		 */
+		public long getFingerprint() {
+			return fingerprint;
+		}
 		@Override
 		public String toString() {
 			return "TableInfo [ primaryKeys=" + toString(primaryKeys) + " structure=[" + toString(structure) + "] ]";
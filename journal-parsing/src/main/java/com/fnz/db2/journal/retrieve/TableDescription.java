@@ -0,0 +1,63 @@
+package com.fnz.db2.journal.retrieve;
+
+import java.util.List;
+import java.util.Map;
+
+import com.fnz.db2.journal.retrieve.SchemaCacheIF.Structure;
+
+/**
+ * Columns, primary keys and column CCSIDs of a table as read from the catalog, before decoders are built
+ *
+ * @param ccsids by column name, empty when the CCSID is forced
+ */
+public record TableDescription(List<Structure> structure, List<String> primaryKeys, Map<String, Integer> ccsids) {
+	private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+	private static final long FNV_PRIME = 0x100000001b3L;
+
+	public TableDescription(List<Structure> structure, List<String> primaryKeys) {
+		this(structure, primaryKeys, Map.of());
+	}
+
+	public long fingerprint() {
+		return fingerprint(structure, primaryKeys, ccsids);
+	}
+
+	/**
+	 * 64 bit hash of everything that shapes the row image and the emitted schema, equal fingerprints mean the
+	 * cached decoders and schema can be kept
+	 */
+	public static long fingerprint(List<Structure> structure, List<String> primaryKeys, Map<String, Integer> ccsids) {
+		long hash = FNV_OFFSET;
+		if (structure != null) {
+			for (final Structure s : structure) {
+				hash = mix(hash, s.getName());
+				hash = mix(hash, s.getType());
+				hash = mix(hash, s.getJdcbType());
+				hash = mix(hash, s.getLength());
+				hash = mix(hash, s.getPrecision());
+				hash = mix(hash, s.isOptional() ? 1 : 0);
+				hash = mix(hash, s.getPosition());
+				hash = mix(hash, s.isAutoinc() ? 1 : 0);
+				// a CCSID only ALTER changes how the text is decoded but nothing else
+				final Integer ccsid = (ccsids == null) ? null : ccsids.get(s.getName());
+				hash = mix(hash, (ccsid == null) ? 0 : ccsid);
+			}
+		}
+		// keys are separated from the columns so moving a name from one list to the other changes the hash
+		hash = mix(hash, -1);
+		if (primaryKeys != null) {
+			for (final String key : primaryKeys) {
+				hash = mix(hash, key);
+			}
+		}
+		return hash;
+	}
+
+	private static long mix(long hash, String value) {
+		return mix(hash, (value == null) ? 0 : value.hashCode());
+	}
+
+	private static long mix(long hash, int value) {
+		return (hash ^ value) * FNV_PRIME;
+	}
+}
@@ -0,0 +1,38 @@
+package com.fnz.db2.journal.retrieve.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Decode of a single row image. A row decoded in one go has the decode time as its duration, a row decoded lazily is
+ * recorded once it has been dispatched with the time spent decoding the columns that were read as its decode time.
+ */
+@Name("com.fnz.db2.journal.EntryDecode")
+@Label("Entry Decode")
+@Category({ "IBM i", "Journal" })
+@Description("Decoding of the entry specific data of a journal entry")
+@StackTrace(false)
+public class EntryDecode extends Event {
+	@Label("Library")
+	public String library;
+
+	@Label("Table")
+	public String table;
+
+	@Label("Entry Type")
+	public String entryType;
+
+	@Label("Bytes")
+	@DataAmount
+	public long bytes;
+
+	@Label("Decode Time")
+	@Timespan(Timespan.NANOSECONDS)
+	public long decodeNanos;
+}
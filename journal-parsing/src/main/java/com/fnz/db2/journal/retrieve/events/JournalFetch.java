@@ -0,0 +1,35 @@
+package com.fnz.db2.journal.retrieve.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One QjoRetrieveJournalEntries call, the event duration is the RPC time
+ */
+@Name("com.fnz.db2.journal.JournalFetch")
+@Label("Journal Fetch")
+@Category({ "IBM i", "Journal" })
+@Description("Retrieval of a block of journal entries from the server")
+@StackTrace(false)
+public class JournalFetch extends Event {
+	@Label("Receiver")
+	public String receiver;
+
+	@Label("Start Sequence")
+	public String position;
+
+	@Label("Bytes")
+	@DataAmount
+	public long bytes;
+
+	@Label("Entries")
+	public long entries;
+
+	@Label("Status")
+	public String status;
+}
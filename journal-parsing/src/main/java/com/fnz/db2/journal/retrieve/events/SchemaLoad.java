@@ -0,0 +1,30 @@
+package com.fnz.db2.journal.retrieve.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Table structure fetched from the server on a schema cache miss or after a structure change
+ */
+@Name("com.fnz.db2.journal.SchemaLoad")
+@Label("Schema Load")
+@Category({ "IBM i", "Journal" })
+@Description("Table structure retrieved from the database after a schema cache miss or a structure change")
+@StackTrace(false)
+public class SchemaLoad extends Event {
+	@Label("Library")
+	public String library;
+
+	@Label("Table")
+	public String table;
+
+	@Label("Round Trips")
+	public int roundTrips;
+
+	@Label("Found")
+	public boolean found;
+}
@@ -0,0 +1,201 @@
+package com.fnz.db2.journal.retrieve.rjne0200;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import com.fnz.db2.journal.data.types.AS400DtsTimestamp;
+import com.fnz.db2.journal.retrieve.JournalBlock;
+import com.fnz.db2.journal.retrieve.JournalPosition;
+import com.fnz.db2.journal.retrieve.StringHelpers;
+import com.ibm.as400.access.AS400Text;
+
+/**
+ * Builds an RJNE0200 receiver variable, the inverse of {@link FirstHeaderDecoder} and {@link EntryHeaderDecoder}
+ * <p>
+ * Each entry is laid out as QjoRetrieveJournalEntries does with a null value indicator length of *VARLEN: header,
+ * receiver information, null value indicators then the entry specific data, every part starting on a 16 byte
+ * boundary. Header text is written in {@link JournalBlock#TEXT_CCSID}, the CCSID it is decoded in. Not thread safe, {@link #reset()} to reuse the buffer.
+ */
+public class BlockWriter {
+	static final int ALIGNMENT = 16;
+	static final int FIRST_ENTRY = align(FirstHeaderDecoder.CONTINUATION_SEQUENCE + FirstHeaderDecoder.SEQUENCE_LENGTH);
+	static final int HEADER_LENGTH = align(EntryHeaderDecoder.LENGTH);
+	// receiver, library, ASP device name and ASP number
+	static final int RECEIVER_INFO_LENGTH = 48;
+	// CHAR(5) length and CHAR(11) reserved ahead of the row image
+	static final int ENTRY_SPECIFIC_PREFIX = 16;
+	static final int TEXT_START = EntryHeaderDecoder.JOURNAL_CODE;
+	private static final byte BLANK = 0x40;
+	private static final int MAX_CACHED_TEXT = 1024;
+
+	/**
+	 * a journal entry as it is to be written
+	 *
+	 * @param timestamp    microseconds since 1970-01-01T00:00:00Z
+	 * @param commitCycle  0 outside commitment control
+	 * @param nullValues   one indicator byte per field, 0xF0 not null and 0xF1 null, or null for none
+	 * @param specificData the row image or null for none
+	 */
+	public record Entry(long sequence, long timestamp, char journalCode, String entryType, String file, String library,
+			String member, long commitCycle, String jobNumber, long threadId, long relativeRecordNumber, byte flags,
+			byte[] nullValues, byte[] specificData) {
+
+		public int length() {
+			return HEADER_LENGTH + RECEIVER_INFO_LENGTH + ((nullValues == null) ? 0 : align(4 + nullValues.length))
+					+ align(ENTRY_SPECIFIC_PREFIX + ((specificData == null) ? 0 : specificData.length));
+		}
+	}
+
+	private final ByteBuffer buffer;
+	private final Map<String, byte[]> text = new HashMap<>();
+	private byte[] receiverInfo;
+	private int used = FIRST_ENTRY;
+	private int entries = 0;
+	private int lastEntry = -1;
+
+	public BlockWriter(int capacity) {
+		this.buffer = ByteBuffer.allocate(capacity);
+		withReceiver("", "");
+	}
+
+	/**
+	 * @param receiver receiver the entries that follow are in, blank to leave out the receiver information
+	 */
+	public BlockWriter withReceiver(String receiver, String library) {
+		if (receiver == null || receiver.isBlank()) {
+			receiverInfo = null;
+			return this;
+		}
+		receiverInfo = new byte[RECEIVER_INFO_LENGTH];
+		Arrays.fill(receiverInfo, 0, 30, BLANK);
+		copy(StringHelpers.padRight(receiver, 10) + StringHelpers.padRight(library, 10), receiverInfo, 0);
+		return this;
+	}
+
+	/**
+	 * @return false, leaving the block unchanged, if the entry doesn't fit
+	 */
+	public boolean add(Entry entry) {
+		final int length = entry.length();
+		if (used + length > buffer.capacity()) {
+			return false;
+		}
+		final int start = used;
+		final byte[] data = buffer.array();
+		Arrays.fill(data, start, start + length, (byte) 0);
+		Arrays.fill(data, start + TEXT_START, start + EntryHeaderDecoder.FLAGS, BLANK);
+
+		int part = HEADER_LENGTH;
+		if (receiverInfo != null) {
+			buffer.putInt(start + EntryHeaderDecoder.RECEIVER_INFO_OFFSET, part);
+			System.arraycopy(receiverInfo, 0, data, start + part, RECEIVER_INFO_LENGTH);
+		}
+		part += RECEIVER_INFO_LENGTH;
+		if (entry.nullValues() != null) {
+			buffer.putInt(start + EntryHeaderDecoder.NULL_VALUE_OFFSET, part);
+			buffer.putInt(start + part, entry.nullValues().length);
+			System.arraycopy(entry.nullValues(), 0, data, start + part + 4, entry.nullValues().length);
+			part += align(4 + entry.nullValues().length);
+		}
+		buffer.putInt(start + EntryHeaderDecoder.ENTRY_SPECIFIC_DATA_OFFSET, part);
+		final int specificLength = (entry.specificData() == null) ? 0 : entry.specificData().length;
+		copy(String.format("%05d", specificLength), data, start + part);
+		Arrays.fill(data, start + part + 5, start + part + ENTRY_SPECIFIC_PREFIX, BLANK);
+		if (specificLength > 0) {
+			System.arraycopy(entry.specificData(), 0, data, start + part + ENTRY_SPECIFIC_PREFIX, specificLength);
+		}
+
+		buffer.putLong(start + EntryHeaderDecoder.SEQUENCE_NUMBER, entry.sequence());
+		buffer.putLong(start + EntryHeaderDecoder.TIMESTAMP, AS400DtsTimestamp.toDts(entry.timestamp()));
+		buffer.putLong(start + EntryHeaderDecoder.THREAD_ID, entry.threadId());
+		buffer.putLong(start + EntryHeaderDecoder.SYSTEM_SEQUENCE_NUMBER, entry.sequence());
+		buffer.putLong(start + EntryHeaderDecoder.RELATIVE_RECORD_NUMBER, entry.relativeRecordNumber());
+		buffer.putLong(start + EntryHeaderDecoder.COMMIT_CYCLE, entry.commitCycle());
+		copy(String.valueOf(entry.journalCode()), data, start + EntryHeaderDecoder.JOURNAL_CODE);
+		copy(entry.entryType(), data, start + EntryHeaderDecoder.ENTRY_TYPE);
+		copy(entry.jobNumber(), data, start + EntryHeaderDecoder.JOB_NUMBER);
+		copy(objectName(entry), data, start + EntryHeaderDecoder.OBJECT);
+		data[start + EntryHeaderDecoder.FLAGS] = entry.flags();
+
+		if (lastEntry >= 0) {
+			buffer.putInt(lastEntry + EntryHeaderDecoder.NEXT_ENTRY_OFFSET, start - lastEntry);
+		}
+		lastEntry = start;
+		used += length;
+		entries++;
+		return true;
+	}
+
+	public int capacity() {
+		return buffer.capacity();
+	}
+
+	public int entries() {
+		return entries;
+	}
+
+	/**
+	 * @return bytes used so far, including the first header
+	 */
+	public int length() {
+		return used;
+	}
+
+	/**
+	 * writes the first header
+	 *
+	 * @param continuation where the next retrieve starts, empty when there is no more data
+	 * @return the receiver variable, only as long as the entries in it
+	 */
+	public byte[] toBytes(Optional<JournalPosition> continuation) {
+		final byte[] data = buffer.array();
+		buffer.putInt(FirstHeaderDecoder.BYTES_RETURNED, used);
+		buffer.putInt(FirstHeaderDecoder.FIRST_ENTRY_OFFSET, (entries == 0) ? 0 : FIRST_ENTRY);
+		buffer.putInt(FirstHeaderDecoder.ENTRIES_RETRIEVED, entries);
+		Arrays.fill(data, FirstHeaderDecoder.CONTINUATION_INDICATOR, FIRST_ENTRY, (byte) 0);
+		if (continuation.isPresent()) {
+			final JournalPosition next = continuation.get();
+			copy("1" + StringHelpers.padRight(next.getReciever(), FirstHeaderDecoder.NAME_LENGTH)
+					+ StringHelpers.padRight(next.getReceiverLibrary(), FirstHeaderDecoder.NAME_LENGTH)
+					+ String.format("%020d", next.getOffset()), data, FirstHeaderDecoder.CONTINUATION_INDICATOR);
+		} else {
+			copy("0", data, FirstHeaderDecoder.CONTINUATION_INDICATOR);
+		}
+		return Arrays.copyOf(data, used);
+	}
+
+	public void reset() {
+		used = FIRST_ENTRY;
+		entries = 0;
+		lastEntry = -1;
+	}
+
+	private String objectName(Entry entry) {
+		if (entry.file() == null) {
+			return "";
+		}
+		return StringHelpers.padRight(entry.file(), 10) + StringHelpers.padRight(entry.library(), 10)
+				+ StringHelpers.padRight(entry.member(), 10);
+	}
+
+	private void copy(String s, byte[] data, int offset) {
+		if (s.isEmpty()) {
+			return;
+		}
+		byte[] bytes = text.get(s);
+		if (bytes == null) {
+			bytes = new AS400Text(s.length(), JournalBlock.TEXT_CCSID).toBytes(s);
+			if (text.size() < MAX_CACHED_TEXT) {
+				text.put(s, bytes);
+			}
+		}
+		System.arraycopy(bytes, 0, data, offset, bytes.length);
+	}
+
+	static int align(int length) {
+		return (length + ALIGNMENT - 1) & -ALIGNMENT;
+	}
+}
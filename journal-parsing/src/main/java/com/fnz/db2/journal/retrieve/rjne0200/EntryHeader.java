@@ -19,15 +19,19 @@ public class EntryHeader {
 	private final char journalCode;
 	private final String entryType;
 	private final String objectName;
-	private final BigInteger commitCycle;
+	private final long commitCycle;
 	private final int endOffset;
 	private final long pointerHandle;
 	private final String receiver;
 	private final String receiverLibrary;
+	private final String jobNumber;
+	private final long threadId;
+	private final long relativeRecordNumber;
+	private final byte flags;
 	
 	public EntryHeader(int nextEntryOffset, int nullValueOffest, long entrySpecificDataOffset, BigInteger sequenceNumber, BigInteger systemSequenceNumber,
-			java.sql.Timestamp timestamp, char journalCode, String entryType, String objectName, BigInteger commitCycle, int endOffset, long pointerHandle, 
-			String receiver, String receiverLibrary) {
+			java.sql.Timestamp timestamp, char journalCode, String entryType, String objectName, long commitCycle, int endOffset, long pointerHandle, 
+			String receiver, String receiverLibrary, String jobNumber, long threadId, long relativeRecordNumber, byte flags) {
 		super();
 		this.nextEntryOffset = nextEntryOffset;
 		this.nullValueOffest = nullValueOffest;
@@ -43,6 +47,10 @@ public class EntryHeader {
 		this.pointerHandle = pointerHandle;
 		this.receiver = receiver;
 		this.receiverLibrary = receiverLibrary;
+		this.jobNumber = jobNumber;
+		this.threadId = threadId;
+		this.relativeRecordNumber = relativeRecordNumber;
+		this.flags = flags;
 	}
 
 
@@ -69,7 +77,7 @@ public class EntryHeader {
 		builder.append(", objectName=");
 		builder.append(objectName);
 		builder.append(", commitCycle=");
-		builder.append(commitCycle);
+		builder.append(Long.toUnsignedString(commitCycle));
 		builder.append(", endOffset=");
 		builder.append(endOffset);
 		builder.append(", pointerHandle=");
@@ -78,6 +86,14 @@ public class EntryHeader {
 		builder.append(receiver);
 		builder.append(", receiverLibrary=");
 		builder.append(receiverLibrary);
+		builder.append(", jobNumber=");
+		builder.append(jobNumber);
+		builder.append(", threadId=");
+		builder.append(threadId);
+		builder.append(", relativeRecordNumber=");
+		builder.append(relativeRecordNumber);
+		builder.append(", flags=");
+		builder.append(flags);
 		builder.append("]");
 		return builder.toString();
 	}
@@ -146,6 +162,13 @@ public class EntryHeader {
 		return StringHelpers.safeTrim(objectName.substring(20, 30));
 	}
 	public BigInteger getCommitCycle() {
+		return new BigInteger(Long.toUnsignedString(commitCycle));
+	}
+
+	/**
+	 * @return the unsigned 8 byte commit cycle identifier as the bits of a long, 0 outside commitment control
+	 */
+	public long getCommitCycleId() {
 		return commitCycle;
 	}
 	public int getEndOffset() {
@@ -165,4 +188,38 @@ public class EntryHeader {
 	public String getReceiverLibrary() {
 		return receiverLibrary;
 	}
+
+	/**
+	 * @return job number of the job that wrote the entry, together with the
+	 *         thread id this identifies the writer
+	 */
+	public String getJobNumber() {
+		return jobNumber;
+	}
+
+	/**
+	 * @return relative record number of the row for record level entries
+	 */
+	public long getRelativeRecordNumber() {
+		return relativeRecordNumber;
+	}
+
+	/**
+	 * @return true when the entry specific data only holds the fields that changed, journal MINENTDTA
+	 */
+	public boolean isMinimised() {
+		return (flags & 8) != 0;
+	}
+
+	/**
+	 * @return true when a minimised entry was cut on field boundaries rather than byte boundaries, these are returned
+	 *         as full row images when retrieved with format minimised data
+	 */
+	public boolean isMinimisedOnFieldBoundaries() {
+		return (flags & 2) != 0;
+	}
+
+	public long getThreadId() {
+		return threadId;
+	}
 }
@@ -0,0 +1,137 @@
+package com.fnz.db2.journal.test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fnz.db2.journal.generator.JournalGenerator;
+import com.fnz.db2.journal.generator.JournalGenerator.Block;
+import com.fnz.db2.journal.generator.TableShape;
+import com.fnz.db2.journal.retrieve.FileFilter;
+import com.fnz.db2.journal.retrieve.JdbcFileDecoder;
+import com.fnz.db2.journal.retrieve.JournalInfo;
+import com.fnz.db2.journal.retrieve.JournalInfoRetrieval;
+import com.fnz.db2.journal.retrieve.JournalPosition;
+import com.fnz.db2.journal.retrieve.RetrievalCriteria.JournalCode;
+import com.fnz.db2.journal.retrieve.RetrieveConfig;
+import com.fnz.db2.journal.retrieve.RetrieveJournal;
+import com.fnz.db2.journal.retrieve.RowView;
+import com.fnz.db2.journal.retrieve.SchemaCacheHash;
+import com.fnz.db2.journal.retrieve.rjne0200.EntryHeader;
+
+/**
+ * Generates synthetic journal blocks and either writes them out, one receiver variable per file, or decodes them in
+ * process to measure the decode pipeline without an IBM i
+ * <p>
+ * arguments are name=value: entries (1000000), tables (10), columns (20), ccsid (37), block (131072 bytes), tx (1-10
+ * row changes), concurrent (4 transactions), rollback (0 percent), cc (100 percent under commitment control), mix
+ * (inserts:updates:deletes, 6:3:1), rate (50000 entries per second of journal time), nulls (10 percent), seed (1) and
+ * out (directory to write to, decodes when not given)
+ */
+public class GenerateJournal {
+	private static final Logger log = LoggerFactory.getLogger(GenerateJournal.class);
+	private static final String DATABASE = "SYNTHETIC";
+	private static final String LIBRARY = "LOADTEST";
+
+	public static void main(String[] args) throws Exception {
+		final Map<String, String> options = new HashMap<>();
+		for (final String arg : args) {
+			final String[] kv = arg.split("=", 2);
+			options.put(kv[0], (kv.length > 1) ? kv[1] : "");
+		}
+		final long entries = Long.parseLong(options.getOrDefault("entries", "1000000"));
+		final int tableCount = Integer.parseInt(options.getOrDefault("tables", "10"));
+		final int columns = Integer.parseInt(options.getOrDefault("columns", "20"));
+		final int ccsid = Integer.parseInt(options.getOrDefault("ccsid", "37"));
+		final int blockSize = Integer.parseInt(options.getOrDefault("block", "131072"));
+		final String[] tx = options.getOrDefault("tx", "1-10").split("-");
+		final String[] mix = options.getOrDefault("mix", "6:3:1").split(":");
+
+		final List<TableShape> tables = new ArrayList<>();
+		final JournalGenerator generator = new JournalGenerator()
+				.withMix(Integer.parseInt(mix[0]), Integer.parseInt(mix[1]), Integer.parseInt(mix[2]))
+				.withTransactionSize(Integer.parseInt(tx[0]), Integer.parseInt(tx[tx.length - 1]))
+				.withConcurrentTransactions(Integer.parseInt(options.getOrDefault("concurrent", "4")))
+				.withRollbackPercent(Integer.parseInt(options.getOrDefault("rollback", "0")))
+				.withCommitmentControl(Integer.parseInt(options.getOrDefault("cc", "100")))
+				.withEntriesPerSecond(Long.parseLong(options.getOrDefault("rate", "50000")))
+				.withNullPercent(Integer.parseInt(options.getOrDefault("nulls", "10")))
+				.withSeed(Long.parseLong(options.getOrDefault("seed", "1")))
+				.withLimit(entries);
+		for (int i = 0; i < tableCount; i++) {
+			final TableShape table = TableShape.mixed(LIBRARY, String.format("TABLE%04d", i), columns, ccsid);
+			tables.add(table);
+			// a few hot tables take most of the changes
+			generator.withTable(table, (i < 3) ? 10 : 1);
+		}
+
+		if (options.containsKey("out")) {
+			write(generator, blockSize, Paths.get(options.get("out")));
+		} else {
+			decode(generator, blockSize, tables);
+		}
+	}
+
+	private static void write(JournalGenerator generator, int blockSize, Path dir) throws Exception {
+		Files.createDirectories(dir);
+		int blocks = 0;
+		long bytes = 0;
+		while (generator.hasMore()) {
+			final Block block = generator.nextBlock(blockSize);
+			Files.write(dir.resolve(String.format("%08d.rjne0200", blocks++)), block.data());
+			bytes += block.data().length;
+		}
+		log.info("wrote {} entries, {} row changes, in {} blocks of {} bytes to {}", generator.getGenerated(),
+				generator.getRowChanges(), blocks, bytes, dir);
+	}
+
+	private static void decode(JournalGenerator generator, int blockSize, List<TableShape> tables) throws Exception {
+		final SchemaCacheHash cache = new SchemaCacheHash();
+		for (final TableShape table : tables) {
+			cache.store(DATABASE, table.library(), table.file(), table.tableInfo());
+		}
+		final JdbcFileDecoder decoder = new JdbcFileDecoder(() -> {
+			throw new SQLException("no database behind synthetic journal");
+		}, DATABASE, cache, -1);
+		final RetrieveJournal r = new RetrieveJournal(new RetrieveConfig(null, new JournalInfo("JOURNAL", LIBRARY),
+				blockSize, false, new JournalCode[0], new ArrayList<FileFilter>(),
+				RetrieveConfig.DEFAULT_MAX_SERVER_SIDE_ENTRIES, null), new JournalInfoRetrieval());
+		final JournalPosition position = new JournalPosition();
+
+		long generateNanos = 0;
+		long decodeNanos = 0;
+		long entries = 0;
+		long rows = 0;
+		long bytes = 0;
+		while (generator.hasMore()) {
+			final long start = System.nanoTime();
+			final Block block = generator.nextBlock(blockSize);
+			final long generated = System.nanoTime();
+			r.setOutputData(block.data(), block.header(), position);
+			while (r.nextEntry()) {
+				final EntryHeader header = r.getEntryHeader();
+				entries++;
+				if (header.getJournalCode() == 'R') {
+					final RowView row = r.decode(decoder::view);
+					row.toArray();
+					rows++;
+				}
+			}
+			generateNanos += generated - start;
+			decodeNanos += System.nanoTime() - generated;
+			bytes += block.data().length;
+		}
+		log.info("generated {} entries, {} MB in {} ms", entries, bytes >> 20, generateNanos / 1_000_000);
+		log.info("decoded {} entries, {} rows in {} ms: {} entries/s {} MB/s, position {}", entries, rows,
+				decodeNanos / 1_000_000, entries * 1_000_000_000L / Math.max(1, decodeNanos),
+				(bytes >> 20) * 1_000_000_000L / Math.max(1, decodeNanos), position);
+	}
+}
@@ -0,0 +1,103 @@
+package com.fnz.db2.journal.data.types;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.ibm.as400.access.AS400Date;
+import com.ibm.as400.access.AS400Text;
+import com.ibm.as400.access.AS400Time;
+import com.ibm.as400.access.AS400Timestamp;
+
+public class AS400IsoTemporalTest {
+
+	@Test
+	public void testDateMatchesJt400() throws Exception {
+		AS400IsoDate date = new AS400IsoDate();
+		AS400Date jt400 = new AS400Date();
+		Random random = new Random(42);
+		for (int i = 0; i < 2000; i++) {
+			LocalDate expected = LocalDate.ofEpochDay(random.nextInt(3_000_000) - 700_000);
+			byte[] data = ebcdic(expected.toString());
+			assertEquals(expected, date.toObject(data));
+			assertEquals(expected.toEpochDay(), date.toEpochDay(data, 0));
+			// JT400 switches to the Julian calendar before the Gregorian cutover
+			if (expected.getYear() > 1582) {
+				assertEquals(expected.toEpochDay() * 86_400_000L, ((java.util.Date) jt400.toObject(data)).getTime());
+			}
+		}
+		assertEquals(LocalDate.of(2024, 2, 29), date.toObject(ebcdic("2024-02-29")));
+		assertEquals(LocalDate.of(1, 1, 1), date.toObject(ebcdic("0001-01-01")));
+	}
+
+	@Test
+	public void testTime() throws Exception {
+		AS400IsoTime time = new AS400IsoTime();
+		assertEquals(LocalTime.of(13, 45, 59), time.toObject(ebcdic("13.45.59")));
+		assertEquals(LocalTime.of(13, 45, 59).toNanoOfDay(), time.toNanoOfDay(ebcdic("13.45.59"), 0));
+		assertEquals(LocalTime.MIDNIGHT, time.toObject(ebcdic("24.00.00")));
+		assertEquals(0, time.toNanoOfDay(ebcdic("24.00.00"), 0));
+		byte[] data = ebcdic("x13.45.59");
+		assertEquals(LocalTime.of(13, 45, 59), time.toObject(data, 1));
+		assertEquals(((java.util.Date) new AS400Time().toObject(data, 1)).getTime() * 1_000_000L,
+				time.toNanoOfDay(data, 1));
+	}
+
+	@Test
+	public void testTimestampMatchesJt400() throws Exception {
+		AS400IsoTimestamp timestamp = new AS400IsoTimestamp();
+		AS400Timestamp jt400 = new AS400Timestamp();
+		Random random = new Random(42);
+		for (int i = 0; i < 2000; i++) {
+			LocalDateTime expected = LocalDateTime.ofEpochSecond(random.nextLong() % 200_000_000_000L,
+					random.nextInt(1_000_000) * 1000, ZoneOffset.UTC);
+			if (expected.getYear() < 1 || expected.getYear() > 9999) {
+				continue;
+			}
+			byte[] data = ebcdic(String.format("%04d-%02d-%02d-%02d.%02d.%02d.%06d", expected.getYear(),
+					expected.getMonthValue(), expected.getDayOfMonth(), expected.getHour(), expected.getMinute(),
+					expected.getSecond(), expected.getNano() / 1000));
+			assertEquals(expected, timestamp.toObject(data));
+			long micros = expected.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + expected.getNano() / 1000;
+			assertEquals(micros, timestamp.toEpochMicros(data, 0));
+			assertEquals(micros * 1000, timestamp.toEpochNanos(data, 0));
+			if (expected.getYear() > 1582) {
+				Timestamp ts = (Timestamp) jt400.toObject(data);
+				assertEquals(expected.toInstant(ZoneOffset.UTC), ts.toInstant());
+			}
+		}
+		assertEquals(LocalDateTime.of(2024, 3, 1, 0, 0), timestamp.toObject(ebcdic("2024-02-29-24.00.00.000000")));
+	}
+
+	@Test
+	public void testDtsMatchesJt400() throws Exception {
+		AS400Timestamp jt400 = new AS400Timestamp();
+		Field dtsFormat = AS400Timestamp.class.getDeclaredField("FORMAT_DTS");
+		dtsFormat.setAccessible(true);
+		Method setFormat = AS400Timestamp.class.getDeclaredMethod("setFormat", int.class);
+		setFormat.setAccessible(true);
+		setFormat.invoke(jt400, (int) dtsFormat.get(jt400));
+
+		AS400DtsTimestamp dts = new AS400DtsTimestamp();
+		assertEquals(jt400.getByteLength(), dts.getByteLength());
+		Random random = new Random(42);
+		byte[] data = new byte[9];
+		for (int i = 0; i < 2000; i++) {
+			random.nextBytes(data);
+			assertEquals(jt400.toObject(data, 1), dts.toObject(data, 1));
+		}
+	}
+
+	private static byte[] ebcdic(String s) {
+		return new AS400Text(s.length(), 37).toBytes(s);
+	}
+}
@@ -0,0 +1,103 @@
+package com.fnz.db2.journal.data.types;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.ibm.as400.access.AS400DataType;
+import com.ibm.as400.access.AS400PackedDecimal;
+import com.ibm.as400.access.AS400ZonedDecimal;
+
+public class AS400UnscaledDecimalTest {
+
+	@Test
+	public void testPackedMatchesJt400() throws Exception {
+		Random random = new Random(42);
+		for (int digits = 1; digits <= AS400UnscaledDecimal.MAX_DIGITS; digits++) {
+			for (int scale = 0; scale <= digits; scale++) {
+				assertSameValues(new AS400PackedDecimal(digits, scale), new AS400PackedLong(digits, scale), random);
+			}
+		}
+	}
+
+	@Test
+	public void testZonedMatchesJt400() throws Exception {
+		Random random = new Random(42);
+		for (int digits = 1; digits <= AS400UnscaledDecimal.MAX_DIGITS; digits++) {
+			for (int scale = 0; scale <= digits; scale++) {
+				assertSameValues(new AS400ZonedDecimal(digits, scale), new AS400ZonedLong(digits, scale), random);
+			}
+		}
+	}
+
+	@Test
+	public void testExtremes() throws Exception {
+		AS400PackedLong packed = new AS400PackedLong(18, 2);
+		byte[] max = new AS400PackedDecimal(18, 2).toBytes(new BigDecimal("-9999999999999999.99"));
+		assertEquals(-999999999999999999L, packed.toUnscaledLong(max, 0));
+		assertEquals(new BigDecimal("-9999999999999999.99"), packed.toObject(max));
+		assertEquals(-9999999999999999.99, packed.toDouble(max, 0));
+
+		AS400ZonedLong zoned = new AS400ZonedLong(5, 2);
+		byte[] data = new byte[] { 0x00, (byte) 0xf1, (byte) 0xf2, (byte) 0xf3, (byte) 0xf4, (byte) 0xd5 };
+		assertEquals(new BigDecimal("-123.45"), zoned.toObject(data, 1));
+	}
+
+	@Test
+	public void testPaddingNibbleBeyondLong() throws Exception {
+		// 18 digits leave a padding nibble that JT400 reads as a 19th digit
+		byte[] data = new byte[] { (byte) 0x99, (byte) 0x99, (byte) 0x99, (byte) 0x99, (byte) 0x99, (byte) 0x99,
+				(byte) 0x99, (byte) 0x99, (byte) 0x99, (byte) 0x9c };
+		AS400PackedLong packed = new AS400PackedLong(18, 2);
+		BigDecimal expected = (BigDecimal) new AS400PackedDecimal(18, 2).toObject(data, 0);
+		assertThrows(ArithmeticException.class, () -> packed.toUnscaledLong(data, 0));
+		assertEquals(expected, packed.toObject(data, 0));
+		assertEquals(expected.doubleValue(), packed.toDouble(data, 0));
+	}
+
+	@Test
+	public void testInvalidNibbles() throws Exception {
+		AS400PackedLong packed = new AS400PackedLong(5, 2);
+		assertThrows(NumberFormatException.class, () -> packed.toObject(new byte[] { 0x12, 0x34, 0x50 }));
+		assertThrows(NumberFormatException.class, () -> packed.toObject(new byte[] { 0x1a, 0x34, 0x5c }));
+		AS400ZonedLong zoned = new AS400ZonedLong(3, 1);
+		assertThrows(NumberFormatException.class, () -> zoned.toObject(new byte[] { 0x40, 0x40, 0x40 }));
+	}
+
+	private static void assertSameValues(AS400DataType expected, AS400UnscaledDecimal actual, Random random) {
+		int length = expected.getByteLength();
+		assertEquals(length, actual.getByteLength());
+		byte[] data = new byte[length + 1];
+		for (int i = 0; i < 200; i++) {
+			// valid values round tripped through JT400
+			BigDecimal value = BigDecimal.valueOf(random.nextLong() % pow10(actual.getNumberOfDigits()), actual.getScale());
+			expected.toBytes(value, data, 1);
+			assertEquals(expected.toObject(data, 1), actual.toObject(data, 1));
+			assertEquals(value.doubleValue(), actual.toDouble(data, 1));
+
+			// random bytes, both have to agree on the value or on rejecting it
+			random.nextBytes(data);
+			Object jt400;
+			try {
+				jt400 = expected.toObject(data, 1);
+			} catch (NumberFormatException e) {
+				assertThrows(NumberFormatException.class, () -> actual.toObject(data, 1));
+				continue;
+			}
+			assertEquals(jt400, actual.toObject(data, 1));
+			assertEquals(((BigDecimal) jt400).doubleValue(), actual.toDouble(data, 1));
+		}
+	}
+
+	private static long pow10(int n) {
+		long p = 1;
+		for (int i = 0; i < n; i++) {
+			p *= 10;
+		}
+		return p;
+	}
+}
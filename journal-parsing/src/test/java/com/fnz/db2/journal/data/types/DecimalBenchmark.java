@@ -0,0 +1,109 @@
+package com.fnz.db2.journal.data.types;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.ibm.as400.access.AS400DataType;
+import com.ibm.as400.access.AS400PackedDecimal;
+import com.ibm.as400.access.AS400ZonedDecimal;
+
+/**
+ * JT400 packed and zoned decimals against the unscaled long decoders, one value per invocation from a buffer of
+ * random values with the given precision
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DecimalBenchmark {
+	private static final int VALUES = 1024;
+	private static final int SCALE = 2;
+
+	@Param({ "9", "15", "18" })
+	int digits;
+
+	private AS400PackedDecimal jt400Packed;
+	private AS400ZonedDecimal jt400Zoned;
+	private AS400PackedLong packed;
+	private AS400ZonedLong zoned;
+	private byte[] packedData;
+	private byte[] zonedData;
+	private int next = 0;
+
+	@Setup
+	public void setup() {
+		jt400Packed = new AS400PackedDecimal(digits, SCALE);
+		jt400Zoned = new AS400ZonedDecimal(digits, SCALE);
+		packed = new AS400PackedLong(digits, SCALE);
+		zoned = new AS400ZonedLong(digits, SCALE);
+		packedData = fill(jt400Packed);
+		zonedData = fill(jt400Zoned);
+	}
+
+	private byte[] fill(AS400DataType type) {
+		final Random random = new Random(42);
+		final long bound = (long) Math.pow(10, digits);
+		final byte[] data = new byte[VALUES * type.getByteLength()];
+		for (int i = 0; i < VALUES; i++) {
+			type.toBytes(BigDecimal.valueOf(random.nextLong() % bound, SCALE), data, i * type.getByteLength());
+		}
+		return data;
+	}
+
+	private int nextIndex() {
+		next = (next + 1) % VALUES;
+		return next;
+	}
+
+	@Benchmark
+	public Object jt400Packed() {
+		return jt400Packed.toObject(packedData, nextIndex() * jt400Packed.getByteLength());
+	}
+
+	@Benchmark
+	public Object packed() {
+		return packed.toObject(packedData, nextIndex() * packed.getByteLength());
+	}
+
+	@Benchmark
+	public long packedUnscaled() {
+		return packed.toUnscaledLong(packedData, nextIndex() * packed.getByteLength());
+	}
+
+	@Benchmark
+	public Object jt400Zoned() {
+		return jt400Zoned.toObject(zonedData, nextIndex() * jt400Zoned.getByteLength());
+	}
+
+	@Benchmark
+	public Object zoned() {
+		return zoned.toObject(zonedData, nextIndex() * zoned.getByteLength());
+	}
+
+	@Benchmark
+	public double zonedDouble() {
+		return zoned.toDouble(zonedData, nextIndex() * zoned.getByteLength());
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(DecimalBenchmark.class.getSimpleName()).build()).run();
+	}
+}
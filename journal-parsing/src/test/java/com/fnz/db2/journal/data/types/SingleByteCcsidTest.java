@@ -0,0 +1,72 @@
+package com.fnz.db2.journal.data.types;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.Locale;
+
+import org.junit.jupiter.api.Test;
+
+import com.ibm.as400.access.AS400Text;
+
+public class SingleByteCcsidTest {
+
+	@Test
+	public void testMatchesJt400() throws Exception {
+		byte[] printable = new byte[0xff - 0x40];
+		for (int i = 0; i < printable.length; i++) {
+			printable[i] = (byte) (0x41 + i);
+		}
+		for (int ccsid : new int[] { 37, 273, 285, 500, 1140 }) {
+			SingleByteCcsid table = SingleByteCcsid.forCcsid(ccsid);
+			assertNotNull(table);
+			String expected = ((String) new AS400Text(printable.length, ccsid).toObject(printable)).replaceAll(
+					"[\\p{Cc}\\p{Cf}\\p{Co}\\p{Cs}\\p{Cn}]", "?");
+			assertEquals(expected, table.decode(printable, 0, printable.length, "col"));
+		}
+	}
+
+	@Test
+	public void testTrailingBlanksAndControlCharacters() throws Exception {
+		SingleByteCcsid table = SingleByteCcsid.forCcsid(37);
+		// "A" NUL "B" followed by blanks
+		byte[] data = new byte[] { 0x40, (byte) 0xc1, 0x00, (byte) 0xc2, 0x40, 0x40 };
+		assertEquals(" A?B", table.decode(data, 0, data.length, "col"));
+		assertEquals("", table.decode(data, 4, 2, "col"));
+	}
+
+	@Test
+	public void testDefaultAndMultiByte() throws Exception {
+		assertEquals(new AS400Text(1).getCcsid(), SingleByteCcsid.forCcsid(-1).getCcsid());
+		assertNull(SingleByteCcsid.forCcsid(937));
+		assertNull(SingleByteCcsid.forCcsid(1200));
+		assertNull(SingleByteCcsid.forCcsid(65535));
+	}
+
+	@Test
+	public void testDefaultFollowsLocale() throws Exception {
+		final Locale locale = Locale.getDefault();
+		try {
+			Locale.setDefault(Locale.GERMANY);
+			assertEquals(273, SingleByteCcsid.forCcsid(-1).getCcsid());
+			// 0x7c is '@' in CCSID 37 and '§' in 273
+			byte[] data = new byte[] { 0, 1, 0x7c };
+			assertEquals("\u00a7", new AS400VarChar(10, -1).toObject(data, 0));
+			assertEquals(new AS400Text(1).toObject(new byte[] { 0x7c }),
+					SingleByteCcsid.forCcsid(-1).decode(data, 2, 1, "col"));
+
+			// DBCS default left to JT400
+			Locale.setDefault(Locale.JAPAN);
+			assertNull(SingleByteCcsid.forCcsid(-1));
+		} finally {
+			Locale.setDefault(locale);
+		}
+	}
+
+	@Test
+	public void testVarChar() throws Exception {
+		byte[] data = new byte[] { 0, 3, (byte) 0xc1, (byte) 0xc2, 0x40 };
+		assertEquals("AB", new AS400VarChar(10, 37).toObject(data, 0));
+	}
+}
@@ -0,0 +1,191 @@
+package com.fnz.db2.journal.generator;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigInteger;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.fnz.db2.journal.generator.Column.Type;
+import com.fnz.db2.journal.generator.JournalGenerator.Block;
+import com.fnz.db2.journal.retrieve.FileFilter;
+import com.fnz.db2.journal.retrieve.JdbcFileDecoder;
+import com.fnz.db2.journal.retrieve.JournalEntryType;
+import com.fnz.db2.journal.retrieve.JournalInfo;
+import com.fnz.db2.journal.retrieve.JournalInfoRetrieval;
+import com.fnz.db2.journal.retrieve.JournalPosition;
+import com.fnz.db2.journal.retrieve.NullIndicators;
+import com.fnz.db2.journal.retrieve.RetrievalCriteria.JournalCode;
+import com.fnz.db2.journal.retrieve.RetrieveConfig;
+import com.fnz.db2.journal.retrieve.RetrieveJournal;
+import com.fnz.db2.journal.retrieve.RowView;
+import com.fnz.db2.journal.retrieve.SchemaCacheHash;
+import com.fnz.db2.journal.retrieve.rjne0200.EntryHeader;
+import com.fnz.db2.journal.retrieve.rjne0200.OffsetStatus;
+
+class JournalGeneratorTest {
+	private static final String DATABASE = "DB";
+
+	@Test
+	void testEveryTypeRoundTrips() {
+		final TableShape table = new TableShape("LIB", "TYPES", List.of(
+				Column.of("ID", Type.BIGINT),
+				Column.of("SMALL", Type.SMALLINT),
+				Column.of("INT", Type.INTEGER),
+				Column.decimal("PACKED", Type.DECIMAL, 11, 2),
+				Column.decimal("WIDE", Type.DECIMAL, 25, 5),
+				Column.decimal("ZONED", Type.NUMERIC, 9, 3),
+				Column.text("FIXED", Type.CHAR, 12, 37),
+				Column.text("GERMAN", Type.CHAR, 12, 273),
+				Column.text("VARYING", Type.VARCHAR, 30, 500).nullable(),
+				Column.of("DAY", Type.DATE),
+				Column.of("AT", Type.TIMESTAMP)), List.of("ID"));
+		final JdbcFileDecoder decoder = new JdbcFileDecoder(JournalGeneratorTest::offline, DATABASE, new SchemaCacheHash(), -1);
+		final Random random = new Random(42);
+		boolean sawNull = false;
+		for (long key = 1; key < 200; key++) {
+			final Object[] values = table.row(random, key, 50);
+			sawNull |= values[8] == null;
+			final byte[] indicators = table.nullValues(values);
+			// one byte ahead as an offset of 0 means no indicators
+			final byte[] nulls = new byte[1 + 4 + indicators.length];
+			nulls[4] = (byte) indicators.length;
+			System.arraycopy(indicators, 0, nulls, 5, indicators.length);
+
+			final Object[] decoded = decoder.decodeEntry(table.tableInfo().getMembers(), table.encode(values), 0,
+					new NullIndicators().read(nulls, 0, 1));
+			assertArrayEquals(values, decoded);
+			assertEquals(key, decoded[0]);
+		}
+		assertTrue(sawNull);
+	}
+
+	@Test
+	void testBlocksDecodeThroughRetrieveJournal() throws Exception {
+		final TableShape orders = TableShape.mixed("SHOP", "ORDERS", 12, 37);
+		final TableShape items = TableShape.mixed("SHOP", "ITEMS", 30, 273);
+		final JournalGenerator generator = new JournalGenerator().withTable(orders, 3).withTable(items, 1)
+				.withMix(5, 4, 1).withTransactionSize(1, 6).withConcurrentTransactions(3).withRollbackPercent(20)
+				.withCommitmentControl(80).withStart(500, Instant.parse("2024-06-01T10:00:00Z"))
+				.withEntriesPerSecond(1000).withReceiver("RCV0042", "JRNLIB").withSeed(7).withLimit(2000);
+
+		final SchemaCacheHash cache = new SchemaCacheHash();
+		cache.store(DATABASE, orders.library(), orders.file(), orders.tableInfo());
+		cache.store(DATABASE, items.library(), items.file(), items.tableInfo());
+		final JdbcFileDecoder decoder = new JdbcFileDecoder(JournalGeneratorTest::offline, DATABASE, cache, -1);
+		final RetrieveJournal r = new RetrieveJournal(new RetrieveConfig(null, new JournalInfo("JRN", "JRNLIB"), 65536,
+				false, new JournalCode[0], new ArrayList<FileFilter>(), RetrieveConfig.DEFAULT_MAX_SERVER_SIDE_ENTRIES,
+				null), new JournalInfoRetrieval());
+		final JournalPosition position = new JournalPosition();
+
+		long sequence = 500;
+		int blocks = 0;
+		final Map<Long, String> open = new HashMap<>();
+		int rows = 0;
+		int changes = 0;
+		while (generator.hasMore()) {
+			final Block block = generator.nextBlock(32 * 1024);
+			blocks++;
+			changes += block.changes();
+			r.setOutputData(block.data(), block.header(), position);
+			while (r.nextEntry()) {
+				final EntryHeader header = r.getEntryHeader();
+				assertEquals(BigInteger.valueOf(sequence), header.getSequenceNumber());
+				assertEquals(Instant.parse("2024-06-01T10:00:00Z").plusMillis(sequence - 500),
+						header.getTimestamp().toInstant());
+				assertEquals(position, new JournalPosition(BigInteger.valueOf(sequence), "RCV0042", "JRNLIB", true));
+				final long cycle = header.getCommitCycleId();
+				final JournalEntryType type = header.getJournalEntryType();
+				switch (type) {
+				case START_COMMIT:
+					assertNull(open.put(cycle, header.getJobNumber()));
+					break;
+				case END_COMMIT:
+				case ROLLBACK:
+					assertEquals(header.getJobNumber(), open.remove(cycle));
+					break;
+				default:
+					if (cycle != 0) {
+						assertEquals(header.getJobNumber(), open.get(cycle), "change inside its transaction");
+					}
+					final TableShape table = header.getFile().equals("ORDERS") ? orders : items;
+					assertEquals("SHOP", header.getLibrary());
+					final RowView row = r.decode(decoder::view);
+					assertEquals(table.columns().size(), row.size());
+					assertEquals(header.getRelativeRecordNumber(), row.get(0));
+					rows++;
+					if (type == JournalEntryType.BEFORE_IMAGE) {
+						changes++;
+					}
+				}
+				sequence++;
+			}
+			final boolean last = !generator.hasMore();
+			assertEquals(last ? OffsetStatus.NO_MORE_DATA : OffsetStatus.MORE_DATA_NEW_OFFSET, block.header().status());
+			if (!last) {
+				assertEquals(new JournalPosition(BigInteger.valueOf(sequence), "RCV0042", "JRNLIB", false),
+						block.header().nextPosition().get());
+			}
+		}
+		assertEquals(generator.getGenerated(), sequence - 500);
+		assertTrue(open.isEmpty(), "every commit cycle ended");
+		assertTrue(blocks > 1);
+		assertTrue(rows > 0);
+		assertEquals(rows, changes);
+	}
+
+	@Test
+	void testLimitEndsOpenTransactions() {
+		final JournalGenerator generator = new JournalGenerator().withTable(TableShape.mixed("LIB", "T", 4, 37), 1)
+				.withTransactionSize(50, 50).withConcurrentTransactions(4).withLimit(10);
+		final Block block = generator.nextBlock(1024 * 1024);
+		assertEquals(OffsetStatus.NO_MORE_DATA, block.header().status());
+		final JournalPosition position = new JournalPosition();
+		final RetrieveJournal r = new RetrieveJournal(new RetrieveConfig(null, new JournalInfo("JRN", "JRNLIB"),
+				1024 * 1024, false, new JournalCode[0], new ArrayList<FileFilter>(),
+				RetrieveConfig.DEFAULT_MAX_SERVER_SIDE_ENTRIES, null), new JournalInfoRetrieval());
+		r.setOutputData(block.data(), block.header(), position);
+		int started = 0;
+		int ended = 0;
+		while (r.nextEntry()) {
+			switch (r.getEntryHeader().getJournalEntryType()) {
+			case START_COMMIT:
+				started++;
+				break;
+			case END_COMMIT:
+			case ROLLBACK:
+				ended++;
+				break;
+			default:
+				break;
+			}
+		}
+		assertTrue(started > 0);
+		assertEquals(started, ended);
+		assertFalse(generator.hasMore());
+	}
+
+	@Test
+	void testEntryLargerThanBlock() {
+		final JournalGenerator generator = new JournalGenerator()
+				.withTable(TableShape.mixed("LIB", "WIDE", 200, 37), 1).withCommitmentControl(0);
+		assertThrows(IllegalArgumentException.class, () -> generator.nextBlock(1024));
+	}
+
+	private static Connection offline() throws SQLException {
+		throw new SQLException("no database behind the generated journal");
+	}
+}
@@ -1,10 +1,34 @@
 package com.fnz.db2.journal.retrieve;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 import org.junit.jupiter.api.Test;
 
+import com.fnz.db2.journal.data.types.AS400Excluded;
+import com.fnz.db2.journal.data.types.AS400Lob;
+import com.fnz.db2.journal.data.types.AS400PackedLong;
+import com.fnz.db2.journal.data.types.AS400ZonedLong;
+import com.fnz.db2.journal.retrieve.SchemaCacheIF.Structure;
+import com.fnz.db2.journal.retrieve.SchemaCacheIF.TableInfo;
+import com.ibm.as400.access.AS400Bin4;
 import com.ibm.as400.access.AS400DataType;
+import com.ibm.as400.access.AS400PackedDecimal;
+import com.ibm.as400.access.AS400Structure;
+import com.ibm.as400.access.AS400ZonedDecimal;
 
 public class JdbcFileDecoderTest {
 
@@ -23,4 +47,147 @@ public class JdbcFileDecoderTest {
 		assertEquals(-1, varPasswordLength.getInstanceType());
 		assertEquals(20, passwordLength.getByteLength());
 	}
-}
\ No newline at end of file
+
+	@Test
+	public void testVarCharUsesColumnCcsid() throws Exception {
+		final byte[] data = new byte[] { 0, 1, 0x7c };
+		JdbcFileDecoder decoder = new JdbcFileDecoder(null, null, new SchemaCacheHash(), -1);
+		// 0x7c is '@' in CCSID 37 and '\u00a7' in 273
+		assertEquals("\u00a7", decoder.getVarText(10, 273, "col").toObject(data, 0));
+		assertEquals("@", decoder.getVarText(10, 37, "col").toObject(data, 0));
+
+		JdbcFileDecoder forced = new JdbcFileDecoder(null, null, new SchemaCacheHash(), 37);
+		assertEquals("@", forced.getVarText(10, 273, "col").toObject(data, 0));
+	}
+
+	@Test
+	public void testDecimalDataTypes() throws Exception {
+		JdbcFileDecoder decoder = new JdbcFileDecoder(null, null, new SchemaCacheHash(), -1);
+		assertEquals(AS400PackedLong.class, decoder.toDataType("schem", "table", "amount", "DECIMAL", 18, 2).getClass());
+		assertEquals(AS400PackedDecimal.class, decoder.toDataType("schem", "table", "amount", "DECIMAL", 19, 2).getClass());
+		assertEquals(AS400ZonedLong.class, decoder.toDataType("schem", "table", "amount", "NUMERIC", 18, 2).getClass());
+		assertEquals(AS400ZonedDecimal.class, decoder.toDataType("schem", "table", "amount", "NUMERIC", 31, 2).getClass());
+	}
+
+	@Test
+	public void testLobColumnsAreFetchedSeparately() throws Exception {
+		JdbcFileDecoder decoder = new JdbcFileDecoder(null, null, new SchemaCacheHash(), -1);
+		assertFalse(decoder.hasLobTables());
+		AS400DataType clob = decoder.toDataType("schem", "table", "notes", "CLOB", 1000, 0);
+		assertEquals(AS400Lob.class, clob.getClass());
+		assertEquals(44, clob.getByteLength());
+		assertTrue(decoder.hasLobTables());
+		AS400Lob blob = (AS400Lob) decoder.toDataType("schem", "table", "image", "BLOB", 1000, 0);
+		assertTrue(blob.isBinary());
+
+		TableInfo info = new TableInfo(List.of(), List.of(),
+				new AS400Structure(new AS400DataType[] { new AS400Bin4(), clob, new AS400Excluded(blob), blob }));
+		assertArrayEquals(new int[] { 1, 3 }, info.getLobFields(), "excluded columns are not fetched");
+	}
+
+	@Test
+	public void testNullFieldsAreNotDecoded() throws Exception {
+		JdbcFileDecoder decoder = new JdbcFileDecoder(null, null, new SchemaCacheHash(), -1);
+		AS400DataType[] members = new AS400DataType[] { new AS400Bin4(), new AS400PackedLong(3, 0), new AS400Bin4() };
+		// one byte of entry header, the null indicators (not null, null, default) then the row image where the second
+		// field holds invalid packed data which throws if it is decoded
+		byte[] entry = new byte[] { 0, 0, 0, 0, 3, (byte) 0xf0, (byte) 0xf1, (byte) 0xf9, 0, 0, 0, 7, (byte) 0xff,
+				(byte) 0xff, 0, 0, 0, 9 };
+		int rowOffset = 8;
+
+		NullIndicators none = new NullIndicators().read(entry, 0, 0);
+		assertFalse(none.anyNull());
+		assertThrows(NumberFormatException.class, () -> decoder.decodeEntry(members, entry, rowOffset, none));
+
+		NullIndicators nulls = new NullIndicators().read(entry, 0, 1);
+		assertTrue(nulls.anyNull());
+		assertEquals(3, nulls.length());
+		assertArrayEquals(new Object[] { 7, null, 9 }, decoder.decodeEntry(members, entry, rowOffset, nulls));
+
+		// reused for an entry without nulls
+		assertFalse(nulls.read(entry, 0, 0).isNull(1));
+
+		// minimised on field boundaries, the default value indicator marks a field left out of the entry
+		NullIndicators minimised = new NullIndicators().read(entry, 0, 1, true);
+		assertTrue(minimised.isUnchanged(2));
+		assertFalse(minimised.isNull(2));
+		assertArrayEquals(new Object[] { 7, null, null }, decoder.decodeEntry(members, entry, rowOffset, minimised));
+		assertFalse(minimised.read(entry, 0, 1).anyUnchanged());
+	}
+
+	@Test
+	public void testWideNullIndicators() throws Exception {
+		byte[] entry = new byte[4 + 200];
+		entry[3] = (byte) 200;
+		for (int i = 0; i < 200; i++) {
+			entry[4 + i] = (byte) ((i % 3 == 0) ? 0xf1 : 0xf0);
+		}
+		NullIndicators nulls = new NullIndicators().read(new byte[] { 0, 0, 0, 0, 1, (byte) 0xf0 }, 0, 1);
+		assertFalse(nulls.isNull(0));
+		nulls.read(entry, -1, 1);
+		for (int i = 0; i < 210; i++) {
+			assertEquals(i < 200 && i % 3 == 0, nulls.isNull(i));
+		}
+	}
+
+	@Test
+	public void testExcludedColumnsAreSkipped() throws Exception {
+		JdbcFileDecoder decoder = new JdbcFileDecoder(null, "DB", new SchemaCacheHash(), -1,
+				(database, schema, table, column) -> !column.startsWith("FILLER"));
+		AS400DataType[] members = decoder.project("LIB", "TAB", List.of("ID", "FILLER1", "AMOUNT", "FILLERKEY"),
+				List.of(new AS400Bin4(), new AS400Bin4(), new AS400Bin4(), new AS400Bin4()), List.of("ID", "FILLERKEY"));
+		assertEquals(AS400Bin4.class, members[0].getClass());
+		assertEquals(AS400Excluded.class, members[1].getClass());
+		assertEquals(AS400Bin4.class, members[2].getClass());
+		assertEquals(AS400Bin4.class, members[3].getClass(), "key columns are always decoded");
+
+		byte[] row = new byte[] { 0, 0, 0, 1, 0, 0, 0, 2, 0, 0, 0, 3, 0, 0, 0, 4 };
+		assertArrayEquals(new Object[] { 1, null, 3, 4 },
+				decoder.decodeEntry(members, row, 0, new NullIndicators().read(row, 0, 0)));
+	}
+
+	@Test
+	public void testUnchangedStructureIsNotRebuilt() throws Exception {
+		SchemaCacheHash cache = new SchemaCacheHash();
+		JdbcFileDecoder decoder = new JdbcFileDecoder(null, "DB", cache, -1);
+		TableDescription original = new TableDescription(
+				List.of(new Structure("ID", "INTEGER", Types.INTEGER, 10, 0, false, 1, false),
+						new Structure("AMOUNT", "DECIMAL", Types.DECIMAL, 9, 2, true, 2, false)),
+				List.of("ID"));
+		assertTrue(decoder.refresh("TAB", "LIB", Optional.of(original)), "nothing cached yet");
+		TableInfo cached = cache.retrieve("DB", "LIB", "TAB");
+		assertEquals(original.fingerprint(), cached.getFingerprint());
+
+		// e.g. a trigger or constraint added
+		TableDescription same = new TableDescription(new ArrayList<>(original.structure()), List.of("ID"));
+		assertFalse(decoder.refresh("TAB", "LIB", Optional.of(same)));
+		assertSame(cached, cache.retrieve("DB", "LIB", "TAB"));
+
+		TableDescription widened = new TableDescription(
+				List.of(original.structure().get(0), new Structure("AMOUNT", "DECIMAL", Types.DECIMAL, 11, 2, true, 2, false)),
+				List.of("ID"));
+		assertNotEquals(original.fingerprint(), widened.fingerprint());
+		assertTrue(decoder.refresh("TAB", "LIB", Optional.of(widened)));
+		assertEquals(widened.fingerprint(), cache.retrieve("DB", "LIB", "TAB").getFingerprint());
+
+		TableDescription rekeyed = new TableDescription(widened.structure(), List.of("ID", "AMOUNT"));
+		assertNotEquals(widened.fingerprint(), rekeyed.fingerprint());
+
+		// ALTER COLUMN ... CCSID changes nothing but the CCSID, text columns look their CCSID up when built
+		JdbcFileDecoder offline = new JdbcFileDecoder(() -> {
+			throw new SQLException("offline");
+		}, "DB", cache, -1);
+		TableDescription named = new TableDescription(
+				List.of(original.structure().get(0), new Structure("NAME", "CHAR", Types.CHAR, 10, 0, true, 2, false)),
+				List.of("ID"), Map.of("NAME", 37));
+		assertTrue(offline.refresh("TAB", "LIB", Optional.of(named)));
+		TableDescription recoded = new TableDescription(named.structure(), List.of("ID"), Map.of("NAME", 273));
+		assertNotEquals(named.fingerprint(), recoded.fingerprint());
+		assertFalse(offline.refresh("TAB", "LIB", Optional.of(new TableDescription(named.structure(), List.of("ID"),
+				Map.of("NAME", 37)))));
+		assertTrue(offline.refresh("TAB", "LIB", Optional.of(recoded)));
+
+		assertTrue(decoder.refresh("TAB", "LIB", Optional.empty()), "dropped");
+		assertNull(cache.retrieve("DB", "LIB", "TAB"));
+	}
+}
@@ -0,0 +1,113 @@
+package com.fnz.db2.journal.retrieve;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+
+import org.junit.jupiter.api.Test;
+
+import com.fnz.db2.journal.data.types.AS400DtsTimestamp;
+import com.fnz.db2.journal.retrieve.rjne0200.EntryHeader;
+import com.fnz.db2.journal.retrieve.rjne0200.EntryHeaderDecoder;
+import com.fnz.db2.journal.retrieve.rjne0200.FirstHeader;
+import com.fnz.db2.journal.retrieve.rjne0200.FirstHeaderDecoder;
+import com.fnz.db2.journal.retrieve.rjne0200.OffsetStatus;
+import com.ibm.as400.access.AS400Text;
+
+class JournalBlockTest {
+
+	@Test
+	void testBigEndianAccessors() {
+		final byte[] data = { 0x01, 0x02, (byte) 0xff, (byte) 0xfe, (byte) 0xff, (byte) 0xff, (byte) 0xff, (byte) 0xff,
+				(byte) 0xff, (byte) 0xff, (byte) 0xff, (byte) 0xff };
+		final JournalBlock block = JournalBlock.wrap(data);
+		assertEquals(0x0102, block.getUnsignedShort(0));
+		assertEquals(0xfffe, block.getUnsignedShort(2));
+		assertEquals(0x0102fffe, block.getInt(0));
+		assertEquals(0xffffffffL, block.getUnsignedInt(4));
+		assertEquals(-1L, block.getLong(4));
+		assertEquals(BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE), block.getUnsignedLong(4));
+	}
+
+	@Test
+	void testTextMatchesAS400Text() {
+		final String text = "RCV0001   LIB#$@_.  ";
+		// '#', '$' and '@' are at different code points in different CCSIDs
+		final byte[] data = new AS400Text(text.length(), JournalBlock.TEXT_CCSID).toBytes(text);
+		assertEquals(text, JournalBlock.wrap(data).getText(0, text.length()));
+	}
+
+	@Test
+	void testSliceSharesMemoryAndIsBounded() {
+		final byte[] data = new byte[16];
+		final JournalBlock slice = JournalBlock.wrap(data).slice(4, 8);
+		data[4] = 0x7f;
+		assertEquals(0x7f, slice.getByte(0));
+		assertEquals(8, slice.length());
+		assertEquals(4, slice.arrayOffset());
+		assertTrue(data == slice.array());
+		assertThrows(IndexOutOfBoundsException.class, () -> slice.getInt(6));
+		assertThrows(IndexOutOfBoundsException.class, () -> slice.getText(4, 5));
+		assertThrows(IndexOutOfBoundsException.class, () -> slice.slice(4, 5));
+	}
+
+	@Test
+	void testHeadersDecodeOffHeap() {
+		final ByteBuffer heap = ByteBuffer.allocate(512);
+		heap.putInt(0, 512).putInt(4, 64).putInt(8, 1);
+		put(heap, 12, "1RCV0002   JRNLIB    00000000000000001234");
+
+		final int entry = 64;
+		final long dts = 0x8000000000000000L + (123_456_789L << 12);
+		heap.putInt(entry, 0).putInt(entry + 4, 0).putInt(entry + 8, 240).putInt(entry + 20, 220);
+		heap.putLong(entry + 24, -2L).putLong(entry + 32, dts).putLong(entry + 40, 77L).putLong(entry + 48, 9L)
+				.putLong(entry + 56, 42L).putLong(entry + 64, 5L).putInt(entry + 72, 0);
+		put(heap, entry + 98, "RPT");
+		put(heap, entry + 121, "123456");
+		put(heap, entry + 157, "CUSTOMER  LIBRARY   *FIRST    ");
+		heap.put(entry + 218, (byte) 0x0a);
+		put(heap, entry + 220, "RCV0001   RCVLIB    ");
+
+		final ByteBuffer direct = ByteBuffer.allocateDirect(heap.capacity());
+		direct.put(heap.duplicate());
+		direct.flip();
+		final JournalBlock block = JournalBlock.wrap(direct);
+		assertTrue(block.isDirect());
+
+		final FirstHeader first = new FirstHeaderDecoder().decode(block);
+		assertEquals(512, first.totalBytes());
+		assertEquals(64, first.offset());
+		assertEquals(1, first.size());
+		assertEquals(OffsetStatus.MORE_DATA_NEW_OFFSET, first.status());
+		assertEquals(new JournalPosition(BigInteger.valueOf(1234), "RCV0002", "JRNLIB", false),
+				first.nextPosition().get());
+
+		final EntryHeader header = new EntryHeaderDecoder().decode(block, entry);
+		assertEquals(0, header.getNextEntryOffset());
+		assertEquals(512 - entry, header.getEndOffset());
+		assertEquals(240, header.getEntrySpecificDataOffset());
+		assertEquals(BigInteger.ONE.shiftLeft(64).subtract(BigInteger.TWO), header.getSequenceNumber());
+		assertEquals(AS400DtsTimestamp.fromDts(dts), header.getTimestamp());
+		assertEquals(Instant.parse("2000-01-01T00:02:03.456789Z"), header.getTimestamp().toInstant());
+		assertEquals('R', header.getJournalCode());
+		assertEquals(JournalEntryType.ADD_ROW2, header.getJournalEntryType());
+		assertEquals("CUSTOMER", header.getFile());
+		assertEquals("LIBRARY", header.getLibrary());
+		assertEquals(42L, header.getRelativeRecordNumber());
+		assertEquals("RCV0001   ", header.getReceiver());
+		assertEquals("RCVLIB    ", header.getReceiverLibrary());
+		assertTrue(header.isMinimised());
+
+		assertEquals(header.toString(), new EntryHeaderDecoder().decode(heap.array(), entry).toString());
+		assertArrayEquals(heap.array(), block.array());
+	}
+
+	private static void put(ByteBuffer buffer, int offset, String text) {
+		buffer.put(offset, new AS400Text(text.length()).toBytes(text));
+	}
+}
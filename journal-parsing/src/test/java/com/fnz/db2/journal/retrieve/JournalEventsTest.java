@@ -0,0 +1,229 @@
+package com.fnz.db2.journal.retrieve;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import com.fnz.db2.journal.generator.JournalGenerator;
+import com.fnz.db2.journal.generator.JournalGenerator.Block;
+import com.fnz.db2.journal.generator.TableShape;
+import com.fnz.db2.journal.retrieve.RetrievalCriteria.JournalCode;
+import com.fnz.db2.journal.retrieve.events.EntryDecode;
+import com.fnz.db2.journal.retrieve.events.JournalFetch;
+import com.fnz.db2.journal.retrieve.events.SchemaLoad;
+
+import jdk.jfr.Event;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+public class JournalEventsTest {
+	private static final String DATABASE = "DB";
+
+	private interface Recorded {
+		void run() throws Exception;
+	}
+
+	private interface Answer {
+		Object answer(String method, Object[] args) throws SQLException;
+	}
+
+	@Test
+	public void testJournalFetchDescribesBlock() throws Exception {
+		final Block block = new JournalGenerator().withTable(TableShape.mixed("SHOP", "ORDERS", 8, 37), 1)
+				.withReceiver("RCV0042", "JRNLIB").withStart(500, Instant.now()).withLimit(50)
+				.nextBlock(64 * 1024);
+		final RetrieveJournal r = createRetrieveJournal();
+		final JournalPosition position = new JournalPosition(BigInteger.valueOf(500), "RCV0042", "JRNLIB",
+				false);
+
+		final List<RecordedEvent> events = record(JournalFetch.class, () -> {
+			final JournalFetch event = new JournalFetch();
+			event.begin();
+			event.end();
+			r.fetched(position, block.data(), event);
+		});
+
+		assertEquals(1, events.size());
+		final RecordedEvent event = events.get(0);
+		assertEquals("RCV0042", event.getString("receiver"));
+		assertEquals(position.toString(), event.getString("position"));
+		assertEquals(block.header().totalBytes(), event.getLong("bytes"));
+		assertEquals(block.entries(), event.getLong("entries"));
+		assertEquals(block.header().status().name(), event.getString("status"));
+		assertEquals(block.entries(), r.getFirstHeader().size());
+	}
+
+	@Test
+	public void testEntryDecodeForEveryEagerlyDecodedRow() throws Exception {
+		final TableShape orders = TableShape.mixed("SHOP", "ORDERS", 8, 37);
+		final Block block = new JournalGenerator().withTable(orders, 1).withCommitmentControl(0).withLimit(20)
+				.nextBlock(64 * 1024);
+		final SchemaCacheHash cache = new SchemaCacheHash();
+		cache.store(DATABASE, orders.library(), orders.file(), orders.tableInfo());
+		final JdbcFileDecoder decoder = new JdbcFileDecoder(JournalEventsTest::offline, DATABASE, cache, -1);
+		final RetrieveJournal r = createRetrieveJournal();
+		r.setOutputData(block.data(), block.header(), new JournalPosition());
+		final List<String> entryTypes = new ArrayList<>();
+
+		final List<RecordedEvent> events = record(EntryDecode.class, () -> {
+			while (r.nextEntry()) {
+				entryTypes.add(r.getEntryHeader().getEntryType());
+				r.decode(decoder);
+			}
+		});
+
+		assertEquals(20, events.size());
+		for (int i = 0; i < events.size(); i++) {
+			final RecordedEvent event = events.get(i);
+			assertEquals("SHOP", event.getString("library"));
+			assertEquals("ORDERS", event.getString("table"));
+			assertEquals(entryTypes.get(i), event.getString("entryType"));
+			assertTrue(event.getLong("bytes") > 0);
+			assertTrue(event.getLong("decodeNanos") >= 0);
+		}
+	}
+
+	@Test
+	public void testSchemaLoadOnStructureRefresh() throws Exception {
+		final JdbcFileDecoder decoder = new JdbcFileDecoder(JournalEventsTest::offline, DATABASE,
+				new SchemaCacheHash(), 37);
+		final Connection connection = catalog(List.of(
+				Map.of(4, "ID", 5, Types.BIGINT, 6, "BIGINT", 7, 19, 9, 0, 11, 0, 17, 1, 23, "NO")), List.of("ID"));
+
+		final List<RecordedEvent> events = record(SchemaLoad.class, () -> {
+			assertTrue(decoder.describe(() -> connection, "ORDERS", "SHOP").isPresent());
+		});
+
+		assertEquals(1, events.size());
+		final RecordedEvent event = events.get(0);
+		assertEquals("SHOP", event.getString("library"));
+		assertEquals("ORDERS", event.getString("table"));
+		assertTrue(event.getBoolean("found"));
+		// columns and primary keys, the CCSIDs are forced
+		assertEquals(2, event.getInt("roundTrips"));
+	}
+
+	@Test
+	public void testSchemaLoadOnCacheMissForMissingTable() throws Exception {
+		final Connection connection = catalog(List.of(), List.of());
+		final JdbcFileDecoder decoder = new JdbcFileDecoder(() -> connection, DATABASE, new SchemaCacheHash(), 37);
+
+		final List<RecordedEvent> events = record(SchemaLoad.class, () -> {
+			assertEquals(Optional.empty(), decoder.getRecordFormat("GONE", "SHOP"));
+		});
+
+		assertEquals(1, events.size());
+		final RecordedEvent event = events.get(0);
+		assertEquals("GONE", event.getString("table"));
+		assertFalse(event.getBoolean("found"));
+		assertEquals(1, event.getInt("roundTrips"));
+	}
+
+	private static List<RecordedEvent> record(Class<? extends Event> type, Recorded recorded) throws Exception {
+		final Path file = Files.createTempFile("journal-events", ".jfr");
+		try (Recording recording = new Recording()) {
+			recording.enable(type).withoutThreshold();
+			recording.start();
+			recorded.run();
+			recording.stop();
+			recording.dump(file);
+			return RecordingFile.readAllEvents(file);
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	private static RetrieveJournal createRetrieveJournal() {
+		return new RetrieveJournal(new RetrieveConfig(null, new JournalInfo("JRN", "JRNLIB"), 65536, false,
+				new JournalCode[0], new ArrayList<FileFilter>(), RetrieveConfig.DEFAULT_MAX_SERVER_SIDE_ENTRIES, null),
+				new JournalInfoRetrieval());
+	}
+
+	/**
+	 * answers the long name lookup with nothing and the column and primary key metadata with the given rows
+	 */
+	private static Connection catalog(List<Map<Integer, Object>> columns, List<String> primaryKeys) {
+		final DatabaseMetaData metadata = stub(DatabaseMetaData.class, (method, args) -> {
+			switch (method) {
+			case "getColumns":
+				return rows(columns);
+			case "getPrimaryKeys":
+				return rows(primaryKeys.stream().map(k -> Map.<Integer, Object>of(4, k)).toList());
+			default:
+				throw new SQLException("unsupported " + method);
+			}
+		});
+		return stub(Connection.class, (method, args) -> {
+			switch (method) {
+			case "getMetaData":
+				return metadata;
+			case "prepareStatement":
+				return stub(PreparedStatement.class, (statementMethod, statementArgs) -> {
+					switch (statementMethod) {
+					case "setString":
+						return null;
+					case "executeQuery":
+						return rows(List.of());
+					default:
+						throw new SQLException("unsupported " + statementMethod);
+					}
+				});
+			default:
+				throw new SQLException("unsupported " + method);
+			}
+		});
+	}
+
+	private static ResultSet rows(List<Map<Integer, Object>> rows) {
+		final Iterator<Map<Integer, Object>> remaining = rows.iterator();
+		final Object[] current = new Object[1];
+		return stub(ResultSet.class, (method, args) -> {
+			switch (method) {
+			case "next":
+				current[0] = remaining.hasNext() ? remaining.next() : null;
+				return current[0] != null;
+			case "getString":
+				return ((Map<?, ?>) current[0]).get(args[0]);
+			case "getInt": {
+				final Object value = ((Map<?, ?>) current[0]).get(args[0]);
+				return value == null ? 0 : value;
+			}
+			default:
+				throw new SQLException("unsupported " + method);
+			}
+		});
+	}
+
+	private static <T> T stub(Class<T> type, Answer answer) {
+		return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, (proxy, method, args) -> {
+			if ("close".equals(method.getName())) {
+				return null;
+			}
+			return answer.answer(method.getName(), args);
+		}));
+	}
+
+	private static Connection offline() throws SQLException {
+		throw new SQLException("no database behind the generated journal");
+	}
+}
@@ -0,0 +1,63 @@
+package com.fnz.db2.journal.retrieve;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import com.fnz.db2.journal.retrieve.rjne0200.FirstHeader;
+import com.fnz.db2.journal.retrieve.rjne0200.OffsetStatus;
+
+class ReceiverLengthTest {
+	private static final int MAX = 1024 * 1024;
+
+	@Test
+	void testStartsAtMinimum() {
+		assertEquals(ReceiverLength.MIN_LENGTH, new ReceiverLength(MAX).get());
+		assertEquals(16, new ReceiverLength(16).get());
+	}
+
+	@Test
+	void testGrowsWhileBlocksAreFull() {
+		final ReceiverLength length = new ReceiverLength(MAX);
+		for (int i = 0; i < 10; i++) {
+			length.fetched(block(length.get() - 100, OffsetStatus.MORE_DATA_NEW_OFFSET));
+		}
+		assertEquals(MAX, length.get());
+		assertTrue(length.atMax());
+	}
+
+	@Test
+	void testDoesNotGrowWhenNoMoreData() {
+		final ReceiverLength length = new ReceiverLength(MAX);
+		length.fetched(block(length.get() - 100, OffsetStatus.NO_MORE_DATA_NEW_OFFSET));
+		assertEquals(ReceiverLength.MIN_LENGTH, length.get());
+	}
+
+	@Test
+	void testShrinksAfterSmallBlocks() {
+		final ReceiverLength length = new ReceiverLength(MAX);
+		length.entryTooLarge();
+		for (int i = 0; i < ReceiverLength.SHRINK_AFTER - 1; i++) {
+			length.fetched(block(100, OffsetStatus.NO_MORE_DATA));
+		}
+		assertEquals(MAX, length.get());
+
+		length.fetched(block(MAX / 2, OffsetStatus.NO_MORE_DATA_NEW_OFFSET));
+		for (int i = 0; i < ReceiverLength.SHRINK_AFTER; i++) {
+			length.fetched(block(100, OffsetStatus.NO_MORE_DATA));
+		}
+		assertEquals(MAX / 2, length.get());
+
+		for (int i = 0; i < 100 * ReceiverLength.SHRINK_AFTER; i++) {
+			length.fetched(block(0, OffsetStatus.NO_MORE_DATA));
+		}
+		assertEquals(ReceiverLength.MIN_LENGTH, length.get());
+	}
+
+	private static FirstHeader block(int bytes, OffsetStatus status) {
+		return new FirstHeader(bytes, 0, 0, status, Optional.empty());
+	}
+}
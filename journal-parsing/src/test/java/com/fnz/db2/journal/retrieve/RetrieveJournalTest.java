@@ -145,6 +145,37 @@ public class RetrieveJournalTest {
 				new JournalPosition(start.getOffset().add(BigInteger.valueOf(RetrieveConfig.DEFAULT_MAX_SERVER_SIDE_ENTRIES)), "latest", "lib", true))));
 	}
 	
+	@Test
+	public void testFindRange_CachedEndRefreshedWhenStale() throws Exception {
+		final long[] end = new long[] { RetrieveConfig.DEFAULT_MAX_SERVER_SIDE_ENTRIES * 10L };
+		final int[] calls = new int[1];
+		JournalInfoRetrieval journalInfoRetrieval = new JournalInfoRetrieval() {
+			@Override
+			public DetailedJournalReceiver getCurrentDetailedJournalReceiver(AS400 as400, JournalInfo journalLib) throws Exception {
+				calls[0]++;
+				return new DetailedJournalReceiver(
+						new JournalReceiverInfo("latest", "lib", new Date(), JournalStatus.Attached, Optional.empty()),
+						BigInteger.ZERO,
+						BigInteger.valueOf(end[0]),
+						"", "",
+						0l, 0l);
+			}
+		};
+		RetrieveJournal testSubject = createTestSubject(journalInfoRetrieval);
+		JournalPosition start = new JournalPosition(BigInteger.valueOf(1), "rec", "lib", true);
+		testSubject.findRange(null, start);
+		end[0] += 5000;
+		// far behind the end so the read position alone never refreshes it
+		testSubject.findRange(null, start);
+		assertEquals(1, calls[0]);
+		assertEquals(Optional.of(BigInteger.valueOf(end[0] - 5000)), testSubject.getCachedJournalEnd());
+
+		testSubject.cachedCurrentPositionNanos -= RetrieveJournal.CURRENT_POSITION_MAX_AGE_NANOS + 1;
+		testSubject.findRange(null, start);
+		assertEquals(2, calls[0]);
+		assertEquals(Optional.of(BigInteger.valueOf(end[0])), testSubject.getCachedJournalEnd());
+	}
+
 	@Test
 	public void testFindRange_WithinJournalList() throws Exception {
 		final List<DetailedJournalReceiver> receivers = new ArrayList<>();
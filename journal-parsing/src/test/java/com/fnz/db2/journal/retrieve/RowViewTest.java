@@ -0,0 +1,115 @@
+package com.fnz.db2.journal.retrieve;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fnz.db2.journal.data.types.AS400PackedLong;
+import com.fnz.db2.journal.retrieve.SchemaCacheIF.TableInfo;
+import com.ibm.as400.access.AS400Bin4;
+import com.ibm.as400.access.AS400DataType;
+import com.ibm.as400.access.AS400Structure;
+
+public class RowViewTest {
+	private static final TableInfo TABLE = new TableInfo(List.of(), List.of(), new AS400Structure(
+			new AS400DataType[] { new AS400Bin4(), new AS400PackedLong(3, 0), new AS400Bin4() }));
+
+	// null indicators (not null, not null, null) at 1 then the row image at 8, the third field is garbage
+	private static byte[] entry() {
+		return new byte[] { 0, 0, 0, 0, 3, (byte) 0xf0, (byte) 0xf0, (byte) 0xf1, 0, 0, 0, 7, 0x12, 0x3d, 1, 2, 3, 4 };
+	}
+
+	private static RowView view(byte[] entry, int nullStart) {
+		return new RowView(TABLE.getMembers(), TABLE.getOffsets(), entry, 8, nullStart, 3, entry.length);
+	}
+
+	@Test
+	public void testColumnsDecodeOnDemand() throws Exception {
+		RowView row = view(entry(), 5);
+		assertEquals(3, row.size());
+		assertEquals(-123L, ((java.math.BigDecimal) row.get(1)).longValue());
+		assertSame(row.get(1), row.get(1));
+		assertTrue(row.isNull(2));
+		assertArrayEquals(new Object[] { 7, new java.math.BigDecimal("-123"), null }, row.toArray());
+		assertFalse(row.isFailed());
+	}
+
+	@Test
+	public void testFailureIsRecorded() throws Exception {
+		byte[] entry = entry();
+		entry[12] = (byte) 0xff;
+		RowView row = view(entry, -1);
+		assertEquals(7, row.get(0));
+		assertFalse(row.isFailed());
+		assertThrows(NumberFormatException.class, () -> row.toArray());
+		assertTrue(row.isFailed());
+	}
+
+	@Test
+	public void testDetachedViewOutlivesBuffer() throws Exception {
+		byte[] entry = entry();
+		RowView row = view(entry, 5).detach();
+		assertTrue(row.isDetached());
+		Arrays.fill(entry, (byte) 0xff);
+		assertArrayEquals(new Object[] { 7, new java.math.BigDecimal("-123"), null }, row.toArray());
+	}
+
+	@Test
+	public void testMinimisedEntryTakesUnchangedColumnsFromBase() throws Exception {
+		RowView before = view(entry(), 5).detach();
+		// after image minimised on field boundaries, only the first field changed, the others hold defaults
+		byte[] after = new byte[] { 0, 0, 0, 0, 3, (byte) 0xf0, (byte) 0xf9, (byte) 0xf9, 0, 0, 0, 8, 0, 0x0f, 0, 0, 0,
+				0 };
+		RowView row = new RowView(TABLE.getMembers(), TABLE.getOffsets(), after, 8, 5, 3, after.length, true);
+		assertTrue(row.isMinimised());
+		assertFalse(row.isUnchanged(0));
+		assertTrue(row.isUnchanged(1));
+		assertEquals(2, row.countUnavailable());
+
+		assertSame(row, row.merge(before));
+		assertEquals(0, row.countUnavailable());
+		assertArrayEquals(new Object[] { 8, new java.math.BigDecimal("-123"), null }, row.toArray());
+
+		// without a base the unchanged columns are not decoded from the defaults
+		RowView alone = new RowView(TABLE.getMembers(), TABLE.getOffsets(), after, 8, 5, 3, after.length, true);
+		assertArrayEquals(new Object[] { 8, null, null }, alone.toArray());
+
+		// not minimised, default value indicators are decoded
+		RowView full = view(after, 5);
+		assertFalse(full.isUnchanged(1));
+		assertEquals(0L, ((java.math.BigDecimal) full.get(1)).longValue());
+	}
+
+	@Test
+	public void testFieldsLeftOutOfBothImagesAreUnavailable() throws Exception {
+		// under MINENTDTA the before image is minimised too, field 1 and 2 are in neither
+		byte[] image = new byte[] { 0, 0, 0, 0, 3, (byte) 0xf0, (byte) 0xf9, (byte) 0xf9, 0, 0, 0, 8, 0, 0x0f, 0, 0, 0,
+				0 };
+		RowView before = new RowView(TABLE.getMembers(), TABLE.getOffsets(), image, 8, 5, 3, image.length, true)
+				.detach();
+		RowView row = new RowView(TABLE.getMembers(), TABLE.getOffsets(), image, 8, 5, 3, image.length, true)
+				.merge(before);
+		assertTrue(row.isAvailable(0));
+		assertFalse(row.isAvailable(1));
+		assertEquals(2, row.countUnavailable());
+
+		row.resolve(1, "unavailable");
+		assertTrue(row.isAvailable(1));
+		assertEquals(1, row.countUnavailable());
+		assertArrayEquals(new Object[] { 8, "unavailable", null }, row.toArray());
+	}
+
+	@Test
+	public void testEmpty() throws Exception {
+		assertEquals(0, RowView.EMPTY.toArray().length);
+		assertSame(RowView.EMPTY, RowView.EMPTY.detach());
+	}
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package com.fnz.kakfa.smt;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.kafka.common.config.AbstractConfig;
+import org.apache.kafka.common.config.ConfigDef;
+import org.apache.kafka.common.config.ConfigException;
+import org.apache.kafka.connect.connector.ConnectRecord;
+import org.apache.kafka.connect.data.Field;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.Schema.Type;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.transforms.Transformation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Does the work of {@link RepackageJavaFriendlySchemaRenamer} followed by {@link LowerCaseAll} in one pass:
+ * the schema is moved into the configured package and the field names are lower cased.
+ * <p>
+ * The renamed schema and the field mapping are compiled once per source schema. They are looked up by schema name
+ * and checked against the source schema, by identity first as the connector hands out the same schema instance for
+ * every record of a table, so the lookup doesn't hash the whole schema. A schema that changed under the same name,
+ * e.g. after an ALTER TABLE, is compiled again and replaces the old one.
+ * <p>
+ * Schema names are lower cased by default as {@link LowerCaseAll} does, set lowercase.schema.name=false to keep the
+ * case from the package renamer.
+ */
+public class RepackageLowerCaseRenamer<R extends ConnectRecord<R>> implements Transformation<R> {
+    private static final Logger log = LoggerFactory.getLogger(RepackageLowerCaseRenamer.class);
+
+    public static final String OVERVIEW_DOC = "<p/>rename schemas into a java package and lower case the fields</p>";
+
+    public static final String PACKAGE_CONFIG = "package";
+    public static final String CACHE_SIZE_CONFIG = "schema.cache.size";
+    public static final String LOWER_CASE_SCHEMA_NAME_CONFIG = "lowercase.schema.name";
+
+    public static final ConfigDef CONFIG_DEF = new ConfigDef()
+            .define(PACKAGE_CONFIG, ConfigDef.Type.STRING, ConfigDef.NO_DEFAULT_VALUE, new ConfigDef.Validator() {
+                @Override
+                public void ensureValid(String name, Object valueObject) {
+                    String value = (String) valueObject;
+                    if (value == null || value.isEmpty()) {
+                        throw new ConfigException("Must specify replacement e.g. 'com.company.schema'");
+                    }
+                }
+
+                @Override
+                public String toString() {
+                    return "Replacement string";
+                }
+            },
+                    ConfigDef.Importance.HIGH, "package to replace the current prefix with")
+            .define(CACHE_SIZE_CONFIG, ConfigDef.Type.INT, 2048, ConfigDef.Range.atLeast(1),
+                    ConfigDef.Importance.LOW, "number of schemas to keep compiled, two per table (key and value)")
+            .define(LOWER_CASE_SCHEMA_NAME_CONFIG, ConfigDef.Type.BOOLEAN, true,
+                    ConfigDef.Importance.LOW, "lower case the repackaged schema name as LowerCaseAll does");
+
+    private final RepackageJavaFriendlySchemaRenamer<R> repackage = new RepackageJavaFriendlySchemaRenamer<>();
+    private boolean lowerCaseSchemaName;
+    private int cacheSize;
+    private final Map<String, Mapping> mappings = new ConcurrentHashMap<>();
+
+    @Override
+    public void configure(Map<String, ?> props) {
+        final AbstractConfig config = new AbstractConfig(CONFIG_DEF, props, false);
+        repackage.configure(Map.of(PACKAGE_CONFIG, config.getString(PACKAGE_CONFIG)));
+        cacheSize = config.getInt(CACHE_SIZE_CONFIG);
+        lowerCaseSchemaName = config.getBoolean(LOWER_CASE_SCHEMA_NAME_CONFIG);
+        mappings.clear();
+    }
+
+    @Override
+    public R apply(R record) {
+        final Mapping keyMapping = mapping(record.keySchema());
+        final Mapping valueMapping = mapping(record.valueSchema());
+        if (keyMapping == null && valueMapping == null) {
+            return record;
+        }
+        final Schema keySchema = keyMapping == null ? record.keySchema() : keyMapping.schema;
+        final Object key = keyMapping == null ? record.key() : keyMapping.apply(record.key());
+        final Schema valueSchema = valueMapping == null ? record.valueSchema() : valueMapping.schema;
+        final Object value = valueMapping == null ? record.value() : valueMapping.apply(record.value());
+        return record.newRecord(record.topic(), record.kafkaPartition(), keySchema, key, valueSchema, value,
+                record.timestamp());
+    }
+
+    @Override
+    public ConfigDef config() {
+        return CONFIG_DEF;
+    }
+
+    @Override
+    public void close() {
+        mappings.clear();
+    }
+
+    /**
+     * @return null when the schema is left alone
+     */
+    Mapping mapping(Schema schema) {
+        if (schema == null || schema.type() != Type.STRUCT || schema.name() == null) {
+            return null;
+        }
+        final Mapping m = mappings.get(schema.name());
+        if (m != null && m.compiledFrom(schema)) {
+            return m;
+        }
+        return compile(schema);
+    }
+
+    private Mapping compile(Schema schema) {
+        final Mapping m = new Mapping(schema, rename(schema));
+        if (mappings.size() >= cacheSize && !mappings.containsKey(schema.name())) {
+            log.warn("more than {} schemas seen, clearing the compiled schema cache", cacheSize);
+            mappings.clear();
+        }
+        mappings.put(schema.name(), m);
+        return m;
+    }
+
+    Schema rename(Schema schema) {
+        String name = repackage.newSchemaName(schema);
+        if (lowerCaseSchemaName) {
+            name = name.toLowerCase();
+        }
+        final SchemaBuilder builder = new SchemaBuilder(schema.type());
+        builder.name(name);
+        builder.version(schema.version());
+        builder.doc(schema.doc());
+        if (schema.isOptional()) {
+            builder.optional();
+        }
+        for (Field f : schema.fields()) {
+            builder.field(f.name().toLowerCase(), f.schema());
+        }
+        final Map<String, String> params = schema.parameters();
+        if (params != null) {
+            builder.parameters(params);
+        }
+        return builder.build();
+    }
+
+    /**
+     * renamed schema with its fields in the same order as the source, so values are copied by index
+     */
+    static final class Mapping {
+        final Schema source;
+        final Schema schema;
+        final Field[] fields;
+
+        Mapping(Schema source, Schema schema) {
+            this.source = source;
+            this.schema = schema;
+            final List<Field> fs = schema.fields();
+            this.fields = fs.toArray(new Field[fs.size()]);
+        }
+
+        boolean compiledFrom(Schema s) {
+            return s == source || source.equals(s);
+        }
+
+        Object apply(Object keyOrValue) {
+            if (!(keyOrValue instanceof Struct)) {
+                return keyOrValue;
+            }
+            final Struct source = (Struct) keyOrValue;
+            final Struct target = new Struct(schema);
+            // Struct.get(Field) reads by index, the field only has to have the same position
+            for (Field f : fields) {
+                target.put(f, source.get(f));
+            }
+            return target;
+        }
+    }
+}
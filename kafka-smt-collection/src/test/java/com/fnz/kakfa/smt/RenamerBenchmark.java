@@ -0,0 +1,90 @@
+package com.fnz.kakfa.smt;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.source.SourceRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * chained RepackageJavaFriendlySchemaRenamer and LowerCaseAll against RepackageLowerCaseRenamer, records
+ * are spread round robin over a number of tables to show the effect of the schema cache size
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RenamerBenchmark {
+    private static final int COLUMNS = 20;
+
+    @Param({ "10", "500" })
+    int tables;
+
+    private SourceRecord[] records;
+    private int next = 0;
+    private final RepackageJavaFriendlySchemaRenamer<SourceRecord> repackage = new RepackageJavaFriendlySchemaRenamer<>();
+    private final LowerCaseAll<SourceRecord> lowerCase = new LowerCaseAll<>();
+    private final RepackageLowerCaseRenamer<SourceRecord> fused = new RepackageLowerCaseRenamer<>();
+
+    @Setup
+    public void setup() {
+        repackage.configure(Map.of(RepackageJavaFriendlySchemaRenamer.PACKAGE_CONFIG, "com.foo"));
+        fused.configure(Map.of(RepackageLowerCaseRenamer.PACKAGE_CONFIG, "com.foo"));
+        records = new SourceRecord[tables];
+        for (int t = 0; t < tables; t++) {
+            final SchemaBuilder key = SchemaBuilder.struct().name("host.LIB.TABLE_" + t + ".Key");
+            final SchemaBuilder value = SchemaBuilder.struct().name("host.LIB.TABLE_" + t + ".Value");
+            key.field("ID", Schema.INT64_SCHEMA);
+            value.field("ID", Schema.INT64_SCHEMA);
+            for (int c = 1; c < COLUMNS; c++) {
+                value.field("COLUMN_" + c, Schema.OPTIONAL_STRING_SCHEMA);
+            }
+            final Schema keySchema = key.build();
+            final Schema valueSchema = value.build();
+            final Struct k = new Struct(keySchema).put("ID", (long) t);
+            final Struct v = new Struct(valueSchema).put("ID", (long) t);
+            for (int c = 1; c < COLUMNS; c++) {
+                v.put("COLUMN_" + c, "value " + c);
+            }
+            records[t] = new SourceRecord(null, null, "topic", 0, keySchema, k, valueSchema, v);
+        }
+    }
+
+    private SourceRecord nextRecord() {
+        final SourceRecord r = records[next];
+        next = (next + 1) % records.length;
+        return r;
+    }
+
+    @Benchmark
+    public SourceRecord chained() {
+        return lowerCase.apply(repackage.apply(nextRecord()));
+    }
+
+    @Benchmark
+    public SourceRecord fused() {
+        return fused.apply(nextRecord());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(RenamerBenchmark.class.getSimpleName()).build()).run();
+    }
+}
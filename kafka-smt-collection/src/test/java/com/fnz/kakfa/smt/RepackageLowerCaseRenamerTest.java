@@ -0,0 +1,88 @@
+package com.fnz.kakfa.smt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.Map;
+
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.source.SourceRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class RepackageLowerCaseRenamerTest {
+    RepackageLowerCaseRenamer<SourceRecord> renamer = new RepackageLowerCaseRenamer<>();
+
+    final static Schema keySchema = SchemaBuilder.struct().name("host.LIB.THING_TABLE.Key")
+            .field("KEY_COLUMN1", Schema.STRING_SCHEMA).build();
+    final static Schema valueSchema = SchemaBuilder.struct().name("host.LIB.THING_TABLE.Value")
+            .field("KEY_COLUMN1", Schema.STRING_SCHEMA).field("COLUMN2", Schema.OPTIONAL_INT32_SCHEMA).build();
+
+    @BeforeEach
+    protected void setUp() throws Exception {
+        renamer.configure(Map.of(RepackageLowerCaseRenamer.PACKAGE_CONFIG, "com.foo"));
+    }
+
+    @Test
+    public void testRenamesSchemaAndFields() {
+        Struct key = new Struct(keySchema).put("KEY_COLUMN1", "k");
+        Struct value = new Struct(valueSchema).put("KEY_COLUMN1", "k").put("COLUMN2", 2);
+        SourceRecord renamed = renamer.apply(new SourceRecord(null, null, "topic", 0, keySchema, key, valueSchema, value));
+
+        assertEquals("com.foo.thingtablekey", renamed.keySchema().name());
+        assertEquals("com.foo.thingtablevalue", renamed.valueSchema().name());
+        assertEquals("k", ((Struct) renamed.key()).get("key_column1"));
+        assertEquals(2, ((Struct) renamed.value()).get("column2"));
+        assertEquals(null, ((Struct) renamed.value()).schema().field("COLUMN2"));
+    }
+
+    @Test
+    public void testMatchesChainedTransforms() {
+        RepackageJavaFriendlySchemaRenamer<SourceRecord> repackage = new RepackageJavaFriendlySchemaRenamer<>();
+        repackage.configure(Map.of(RepackageJavaFriendlySchemaRenamer.PACKAGE_CONFIG, "com.foo"));
+        LowerCaseAll<SourceRecord> lower = new LowerCaseAll<>();
+
+        Struct value = new Struct(valueSchema).put("KEY_COLUMN1", "k").put("COLUMN2", 2);
+        SourceRecord record = new SourceRecord(null, null, "topic", 0, null, null, valueSchema, value);
+        SourceRecord chained = lower.apply(repackage.apply(record));
+        SourceRecord fused = renamer.apply(record);
+
+        assertEquals(chained.valueSchema().name(), fused.valueSchema().name());
+        assertEquals(chained.value(), fused.value());
+    }
+
+    @Test
+    public void testSchemaNameCaseKeptWhenConfigured() {
+        renamer.configure(Map.of(RepackageLowerCaseRenamer.PACKAGE_CONFIG, "com.foo",
+                RepackageLowerCaseRenamer.LOWER_CASE_SCHEMA_NAME_CONFIG, "false"));
+
+        assertEquals("com.foo.ThingTableValue", renamer.mapping(valueSchema).schema.name());
+    }
+
+    @Test
+    public void testEqualSchemaInstancesShareMapping() {
+        Schema copy = SchemaBuilder.struct().name("host.LIB.THING_TABLE.Value")
+                .field("KEY_COLUMN1", Schema.STRING_SCHEMA).field("COLUMN2", Schema.OPTIONAL_INT32_SCHEMA).build();
+
+        assertSame(renamer.mapping(valueSchema), renamer.mapping(copy));
+    }
+
+    @Test
+    public void testChangedSchemaUnderSameNameRecompiled() {
+        Schema altered = SchemaBuilder.struct().name("host.LIB.THING_TABLE.Value")
+                .field("KEY_COLUMN1", Schema.STRING_SCHEMA).field("COLUMN3", Schema.OPTIONAL_STRING_SCHEMA).build();
+        renamer.mapping(valueSchema);
+
+        assertEquals("column3", renamer.mapping(altered).schema.fields().get(1).name());
+        assertEquals("column2", renamer.mapping(valueSchema).schema.fields().get(1).name());
+    }
+
+    @Test
+    public void testSchemaCompiledOnce() {
+        assertSame(renamer.mapping(valueSchema), renamer.mapping(valueSchema));
+        assertSame(renamer.mapping(keySchema).schema, renamer.mapping(keySchema).schema);
+        assertEquals(null, renamer.mapping(Schema.STRING_SCHEMA));
+    }
+}
@@ -10,7 +10,6 @@ import org.apache.logging.log4j.layout.template.json.resolver.EventResolver;
 import org.apache.logging.log4j.layout.template.json.util.JsonWriter;
 import org.apache.logging.log4j.message.Message;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 
@@ -20,6 +19,8 @@ final class StructuredMessageResolver implements EventResolver {
 
     private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
 
+    private static final StructuredJsonWriter JSON_WRITER = new StructuredJsonWriter(OBJECT_MAPPER);
+
     static StructuredMessageResolver getInstance() {
         return INSTANCE;
     }
@@ -37,14 +38,7 @@ final class StructuredMessageResolver implements EventResolver {
     public void resolve(LogEvent logEvent, JsonWriter jsonWriter) {
         Message msg = logEvent.getMessage();
         if (msg instanceof StructuredMessage sm) {
-            Object value = sm.getParameter();
-            try {
-                // With sufficient sorcery, this call can be made garbage-free.
-                String valueJson = OBJECT_MAPPER.writeValueAsString(value);
-                jsonWriter.writeRawString(valueJson);
-            } catch (JsonProcessingException error) {
-                throw new RuntimeException(error);
-            }
+            JSON_WRITER.write(sm.getParameter(), jsonWriter);
         } else { 
             jsonWriter.writeString(msg.getFormattedMessage());
         }
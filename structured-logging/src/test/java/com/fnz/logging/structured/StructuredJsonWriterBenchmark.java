@@ -0,0 +1,87 @@
+package com.fnz.logging.structured;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.layout.template.json.util.JsonWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * the "all receivers" diagnostics event, run with the gc profiler to see gc.alloc.rate.norm per event
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StructuredJsonWriterBenchmark {
+    enum Status {
+        Attached, OnlineSavedDetached
+    }
+
+    record Info(String name, String library, Status status, String chain) {
+    }
+
+    record Receiver(Info info, BigInteger start, BigInteger end, String nextReceiver, long maxEntryLength,
+            long numberOfEntries) {
+    }
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final StructuredJsonWriter writer = new StructuredJsonWriter(mapper);
+    private final JsonWriter jsonWriter = JsonWriter.newBuilder().setMaxStringLength(16384)
+            .setTruncatedStringSuffix("…").build();
+    private Map<String, Object> event;
+
+    @Setup
+    public void setup() {
+        final List<Receiver> receivers = new ArrayList<>();
+        long start = 1;
+        for (int i = 0; i < 20; i++) {
+            final long end = start + 1_000_000;
+            receivers.add(new Receiver(new Info(String.format("RCV%04d", i), "JRNLIB",
+                    i == 19 ? Status.Attached : Status.OnlineSavedDetached, "1"), BigInteger.valueOf(start),
+                    BigInteger.valueOf(end), String.format("RCV%04d", i + 1), 32000, end - start));
+            start = end + 1;
+        }
+        event = Map.of("receivers", receivers);
+    }
+
+    @Benchmark
+    public int writeValueAsString() throws JsonProcessingException {
+        jsonWriter.getStringBuilder().setLength(0);
+        jsonWriter.writeRawString(mapper.writeValueAsString(event));
+        return jsonWriter.getStringBuilder().length();
+    }
+
+    @Benchmark
+    public int streaming() {
+        jsonWriter.getStringBuilder().setLength(0);
+        writer.write(event, jsonWriter);
+        return jsonWriter.getStringBuilder().length();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(StructuredJsonWriterBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class).build()).run();
+    }
+}
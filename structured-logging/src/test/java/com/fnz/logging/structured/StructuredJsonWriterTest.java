@@ -0,0 +1,132 @@
+package com.fnz.logging.structured;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigInteger;
+import java.sql.Timestamp;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.apache.logging.log4j.layout.template.json.util.JsonWriter;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+
+public class StructuredJsonWriterTest {
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final StructuredJsonWriter writer = new StructuredJsonWriter(mapper);
+    private final JsonWriter jsonWriter = JsonWriter.newBuilder().setMaxStringLength(1024)
+            .setTruncatedStringSuffix("…").build();
+
+    enum Status {
+        Attached, Detached
+    }
+
+    record Info(String name, String library, Status status, Optional<String> chain) {
+    }
+
+    record Receiver(Info info, BigInteger start, BigInteger end, long entries) {
+    }
+
+    public static class Position {
+        private final BigInteger offset = new BigInteger("18446744073709551615");
+
+        public BigInteger getOffset() {
+            return offset;
+        }
+
+        public String getReceiver() {
+            return "RCV0001";
+        }
+
+        public boolean isProcessed() {
+            return true;
+        }
+    }
+
+    @Test
+    public void testMatchesJackson() throws Exception {
+        Map<String, Object> value = new LinkedHashMap<>();
+        value.put("position", new Position());
+        value.put("receivers", List.of(
+                new Receiver(new Info("RCV0001", "LIB", Status.Attached, Optional.of("1")), BigInteger.ONE,
+                        BigInteger.valueOf(100), 99),
+                new Receiver(new Info("RCV0002", "LIB", Status.Detached, Optional.empty()), BigInteger.TEN, null, 0)));
+        value.put("time", new Timestamp(0));
+        value.put("behind", 3);
+        value.put("quoted", "a \"b\"\n");
+
+        assertEquals(mapper.writeValueAsString(value), write(value));
+    }
+
+    public static class Annotated {
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        public String getMissing() {
+            return null;
+        }
+
+        @JsonSerialize(using = ToStringSerializer.class)
+        public long getOffset() {
+            return 12;
+        }
+
+        @JsonFormat(shape = JsonFormat.Shape.NUMBER)
+        public Status getStatus() {
+            return Status.Detached;
+        }
+    }
+
+    public static class Failing {
+        private boolean fail = true;
+
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        public Map<String, Object> getValue() {
+            if (fail) {
+                fail = false;
+                throw new IllegalStateException("failed");
+            }
+            return Map.of("a", 1);
+        }
+    }
+
+    @Test
+    public void testPropertyAnnotationsHonoured() throws Exception {
+        Map<String, Object> value = Map.of("annotated", new Annotated());
+
+        assertEquals(mapper.writeValueAsString(value), write(value));
+    }
+
+    @Test
+    public void testStringsNotTruncated() throws Exception {
+        String longValue = "x".repeat(2000);
+        Map<String, Object> value = Map.of("k".repeat(1500), longValue);
+
+        assertEquals(mapper.writeValueAsString(value), write(value));
+    }
+
+    @Test
+    public void testFailedWriteDoesNotCorruptTheNext() throws Exception {
+        Failing failing = new Failing();
+        assertThrows(RuntimeException.class, () -> write(failing));
+
+        assertEquals("{\"value\":{\"a\":1}}", write(failing));
+    }
+
+    @Test
+    public void testNull() throws Exception {
+        assertEquals("null", write(null));
+    }
+
+    private String write(Object value) {
+        jsonWriter.getStringBuilder().setLength(0);
+        writer.write(value, jsonWriter);
+        return jsonWriter.getStringBuilder().toString();
+    }
+}